@@ -0,0 +1,90 @@
+package data_access;
+
+import entity.Angela.Task.Task;
+import entity.Angela.Task.TaskAvailable;
+import entity.info.Info;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Latency of the lookups the task strategies make (by template, by category and overdue)
+ * as today's list grows from 10,000 to 1,000,000 tasks. See benchmarks/README.md for how to run it.
+ */
+public final class InMemoryTaskDataAccessObjectBenchmark {
+
+    private static final int[] TASK_COUNTS = {10_000, 100_000, 1_000_000};
+    private static final int TASKS_PER_TEMPLATE = 10;
+    private static final int TASKS_PER_CATEGORY = 100;
+    private static final int OVERDUE_TASKS = 10;
+    private static final int WARMUP = 200;
+    private static final int RUNS = 500;
+
+    private InMemoryTaskDataAccessObjectBenchmark() {
+    }
+
+    /**
+     * Prints the median latency of one template, category and overdue lookup for each size.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        System.out.printf("%10s %15s%n", "tasks", "median (us)");
+        for (int count : TASK_COUNTS) {
+            final long nanos = medianLookupNanos(new Fixture(count));
+            System.out.printf("%10d %15.1f%n", count, nanos / 1_000.0);
+        }
+    }
+
+    private static long medianLookupNanos(Fixture fixture) {
+        for (int i = 0; i < WARMUP; i++) {
+            fixture.lookUp(i);
+        }
+        final long[] samples = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            final long start = System.nanoTime();
+            final int found = fixture.lookUp(i);
+            samples[i] = System.nanoTime() - start;
+            if (found != TASKS_PER_TEMPLATE + TASKS_PER_CATEGORY + OVERDUE_TASKS + 1) {
+                throw new IllegalStateException("Unexpected result size " + found);
+            }
+        }
+        Arrays.sort(samples);
+        return samples[RUNS / 2];
+    }
+
+    /**
+     * Today's list with a fixed number of tasks per template and category, and a fixed number
+     * overdue, so every lookup returns the same amount whatever the total size.
+     */
+    private static final class Fixture {
+        private final InMemoryTaskDataAccessObject dao = new InMemoryTaskDataAccessObject();
+        private final String[] templateIds;
+        private final int categories;
+
+        Fixture(int count) {
+            templateIds = new String[count / TASKS_PER_TEMPLATE];
+            categories = count / TASKS_PER_CATEGORY;
+            final TaskAvailable[] templates = new TaskAvailable[templateIds.length];
+            for (int i = 0; i < templates.length; i++) {
+                templates[i] = new TaskAvailable(new Info.Builder("Task " + i).category("cat" + i).build());
+                templateIds[i] = templates[i].getId();
+                dao.saveTaskAvailable(templates[i]);
+            }
+            final LocalDate today = LocalDate.now();
+            for (int i = 0; i < count; i++) {
+                final LocalDate due = i < OVERDUE_TASKS ? today.minusDays(1) : today.plusDays(1 + i % 365);
+                final Task task = (Task) dao.addTaskToToday(templates[i % templates.length], Task.Priority.LOW, due);
+                dao.updateTodaysTaskCategory(task.getId(), "cat" + (i % categories));
+            }
+        }
+
+        int lookUp(int run) {
+            int found = dao.getTodaysTasksByTemplate(templateIds[run % templateIds.length]).size();
+            found += dao.isTaskInTodaysList(templateIds[(run + 1) % templateIds.length]) ? 1 : 0;
+            found += dao.findTodaysTasksByCategory("cat" + (run % categories)).size();
+            found += dao.getOverdueTasks(7).size();
+            return found;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package data_access.files;
+
+import entity.Angela.DailyLog;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Latency of a 7-day {@code loadBetween} (the query made by GenerateFeedbackInteractor)
+ * as the stored history grows from 30 to 10,000 days. See benchmarks/README.md for how to run it.
+ */
+public final class JournaledDailyLogRepositoryBenchmark {
+
+    private static final int[] HISTORY_SIZES = {30, 365, 1_000, 10_000};
+    private static final int WARMUP = 200;
+    private static final int RUNS = 500;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2000, 1, 1);
+
+    private JournaledDailyLogRepositoryBenchmark() {
+    }
+
+    /**
+     * Prints the median 7-day query latency for each history size.
+     *
+     * @param args unused
+     * @throws IOException if the temporary journals cannot be created
+     */
+    public static void main(String[] args) throws IOException {
+        final Path root = Files.createTempDirectory("daily-log-bench");
+        System.out.printf("%10s %15s%n", "days", "median (us)");
+        for (int days : HISTORY_SIZES) {
+            final long nanos = medianWeeklyQueryNanos(root.resolve("h" + days), days);
+            System.out.printf("%10d %15.1f%n", days, nanos / 1_000.0);
+        }
+    }
+
+    private static long medianWeeklyQueryNanos(Path dir, int days) throws IOException {
+        Files.createDirectories(dir);
+        final Path journal = dir.resolve("daily_logs.journal");
+        final JournaledDailyLogRepository writer = new JournaledDailyLogRepository(journal, null);
+        for (int i = 0; i < days; i++) {
+            writer.save(new DailyLog(FIRST_DAY.plusDays(i)));
+        }
+
+        // Fresh instance so the index is loaded from the sidecar file, as after a restart
+        final JournaledDailyLogRepository repo = new JournaledDailyLogRepository(journal, null);
+        final LocalDate to = FIRST_DAY.plusDays(days - 1);
+        final LocalDate from = to.minusDays(6);
+        for (int i = 0; i < WARMUP; i++) {
+            repo.loadBetween(from, to);
+        }
+        final long[] samples = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            final long start = System.nanoTime();
+            final int found = repo.loadBetween(from, to).size();
+            samples[i] = System.nanoTime() - start;
+            if (found != 7) {
+                throw new IllegalStateException("Expected 7 days, got " + found);
+            }
+        }
+        Arrays.sort(samples);
+        return samples[RUNS / 2];
+    }
+}
@@ -0,0 +1,95 @@
+package entity.Angela.Task;
+
+import entity.BeginAndDueDates.BeginAndDueDates;
+import entity.info.Info;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Heap retained by a day's worth of tasks kept as live {@link Task}s and as {@link CompactTask}s.
+ * Tasks are built the way adding a template to today does: a thousand templates share their name
+ * and category strings, every task has its own Info and dates, and a third are completed.
+ * The figure is the growth in used heap after a full collection, so it includes everything the
+ * tasks keep reachable. See benchmarks/README.md for how to run it.
+ */
+public final class CompactTaskBenchmark {
+
+    private static final int[] TASK_COUNTS = {25_000, 50_000, 100_000};
+    private static final int TEMPLATES = 1_000;
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    private CompactTaskBenchmark() {
+    }
+
+    /**
+     * Prints the bytes per task and the megabytes per 100,000 tasks for each form.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        System.out.printf("%10s %15s %17s %16s %19s%n",
+                "tasks", "Task (B/task)", "Compact (B/task)", "Task (MB/100k)", "Compact (MB/100k)");
+        for (int count : TASK_COUNTS) {
+            final List<Task> tasks = tasks(count);
+            final double live = (double) retainedBytes(() -> tasks(count)) / count;
+            final double compact = (double) retainedBytes(() -> compact(tasks)) / count;
+            System.out.printf("%10d %15.1f %17.1f %16.2f %19.2f%n",
+                    count, live, compact, live * 100_000 / (1 << 20), compact * 100_000 / (1 << 20));
+        }
+    }
+
+    private static List<Task> tasks(int count) {
+        final List<TaskAvailable> templates = new ArrayList<>(TEMPLATES);
+        for (int i = 0; i < TEMPLATES; i++) {
+            templates.add(new TaskAvailable(
+                    new Info.Builder("Task " + i).description("Details " + i).category("cat-" + i % 20).build()));
+        }
+        final List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final TaskAvailable template = templates.get(i % TEMPLATES);
+            final Info info = new Info.Builder(template.getInfo().getName())
+                    .description(template.getInfo().getDescription())
+                    .category(template.getInfo().getCategory())
+                    .build();
+            final Task task = new Task(template.getId(), info,
+                    new BeginAndDueDates(DAY, DAY.plusDays(1 + i % 30)), false);
+            tasks.add(i % 3 == 0
+                    ? task.withCompletedStatus(LocalDateTime.of(2025, 3, 10, 9, 0).plusMinutes(i % 600))
+                    : task);
+        }
+        return tasks;
+    }
+
+    private static List<CompactTask> compact(List<Task> tasks) {
+        final List<CompactTask> compact = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            compact.add(CompactTask.of(task));
+        }
+        return compact;
+    }
+
+    /** The growth in used heap, after full collections, while the built object is still held. */
+    private static long retainedBytes(Supplier<?> build) {
+        final long before = usedHeapAfterGc();
+        final Object held = build.get();
+        final long after = usedHeapAfterGc();
+        if (held == null) {
+            throw new IllegalStateException("Nothing was built");
+        }
+        return after - before;
+    }
+
+    private static long usedHeapAfterGc() {
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,108 @@
+package use_case.Angela.category.delete;
+
+import data_access.InMemoryCategoryDataAccessObject;
+import data_access.InMemoryTaskDataAccessObject;
+import entity.Angela.Task.Task;
+import entity.Angela.Task.TaskAvailable;
+import entity.Category;
+import entity.info.Info;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Time to delete a category as the number of tasks in it grows, with as many tasks already
+ * in the empty category. Deleting checks every task in the category for a name clash with the
+ * empty category and then moves them all there, so it should grow linearly with the task count.
+ * See benchmarks/README.md for how to run it.
+ */
+public final class DeleteCategoryInteractorBenchmark {
+
+    private static final int[] TASKS_PER_CATEGORY = {1_000, 2_000, 4_000, 8_000};
+    private static final int WARMUP = 1;
+    private static final int RUNS = 3;
+
+    private DeleteCategoryInteractorBenchmark() {
+    }
+
+    /**
+     * Prints the median time of one category delete for each size.
+     *
+     * @param args unused
+     */
+    public static void main(String[] args) {
+        System.out.printf("%10s %15s%n", "tasks", "median (ms)");
+        for (int count : TASKS_PER_CATEGORY) {
+            final long nanos = medianDeleteNanos(count);
+            System.out.printf("%10d %15.2f%n", count, nanos / 1_000_000.0);
+        }
+    }
+
+    private static long medianDeleteNanos(int count) {
+        for (int i = 0; i < WARMUP; i++) {
+            new Fixture(count).delete();
+        }
+        final long[] samples = new long[RUNS];
+        for (int i = 0; i < RUNS; i++) {
+            final Fixture fixture = new Fixture(count);
+            final long start = System.nanoTime();
+            fixture.delete();
+            samples[i] = System.nanoTime() - start;
+            fixture.checkDeleted();
+        }
+        Arrays.sort(samples);
+        return samples[RUNS / 2];
+    }
+
+    /**
+     * A category holding a number of templates and today's tasks, and as many more of each
+     * already in the empty category. Names never clash, so the delete goes ahead.
+     */
+    private static final class Fixture implements DeleteCategoryOutputBoundary {
+        private final InMemoryCategoryDataAccessObject categories = new InMemoryCategoryDataAccessObject();
+        private final InMemoryTaskDataAccessObject tasks = new InMemoryTaskDataAccessObject();
+        private final DeleteCategoryInteractor interactor =
+                new DeleteCategoryInteractor(categories, tasks, null, this);
+        private final int count;
+        private String result;
+
+        Fixture(int count) {
+            this.count = count;
+            categories.saveCategory(new Category("doomed", "Doomed", "#FF0000"));
+            final LocalDate today = LocalDate.now();
+            for (int i = 0; i < count; i++) {
+                final LocalDate due = today.plusDays(1 + i % 365);
+                add(new Info.Builder("Task " + i).category("doomed").build(), due);
+                add(new Info.Builder("Free " + i).build(), due);
+            }
+        }
+
+        private void add(Info info, LocalDate due) {
+            final TaskAvailable template = new TaskAvailable(info);
+            tasks.saveTaskAvailable(template);
+            tasks.addTaskToToday(template, Task.Priority.LOW, due);
+        }
+
+        void delete() {
+            interactor.execute(new DeleteCategoryInputData("doomed"));
+        }
+
+        void checkDeleted() {
+            final String expected = String.format("Category deleted successfully. Updated %d available tasks and "
+                    + "%d today's tasks to have empty category.", count, count);
+            if (!expected.equals(result) || tasks.findTodaysTasksByCategory("").size() != 2 * count) {
+                throw new IllegalStateException("Delete did not go through: " + result);
+            }
+        }
+
+        @Override
+        public void prepareSuccessView(DeleteCategoryOutputData outputData) {
+            result = outputData.getMessage();
+        }
+
+        @Override
+        public void prepareFailView(String error) {
+            result = error;
+        }
+    }
+}
@@ -5,42 +5,62 @@ import entity.Angela.Task.Task;
 import entity.info.Info;
 import entity.Sophia.Goal;
 import entity.alex.WellnessLogEntry.WellnessLogEntry;
+import use_case.Angela.view_history.HistoryCompactor;
+import use_case.Angela.view_history.HistoryRetentionPolicy;
+import use_case.Angela.view_history.HistoryRollupDataAccessInterface;
 import use_case.Angela.view_history.ViewHistoryDataAccessInterface;
-import app.SharedDataAccess;
+import app.AppDataAccessFactory;
+import app.scheduler.AppScheduler;
+import data_access.InMemoryTaskDataAccessObject;
+import use_case.repository.GoalRepository;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Timer;
-import java.util.TimerTask;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
  * Service that automatically creates and saves daily snapshots of "Today So Far" data.
- * Runs at the end of each day to preserve the historical record.
+ * Runs at the end of each day to preserve the historical record, as a job on the shared
+ * {@link AppScheduler}. Days missed while the app was closed are snapshotted when it starts.
+ * After saving, older history is compacted per {@link HistoryRetentionPolicy#DEFAULT} when the
+ * history store keeps rollups, or trimmed to the last 30 days when it does not.
  */
 public class DailySnapshotService {
+    static final String JOB_NAME = "daily-snapshot";
+    private static final LocalTime SNAPSHOT_TIME = LocalTime.of(23, 59);
+    
     private final ViewHistoryDataAccessInterface historyDataAccess;
-    private final SharedDataAccess sharedDataAccess;
-    private Timer timer;
+    private final InMemoryTaskDataAccessObject taskGateway;
+    private final GoalRepository goalRepository;
+    private final AppScheduler scheduler;
+    private AppScheduler.ScheduledJob snapshotJob;
     private static DailySnapshotService instance;
     
-    private DailySnapshotService(ViewHistoryDataAccessInterface historyDataAccess,
-                                 SharedDataAccess sharedDataAccess) {
+    DailySnapshotService(ViewHistoryDataAccessInterface historyDataAccess,
+                         InMemoryTaskDataAccessObject taskGateway,
+                         GoalRepository goalRepository,
+                         AppScheduler scheduler) {
         this.historyDataAccess = historyDataAccess;
-        this.sharedDataAccess = sharedDataAccess;
+        this.taskGateway = taskGateway;
+        this.goalRepository = goalRepository;
+        this.scheduler = scheduler;
     }
     
     /**
-     * Gets or creates the singleton instance of the snapshot service.
+     * Gets or creates the singleton instance of the snapshot service. It records the tasks and
+     * goals the pages show, from {@link AppDataAccessFactory}.
      */
     public static DailySnapshotService getInstance() {
         if (instance == null) {
+            AppDataAccessFactory dataAccess = AppDataAccessFactory.getInstance();
             instance = new DailySnapshotService(
                 HistoryPageBuilder.getHistoryDataAccess(),
-                SharedDataAccess.getInstance()
+                dataAccess.getTaskGateway(),
+                dataAccess.getGoalRepository(),
+                AppScheduler.shared()
             );
         }
         return instance;
@@ -48,45 +68,24 @@ public class DailySnapshotService {
     
     /**
      * Starts the automatic snapshot service.
-     * Schedules a task to run at 11:59 PM each day.
+     * Registers a job to run at 11:59 PM each day, local time. Any days since the latest
+     * snapshot whose 11:59 PM has already passed are snapshotted first.
      */
     public void startAutomaticSnapshots() {
-        if (timer != null) {
-            timer.cancel();
-        }
-        
-        timer = new Timer(true); // daemon thread
-        
-        // Calculate time until 11:59 PM
-        LocalTime targetTime = LocalTime.of(23, 59, 0);
-        LocalTime now = LocalTime.now();
-        long initialDelay;
-        
-        if (now.isBefore(targetTime)) {
-            initialDelay = TimeUnit.SECONDS.toMillis(
-                targetTime.toSecondOfDay() - now.toSecondOfDay());
-        } else {
-            // Schedule for tomorrow
-            initialDelay = TimeUnit.SECONDS.toMillis(
-                86400 - now.toSecondOfDay() + targetTime.toSecondOfDay());
-        }
-        
-        // Schedule the task to run daily
-        timer.scheduleAtFixedRate(new TimerTask() {
-            @Override
-            public void run() {
-                createAndSaveSnapshot();
-            }
-        }, initialDelay, TimeUnit.DAYS.toMillis(1));
+        stopAutomaticSnapshots();
+        LocalDate latest = historyDataAccess.getAvailableDates().stream()
+            .max(Comparator.naturalOrder())
+            .orElse(null);
+        snapshotJob = scheduler.scheduleDaily(JOB_NAME, SNAPSHOT_TIME, latest, this::createAndSaveSnapshot);
     }
     
     /**
      * Stops the automatic snapshot service.
      */
     public void stopAutomaticSnapshots() {
-        if (timer != null) {
-            timer.cancel();
-            timer = null;
+        if (snapshotJob != null) {
+            snapshotJob.cancel();
+            snapshotJob = null;
         }
     }
     
@@ -95,17 +94,33 @@ public class DailySnapshotService {
      * Can be called manually or automatically.
      */
     public void createAndSaveSnapshot() {
-        LocalDate today = LocalDate.now();
-        
-        // Don't overwrite existing snapshot for today
-        if (historyDataAccess.hasSnapshot(today)) {
+        createAndSaveSnapshot(scheduler.today());
+    }
+    
+    /**
+     * Creates and saves a snapshot for a day, unless one exists already. For a past day, missed
+     * while the app was closed, it is rebuilt from today's list as it stands: the list is not
+     * cleared overnight, so it still holds the tasks of the last day the app was open. Tasks that
+     * begin after the day are left out, and only tasks completed by the end of it count as done.
+     * 
+     * @param day the day to snapshot
+     */
+    public void createAndSaveSnapshot(LocalDate day) {
+        // Don't overwrite existing snapshot for the day
+        if (historyDataAccess.hasSnapshot(day)) {
             return;
         }
         
-        // Gather today's tasks
-        List<Task> todaysTasks = sharedDataAccess.getTaskGateway().getTodaysTasks();
+        // Gather the day's tasks
+        List<Task> todaysTasks = taskGateway.getTodaysTasks().stream()
+            .filter(task -> task.getDates() == null
+                || task.getDates().getBeginDate() == null
+                || !task.getDates().getBeginDate().isAfter(day))
+            .collect(Collectors.toList());
         List<Task> completedTasks = todaysTasks.stream()
-            .filter(Task::isCompleted)
+            .filter(task -> task.isCompleted()
+                && (task.getCompletedDateTime() == null
+                    || !task.getCompletedDateTime().toLocalDate().isAfter(day)))
             .collect(Collectors.toList());
         
         // Calculate completion rate
@@ -118,16 +133,16 @@ public class DailySnapshotService {
         List<Task> overdueTasks = todaysTasks.stream()
             .filter(task -> task.getDates() != null && 
                            task.getDates().getDueDate() != null &&
-                           task.getDates().getDueDate().isBefore(today) &&
-                           !task.isCompleted())
+                           task.getDates().getDueDate().isBefore(day) &&
+                           !completedTasks.contains(task))
             .collect(Collectors.toList());
         
-        // Get today's events
+        // Get the day's events
         List<Info> todaysEvents = new ArrayList<>();
         
         // Get current goals with progress
         List<TodaySoFarSnapshot.GoalProgress> goalProgress = new ArrayList<>();
-        List<Goal> currentGoals = sharedDataAccess.getGoalRepository().getCurrentGoals();
+        List<Goal> currentGoals = goalRepository.getCurrentGoals();
         
         for (Goal goal : currentGoals) {
             // Calculate progress based on completed tasks that match the target task
@@ -147,12 +162,12 @@ public class DailySnapshotService {
             goalProgress.add(progress);
         }
         
-        // Get wellness entries for today
+        // Get wellness entries for the day
         List<WellnessLogEntry> wellnessEntries = new ArrayList<>();
         
         // Create and save the snapshot
         TodaySoFarSnapshot snapshot = new TodaySoFarSnapshot(
-            today,
+            day,
             todaysTasks,
             completedTasks,
             completionRate,
@@ -164,13 +179,22 @@ public class DailySnapshotService {
         
         boolean saved = historyDataAccess.saveSnapshot(snapshot);
         if (saved) {
-            
-            // Clean up old snapshots (keep last 30 days)
-            int deleted = historyDataAccess.cleanupOldSnapshots(30);
-            if (deleted > 0) {
-            }
+            compactHistory(scheduler.today());
         } else {
-            System.err.println("Failed to save snapshot for " + today);
+            System.err.println("Failed to save snapshot for " + day);
+        }
+    }
+    
+    /**
+     * Folds days older than the daily tier into weekly and monthly rollups, or, for a store
+     * without rollups, deletes snapshots older than 30 days.
+     */
+    private void compactHistory(LocalDate today) {
+        if (historyDataAccess instanceof HistoryRollupDataAccessInterface) {
+            new HistoryCompactor(historyDataAccess, (HistoryRollupDataAccessInterface) historyDataAccess,
+                HistoryRetentionPolicy.DEFAULT).compact(today);
+        } else {
+            historyDataAccess.cleanupOldSnapshots(30);
         }
     }
     
@@ -187,6 +211,9 @@ public class DailySnapshotService {
      * WARNING: Only use this in tests!
      */
     public static synchronized void resetForTesting() {
+        if (instance != null) {
+            instance.stopAutomaticSnapshots();
+        }
         instance = null;
     }
 }
\ No newline at end of file
@@ -1,16 +1,16 @@
 package app;
 
+import data_access.DomainEventBus;
 import data_access.InMemoryTaskDataAccessObject;
 import data_access.InMemoryCategoryDataAccessObject;
 import data_access.alex.TodaysEventDataAccessObject;
 import data_access.alex.TodaysWellnessLogDataAccessObject;
 import data_access.InMemoryTodaySoFarDataAccess;
-import data_access.files.FileGoalRepository;
+import data_access.files.JournaledGoalRepository;
+import data_access.files.JournaledTaskDataAccessObject;
 import entity.alex.DailyEventLog.DailyEventLogFactory;
 import entity.alex.DailyWellnessLog.DailyWellnessLogFactory;
-import entity.Sophia.GoalFactory;
 import interface_adapter.Angela.category.CategoryManagementViewModel;
-import java.io.File;
 
 /**
  * Singleton factory for creating data access objects and shared view models.
@@ -23,7 +23,8 @@ public class AppDataAccessFactory {
     private final InMemoryCategoryDataAccessObject categoryDataAccess;
     private final TodaysEventDataAccessObject eventDataAccess;
     private final TodaysWellnessLogDataAccessObject wellnessDataAccess;
-    private final FileGoalRepository goalRepository;
+    private final JournaledGoalRepository goalRepository;
+    private final DomainEventBus eventBus = new DomainEventBus();
     
     // Shared ViewModels that need to be consistent across pages
     private final CategoryManagementViewModel categoryManagementViewModel;
@@ -32,8 +33,8 @@ public class AppDataAccessFactory {
      * Private constructor - use getInstance() instead.
      */
     private AppDataAccessFactory() {
-        // Initialize data access objects
-        this.taskGateway = new InMemoryTaskDataAccessObject();
+        // Initialize data access objects; tasks are kept on disk across restarts
+        this.taskGateway = new JournaledTaskDataAccessObject();
         this.categoryDataAccess = new InMemoryCategoryDataAccessObject();
         
         // Initialize shared ViewModels
@@ -50,15 +51,16 @@ public class AppDataAccessFactory {
         );
         
         // Initialize goal repository
-        this.goalRepository = new FileGoalRepository(
-            new File("goals.txt"),
-            new File("current_goals.txt"),
-            new File("today_goal.txt"),
-            new GoalFactory()
-        );
+        this.goalRepository = new JournaledGoalRepository();
         
         // Inject goal repository into task data access object for goal-task relationship checking
         this.taskGateway.setGoalRepository(this.goalRepository);
+        
+        // Publish every data-layer change so pages can apply it without reloading
+        this.taskGateway.setEventBus(eventBus);
+        this.eventDataAccess.setEventBus(eventBus);
+        this.wellnessDataAccess.setEventBus(eventBus);
+        this.goalRepository.setEventBus(eventBus);
     }
     
     /**
@@ -121,10 +123,18 @@ public class AppDataAccessFactory {
      * Gets the goal repository.
      * @return The goal repository
      */
-    public FileGoalRepository getGoalRepository() {
+    public JournaledGoalRepository getGoalRepository() {
         return goalRepository;
     }
     
+    /**
+     * Gets the bus the data access objects publish their changes on.
+     * @return The event bus
+     */
+    public DomainEventBus getEventBus() {
+        return eventBus;
+    }
+    
     /**
      * Gets the shared category management view model.
      * @return The category management view model
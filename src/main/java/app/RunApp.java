@@ -12,7 +12,7 @@ import javax.swing.JFrame;
 import javax.swing.JPanel;
 import javax.swing.SwingUtilities;
 
-import data_access.files.FileDailyLogRepository;
+import data_access.files.JournaledDailyLogRepository;
 import org.jetbrains.annotations.NotNull;
 
 import app.alex.WellnessPage.WellnessLogPageBuilder;
@@ -22,12 +22,17 @@ import app.goalPage.GoalPageBuilder;
 import app.scheduler.WeeklyFeedbackScheduler;
 import app.alex.settingsPage.SettingsPageBuilder;
 import app.taskPage.TaskPageBuilder;
+import app.Angela.DailySnapshotService;
 import app.Angela.HistoryPageBuilder;
 import constants.Constants;
 import data_access.files.FileFeedbackRepository;
+import data_access.files.FileGptResponseCache;
 import interface_adapter.feedback_history.FeedbackHistoryViewModel;
+import interface_adapter.generate_feedback.CachingGptService;
 import interface_adapter.generate_feedback.GenerateFeedbackPresenter;
+import interface_adapter.generate_feedback.GptPromptPortAdapter;
 import interface_adapter.generate_feedback.OpenAiApiAdapter;
+import interface_adapter.generate_feedback.PromptTokenReporter;
 import use_case.generate_feedback.GenerateFeedbackInputBoundary;
 import use_case.generate_feedback.GenerateFeedbackInteractor;
 import use_case.generate_feedback.GenerateFeedbackOutputBoundary;
@@ -52,7 +57,10 @@ public class RunApp {
     }
 
     private static void buildGui(FeedbackRepository feedbackRepository) {
-        final WeeklyFeedbackScheduler scheduler = getWeeklyFeedbackScheduler(feedbackRepository);
+        // The feedback page and the weekly job share one view model so streamed feedback shows up
+        final FeedbackHistoryViewModel feedbackHistoryViewModel = new FeedbackHistoryViewModel();
+        final WeeklyFeedbackScheduler scheduler =
+                getWeeklyFeedbackScheduler(feedbackRepository, feedbackHistoryViewModel);
         scheduler.start();
 
         final JFrame frame = new JFrame("MindTrack");
@@ -71,10 +79,11 @@ public class RunApp {
         final JPanel eventPanel = eventBuilder.build();
         final JPanel goalPanel = new GoalPageBuilder(dataAccessFactory).build();
         final JPanel wellnessPanel = new WellnessLogPageBuilder().build();
-        final FeedbackPageBuilder feedbackPageBuilder = new FeedbackPageBuilder(feedbackRepository);
+        final FeedbackPageBuilder feedbackPageBuilder = new FeedbackPageBuilder(feedbackRepository, feedbackHistoryViewModel);
         final JPanel feedbackPage = feedbackPageBuilder.build();
         final JPanel settingPage = new SettingsPageBuilder().build();
         final JPanel historyPage = HistoryPageBuilder.createHistoryView();
+        DailySnapshotService.getInstance().startAutomaticSnapshots();
 
         centrePanel.add(taskPanel, "Tasks");
         centrePanel.add(eventPanel, "Events");
@@ -141,16 +150,18 @@ public class RunApp {
     }
 
     @NotNull
-    private static WeeklyFeedbackScheduler getWeeklyFeedbackScheduler(FeedbackRepository feedbackRepository) {
-        final DailyLogRepository dailyLogRepository = new FileDailyLogRepository();
-        final GptService analyzer = new OpenAiApiAdapter();
-        final FeedbackHistoryViewModel viewModel = new FeedbackHistoryViewModel();
+    private static WeeklyFeedbackScheduler getWeeklyFeedbackScheduler(FeedbackRepository feedbackRepository,
+                                                                      FeedbackHistoryViewModel viewModel) {
+        final DailyLogRepository dailyLogRepository = new JournaledDailyLogRepository();
+        final GptService analyzer = new CachingGptService(new OpenAiApiAdapter(), new FileGptResponseCache(),
+                OpenAiApiAdapter.MODEL, OpenAiApiAdapter.TEMPERATURE);
         final GenerateFeedbackOutputBoundary presenter = new GenerateFeedbackPresenter(viewModel);
 
         final GenerateFeedbackInputBoundary feedbackInputBoundary = new GenerateFeedbackInteractor(
                 dailyLogRepository,
                 feedbackRepository,
                 analyzer,
+                new GptPromptPortAdapter(GptPromptPortAdapter.DEFAULT_TOKEN_BUDGET, PromptTokenReporter.STDOUT),
                 presenter
         );
         return new WeeklyFeedbackScheduler(feedbackInputBoundary);
@@ -4,11 +4,9 @@ import data_access.InMemoryTaskDataAccessObject;
 import data_access.InMemoryCategoryDataAccessObject;
 import data_access.alex.TodaysEventDataAccessObject;
 import data_access.alex.TodaysWellnessLogDataAccessObject;
-import data_access.files.FileGoalRepository;
+import data_access.files.JournaledGoalRepository;
 import entity.alex.DailyEventLog.DailyEventLogFactory;
 import entity.alex.DailyWellnessLog.DailyWellnessLogFactory;
-import entity.Sophia.GoalFactory;
-import java.io.File;
 
 /**
  * Singleton class to share data access objects across all page builders.
@@ -21,7 +19,7 @@ public class SharedDataAccess {
     private final InMemoryCategoryDataAccessObject categoryDataAccess;
     private final TodaysEventDataAccessObject eventDataAccess;
     private final TodaysWellnessLogDataAccessObject wellnessDataAccess;
-    private final FileGoalRepository goalRepository;
+    private final JournaledGoalRepository goalRepository;
     
     private SharedDataAccess() {
         // Initialize shared data access objects
@@ -38,13 +36,9 @@ public class SharedDataAccess {
             new DailyWellnessLogFactory()
         );
         
-        // Initialize goal repository
-        this.goalRepository = new FileGoalRepository(
-            new File("goals.txt"),
-            new File("current_goals.txt"),
-            new File("today_goal.txt"),
-            new GoalFactory()
-        );
+        // Use the app's goal repository: two repositories on one journal would each drop the
+        // other's records when compacting
+        this.goalRepository = AppDataAccessFactory.getInstance().getGoalRepository();
         
         // Inject goal repository into task gateway for goal-task relationship checking
         this.taskGateway.setGoalRepository(this.goalRepository);
@@ -97,7 +91,7 @@ public class SharedDataAccess {
      * Gets the shared goal repository.
      * @return The goal repository
      */
-    public FileGoalRepository getGoalRepository() {
+    public JournaledGoalRepository getGoalRepository() {
         return goalRepository;
     }
     
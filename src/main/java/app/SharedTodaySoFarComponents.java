@@ -11,6 +11,7 @@ import use_case.Angela.task.overdue.OverdueTasksInteractor;
 import use_case.Angela.task.overdue.OverdueTasksOutputBoundary;
 import use_case.Angela.today_so_far.TodaySoFarInputBoundary;
 import use_case.Angela.today_so_far.TodaySoFarInteractor;
+import data_access.DomainChangeEvent;
 import data_access.InMemoryTodaySoFarDataAccess;
 import view.Angela.TodaySoFarView;
 
@@ -47,6 +48,7 @@ public class SharedTodaySoFarComponents {
         
         // Wire up Today So Far Use Case using the same data access instances as the pages
         InMemoryTodaySoFarDataAccess todaySoFarDataAccess = dataAccessFactory.createTodaySoFarDataAccess();
+        todaySoFarDataAccess.setEventBus(dataAccessFactory.getEventBus());
         
         TodaySoFarPresenter todaySoFarPresenter = new TodaySoFarPresenter(todaySoFarViewModel);
         TodaySoFarInputBoundary todaySoFarInteractor = new TodaySoFarInteractor(
@@ -54,6 +56,9 @@ public class SharedTodaySoFarComponents {
                 todaySoFarPresenter, 
                 dataAccessFactory.getCategoryDataAccess());
         this.todaySoFarController = new TodaySoFarController(todaySoFarInteractor);
+        
+        // The data access applies each frame's changes first (it subscribed first), then the panel redraws
+        dataAccessFactory.getEventBus().subscribe(DomainChangeEvent.class, changes -> todaySoFarController.refresh());
     }
     
     /**
@@ -1,5 +1,6 @@
 package app.alex.Notification_related;
 
+import app.scheduler.AppScheduler;
 import data_access.alex.NotificationTimeDataAccessObject;
 import entity.alex.NotificationTime.NotificationTimeFactory;
 import entity.alex.NotificationTime.NotificationTimeFactoryInterf;
@@ -7,12 +8,17 @@ import interface_adapter.alex.Notification_related.*;
 import use_case.alex.notification_related.*;
 import view.alex.NotificationView;
 
+import java.time.Duration;
+
 /**
  * Initializes and runs the complete notification reminder system.
- * This includes setting up ViewModel, View, Presenter, Controller, Interactor, and Scheduler thread.
+ * This includes setting up ViewModel, View, Presenter, Controller, Interactor, and the reminder
+ * check on the shared {@link AppScheduler}.
  */
 public class NotificationSystemRunner {
 
+    static final String JOB_NAME = "reminders";
+
     public void run() {
         // --- ViewModel ---
         NotificationViewModel viewModel = new NotificationViewModel();
@@ -33,8 +39,7 @@ public class NotificationSystemRunner {
         // --- Controller ---
         NotificationController controller = new NotificationController(interactor);
 
-        // --- Scheduler Thread ---
-        ReminderSchedulerThread scheduler = new ReminderSchedulerThread(controller);
-        scheduler.start();  // ⏰ 每分钟触发一次提醒检查
+        // --- Scheduler ---
+        AppScheduler.shared().scheduleRepeating(JOB_NAME, Duration.ofMinutes(1), controller::execute);  // ⏰ 每分钟触发一次提醒检查
     }
 }
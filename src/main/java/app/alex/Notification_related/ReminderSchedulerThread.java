@@ -5,7 +5,11 @@ import interface_adapter.alex.Notification_related.NotificationController;
 /**
  * A background thread that checks every minute whether a reminder should be triggered.
  * It delegates the reminder logic to NotificationController.
+ *
+ * @deprecated reminders are checked by a job on the shared {@link app.scheduler.AppScheduler};
+ *     see {@link NotificationSystemRunner}.
  */
+@Deprecated
 public class ReminderSchedulerThread extends Thread {
 
     private final NotificationController controller;
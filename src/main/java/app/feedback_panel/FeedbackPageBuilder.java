@@ -23,9 +23,21 @@ import view.feedback_panel.feedback_entry.FeedbackEntryPanel;
 
 public final class FeedbackPageBuilder {
     private final FeedbackRepository repo;
+    private final FeedbackHistoryViewModel historyVm;
 
     public FeedbackPageBuilder(FeedbackRepository repo) {
+        this(repo, new FeedbackHistoryViewModel());
+    }
+
+    /**
+     * Creates a builder whose history list shows the given view model, so feedback generated
+     * elsewhere, such as by the weekly job, appears on the page.
+     * @param repo where feedback entries are stored
+     * @param historyVm the view model the history panel listens to
+     */
+    public FeedbackPageBuilder(FeedbackRepository repo, FeedbackHistoryViewModel historyVm) {
         this.repo = repo;
+        this.historyVm = historyVm;
     }
 
     /**
@@ -33,9 +45,6 @@ public final class FeedbackPageBuilder {
      * @return the JPanel containing the newest feedback entry and history
      */
     public JPanel build() {
-        // ViewModels
-        final FeedbackHistoryViewModel historyVm = new FeedbackHistoryViewModel();
-
         // Presenters
         final FeedbackHistoryOutputBoundary historyPresenter = new FeedbackHistoryPresenter(historyVm);
 
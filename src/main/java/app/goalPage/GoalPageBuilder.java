@@ -42,7 +42,7 @@ import use_case.goalManage.order_goal.*;
 import use_case.goalManage.today_goal.*;
 
 // Import data access
-import data_access.files.FileGoalRepository;
+import data_access.files.JournaledGoalRepository;
 
 // Import views
 import view.Sophia.AvailableGoalsView;
@@ -68,7 +68,7 @@ import java.util.List;
 public class GoalPageBuilder {
     // Data access - Injected via constructor
     private final AppDataAccessFactory dataAccessFactory;
-    private final FileGoalRepository goalRepository;
+    private final JournaledGoalRepository goalRepository;
     private final GoalFactory goalFactory;
     private final InMemoryTaskDataAccessObject taskGateway;
     private final InMemoryCategoryDataAccessObject categoryDataAccess;
@@ -364,9 +364,9 @@ public class GoalPageBuilder {
                     String categoryDisplay = "";
                     String categoryId = task.getInfo().getCategory();
                     if (categoryId != null && !categoryId.isEmpty()) {
-                        entity.Category category = categoryDataAccess.getCategoryById(categoryId);
-                        if (category != null) {
-                            categoryDisplay = " [" + category.getName() + "]";
+                        String categoryName = categoryDataAccess.getCategoryName(categoryId);
+                        if (categoryName != null) {
+                            categoryDisplay = " [" + categoryName + "]";
                         }
                     }
                     
@@ -0,0 +1,264 @@
+package app.scheduler;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * The one scheduler thread that the app's background jobs register with: daily snapshots, weekly
+ * feedback and reminder checks.
+ *
+ * <p>Times are wall-clock times in the scheduler's time zone. Instead of repeating at a fixed
+ * period, a job works out its next run from the calendar after each run, so it stays at its time
+ * of day across daylight-saving changes. The thread never waits more than {@link #MAX_WAIT}
+ * before looking at the clock again, so a job that came due while the computer was asleep runs
+ * within a minute of waking rather than once the suspended delay has run out.
+ *
+ * <p>A daily job can be given the last day it completed. Days missed since then, while the app
+ * was closed or the computer asleep, are run for in order, oldest first, up to
+ * {@link #MAX_CATCH_UP_DAYS} back, before the job carries on as normal.
+ */
+public final class AppScheduler {
+
+    /** The longest the thread waits before checking the clock again. */
+    static final Duration MAX_WAIT = Duration.ofMinutes(1);
+
+    /** The most missed days a daily job catches up on; older ones are skipped. */
+    public static final int MAX_CATCH_UP_DAYS = 7;
+
+    private static AppScheduler shared;
+
+    private final ScheduledExecutorService executor;
+    private final Clock clock;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a scheduler running its jobs on the given executor, in the clock's time zone.
+     * @param executor where jobs run; a single thread keeps them from overlapping
+     * @param clock the current time and time zone
+     */
+    public AppScheduler(ScheduledExecutorService executor, Clock clock) {
+        this.executor = executor;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the scheduler shared by the whole app, creating it on first use. It runs on one
+     * daemon thread in the system's default time zone.
+     * @return the shared scheduler
+     */
+    public static synchronized AppScheduler shared() {
+        if (shared == null) {
+            shared = new AppScheduler(Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "app-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            }), Clock.systemDefaultZone());
+        }
+        return shared;
+    }
+
+    /**
+     * Returns today's date in the scheduler's time zone.
+     * @return today
+     */
+    public LocalDate today() {
+        return LocalDate.now(clock);
+    }
+
+    /**
+     * Returns the time zone that job times are in.
+     * @return the time zone
+     */
+    public ZoneId getZone() {
+        return clock.getZone();
+    }
+
+    /**
+     * Runs a job once a day at a time of day, first catching up on the days missed since it last
+     * completed. A job registered under a name already in use replaces the earlier one.
+     * @param name identifies the job
+     * @param time when in the day it runs
+     * @param lastCompletedDay the last day the job ran for, or null to start with the next run
+     * @param job called with the day it runs for
+     * @return a handle to cancel the job
+     */
+    public ScheduledJob scheduleDaily(String name, LocalTime time, LocalDate lastCompletedDay,
+                                      Consumer<LocalDate> job) {
+        final ZonedDateTime now = ZonedDateTime.now(clock);
+        ZonedDateTime first;
+        if (lastCompletedDay == null) {
+            first = at(now.toLocalDate(), time);
+            if (first.isBefore(now)) {
+                first = at(now.toLocalDate().plusDays(1), time);
+            }
+        }
+        else {
+            final LocalDate oldest = now.toLocalDate().minusDays(MAX_CATCH_UP_DAYS);
+            final LocalDate next = lastCompletedDay.plusDays(1);
+            first = at(next.isBefore(oldest) ? oldest : next, time);
+        }
+        return register(new Job(name, first, due -> job.accept(due.toLocalDate()),
+                due -> at(due.toLocalDate().plusDays(1), time), true));
+    }
+
+    /**
+     * Runs a job once a week on a day and time. A run missed while the app was closed is not made
+     * up; one missed while the computer was asleep runs once on waking.
+     * @param name identifies the job
+     * @param day the day of the week it runs
+     * @param time when in the day it runs
+     * @param job the job
+     * @return a handle to cancel the job
+     */
+    public ScheduledJob scheduleWeekly(String name, DayOfWeek day, LocalTime time, Runnable job) {
+        final ZonedDateTime now = ZonedDateTime.now(clock);
+        ZonedDateTime first = at(now.toLocalDate().with(TemporalAdjusters.nextOrSame(day)), time);
+        if (first.isBefore(now)) {
+            first = at(first.toLocalDate().plusWeeks(1), time);
+        }
+        return register(new Job(name, first, due -> job.run(),
+                due -> at(due.toLocalDate().plusWeeks(1), time), false));
+    }
+
+    /**
+     * Runs a job now and then again each time the period has passed.
+     * @param name identifies the job
+     * @param period the time between runs
+     * @param job the job
+     * @return a handle to cancel the job
+     */
+    public ScheduledJob scheduleRepeating(String name, Duration period, Runnable job) {
+        return register(new Job(name, ZonedDateTime.now(clock), due -> job.run(),
+                due -> due.plus(period), false));
+    }
+
+    /**
+     * Tells whether a job is registered under a name.
+     * @param name the job's name
+     * @return true if it is scheduled and not cancelled
+     */
+    public boolean isScheduled(String name) {
+        return jobs.containsKey(name);
+    }
+
+    /**
+     * Cancels the job registered under a name, if there is one.
+     * @param name the job's name
+     */
+    public void cancel(String name) {
+        final Job job = jobs.get(name);
+        if (job != null) {
+            job.cancel();
+        }
+    }
+
+    private ZonedDateTime at(LocalDate date, LocalTime time) {
+        // A time skipped by a daylight-saving change moves later by the length of the gap; a time
+        // that happens twice takes the earlier of the two
+        return ZonedDateTime.of(date, time, clock.getZone());
+    }
+
+    private ScheduledJob register(Job job) {
+        final Job previous = jobs.put(job.name, job);
+        if (previous != null) {
+            previous.cancel();
+        }
+        job.arm();
+        return job;
+    }
+
+    /**
+     * A job registered with the scheduler.
+     */
+    public interface ScheduledJob {
+        /**
+         * Stops the job; a run already in progress finishes.
+         */
+        void cancel();
+
+        /**
+         * Returns when the job runs next.
+         * @return the time of the next run, in the scheduler's time zone
+         */
+        ZonedDateTime getNextRun();
+    }
+
+    private final class Job implements ScheduledJob {
+        private final String name;
+        private final Consumer<ZonedDateTime> action;
+        private final UnaryOperator<ZonedDateTime> following;
+        private final boolean catchUp;
+        private volatile ZonedDateTime due;
+        private volatile ScheduledFuture<?> pending;
+        private volatile boolean cancelled;
+
+        Job(String name, ZonedDateTime first, Consumer<ZonedDateTime> action,
+            UnaryOperator<ZonedDateTime> following, boolean catchUp) {
+            this.name = name;
+            this.due = first;
+            this.action = action;
+            this.following = following;
+            this.catchUp = catchUp;
+        }
+
+        void arm() {
+            final long untilDue = Duration.between(clock.instant(), due.toInstant()).toMillis();
+            final long wait = Math.min(Math.max(0, untilDue), MAX_WAIT.toMillis());
+            pending = executor.schedule(this::tick, wait, TimeUnit.MILLISECONDS);
+        }
+
+        private void tick() {
+            if (cancelled) {
+                return;
+            }
+            final ZonedDateTime now = ZonedDateTime.now(clock);
+            if (now.isBefore(due)) {
+                arm();
+                return;
+            }
+            try {
+                action.accept(due);
+            }
+            catch (RuntimeException e) {
+                System.err.println("Scheduled job " + name + " failed: " + e.getMessage());
+            }
+            ZonedDateTime next = following.apply(due);
+            if (!catchUp) {
+                while (!next.isAfter(now)) {
+                    next = following.apply(next);
+                }
+            }
+            due = next;
+            arm();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            jobs.remove(name, this);
+            final ScheduledFuture<?> scheduled = pending;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+
+        @Override
+        public ZonedDateTime getNextRun() {
+            return due;
+        }
+    }
+}
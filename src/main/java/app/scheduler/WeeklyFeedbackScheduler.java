@@ -1,52 +1,69 @@
 package app.scheduler;
 
 import java.time.DayOfWeek;
-import java.time.Duration;
-import java.time.LocalDateTime;
-import java.time.temporal.TemporalAdjusters;
+import java.time.LocalTime;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 
 import use_case.generate_feedback.GenerateFeedbackInputBoundary;
 
 // style checked
 public class WeeklyFeedbackScheduler {
-    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    static final String JOB_NAME = "weekly-feedback";
+
+    /**
+     * Runs feedback generation, which waits on GPT calls and their retries, off the scheduler
+     * thread so reminders and snapshots due meanwhile are not held up.
+     */
+    private static final ExecutorService WORKER = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "weekly-feedback");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AppScheduler scheduler;
     private final GenerateFeedbackInputBoundary feedbackUseCase;
+    private final Executor worker;
 
     public WeeklyFeedbackScheduler(GenerateFeedbackInputBoundary feedbackUseCase) {
+        this(feedbackUseCase, AppScheduler.shared());
+    }
+
+    public WeeklyFeedbackScheduler(GenerateFeedbackInputBoundary feedbackUseCase, AppScheduler scheduler) {
+        this(feedbackUseCase, scheduler, WORKER);
+    }
+
+    /**
+     * Creates a scheduler that triggers feedback generation on the app scheduler and runs it on
+     * the given executor.
+     * @param feedbackUseCase generates the week's feedback
+     * @param scheduler decides when it is due
+     * @param worker where generation runs
+     */
+    public WeeklyFeedbackScheduler(GenerateFeedbackInputBoundary feedbackUseCase, AppScheduler scheduler,
+                                   Executor worker) {
         this.feedbackUseCase = feedbackUseCase;
+        this.scheduler = scheduler;
+        this.worker = worker;
     }
 
     /**
      * Starts the weekly feedback generation scheduler.
-     * Schedules {@link #runFeedbackGeneration()} to run after computed intiial delay,
-     * for every Monday.
+     * Registers a job with the app scheduler that hands {@link #runFeedbackGeneration()} to the
+     * worker every Monday at midnight, local time.
      */
     public void start() {
-        final long initialDelay = computeInitialDelay();
-        final long period = TimeUnit.DAYS.toMillis(7);
-
-        executor.scheduleAtFixedRate(
-                this::runFeedbackGeneration,
-                initialDelay,
-                period,
-                TimeUnit.MILLISECONDS
-        );
+        scheduler.scheduleWeekly(JOB_NAME, DayOfWeek.MONDAY, LocalTime.MIDNIGHT,
+                () -> worker.execute(this::runFeedbackGeneration));
     }
 
     private void runFeedbackGeneration() {
-        feedbackUseCase.execute();
-    }
-
-    private long computeInitialDelay() {
-        final LocalDateTime now = LocalDateTime.now();
-        final LocalDateTime nextMondayMidnight = now
-                .with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY))
-                .withHour(0).withMinute(0).withSecond(0).withNano(0);
-
-        final Duration duration = Duration.between(now, nextMondayMidnight);
-        return duration.toMillis();
+        try {
+            feedbackUseCase.execute();
+        }
+        catch (RuntimeException exception) {
+            System.err.println("Weekly feedback generation failed: " + exception.getMessage());
+        }
     }
 }
@@ -344,6 +344,10 @@ public class TaskPageBuilder {
         todaysTasksView.setTaskGateway(taskGateway);
         todaysTasksView.setCategoryGateway(categoryDataAccess);
 
+        // Apply data-layer changes row by row, once per frame
+        availableTasksView.setEventBus(dataAccessFactory.getEventBus());
+        todaysTasksView.setEventBus(dataAccessFactory.getEventBus());
+
         return buildLayout();
     }
 
@@ -0,0 +1,39 @@
+package data_access;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * The IDs one write added, updated or removed in a data access object. Each store publishes
+ * its own subclass on the {@link DomainEventBus}, so subscribers can ask for just the changes
+ * they show.
+ */
+public abstract class DomainChangeEvent {
+
+    private final Set<String> added;
+    private final Set<String> updated;
+    private final Set<String> removed;
+
+    protected DomainChangeEvent(Collection<String> added, Collection<String> updated,
+                                Collection<String> removed) {
+        this.added = Set.copyOf(added);
+        this.updated = Set.copyOf(updated);
+        this.removed = Set.copyOf(removed);
+    }
+
+    public Set<String> getAdded() {
+        return added;
+    }
+
+    public Set<String> getUpdated() {
+        return updated;
+    }
+
+    public Set<String> getRemoved() {
+        return removed;
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && updated.isEmpty() && removed.isEmpty();
+    }
+}
@@ -0,0 +1,129 @@
+package data_access;
+
+import javax.swing.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * In-process bus that carries data-layer changes to the UI.
+ *
+ * <p>Data access objects publish from whatever thread made the change. Events are queued and
+ * handed to subscribers once per frame on the Swing event thread, so a burst of writes (a
+ * category delete touching a hundred tasks, say) costs one repaint instead of a hundred.
+ * Subscribers ask for one event type and receive every event of that type from the frame,
+ * in publish order.</p>
+ */
+public class DomainEventBus {
+
+    /**
+     * How long the bus waits after the first event of a burst before delivering it.
+     */
+    public static final int FRAME_MILLIS = 16;
+
+    private final Queue<Object> pending = new ConcurrentLinkedQueue<>();
+    private final List<Subscription<?>> subscriptions = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean deliveryScheduled = new AtomicBoolean();
+    private final Consumer<Runnable> frameScheduler;
+
+    /**
+     * Creates a bus that delivers on the Swing event thread, one frame after a burst starts.
+     */
+    public DomainEventBus() {
+        this(delivery -> {
+            Timer timer = new Timer(FRAME_MILLIS, e -> delivery.run());
+            timer.setRepeats(false);
+            timer.start();
+        });
+    }
+
+    /**
+     * Creates a bus that hands each batch to the given scheduler.
+     *
+     * @param frameScheduler runs the delivery of the queued events; called at most once per batch
+     */
+    public DomainEventBus(Consumer<Runnable> frameScheduler) {
+        this.frameScheduler = frameScheduler;
+    }
+
+    /**
+     * Subscribes to one type of event, including its subclasses.
+     *
+     * @param type the event type
+     * @param handler receives the events of that type published since the last delivery
+     * @param <E> the event type
+     */
+    public <E> void subscribe(Class<E> type, Consumer<List<E>> handler) {
+        subscriptions.add(new Subscription<>(type, handler));
+    }
+
+    /**
+     * Removes every subscription made with the given handler.
+     *
+     * @param handler the handler passed to {@link #subscribe}
+     */
+    public void unsubscribe(Consumer<?> handler) {
+        subscriptions.removeIf(subscription -> subscription.handler == handler);
+    }
+
+    /**
+     * Queues an event for the next delivery. Safe to call from any thread.
+     *
+     * @param event the event
+     */
+    public void publish(Object event) {
+        if (event == null) {
+            return;
+        }
+        pending.add(event);
+        if (deliveryScheduled.compareAndSet(false, true)) {
+            frameScheduler.accept(this::deliver);
+        }
+    }
+
+    private void deliver() {
+        deliveryScheduled.set(false);
+        final List<Object> batch = new ArrayList<>();
+        Object event;
+        while ((event = pending.poll()) != null) {
+            batch.add(event);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        for (Subscription<?> subscription : subscriptions) {
+            try {
+                subscription.deliver(batch);
+            }
+            catch (RuntimeException e) {
+                System.err.println("Error delivering change events: " + e.getMessage());
+            }
+        }
+    }
+
+    private static final class Subscription<E> {
+        private final Class<E> type;
+        private final Consumer<List<E>> handler;
+
+        Subscription(Class<E> type, Consumer<List<E>> handler) {
+            this.type = type;
+            this.handler = handler;
+        }
+
+        void deliver(List<Object> batch) {
+            final List<E> matching = new ArrayList<>();
+            for (Object event : batch) {
+                if (type.isInstance(event)) {
+                    matching.add(type.cast(event));
+                }
+            }
+            if (!matching.isEmpty()) {
+                handler.accept(matching);
+            }
+        }
+    }
+}
@@ -30,6 +30,11 @@ public class InMemoryCategoryDataAccessObject implements
         EditAvailableTaskCategoryDataAccessInterface,
         CreateTaskCategoryDataAccessInterface {
     private final Map<String, Category> categories = Collections.synchronizedMap(new HashMap<>());
+    /**
+     * Immutable ID-to-name copy of {@link #categories}, replaced as a whole after every write so
+     * the views and interactors that name a category per row read it without taking a lock.
+     */
+    private volatile Map<String, String> categoryNames = Map.of();
     private int nextId = 4;
     // Start at 4 since we have 3 default categories
 
@@ -37,9 +42,26 @@ public class InMemoryCategoryDataAccessObject implements
         // Don't add default categories - let tests control this
     }
 
+    /**
+     * Rebuilds the name cache from the current categories. Runs under the map's lock so two
+     * writers cannot publish their copies out of order.
+     */
+    private void refreshCategoryNames() {
+        synchronized (categories) {
+            Map<String, String> names = new HashMap<>();
+            for (Category category : categories.values()) {
+                if (category.getId() != null && category.getName() != null) {
+                    names.put(category.getId(), category.getName());
+                }
+            }
+            categoryNames = Map.copyOf(names);
+        }
+    }
+
     @Override
     public void saveCategory(Category category) {
         categories.put(category.getId(), category);
+        refreshCategoryNames();
 
         // Update nextId if we're saving a category with a numeric ID
         try {
@@ -74,6 +96,11 @@ public class InMemoryCategoryDataAccessObject implements
         return categories.get(id);
     }
 
+    @Override
+    public String getCategoryName(String id) {
+        return id == null ? null : categoryNames.get(id);
+    }
+
     @Override
     public Category getCategoryByName(String name) {
         // Find category by exact name match (case-insensitive)
@@ -87,6 +114,7 @@ public class InMemoryCategoryDataAccessObject implements
     public boolean updateCategory(Category category) {
         if (categories.containsKey(category.getId())) {
             categories.put(category.getId(), category);
+            refreshCategoryNames();
             return true;
         }
         return false;
@@ -94,7 +122,11 @@ public class InMemoryCategoryDataAccessObject implements
 
     @Override
     public boolean deleteCategory(String categoryId) {
-        return categories.remove(categoryId) != null;
+        boolean removed = categories.remove(categoryId) != null;
+        if (removed) {
+            refreshCategoryNames();
+        }
+        return removed;
     }
 
     @Override
@@ -189,5 +221,6 @@ public class InMemoryCategoryDataAccessObject implements
      */
     public void clearAllData() {
         categories.clear();
+        refreshCategoryNames();
     }
 }
\ No newline at end of file
@@ -1,6 +1,10 @@
 package data_access;
 
+import entity.Angela.HistoryRollup;
 import entity.Angela.TodaySoFarSnapshot;
+import use_case.Angela.view_history.HistoryAnalytics;
+import use_case.Angela.view_history.HistoryMetricsDataAccessInterface;
+import use_case.Angela.view_history.HistoryRollupDataAccessInterface;
 import use_case.Angela.view_history.ViewHistoryDataAccessInterface;
 
 import java.time.LocalDate;
@@ -9,10 +13,14 @@ import java.util.stream.Collectors;
 
 /**
  * In-memory implementation of the history data access.
- * Stores historical snapshots in memory.
+ * Stores historical snapshots, their weekly and monthly rollups and their analytics in memory.
  */
-public class InMemoryHistoryDataAccess implements ViewHistoryDataAccessInterface {
+public class InMemoryHistoryDataAccess implements ViewHistoryDataAccessInterface, HistoryRollupDataAccessInterface,
+        HistoryMetricsDataAccessInterface {
     private final Map<LocalDate, TodaySoFarSnapshot> snapshots = new HashMap<>();
+    private final Map<HistoryRollup.Granularity, NavigableMap<LocalDate, HistoryRollup>> rollups =
+        new EnumMap<>(HistoryRollup.Granularity.class);
+    private HistoryAnalytics analytics = new HistoryAnalytics();
     
     @Override
     public boolean saveSnapshot(TodaySoFarSnapshot snapshot) {
@@ -21,6 +29,7 @@ public class InMemoryHistoryDataAccess implements ViewHistoryDataAccessInterface
         }
         
         snapshots.put(snapshot.getDate(), snapshot);
+        analytics.record(snapshot);
         return true;
     }
     
@@ -52,11 +61,54 @@ public class InMemoryHistoryDataAccess implements ViewHistoryDataAccessInterface
         return datesToRemove.size();
     }
     
+    @Override
+    public boolean saveRollup(HistoryRollup rollup) {
+        if (rollup == null) {
+            return false;
+        }
+        rollupsOf(rollup.getGranularity()).put(rollup.getStart(), rollup);
+        return true;
+    }
+    
+    @Override
+    public HistoryRollup getRollup(HistoryRollup.Granularity granularity, LocalDate start) {
+        return rollupsOf(granularity).get(start);
+    }
+    
+    @Override
+    public List<HistoryRollup> getRollups(HistoryRollup.Granularity granularity) {
+        return new ArrayList<>(rollupsOf(granularity).descendingMap().values());
+    }
+    
+    @Override
+    public int deleteRollupsBefore(HistoryRollup.Granularity granularity, LocalDate start) {
+        Map<LocalDate, HistoryRollup> old = rollupsOf(granularity).headMap(start, false);
+        int deleted = old.size();
+        old.clear();
+        return deleted;
+    }
+    
+    @Override
+    public boolean deleteSnapshot(LocalDate date) {
+        return snapshots.remove(date) != null;
+    }
+    
+    @Override
+    public HistoryAnalytics getAnalytics() {
+        return analytics;
+    }
+    
+    private NavigableMap<LocalDate, HistoryRollup> rollupsOf(HistoryRollup.Granularity granularity) {
+        return rollups.computeIfAbsent(granularity, g -> new TreeMap<>());
+    }
+    
     /**
-     * Clears all snapshots (useful for testing).
+     * Clears all snapshots, rollups and analytics (useful for testing).
      */
     public void clear() {
         snapshots.clear();
+        rollups.clear();
+        analytics = new HistoryAnalytics();
     }
     
     /**
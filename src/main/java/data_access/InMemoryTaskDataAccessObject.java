@@ -20,6 +20,7 @@ import use_case.repository.GoalRepository;
 
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -39,10 +40,21 @@ public class InMemoryTaskDataAccessObject implements
         OverdueTasksDataAccessInterface,
         DeleteCategoryTaskDataAccessInterface {
         
-    // Shared data stores
-    private final Map<String, Info> availableTasks = Collections.synchronizedMap(new HashMap<>()); // Legacy storage for backward compatibility
-    private final Map<String, TaskAvailable> availableTaskTemplates = Collections.synchronizedMap(new HashMap<>()); // New storage for TaskAvailable
-    private final Map<String, Task> todaysTasks = Collections.synchronizedMap(new HashMap<>());
+    // Shared data stores. Reads never block: the timers iterate these while the UI edits them,
+    // so they must be concurrent maps rather than synchronized ones (see IndexedTaskMap).
+    private final Map<String, Info> availableTasks = new ConcurrentHashMap<>(); // Legacy storage for backward compatibility
+    // Indexed by category (templates) and by template, category, due date and name (today's tasks)
+    private final IndexedTaskMap<TaskAvailable> availableTaskTemplates = new IndexedTaskMap<>(
+            template -> null,
+            template -> template.getInfo().getCategory(),
+            template -> null);
+    private final IndexedTaskMap<Task> todaysTasks = new IndexedTaskMap<>(
+            Task::getTemplateTaskId,
+            task -> task.getInfo().getCategory(),
+            task -> task.getDates().getDueDate(),
+            task -> task.getInfo().getName());
+    
+    private volatile DomainEventBus eventBus;
     
     // Strategy instances - each handles one responsibility
     private final CreateTaskStrategy createTaskStrategy;
@@ -78,11 +90,80 @@ public class InMemoryTaskDataAccessObject implements
         deleteTaskStrategy.setGoalRepository(goalRepository);
     }
     
+    /**
+     * Sets the bus that every task added, updated or removed here is published on.
+     * This is optional and can be null if nothing listens for changes.
+     */
+    public void setEventBus(DomainEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+    
+    private void fireChange(TaskChangeEvent event) {
+        if (event.isEmpty()) {
+            return;
+        }
+        tasksChanged(event);
+        DomainEventBus bus = eventBus;
+        if (bus != null) {
+            bus.publish(event);
+        }
+    }
+    
+    /**
+     * Called on the writing thread after every write, with the IDs of the tasks it added,
+     * updated or removed, before the change is published. Does nothing here; subclasses that
+     * also keep the tasks elsewhere override it.
+     *
+     * @param event the changed task IDs and the list they belong to
+     */
+    protected void tasksChanged(TaskChangeEvent event) {
+    }
+    
+    /**
+     * Puts tasks loaded from storage straight into the lists, without calling
+     * {@link #tasksChanged} or publishing anything. Each list is indexed once for the batch.
+     *
+     * @param templates the available task templates
+     * @param tasks today's tasks
+     */
+    protected void restore(Collection<TaskAvailable> templates, Collection<Task> tasks) {
+        Map<String, TaskAvailable> templatesById = new LinkedHashMap<>();
+        for (TaskAvailable template : templates) {
+            templatesById.put(template.getId(), template);
+        }
+        Map<String, Task> tasksById = new LinkedHashMap<>();
+        for (Task task : tasks) {
+            tasksById.put(task.getId(), task);
+        }
+        availableTaskTemplates.putAll(templatesById);
+        todaysTasks.putAll(tasksById);
+    }
+    
+    private List<String> todaysTaskIdsWithTemplate(String templateTaskId) {
+        return todaysTasks.withTemplate(templateTaskId).stream()
+                .map(Task::getId)
+                .collect(Collectors.toList());
+    }
+    
+    private List<String> idsInCategory(String categoryId, TaskChangeEvent.Store store) {
+        if (store == TaskChangeEvent.Store.TODAY) {
+            return todaysTasks.inCategory(categoryId).stream().map(Task::getId).collect(Collectors.toList());
+        }
+        return availableTaskTemplates.inCategory(categoryId).stream()
+                .map(TaskAvailable::getId)
+                .collect(Collectors.toList());
+    }
+    
     // ===== CreateTaskDataAccessInterface methods =====
     
     @Override
     public String saveTaskAvailable(TaskAvailableInterf taskAvailable) {
-        return createTaskStrategy.saveTaskAvailable(taskAvailable);
+        boolean existed = availableTaskTemplates.containsKey(taskAvailable.getId());
+        String taskId = createTaskStrategy.saveTaskAvailable(taskAvailable);
+        fireChange(existed
+                ? TaskChangeEvent.updated(TaskChangeEvent.Store.AVAILABLE, List.of(taskId))
+                : TaskChangeEvent.added(TaskChangeEvent.Store.AVAILABLE, taskId));
+        return taskId;
     }
     
     @Override
@@ -115,7 +196,13 @@ public class InMemoryTaskDataAccessObject implements
     @Override
     public boolean updateAvailableTask(String taskId, String newName, String newDescription, 
                                        String newCategoryId, boolean isOneTime) {
-        return editAvailableTaskStrategy.updateAvailableTask(taskId, newName, newDescription, newCategoryId, isOneTime);
+        boolean updated = editAvailableTaskStrategy.updateAvailableTask(
+                taskId, newName, newDescription, newCategoryId, isOneTime);
+        if (updated) {
+            fireChange(TaskChangeEvent.updated(TaskChangeEvent.Store.AVAILABLE, List.of(taskId)));
+            fireChange(TaskChangeEvent.updated(TaskChangeEvent.Store.TODAY, todaysTaskIdsWithTemplate(taskId)));
+        }
+        return updated;
     }
     
     @Override
@@ -137,7 +224,9 @@ public class InMemoryTaskDataAccessObject implements
     
     @Override
     public TaskInterf addTaskToToday(TaskAvailableInterf taskAvailable, Task.Priority priority, LocalDate dueDate) {
-        return addToTodayStrategy.addTaskToToday(taskAvailable, priority, dueDate);
+        TaskInterf added = addToTodayStrategy.addTaskToToday(taskAvailable, priority, dueDate);
+        fireChange(TaskChangeEvent.added(TaskChangeEvent.Store.TODAY, added.getId()));
+        return added;
     }
     
     @Override
@@ -164,7 +253,8 @@ public class InMemoryTaskDataAccessObject implements
     
     @Override
     public boolean updateTodayTaskPriorityAndDueDate(String taskId, Task.Priority priority, LocalDate dueDate) {
-        return editTodayTaskStrategy.updateTodayTaskPriorityAndDueDate(taskId, priority, dueDate);
+        return todayTaskUpdated(taskId,
+                editTodayTaskStrategy.updateTodayTaskPriorityAndDueDate(taskId, priority, dueDate));
     }
     
     @Override
@@ -176,14 +266,25 @@ public class InMemoryTaskDataAccessObject implements
     
     @Override
     public boolean updateTaskCompletionStatus(String taskId, boolean isCompleted) {
-        return markTaskCompleteStrategy.updateTaskCompletionStatus(taskId, isCompleted);
+        return todayTaskUpdated(taskId, markTaskCompleteStrategy.updateTaskCompletionStatus(taskId, isCompleted));
     }
     
     // ===== RemoveFromTodayDataAccessInterface methods =====
     
     @Override
     public boolean removeFromTodaysList(String taskId) {
-        return removeFromTodayStrategy.removeFromTodaysList(taskId);
+        boolean removed = removeFromTodayStrategy.removeFromTodaysList(taskId);
+        if (removed) {
+            fireChange(TaskChangeEvent.removed(TaskChangeEvent.Store.TODAY, List.of(taskId)));
+        }
+        return removed;
+    }
+    
+    private boolean todayTaskUpdated(String taskId, boolean updated) {
+        if (updated) {
+            fireChange(TaskChangeEvent.updated(TaskChangeEvent.Store.TODAY, List.of(taskId)));
+        }
+        return updated;
     }
     
     // ===== OverdueTasksDataAccessInterface methods =====
@@ -222,17 +323,31 @@ public class InMemoryTaskDataAccessObject implements
     
     @Override
     public boolean deleteFromAvailable(TaskAvailableInterf taskAvailable) {
-        return deleteTaskStrategy.deleteFromAvailable(taskAvailable);
+        boolean removed = deleteTaskStrategy.deleteFromAvailable(taskAvailable);
+        if (removed) {
+            fireChange(TaskChangeEvent.removed(TaskChangeEvent.Store.AVAILABLE, List.of(taskAvailable.getId())));
+        }
+        return removed;
     }
     
     @Override
     public boolean deleteAllTodaysTasksWithTemplate(String templateTaskId) {
-        return deleteTaskStrategy.deleteAllTodaysTasksWithTemplate(templateTaskId);
+        List<String> todayIds = todaysTaskIdsWithTemplate(templateTaskId);
+        boolean removed = deleteTaskStrategy.deleteAllTodaysTasksWithTemplate(templateTaskId);
+        fireChange(TaskChangeEvent.removed(TaskChangeEvent.Store.TODAY, todayIds));
+        return removed;
     }
     
     @Override
     public boolean deleteTaskCompletely(String templateTaskId) {
-        return deleteTaskStrategy.deleteTaskCompletely(templateTaskId);
+        List<String> todayIds = todaysTaskIdsWithTemplate(templateTaskId);
+        boolean removed = deleteTaskStrategy.deleteTaskCompletely(templateTaskId);
+        if (removed) {
+            fireChange(TaskChangeEvent.removed(TaskChangeEvent.Store.AVAILABLE, List.of(templateTaskId)));
+        }
+        todayIds.removeIf(todaysTasks::containsKey);
+        fireChange(TaskChangeEvent.removed(TaskChangeEvent.Store.TODAY, todayIds));
+        return removed;
     }
     
     @Override
@@ -264,12 +379,16 @@ public class InMemoryTaskDataAccessObject implements
     
     @Override
     public boolean updateAvailableTaskCategory(String taskId, String newCategoryId) {
-        return editCategoryTaskStrategy.updateAvailableTaskCategory(taskId, newCategoryId);
+        boolean updated = editCategoryTaskStrategy.updateAvailableTaskCategory(taskId, newCategoryId);
+        if (updated) {
+            fireChange(TaskChangeEvent.updated(TaskChangeEvent.Store.AVAILABLE, List.of(taskId)));
+        }
+        return updated;
     }
     
     @Override
     public boolean updateTodaysTaskCategory(String taskId, String newCategoryId) {
-        return editCategoryTaskStrategy.updateTodaysTaskCategory(taskId, newCategoryId);
+        return todayTaskUpdated(taskId, editCategoryTaskStrategy.updateTodaysTaskCategory(taskId, newCategoryId));
     }
     
     // ===== DeleteCategoryTaskDataAccessInterface methods =====
@@ -286,7 +405,12 @@ public class InMemoryTaskDataAccessObject implements
     
     @Override
     public boolean updateTasksCategoryToNull(String categoryId) {
-        return deleteCategoryTaskStrategy.updateTasksCategoryToNull(categoryId);
+        List<String> availableIds = idsInCategory(categoryId, TaskChangeEvent.Store.AVAILABLE);
+        List<String> todayIds = idsInCategory(categoryId, TaskChangeEvent.Store.TODAY);
+        boolean updated = deleteCategoryTaskStrategy.updateTasksCategoryToNull(categoryId);
+        fireChange(TaskChangeEvent.updated(TaskChangeEvent.Store.AVAILABLE, availableIds));
+        fireChange(TaskChangeEvent.updated(TaskChangeEvent.Store.TODAY, todayIds));
+        return updated;
     }
     
     // ===== Legacy and utility methods for backward compatibility =====
@@ -351,22 +475,12 @@ public class InMemoryTaskDataAccessObject implements
     }
     
     /**
-     * Get today's tasks with sorting.
+     * Get today's tasks sorted alphabetically by name (case-insensitive).
+     * The list is a read-only snapshot kept in order as tasks are added, renamed and removed,
+     * so repeated calls between changes return it without copying or sorting.
      */
     public List<Task> getTodaysTasks() {
-        List<Task> tasks = new ArrayList<>(todaysTasks.values());
-        
-        // Sort tasks alphabetically by name (case-insensitive)
-        tasks.sort((a, b) -> {
-            String nameA = a.getInfo().getName();
-            String nameB = b.getInfo().getName();
-            if (nameA == null && nameB == null) return 0;
-            if (nameA == null) return 1;
-            if (nameB == null) return -1;
-            return nameA.compareToIgnoreCase(nameB);
-        });
-        
-        return tasks;
+        return todaysTasks.sortedByName();
     }
     
     /**
@@ -381,9 +495,13 @@ public class InMemoryTaskDataAccessObject implements
      * WARNING: This will delete all tasks and should only be used in tests!
      */
     public void clearAllData() {
+        List<String> availableIds = new ArrayList<>(availableTaskTemplates.keySet());
+        List<String> todayIds = new ArrayList<>(todaysTasks.keySet());
         availableTasks.clear();
         availableTaskTemplates.clear();
         todaysTasks.clear();
+        fireChange(TaskChangeEvent.removed(TaskChangeEvent.Store.AVAILABLE, availableIds));
+        fireChange(TaskChangeEvent.removed(TaskChangeEvent.Store.TODAY, todayIds));
     }
     
     /**
@@ -391,6 +509,6 @@ public class InMemoryTaskDataAccessObject implements
      * Legacy method for backward compatibility.
      */
     public boolean removeFromToday(String taskId) {
-        return removeFromTodayStrategy.removeFromTodaysList(taskId);
+        return removeFromTodaysList(taskId);
     }
 }
\ No newline at end of file
@@ -1,18 +1,27 @@
 package data_access;
 
+import data_access.alex.TodaysEventChangeEvent;
 import data_access.alex.TodaysEventDataAccessObject;
 import data_access.alex.TodaysWellnessLogDataAccessObject;
+import data_access.alex.WellnessLogChangeEvent;
+import data_access.files.GoalChangeEvent;
 import entity.Angela.Task.Task;
 import entity.Angela.Task.TaskInterf;
 import entity.alex.Event.EventInterf;
 import entity.alex.WellnessLogEntry.WellnessLogEntryInterf;
 import entity.Sophia.Goal;
 import entity.Sophia.GoalInterface;
+import use_case.Angela.today_so_far.TodaySoFar;
 import use_case.Angela.today_so_far.TodaySoFarDataAccessInterface;
 import use_case.repository.GoalRepository;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -25,6 +34,11 @@ public class InMemoryTodaySoFarDataAccess implements TodaySoFarDataAccessInterfa
     private final TodaysWellnessLogDataAccessObject wellnessDataAccess;
     private final GoalRepository goalRepository;
     
+    // Kept up to date from the event bus once one is set; rebuilt when the day changes
+    private TodaySoFar todaySoFar;
+    private LocalDate todaySoFarDate;
+    private boolean eventBusSet;
+    
     public InMemoryTodaySoFarDataAccess(InMemoryTaskDataAccessObject taskGateway,
                                         TodaysEventDataAccessObject eventDataAccess,
                                         TodaysWellnessLogDataAccessObject wellnessDataAccess,
@@ -130,4 +144,98 @@ public class InMemoryTodaySoFarDataAccess implements TodaySoFarDataAccessInterfa
         return 0;
     }
     
-}
\ No newline at end of file
+    /**
+     * Keeps the Today So Far aggregate up to date from the changes published on the bus,
+     * instead of rebuilding it on every read. Call before anything reads it.
+     */
+    public synchronized void setEventBus(DomainEventBus eventBus) {
+        eventBus.subscribe(DomainChangeEvent.class, this::applyChanges);
+        eventBusSet = true;
+    }
+    
+    /**
+     * Returns the aggregate. With an event bus it is built once per day and then changed in
+     * place; without one it is rebuilt on every call.
+     */
+    @Override
+    public synchronized TodaySoFar getTodaySoFar() {
+        LocalDate today = LocalDate.now();
+        if (!eventBusSet || todaySoFar == null || !today.equals(todaySoFarDate)) {
+            todaySoFar = buildTodaySoFar();
+            todaySoFarDate = today;
+        }
+        return todaySoFar;
+    }
+    
+    private TodaySoFar buildTodaySoFar() {
+        TodaySoFar built = new TodaySoFar();
+        for (GoalInterface goal : getActiveGoals()) {
+            built.goalChanged(goal.getGoalInfo().getInfo().getName(), goal);
+        }
+        if (taskGateway != null) {
+            for (Task task : taskGateway.getTodaysTasks()) {
+                built.taskChanged(task.getId(), task);
+            }
+        }
+        for (EventInterf event : getCompletedEventsForToday()) {
+            built.eventChanged(event.getInfo().getId(), event);
+        }
+        for (WellnessLogEntryInterf entry : getWellnessEntriesForToday()) {
+            built.wellnessEntryChanged(entry.getId(), entry);
+        }
+        return built;
+    }
+    
+    /**
+     * Applies one frame's changes, looking up only the items that changed.
+     */
+    private synchronized void applyChanges(List<DomainChangeEvent> changes) {
+        if (todaySoFar == null) {
+            return; // Built from scratch on first read
+        }
+        for (DomainChangeEvent change : changes) {
+            if (change instanceof TaskChangeEvent) {
+                if (((TaskChangeEvent) change).getStore() == TaskChangeEvent.Store.TODAY && taskGateway != null) {
+                    for (String taskId : changedIds(change)) {
+                        todaySoFar.taskChanged(taskId, taskGateway.getTodayTaskById(taskId));
+                    }
+                }
+            } else if (change instanceof TodaysEventChangeEvent) {
+                if (eventDataAccess != null) {
+                    for (String eventId : changedIds(change)) {
+                        todaySoFar.eventChanged(eventId, eventDataAccess.getEventById(eventId));
+                    }
+                }
+            } else if (change instanceof WellnessLogChangeEvent) {
+                if (wellnessDataAccess != null) {
+                    for (String entryId : changedIds(change)) {
+                        todaySoFar.wellnessEntryChanged(entryId, wellnessDataAccess.getById(entryId));
+                    }
+                }
+            } else if (change instanceof GoalChangeEvent) {
+                applyGoalChanges(change);
+            }
+        }
+    }
+    
+    private void applyGoalChanges(DomainChangeEvent change) {
+        if (goalRepository == null) {
+            return;
+        }
+        // Today's goal list holds a handful of goals, so look the changed ones up in it
+        Map<String, Goal> todayGoals = new HashMap<>();
+        for (Goal goal : goalRepository.getTodayGoals()) {
+            todayGoals.put(goal.getGoalInfo().getInfo().getName(), goal);
+        }
+        for (String goalName : changedIds(change)) {
+            todaySoFar.goalChanged(goalName, todayGoals.get(goalName));
+        }
+    }
+    
+    private static Set<String> changedIds(DomainChangeEvent change) {
+        Set<String> ids = new LinkedHashSet<>(change.getRemoved());
+        ids.addAll(change.getAdded());
+        ids.addAll(change.getUpdated());
+        return ids;
+    }
+}
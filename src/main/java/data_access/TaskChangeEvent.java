@@ -0,0 +1,44 @@
+package data_access;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * The task IDs changed by one write to {@link InMemoryTaskDataAccessObject}.
+ */
+public final class TaskChangeEvent extends DomainChangeEvent {
+
+    /**
+     * The list the changed tasks belong to.
+     */
+    public enum Store {
+        /** Available task templates, keyed by template ID. */
+        AVAILABLE,
+        /** Today's tasks, keyed by task ID. */
+        TODAY
+    }
+
+    private final Store store;
+
+    private TaskChangeEvent(Store store, Collection<String> added, Collection<String> updated,
+                            Collection<String> removed) {
+        super(added, updated, removed);
+        this.store = store;
+    }
+
+    static TaskChangeEvent added(Store store, String taskId) {
+        return new TaskChangeEvent(store, Set.of(taskId), Set.of(), Set.of());
+    }
+
+    static TaskChangeEvent updated(Store store, Collection<String> taskIds) {
+        return new TaskChangeEvent(store, Set.of(), taskIds, Set.of());
+    }
+
+    static TaskChangeEvent removed(Store store, Collection<String> taskIds) {
+        return new TaskChangeEvent(store, Set.of(), Set.of(), taskIds);
+    }
+
+    public Store getStore() {
+        return store;
+    }
+}
@@ -251,16 +251,12 @@ public class EventAvailableDataAccessObject implements
     @Override
     public boolean updateEventsCategoryToNull(String categoryId) {
         try {
-            // Find all available events with the given category
-            List<Info> eventsWithCategory = findAvailableEventsByCategory(categoryId);
-            
-            // Clear the category for each event
-            for (Info event : eventsWithCategory) {
-                if (!clearAvailableEventCategory(event.getId())) {
-                    return false;
+            // Clear the category of every matching event in one pass
+            for (InfoInterf event : eventAvailable.getEventAvailable()) {
+                if (event.getCategory() != null && event.getCategory().equals(categoryId)) {
+                    event.clearCategory();
                 }
             }
-            
             return true;
         } catch (Exception e) {
             return false;
@@ -0,0 +1,29 @@
+package data_access.alex;
+
+import data_access.DomainChangeEvent;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * The event IDs changed by one write to {@link TodaysEventDataAccessObject}.
+ */
+public final class TodaysEventChangeEvent extends DomainChangeEvent {
+
+    private TodaysEventChangeEvent(Collection<String> added, Collection<String> updated,
+                                   Collection<String> removed) {
+        super(added, updated, removed);
+    }
+
+    static TodaysEventChangeEvent added(String eventId) {
+        return new TodaysEventChangeEvent(Set.of(eventId), Set.of(), Set.of());
+    }
+
+    static TodaysEventChangeEvent updated(Collection<String> eventIds) {
+        return new TodaysEventChangeEvent(Set.of(), eventIds, Set.of());
+    }
+
+    static TodaysEventChangeEvent removed(Collection<String> eventIds) {
+        return new TodaysEventChangeEvent(Set.of(), Set.of(), eventIds);
+    }
+}
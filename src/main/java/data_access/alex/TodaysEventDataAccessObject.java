@@ -1,5 +1,6 @@
 package data_access.alex;
 
+import data_access.DomainEventBus;
 import entity.alex.DailyEventLog.DailyEventLogFactoryInterf;
 import entity.alex.DailyEventLog.DailyEventLogInterf;
 
@@ -27,6 +28,11 @@ public class TodaysEventDataAccessObject implements AddEventDataAccessInterf,
 
     private final DailyEventLogInterf todayLog;
 
+    /**
+     * Where changes are published, or null if nothing listens for them.
+     */
+    private volatile DomainEventBus eventBus;
+
     /**
      * Constructs a new TodaysEventDataAccessObject using the provided factory.
      *
@@ -36,12 +42,31 @@ public class TodaysEventDataAccessObject implements AddEventDataAccessInterf,
         this.todayLog = factory.create(LocalDate.now());
     }
 
+    /**
+     * Sets the bus that every event added, updated or removed here is published on.
+     *
+     * @param eventBus the bus, or null to stop publishing
+     */
+    public void setEventBus(DomainEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    private void publish(TodaysEventChangeEvent change) {
+        DomainEventBus bus = eventBus;
+        if (bus != null) {
+            bus.publish(change);
+        }
+    }
+
     @Override
     public void save(EventInterf todaysEvent) {
         if (todaysEvent == null) {
             throw new IllegalArgumentException("Event cannot be null");
         }
         todayLog.addEntry(todaysEvent);
+        if (todaysEvent.getInfo() != null && todaysEvent.getInfo().getId() != null) {
+            publish(TodaysEventChangeEvent.added(todaysEvent.getInfo().getId()));
+        }
     }
 
     @Override
@@ -52,7 +77,11 @@ public class TodaysEventDataAccessObject implements AddEventDataAccessInterf,
         String id = todaysEvent.getInfo().getId();
         int originalSize = todayLog.getActualEvents().size();
         todayLog.removeEntry(id);
-        return todayLog.getActualEvents().size() < originalSize;
+        boolean removed = todayLog.getActualEvents().size() < originalSize;
+        if (removed) {
+            publish(TodaysEventChangeEvent.removed(List.of(id)));
+        }
+        return removed;
     }
 
     @Override
@@ -94,8 +123,13 @@ public class TodaysEventDataAccessObject implements AddEventDataAccessInterf,
 
     @Override
     public void clearAll() {
+        List<String> removedIds = new ArrayList<>();
         for (EventInterf e : new ArrayList<>(todayLog.getActualEvents())) {
             todayLog.removeEntry(e.getInfo().getId());
+            removedIds.add(e.getInfo().getId());
+        }
+        if (!removedIds.isEmpty()) {
+            publish(TodaysEventChangeEvent.removed(removedIds));
         }
     }
 
@@ -121,6 +155,7 @@ public class TodaysEventDataAccessObject implements AddEventDataAccessInterf,
             if (oldEvent.getInfo().getId().equals(id)) {
                 todayLog.removeEntry(id);
                 todayLog.addEntry(updatedEvent);
+                publish(TodaysEventChangeEvent.updated(List.of(id)));
                 return true;
             }
         }
@@ -181,6 +216,7 @@ public class TodaysEventDataAccessObject implements AddEventDataAccessInterf,
         for (EventInterf event : todayLog.getActualEvents()) {
             if (event.getInfo() != null && event.getInfo().getId().equals(eventId)) {
                 event.getInfo().setCategory(null);  // Clear the category
+                publish(TodaysEventChangeEvent.updated(List.of(eventId)));
                 return true;
             }
         }
@@ -214,16 +250,19 @@ public class TodaysEventDataAccessObject implements AddEventDataAccessInterf,
     @Override
     public boolean updateEventsCategoryToNull(String categoryId) {
         try {
-            // Find all today's events with the given category
-            List<Info> eventsWithCategory = findTodaysEventsByCategory(categoryId);
-            
-            // Clear the category for each event
-            for (Info event : eventsWithCategory) {
-                if (!clearTodaysEventCategory(event.getId())) {
-                    return false;
+            // Clear the category of every matching event in one pass over today's log,
+            // and tell listeners about all of them at once
+            List<String> clearedIds = new ArrayList<>();
+            for (EventInterf event : todayLog.getActualEvents()) {
+                if (event.getInfo() != null && event.getInfo().getCategory() != null
+                        && event.getInfo().getCategory().equals(categoryId)) {
+                    event.getInfo().clearCategory();
+                    clearedIds.add(event.getInfo().getId());
                 }
             }
-            
+            if (!clearedIds.isEmpty()) {
+                publish(TodaysEventChangeEvent.updated(clearedIds));
+            }
             return true;
         } catch (Exception e) {
             return false;
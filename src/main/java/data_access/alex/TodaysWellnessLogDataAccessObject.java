@@ -1,5 +1,6 @@
 package data_access.alex;
 
+import data_access.DomainEventBus;
 import entity.alex.DailyWellnessLog.DailyWellnessLogFactoryInterf;
 import entity.alex.DailyWellnessLog.DailyWellnessLogInterf;
 import entity.alex.WellnessLogEntry.WellnessLogEntryInterf;
@@ -31,6 +32,11 @@ public class TodaysWellnessLogDataAccessObject implements
      */
     private final DailyWellnessLogFactoryInterf logFactory;
 
+    /**
+     * Where changes are published, or null if nothing listens for them.
+     */
+    private volatile DomainEventBus eventBus;
+
     /**
      * Constructs the DAO using a provided DailyWellnessLogFactory.
      *
@@ -42,6 +48,22 @@ public class TodaysWellnessLogDataAccessObject implements
         this.dailyWellnessLog = logFactory.create(LocalDate.now());
     }
 
+    /**
+     * Sets the bus that every entry added, updated or removed here is published on.
+     *
+     * @param eventBusParam the bus, or null to stop publishing
+     */
+    public void setEventBus(final DomainEventBus eventBusParam) {
+        this.eventBus = eventBusParam;
+    }
+
+    private void publish(final WellnessLogChangeEvent change) {
+        final DomainEventBus bus = eventBus;
+        if (bus != null) {
+            bus.publish(change);
+        }
+    }
+
     /**
      * Saves a new wellness log entry to the current day's log.
      *
@@ -53,6 +75,7 @@ public class TodaysWellnessLogDataAccessObject implements
             throw new IllegalArgumentException("Entry does not belong to today's log.");
         }
         dailyWellnessLog.addEntry(entry);
+        publish(WellnessLogChangeEvent.added(entry.getId()));
     }
 
     /**
@@ -63,10 +86,7 @@ public class TodaysWellnessLogDataAccessObject implements
      */
     @Override
     public boolean remove(final WellnessLogEntryInterf entry) {
-        int before = dailyWellnessLog.getEntries().size();
-        dailyWellnessLog.removeEntry(entry.getId());
-        int after = dailyWellnessLog.getEntries().size();
-        return after < before;
+        return deleteById(entry.getId());
     }
 
     /**
@@ -77,6 +97,14 @@ public class TodaysWellnessLogDataAccessObject implements
      */
     @Override
     public boolean deleteById(final String logId) {
+        if (!removeQuietly(logId)) {
+            return false;
+        }
+        publish(WellnessLogChangeEvent.removed(List.of(logId)));
+        return true;
+    }
+
+    private boolean removeQuietly(final String logId) {
         int before = dailyWellnessLog.getEntries().size();
         dailyWellnessLog.removeEntry(logId);
         int after = dailyWellnessLog.getEntries().size();
@@ -110,7 +138,14 @@ public class TodaysWellnessLogDataAccessObject implements
      */
     @Override
     public void clearAll() {
+        final List<String> removedIds = new ArrayList<>();
+        for (WellnessLogEntryInterf entry : dailyWellnessLog.getEntries()) {
+            removedIds.add(entry.getId());
+        }
         this.dailyWellnessLog = logFactory.create(LocalDate.now());
+        if (!removedIds.isEmpty()) {
+            publish(WellnessLogChangeEvent.removed(removedIds));
+        }
     }
 
     /**
@@ -135,9 +170,13 @@ public class TodaysWellnessLogDataAccessObject implements
      */
     @Override
     public boolean update(final WellnessLogEntryInterf updatedEntry) {
-        boolean removed = deleteById(updatedEntry.getId());
+        boolean removed = removeQuietly(updatedEntry.getId());
         if (removed) {
-            save(updatedEntry);
+            if (!updatedEntry.getTime().toLocalDate().equals(dailyWellnessLog.getDate())) {
+                throw new IllegalArgumentException("Entry does not belong to today's log.");
+            }
+            dailyWellnessLog.addEntry(updatedEntry);
+            publish(WellnessLogChangeEvent.updated(updatedEntry.getId()));
             return true;
         }
         return false;
@@ -0,0 +1,29 @@
+package data_access.alex;
+
+import data_access.DomainChangeEvent;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * The entry IDs changed by one write to {@link TodaysWellnessLogDataAccessObject}.
+ */
+public final class WellnessLogChangeEvent extends DomainChangeEvent {
+
+    private WellnessLogChangeEvent(Collection<String> added, Collection<String> updated,
+                                   Collection<String> removed) {
+        super(added, updated, removed);
+    }
+
+    static WellnessLogChangeEvent added(String entryId) {
+        return new WellnessLogChangeEvent(Set.of(entryId), Set.of(), Set.of());
+    }
+
+    static WellnessLogChangeEvent updated(String entryId) {
+        return new WellnessLogChangeEvent(Set.of(), Set.of(entryId), Set.of());
+    }
+
+    static WellnessLogChangeEvent removed(Collection<String> entryIds) {
+        return new WellnessLogChangeEvent(Set.of(), Set.of(), entryIds);
+    }
+}
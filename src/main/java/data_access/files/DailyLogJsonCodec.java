@@ -0,0 +1,289 @@
+package data_access.files;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import entity.Angela.DailyLog;
+import entity.Angela.DailyTaskSummary;
+import entity.Angela.Task.Task;
+import entity.BeginAndDueDates.BeginAndDueDates;
+import entity.BeginAndDueDates.BeginAndDueDatesInterf;
+import entity.alex.Event.Event;
+import entity.alex.Event.EventInterf;
+import entity.alex.MoodLabel.MoodLabel;
+import entity.alex.MoodLabel.MoodLabelInterf;
+import entity.alex.MoodLabel.Type;
+import entity.alex.WellnessLogEntry.Levels;
+import entity.alex.WellnessLogEntry.WellnessLogEntry;
+import entity.alex.WellnessLogEntry.WellnessLogEntryInterf;
+import entity.info.Info;
+import entity.info.InfoInterf;
+
+/**
+ * Converts a {@link DailyLog} and its task summary, event log and wellness log to and from
+ * the JSON record stored by the daily log repositories.
+ * The summary counts are kept alongside the full graph so older readers keep working.
+ */
+final class DailyLogJsonCodec {
+
+    static final String DATE = "date";
+    private static final String TASKS_SCHEDULED_COUNT = "tasks_scheduled_count";
+    private static final String TASKS_COMPLETED_COUNT = "tasks_completed_count";
+    private static final String EVENTS_COUNT = "events_count";
+    private static final String WELLNESS_ENTRIES_COUNT = "wellness_entries_count";
+    private static final String TASKS = "tasks";
+    private static final String COMPLETED_TASK_IDS = "completed_task_ids";
+    private static final String EVENTS = "events";
+    private static final String WELLNESS_ENTRIES = "wellness_entries";
+
+    private static final String ID = "id";
+    private static final String TEMPLATE_ID = "template_id";
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final String CATEGORY = "category";
+    private static final String PRIORITY = "priority";
+    private static final String BEGIN_DATE = "begin_date";
+    private static final String DUE_DATE = "due_date";
+    private static final String COMPLETED = "completed";
+    private static final String COMPLETED_AT = "completed_at";
+    private static final String ONE_TIME = "one_time";
+    private static final String TIME = "time";
+    private static final String STRESS = "stress";
+    private static final String ENERGY = "energy";
+    private static final String FATIGUE = "fatigue";
+    private static final String MOOD = "mood";
+    private static final String MOOD_TYPE = "mood_type";
+    private static final String NOTE = "note";
+
+    private DailyLogJsonCodec() {
+    }
+
+    /**
+     * Serializes the whole daily log.
+     *
+     * @param dailyLog the log to serialize
+     * @return the JSON record for the day
+     */
+    static JSONObject toJson(DailyLog dailyLog) {
+        final DailyTaskSummary summary = dailyLog.getDailyTaskSummary();
+        final List<Task> scheduled = summary.getScheduledTasks();
+        final List<Task> completed = summary.getCompletedTasks();
+        final List<EventInterf> events = dailyLog.getDailyEventLog().getActualEvents();
+        final List<WellnessLogEntryInterf> entries = dailyLog.getDailyWellnessLog().getEntries();
+
+        final JSONObject obj = new JSONObject();
+        obj.put(DATE, dailyLog.getDate().toString());
+        obj.put(TASKS_SCHEDULED_COUNT, scheduled.size());
+        obj.put(TASKS_COMPLETED_COUNT, completed.size());
+        obj.put(EVENTS_COUNT, events.size());
+        obj.put(WELLNESS_ENTRIES_COUNT, entries.size());
+
+        final JSONArray tasks = new JSONArray();
+        for (Task task : scheduled) {
+            tasks.put(taskToJson(task));
+        }
+        obj.put(TASKS, tasks);
+
+        final JSONArray completedIds = new JSONArray();
+        for (Task task : completed) {
+            completedIds.put(task.getId());
+        }
+        obj.put(COMPLETED_TASK_IDS, completedIds);
+
+        final JSONArray eventArray = new JSONArray();
+        for (EventInterf event : events) {
+            eventArray.put(eventToJson(event));
+        }
+        obj.put(EVENTS, eventArray);
+
+        final JSONArray entryArray = new JSONArray();
+        for (WellnessLogEntryInterf entry : entries) {
+            entryArray.put(wellnessToJson(entry));
+        }
+        obj.put(WELLNESS_ENTRIES, entryArray);
+        return obj;
+    }
+
+    /**
+     * Rebuilds a daily log from its JSON record. Records written before the full graph was
+     * persisted only carry counts; they come back as a log with an empty graph.
+     *
+     * @param obj the JSON record for the day
+     * @return the rehydrated daily log
+     */
+    static DailyLog fromJson(JSONObject obj) {
+        final DailyLog log = new DailyLog(LocalDate.parse(obj.getString(DATE)));
+
+        final Map<String, Task> tasksById = new HashMap<>();
+        final JSONArray tasks = obj.optJSONArray(TASKS);
+        if (tasks != null) {
+            for (int i = 0; i < tasks.length(); i++) {
+                final Task task = taskFromJson(tasks.getJSONObject(i));
+                tasksById.put(task.getId(), task);
+                log.addTask(task);
+            }
+        }
+
+        final JSONArray completedIds = obj.optJSONArray(COMPLETED_TASK_IDS);
+        if (completedIds != null) {
+            for (int i = 0; i < completedIds.length(); i++) {
+                log.getDailyTaskSummary().markTaskCompleted(tasksById.get(completedIds.getString(i)));
+            }
+        }
+
+        final JSONArray events = obj.optJSONArray(EVENTS);
+        if (events != null) {
+            for (int i = 0; i < events.length(); i++) {
+                log.getDailyEventLog().addEntry(eventFromJson(events.getJSONObject(i)));
+            }
+        }
+
+        final JSONArray entries = obj.optJSONArray(WELLNESS_ENTRIES);
+        if (entries != null) {
+            for (int i = 0; i < entries.length(); i++) {
+                log.getDailyWellnessLog().addEntry(wellnessFromJson(entries.getJSONObject(i)));
+            }
+        }
+        return log;
+    }
+
+    private static JSONObject taskToJson(Task task) {
+        final JSONObject obj = infoToJson(task.getInfo());
+        obj.put(ID, task.getId());
+        obj.put(TEMPLATE_ID, task.getTemplateTaskId());
+        if (task.getPriority() != null) {
+            obj.put(PRIORITY, task.getPriority().name());
+        }
+        putDates(obj, task.getDates());
+        obj.put(COMPLETED, task.isCompleted());
+        if (task.getCompletedDateTime() != null) {
+            obj.put(COMPLETED_AT, task.getCompletedDateTime().toString());
+        }
+        obj.put(ONE_TIME, task.isOneTime());
+        return obj;
+    }
+
+    private static Task taskFromJson(JSONObject obj) {
+        Task.Priority priority = null;
+        if (obj.has(PRIORITY)) {
+            priority = Task.Priority.valueOf(obj.getString(PRIORITY));
+        }
+        LocalDateTime completedAt = null;
+        if (obj.has(COMPLETED_AT)) {
+            completedAt = LocalDateTime.parse(obj.getString(COMPLETED_AT));
+        }
+        return new Task(obj.getString(ID), obj.getString(TEMPLATE_ID), infoFromJson(obj), priority,
+                datesFromJson(obj), obj.optBoolean(COMPLETED), completedAt, obj.optBoolean(ONE_TIME));
+    }
+
+    private static JSONObject eventToJson(EventInterf event) {
+        final JSONObject obj = infoToJson(event.getInfo());
+        putDates(obj, event.getBeginAndDueDates());
+        if (event instanceof Event concrete) {
+            obj.put(ONE_TIME, concrete.isOneTime());
+        }
+        return obj;
+    }
+
+    private static EventInterf eventFromJson(JSONObject obj) {
+        return new Event.Builder(infoFromJson(obj))
+                .beginAndDueDates(datesFromJson(obj))
+                .oneTime(obj.optBoolean(ONE_TIME))
+                .build();
+    }
+
+    /**
+     * Encodes one wellness log entry; also used for the entries kept in history snapshots.
+     *
+     * @param entry the entry
+     * @return its JSON form
+     */
+    static JSONObject wellnessToJson(WellnessLogEntryInterf entry) {
+        final JSONObject obj = new JSONObject();
+        obj.put(ID, entry.getId());
+        obj.put(TIME, entry.getTime().toString());
+        obj.put(STRESS, entry.getStressLevel().getValue());
+        obj.put(ENERGY, entry.getEnergyLevel().getValue());
+        obj.put(FATIGUE, entry.getFatigueLevel().getValue());
+        obj.put(MOOD, entry.getMoodLabel().getName());
+        if (entry.getMoodLabel().getType() != null) {
+            obj.put(MOOD_TYPE, entry.getMoodLabel().getType().name());
+        }
+        if (entry.getUserNote() != null) {
+            obj.put(NOTE, entry.getUserNote());
+        }
+        return obj;
+    }
+
+    /**
+     * Decodes one wellness log entry.
+     *
+     * @param obj a JSON object written by {@link #wellnessToJson(WellnessLogEntryInterf)}
+     * @return the entry
+     */
+    static WellnessLogEntryInterf wellnessFromJson(JSONObject obj) {
+        final MoodLabel.Builder mood = new MoodLabel.Builder(obj.getString(MOOD));
+        if (obj.has(MOOD_TYPE)) {
+            mood.type(Type.valueOf(obj.getString(MOOD_TYPE)));
+        }
+        final MoodLabelInterf moodLabel = mood.build();
+        return new WellnessLogEntry.Builder()
+                .id(obj.getString(ID))
+                .time(LocalDateTime.parse(obj.getString(TIME)))
+                .stressLevel(Levels.fromInt(obj.getInt(STRESS)))
+                .energyLevel(Levels.fromInt(obj.getInt(ENERGY)))
+                .fatigueLevel(Levels.fromInt(obj.getInt(FATIGUE)))
+                .moodLabel(moodLabel)
+                .userNote(obj.optString(NOTE, null))
+                .build();
+    }
+
+    private static JSONObject infoToJson(InfoInterf info) {
+        final JSONObject obj = new JSONObject();
+        obj.put(NAME, info.getName());
+        if (info.getDescription() != null) {
+            obj.put(DESCRIPTION, info.getDescription());
+        }
+        if (info.getCategory() != null) {
+            obj.put(CATEGORY, info.getCategory());
+        }
+        return obj;
+    }
+
+    private static Info infoFromJson(JSONObject obj) {
+        return new Info.Builder(obj.getString(NAME))
+                .description(obj.optString(DESCRIPTION, null))
+                .category(obj.optString(CATEGORY, null))
+                .build();
+    }
+
+    private static void putDates(JSONObject obj, BeginAndDueDatesInterf dates) {
+        if (dates == null) {
+            return;
+        }
+        if (dates.getBeginDate() != null) {
+            obj.put(BEGIN_DATE, dates.getBeginDate().toString());
+        }
+        if (dates.getDueDate() != null) {
+            obj.put(DUE_DATE, dates.getDueDate().toString());
+        }
+    }
+
+    private static BeginAndDueDates datesFromJson(JSONObject obj) {
+        LocalDate begin = null;
+        if (obj.has(BEGIN_DATE)) {
+            begin = LocalDate.parse(obj.getString(BEGIN_DATE));
+        }
+        LocalDate due = null;
+        if (obj.has(DUE_DATE)) {
+            due = LocalDate.parse(obj.getString(DUE_DATE));
+        }
+        return new BeginAndDueDates(begin, due);
+    }
+}
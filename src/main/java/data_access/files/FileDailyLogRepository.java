@@ -1,5 +1,6 @@
 package data_access.files;
 
+import java.io.BufferedReader;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -10,7 +11,6 @@ import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.jetbrains.annotations.NotNull;
 import org.json.JSONObject;
 import org.json.JSONTokener;
 
@@ -35,7 +35,7 @@ public class FileDailyLogRepository implements DailyLogRepository {
                 root = new JSONObject();
             }
 
-            final JSONObject obj = getObj(dailyLog);
+            final JSONObject obj = DailyLogJsonCodec.toJson(dailyLog);
 
             root.put(dailyLog.getDate().toString(), obj);
 
@@ -52,39 +52,14 @@ public class FileDailyLogRepository implements DailyLogRepository {
         }
     }
 
-    @NotNull
-    private static JSONObject getObj(DailyLog dailyLog) {
-        final JSONObject obj = new JSONObject();
-        obj.put("date", dailyLog.getDate().toString());
-        obj.put("tasks_scheduled_count",
-                dailyLog.getDailyTaskSummary().getScheduledTasks().size());
-        obj.put("tasks_completed_count",
-                dailyLog.getDailyTaskSummary().getCompletedTasks().size());
-        obj.put("events_count",
-                dailyLog.getDailyEventLog().getActualEvents().size());
-        obj.put("wellness_entries_count",
-                dailyLog.getDailyWellnessLog().getEntries().size());
-        return obj;
-    }
-
     @Override
     public DailyLog findByDate(LocalDate date) {
         try {
-            final Path path = Paths.get(FILE_PATH);
-            if (!Files.exists(path) || Files.size(path) == 0) {
-                return null;
-            }
-
-            final String content = Files.readString(path, StandardCharsets.UTF_8);
-            final JSONObject root = new JSONObject(new JSONTokener(content));
-
-            final String key = date.toString();
-            if (!root.has(key)) {
+            final List<DailyLog> found = streamBetween(date, date);
+            if (found.isEmpty()) {
                 return null;
             }
-
-            // Recreate a DailyLog shell with just the date.
-            return new DailyLog(date);
+            return found.get(0);
         }
         catch (IOException exception) {
             throw new RuntimeException("Failed to load DailyLog", exception);
@@ -93,28 +68,58 @@ public class FileDailyLogRepository implements DailyLogRepository {
 
     @Override
     public List<DailyLog> loadBetween(LocalDate from, LocalDate to) {
-        final List<DailyLog> list = new ArrayList<>();
         try {
-            final Path path = Paths.get(FILE_PATH);
-            if (!Files.exists(path) || Files.size(path) == 0) {
-                return list;
-            }
+            return streamBetween(from, to);
+        }
+        catch (IOException exception) {
+            throw new RuntimeException("Failed to load daily logs", exception);
+        }
+    }
 
-            final String content = Files.readString(path, StandardCharsets.UTF_8);
-            final JSONObject root = new JSONObject(new JSONTokener(content));
+    /**
+     * Walks the top-level object of the file one date key at a time. Each day's record is parsed
+     * on its own and only the days inside the range are rehydrated into full DailyLog graphs,
+     * so the whole file is never held in memory as one object tree.
+     *
+     * @param from first day, inclusive
+     * @param to last day, inclusive
+     * @return the daily logs in the range, in file order
+     * @throws IOException if the file cannot be read
+     */
+    private static List<DailyLog> streamBetween(LocalDate from, LocalDate to) throws IOException {
+        final List<DailyLog> list = new ArrayList<>();
+        final Path path = Paths.get(FILE_PATH);
+        if (!Files.exists(path) || Files.size(path) == 0) {
+            return list;
+        }
 
-            for (String key : root.keySet()) {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            final JSONTokener tokener = new JSONTokener(reader);
+            if (tokener.nextClean() != '{') {
+                throw tokener.syntaxError("A JSONObject text must begin with '{'");
+            }
+            char next = tokener.nextClean();
+            while (next != '}') {
+                if (next == 0) {
+                    throw tokener.syntaxError("A JSONObject text must end with '}'");
+                }
+                tokener.back();
+                final String key = tokener.nextValue().toString();
+                if (tokener.nextClean() != ':') {
+                    throw tokener.syntaxError("Expected a ':' after a key");
+                }
+                final Object value = tokener.nextValue();
                 final LocalDate date = LocalDate.parse(key);
-                if ((date.isEqual(from) || date.isAfter(from))
-                        && (date.isEqual(to) || date.isBefore(to))) {
-                    list.add(new DailyLog(date));
-                    // shell; no deep rehydration yet
+                if (!date.isBefore(from) && !date.isAfter(to) && value instanceof JSONObject record) {
+                    record.put(DailyLogJsonCodec.DATE, key);
+                    list.add(DailyLogJsonCodec.fromJson(record));
+                }
+                next = tokener.nextClean();
+                if (next == ',') {
+                    next = tokener.nextClean();
                 }
             }
         }
-        catch (IOException exception) {
-            throw new RuntimeException("Failed to load daily logs", exception);
-        }
         return list;
     }
 }
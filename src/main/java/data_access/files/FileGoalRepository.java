@@ -2,6 +2,7 @@ package data_access.files;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -10,6 +11,7 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -17,6 +19,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import data_access.DomainEventBus;
 import use_case.repository.GoalRepository;
 import entity.Sophia.Goal;
 import entity.Sophia.GoalFactory;
@@ -27,8 +30,17 @@ import entity.Sophia.GoalFactory;
  * different file-based storage mechanisms. The main goal data is stored using object
  * serialization, while the lists of current and today's goal names are stored in simple
  * text files.
+ *
+ * <p>Writes are done behind the caller's back: a change only marks the affected file dirty, and
+ * dirty files are written together on a background thread shortly afterwards, at shutdown, or
+ * on {@link #flush()}. Editing several goals in quick succession therefore costs one write per
+ * file instead of one per edit, and none of it happens on the Swing event thread.</p>
  */
 public class FileGoalRepository implements GoalRepository, interface_adapter.GoalRepository {
+    /**
+     * How long changes are collected before they are written, unless configured otherwise.
+     */
+    public static final Duration DEFAULT_WRITE_DELAY = Duration.ofMillis(500);
     /**
      * The file where the main Map of all goals is stored.
      */
@@ -57,6 +69,21 @@ public class FileGoalRepository implements GoalRepository, interface_adapter.Goa
      * A factory for creating new Goal objects.
      */
     private final GoalFactory factory;
+    /**
+     * Which files have changes that have not been written yet.
+     */
+    private boolean goalsDirty;
+    private boolean currentGoalsDirty;
+    private boolean todayGoalsDirty;
+    /**
+     * Schedules background writes of the dirty files.
+     */
+    private final WriteBehind writeBehind;
+    /**
+     * Serializes flushes so files are never written by two threads at once.
+     */
+    private final Object flushLock = new Object();
+    private volatile DomainEventBus eventBus;
 
     /**
      * Constructs a {@code FileGoalRepository} with the specified file paths and goal factory.
@@ -68,10 +95,25 @@ public class FileGoalRepository implements GoalRepository, interface_adapter.Goa
      * @param factory The goal factory to be used.
      */
     public FileGoalRepository(File goalsFile, File currentGoalsFile, File todayGoalFile, GoalFactory factory) {
+        this(goalsFile, currentGoalsFile, todayGoalFile, factory, DEFAULT_WRITE_DELAY);
+    }
+
+    /**
+     * Constructs a {@code FileGoalRepository} that writes changes at most {@code writeDelay} after they are made.
+     *
+     * @param goalsFile The file for storing all goals.
+     * @param currentGoalsFile The file for storing current goal names.
+     * @param todayGoalFile The file for storing today's goal names.
+     * @param factory The goal factory to be used.
+     * @param writeDelay How long changes are collected before they are written.
+     */
+    public FileGoalRepository(File goalsFile, File currentGoalsFile, File todayGoalFile, GoalFactory factory,
+                              Duration writeDelay) {
         this.goalsFile = goalsFile;
         this.currentGoalsFile = currentGoalsFile;
         this.todayGoalFile = todayGoalFile;
         this.factory = factory;
+        this.writeBehind = new WriteBehind("goals", writeDelay, this::writeDirtyFiles);
         readGoalsFromFile();
         loadCurrentGoals();
         loadTodayGoals();
@@ -100,15 +142,29 @@ public class FileGoalRepository implements GoalRepository, interface_adapter.Goa
     }
 
     /**
-     * Internal method for saving all goals to the main goals file.
-     * It uses object serialization to write the entire goals map.
+     * Serializes the goals map into the bytes of the main goals file. Goals are changed in place,
+     * so this must run under the repository lock to capture a consistent copy of them.
+     *
+     * @return the serialized goals
+     * @throws IOException if a goal cannot be serialized
      */
-    private void saveGoalsToFile() {
-        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(goalsFile))) {
+    private byte[] serializeGoals() throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
             out.writeObject(goals);
         }
-        catch (IOException ex) {
-            System.err.println("Error saving goals: " + ex.getMessage());
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Writes previously serialized goals to the main goals file.
+     *
+     * @param serialized the bytes from {@link #serializeGoals()}
+     * @throws IOException if the file cannot be written
+     */
+    private void writeGoalsFile(byte[] serialized) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(goalsFile)) {
+            out.write(serialized);
         }
     }
 
@@ -131,18 +187,120 @@ public class FileGoalRepository implements GoalRepository, interface_adapter.Goa
     }
 
     /**
-     * Persists the list of goal names for today to the today goals file.
-     * Each goal name is written on a new line.
+     * Marks the list of today's goal names as changed so it is written in the next flush.
+     */
+    private synchronized void saveTodayGoals() {
+        todayGoalsDirty = true;
+        writeBehind.changed();
+    }
+
+    /**
+     * Writes goal names to a text file, one per line.
+     *
+     * @param file the file to write
+     * @param names the names to write
+     * @throws IOException if the file cannot be written
      */
-    private void saveTodayGoals() {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(todayGoalFile))) {
-            for (String name : todayGoalNames) {
+    private static void writeNames(File file, List<String> names) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file))) {
+            for (String name : names) {
                 writer.write(name);
                 writer.newLine();
             }
         }
-        catch (IOException ex) {
-            System.err.println("Error saving today's goals: " + ex.getMessage());
+    }
+
+    /**
+     * Writes every dirty file. The state is serialized under the repository lock, since goals are
+     * changed in place, and only written outside it, so callers are never blocked on disk I/O.
+     * A file that fails to write stays dirty.
+     */
+    private void writeDirtyFiles() {
+        synchronized (flushLock) {
+            byte[] goalsSnapshot = null;
+            List<String> currentSnapshot = null;
+            List<String> todaySnapshot = null;
+            IOException failure = null;
+            synchronized (this) {
+                if (goalsDirty) {
+                    try {
+                        goalsSnapshot = serializeGoals();
+                        goalsDirty = false;
+                    }
+                    catch (IOException ex) {
+                        failure = ex;
+                    }
+                }
+                if (currentGoalsDirty) {
+                    currentSnapshot = new ArrayList<>(currentGoalNames);
+                    currentGoalsDirty = false;
+                }
+                if (todayGoalsDirty) {
+                    todaySnapshot = new ArrayList<>(todayGoalNames);
+                    todayGoalsDirty = false;
+                }
+            }
+            if (goalsSnapshot != null) {
+                try {
+                    writeGoalsFile(goalsSnapshot);
+                }
+                catch (IOException ex) {
+                    markDirty(true, false, false);
+                    failure = ex;
+                }
+            }
+            if (currentSnapshot != null) {
+                try {
+                    writeNames(currentGoalsFile, currentSnapshot);
+                }
+                catch (IOException ex) {
+                    markDirty(false, true, false);
+                    failure = ex;
+                }
+            }
+            if (todaySnapshot != null) {
+                try {
+                    writeNames(todayGoalFile, todaySnapshot);
+                }
+                catch (IOException ex) {
+                    markDirty(false, false, true);
+                    failure = ex;
+                }
+            }
+            if (failure != null) {
+                throw new RuntimeException("Failed to save goals", failure);
+            }
+        }
+    }
+
+    private synchronized void markDirty(boolean goalsChanged, boolean currentChanged, boolean todayChanged) {
+        goalsDirty |= goalsChanged;
+        currentGoalsDirty |= currentChanged;
+        todayGoalsDirty |= todayChanged;
+    }
+
+    /**
+     * Writes all pending changes to disk before returning.
+     *
+     * @throws RuntimeException if a file cannot be written
+     */
+    public void flush() {
+        writeBehind.flushNow();
+    }
+
+    /**
+     * Sets the bus that every goal added, changed or deleted here is published on.
+     *
+     * @param eventBus the bus, or null to stop publishing
+     */
+    public void setEventBus(DomainEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    private void publish(GoalChangeEvent change) {
+        final DomainEventBus bus = eventBus;
+        if (bus != null) {
+            bus.publish(change);
         }
     }
 
@@ -152,7 +310,7 @@ public class FileGoalRepository implements GoalRepository, interface_adapter.Goa
      * @return A List of all loaded Goal objects.
      */
     @Override
-    public List<Goal> loadGoals() {
+    public synchronized List<Goal> loadGoals() {
         return new ArrayList<>(goals.values());
     }
 
@@ -162,7 +320,7 @@ public class FileGoalRepository implements GoalRepository, interface_adapter.Goa
      * @return A List of loaded Goal objects that are marked as current.
      */
     @Override
-    public List<Goal> loadCurrentGoals() {
+    public synchronized List<Goal> loadCurrentGoals() {
         final List<Goal> result = new ArrayList<>();
         for (String name : currentGoalNames) {
             final Goal goal = goals.get(name);
@@ -181,9 +339,11 @@ public class FileGoalRepository implements GoalRepository, interface_adapter.Goa
      * @param goal The Goal object to be saved.
      */
     @Override
-    public void save(Goal goal) {
-        goals.put(goal.getGoalInfo().getInfo().getName(), goal);
+    public synchronized void save(Goal goal) {
+        final String name = goal.getGoalInfo().getInfo().getName();
+        final boolean existed = goals.put(name, goal) != null;
         saveGoals();
+        publish(existed ? GoalChangeEvent.updated(List.of(name)) : GoalChangeEvent.added(name));
     }
 
     /**
@@ -193,7 +353,7 @@ public class FileGoalRepository implements GoalRepository, interface_adapter.Goa
      * @return An Optional containing the Goal if found, or an empty Optional otherwise.
      */
     @Override
-    public Optional<Goal> findByName(String name) {
+    public synchronized Optional<Goal> findByName(String name) {
         return Optional.ofNullable(goals.get(name));
     }
 
@@ -203,7 +363,7 @@ public class FileGoalRepository implements GoalRepository, interface_adapter.Goa
      * @return A List of all Goal objects.
      */
     @Override
-    public List<Goal> getAllGoals() {
+    public synchronized List<Goal> getAllGoals() {
         return new ArrayList<>(goals.values());
     }
 
@@ -213,7 +373,7 @@ public class FileGoalRepository implements GoalRepository, interface_adapter.Goa
      * @return A List of Goal objects representing the current goals.
      */
     @Override
-    public List<Goal> getCurrentGoals() {
+    public synchronized List<Goal> getCurrentGoals() {
         final List<Goal> result = new ArrayList<>();
         for (String name : currentGoalNames) {
             final Goal goal = goals.get(name);
@@ -230,11 +390,12 @@ public class FileGoalRepository implements GoalRepository, interface_adapter.Goa
      * @param goal The Goal object to be added.
      */
     @Override
-    public void addToCurrentGoals(Goal goal) {
+    public synchronized void addToCurrentGoals(Goal goal) {
         final String name = goal.getGoalInfo().getInfo().getName();
         if (!currentGoalNames.contains(name)) {
             currentGoalNames.add(name);
             saveCurrentGoals();
+            publish(GoalChangeEvent.updated(List.of(name)));
         }
     }
 
@@ -244,8 +405,11 @@ public class FileGoalRepository implements GoalRepository, interface_adapter.Goa
      * @param goal The Goal object to be removed.
      */
     @Override
-    public void removeFromCurrentGoals(Goal goal) {
-        currentGoalNames.remove(goal.getGoalInfo().getInfo().getName());
+    public synchronized void removeFromCurrentGoals(Goal goal) {
+        final String name = goal.getGoalInfo().getInfo().getName();
+        if (currentGoalNames.remove(name)) {
+            publish(GoalChangeEvent.updated(List.of(name)));
+        }
         saveCurrentGoals();
     }
 
@@ -256,7 +420,7 @@ public class FileGoalRepository implements GoalRepository, interface_adapter.Goa
      * @return {@code true} if the goal is in the current goals list, {@code false} otherwise.
      */
     @Override
-    public boolean isInCurrentGoals(Goal goal) {
+    public synchronized boolean isInCurrentGoals(Goal goal) {
         return currentGoalNames.contains(goal.getGoalInfo().getInfo().getName());
     }
 
@@ -267,7 +431,7 @@ public class FileGoalRepository implements GoalRepository, interface_adapter.Goa
      * @return {@code true} if a goal with the name exists, {@code false} otherwise.
      */
     @Override
-    public boolean existsByName(String name) {
+    public synchronized boolean existsByName(String name) {
         return goals.containsKey(name);
     }
 
@@ -279,7 +443,7 @@ public class FileGoalRepository implements GoalRepository, interface_adapter.Goa
      * @return A List of Goal objects that fall within the specified amount range.
      */
     @Override
-    public List<Goal> findByTargetAmountRange(double minAmount, double maxAmount) {
+    public synchronized List<Goal> findByTargetAmountRange(double minAmount, double maxAmount) {
         final List<Goal> result = new ArrayList<>();
         for (Goal goal : goals.values()) {
             final double freq = goal.getFrequency();
@@ -298,7 +462,7 @@ public class FileGoalRepository implements GoalRepository, interface_adapter.Goa
      * @return A List of available Goal objects.
      */
     @Override
-    public List<Goal> findAvailableGoals() {
+    public synchronized List<Goal> findAvailableGoals() {
         final LocalDate today = LocalDate.now();
         final List<Goal> result = new ArrayList<>();
         for (Goal goal : goals.values()) {
@@ -317,7 +481,7 @@ public class FileGoalRepository implements GoalRepository, interface_adapter.Goa
      * @return The Goal object for today, or null if no goal is set for today.
      */
     @Override
-    public Goal getTodayGoal() {
+    public synchronized Goal getTodayGoal() {
         Goal result = null;
         if (!todayGoalNames.isEmpty()) {
             result = goals.get(todayGoalNames.get(0));
@@ -331,7 +495,7 @@ public class FileGoalRepository implements GoalRepository, interface_adapter.Goa
      * @param goal The Goal object to be set as today's goal.
      */
     @Override
-    public void saveTodayGoal(Goal goal) {
+    public synchronized void saveTodayGoal(Goal goal) {
         if (goal != null) {
             addGoalToToday(goal.getGoalInfo().getInfo().getName());
         }
@@ -343,7 +507,7 @@ public class FileGoalRepository implements GoalRepository, interface_adapter.Goa
      * @param goalName The name of the goal to remove.
      */
     @Override
-    public void removeGoal(String goalName) {
+    public synchronized void removeGoal(String goalName) {
         deleteByName(goalName);
     }
 
@@ -354,10 +518,11 @@ public class FileGoalRepository implements GoalRepository, interface_adapter.Goa
      * @param goalName The name of the goal to add to today's list.
      */
     @Override
-    public void addGoalToToday(String goalName) {
+    public synchronized void addGoalToToday(String goalName) {
         if (goals.containsKey(goalName) && !todayGoalNames.contains(goalName)) {
             todayGoalNames.add(goalName);
             saveTodayGoals();
+            publish(GoalChangeEvent.updated(List.of(goalName)));
         }
     }
 
@@ -367,8 +532,10 @@ public class FileGoalRepository implements GoalRepository, interface_adapter.Goa
      * @param goalName The name of the goal to remove from today's list.
      */
     @Override
-    public void removeGoalFromToday(String goalName) {
-        todayGoalNames.remove(goalName);
+    public synchronized void removeGoalFromToday(String goalName) {
+        if (todayGoalNames.remove(goalName)) {
+            publish(GoalChangeEvent.updated(List.of(goalName)));
+        }
         saveTodayGoals();
     }
 
@@ -380,7 +547,7 @@ public class FileGoalRepository implements GoalRepository, interface_adapter.Goa
      * @param newProgress The new progress value.
      */
     @Override
-    public void updateTodayGoalProgress(String goalName, int newProgress) {
+    public synchronized void updateTodayGoalProgress(String goalName, int newProgress) {
         final Goal goal = goals.get(goalName);
         if (goal != null && todayGoalNames.contains(goalName)) {
             goal.setCurrentProgress(newProgress);
@@ -397,7 +564,7 @@ public class FileGoalRepository implements GoalRepository, interface_adapter.Goa
      * @return A List of Goal objects for today.
      */
     @Override
-    public List<Goal> getTodayGoals() {
+    public synchronized List<Goal> getTodayGoals() {
         final List<Goal> result = new ArrayList<>();
         for (String name : todayGoalNames) {
             final Goal goal = goals.get(name);
@@ -409,32 +576,23 @@ public class FileGoalRepository implements GoalRepository, interface_adapter.Goa
     }
 
     /**
-     * Persists all goals to a storage medium.
+     * Persists all goals to a storage medium. The write happens in the background;
+     * call {@link #flush()} to wait for it.
      */
     @Override
-    public void saveGoals() {
-        try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(goalsFile))) {
-            out.writeObject(goals);
-        }
-        catch (IOException ex) {
-            System.err.println("Error saving goals: " + ex.getMessage());
-        }
+    public synchronized void saveGoals() {
+        goalsDirty = true;
+        writeBehind.changed();
     }
 
     /**
-     * Persists the current goals to a storage medium.
+     * Persists the current goals to a storage medium. The write happens in the background;
+     * call {@link #flush()} to wait for it.
      */
     @Override
-    public void saveCurrentGoals() {
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(currentGoalsFile))) {
-            for (String name : currentGoalNames) {
-                writer.write(name);
-                writer.newLine();
-            }
-        }
-        catch (IOException ex) {
-            System.err.println("Error saving current goals: " + ex.getMessage());
-        }
+    public synchronized void saveCurrentGoals() {
+        currentGoalsDirty = true;
+        writeBehind.changed();
     }
 
     /**
@@ -445,13 +603,16 @@ public class FileGoalRepository implements GoalRepository, interface_adapter.Goa
      * @param name The name of the goal to be deleted.
      */
     @Override
-    public void deleteByName(String name) {
-        goals.remove(name);
+    public synchronized void deleteByName(String name) {
+        final boolean existed = goals.remove(name) != null;
         currentGoalNames.remove(name);
         todayGoalNames.remove(name);
         saveGoals();
         saveCurrentGoals();
         saveTodayGoals();
+        if (existed) {
+            publish(GoalChangeEvent.removed(name));
+        }
     }
     
     // ===== interface_adapter.GoalRepository methods =====
@@ -464,7 +625,7 @@ public class FileGoalRepository implements GoalRepository, interface_adapter.Goa
      * @return The Goal object or null if not found
      */
     @Override
-    public Goal getGoalByName(String name) {
+    public synchronized Goal getGoalByName(String name) {
         return goals.get(name);
     }
     
@@ -475,7 +636,7 @@ public class FileGoalRepository implements GoalRepository, interface_adapter.Goa
      * @param goal The goal to save
      */
     @Override
-    public void saveGoal(Goal goal) {
+    public synchronized void saveGoal(Goal goal) {
         save(goal);
     }
     
@@ -486,7 +647,7 @@ public class FileGoalRepository implements GoalRepository, interface_adapter.Goa
      * @param name The name of the goal to delete
      */
     @Override
-    public void deleteGoal(String name) {
+    public synchronized void deleteGoal(String name) {
         deleteByName(name);
     }
 }
@@ -0,0 +1,193 @@
+package data_access.files;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import use_case.generate_feedback.GptResponseCache;
+
+/**
+ * A size-bounded, least-recently-used {@link GptResponseCache} with a time-to-live, persisted to
+ * {@code gpt_response_cache.json}. Entries are written in recency order so the LRU order survives
+ * a restart. The file is replaced atomically whenever a response is stored. A hit only changes the
+ * recency order, so it is saved in the background a few seconds later, together with any other
+ * hits in between, and at shutdown; a hit never waits on the disk. A failed write only costs the
+ * cache, never the GPT response.
+ */
+public class FileGptResponseCache implements GptResponseCache {
+
+    private static final String FILE_PATH = "gpt_response_cache.json";
+    private static final int DEFAULT_MAX_ENTRIES = 200;
+    private static final Duration DEFAULT_TTL = Duration.ofDays(30);
+    private static final Duration RECENCY_WRITE_DELAY = Duration.ofSeconds(5);
+    private static final String KEY = "key";
+    private static final String RESPONSE = "response";
+    private static final String CREATED_AT = "created_at";
+
+    private final Path path;
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+    private final WriteBehind writeBehind;
+    /**
+     * Entries in access order, least recently used first.
+     */
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long hits;
+    private long misses;
+
+    /**
+     * Creates a cache in the working directory with the default size bound and TTL.
+     */
+    public FileGptResponseCache() {
+        this(Paths.get(FILE_PATH), DEFAULT_MAX_ENTRIES, DEFAULT_TTL, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a cache and loads any entries already persisted at the given path.
+     *
+     * @param path the cache file
+     * @param maxEntries the most entries kept; the least recently used are evicted first
+     * @param ttl how long an entry stays valid after it was stored
+     * @param clock the clock used to expire entries
+     */
+    public FileGptResponseCache(Path path, int maxEntries, Duration ttl, Clock clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.path = path;
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.writeBehind = new WriteBehind("GPT response cache", RECENCY_WRITE_DELAY, this::persist);
+        load();
+    }
+
+    @Override
+    public synchronized String get(String key) {
+        final CachedResponse cached = entries.get(key);
+        if (cached == null) {
+            misses++;
+            return null;
+        }
+        if (isExpired(cached)) {
+            entries.remove(key);
+            misses++;
+            writeBehind.changed();
+            return null;
+        }
+        hits++;
+        writeBehind.changed();
+        return cached.response;
+    }
+
+    @Override
+    public synchronized void put(String key, String response) {
+        entries.put(key, new CachedResponse(response, clock.millis()));
+        final Iterator<Map.Entry<String, CachedResponse>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxEntries) {
+            eldest.next();
+            eldest.remove();
+        }
+        writeBehind.flushNow();
+    }
+
+    @Override
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    @Override
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of entries currently held, including ones that have expired but
+     * have not been looked up since.
+     *
+     * @return the entry count
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Saves the recency order of any hits not yet written before returning.
+     */
+    public void flush() {
+        writeBehind.flushNow();
+    }
+
+    private boolean isExpired(CachedResponse cached) {
+        return clock.millis() - cached.createdAt >= ttl.toMillis();
+    }
+
+    private void load() {
+        try {
+            if (!Files.exists(path) || Files.size(path) == 0) {
+                return;
+            }
+            final String content = Files.readString(path, StandardCharsets.UTF_8);
+            final JSONArray array = new JSONArray(new JSONTokener(content));
+            for (int i = 0; i < array.length(); i++) {
+                final JSONObject obj = array.getJSONObject(i);
+                final CachedResponse cached = new CachedResponse(obj.getString(RESPONSE), obj.getLong(CREATED_AT));
+                if (!isExpired(cached)) {
+                    entries.put(obj.getString(KEY), cached);
+                }
+            }
+            while (entries.size() > maxEntries) {
+                entries.remove(entries.keySet().iterator().next());
+            }
+        }
+        catch (IOException | JSONException exception) {
+            System.err.println("Error loading GPT response cache: " + exception.getMessage());
+            entries.clear();
+        }
+    }
+
+    private synchronized void persist() {
+        final JSONArray array = new JSONArray();
+        for (Map.Entry<String, CachedResponse> entry : entries.entrySet()) {
+            array.put(new JSONObject()
+                    .put(KEY, entry.getKey())
+                    .put(RESPONSE, entry.getValue().response)
+                    .put(CREATED_AT, entry.getValue().createdAt));
+        }
+        final Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Files.writeString(tmp, array.toString(), StandardCharsets.UTF_8);
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException exception) {
+            System.err.println("Error saving GPT response cache: " + exception.getMessage());
+        }
+    }
+
+    /**
+     * A stored response and when it was stored, in epoch milliseconds.
+     */
+    private static final class CachedResponse {
+        private final String response;
+        private final long createdAt;
+
+        CachedResponse(String response, long createdAt) {
+            this.response = response;
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package data_access.files;
+
+import data_access.DomainChangeEvent;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * The goal names changed by one write to a goal repository. Moving a goal on or off the
+ * current or today's list counts as an update to that goal.
+ */
+public final class GoalChangeEvent extends DomainChangeEvent {
+
+    private GoalChangeEvent(Collection<String> added, Collection<String> updated,
+                            Collection<String> removed) {
+        super(added, updated, removed);
+    }
+
+    static GoalChangeEvent added(String goalName) {
+        return new GoalChangeEvent(Set.of(goalName), Set.of(), Set.of());
+    }
+
+    static GoalChangeEvent updated(Collection<String> goalNames) {
+        return new GoalChangeEvent(Set.of(), goalNames, Set.of());
+    }
+
+    static GoalChangeEvent removed(String goalName) {
+        return new GoalChangeEvent(Set.of(), Set.of(), Set.of(goalName));
+    }
+}
@@ -0,0 +1,101 @@
+package data_access.files;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.json.JSONObject;
+
+import entity.BeginAndDueDates.BeginAndDueDates;
+import entity.Sophia.Goal;
+import entity.Sophia.GoalInfo;
+import entity.Sophia.GoalInterface;
+import entity.info.Info;
+
+/**
+ * Converts {@link Goal}s to and from the JSON objects stored by {@link JournaledGoalRepository}.
+ * Unlike Java serialization the format only depends on the field names below, so entity classes
+ * can change without making existing files unreadable.
+ */
+final class GoalJsonCodec {
+
+    static final String NAME = "name";
+
+    private static final String ID = "id";
+    private static final String DESCRIPTION = "description";
+    private static final String CATEGORY = "category";
+    private static final String TARGET = "target_task";
+    private static final String BEGIN_DATE = "begin_date";
+    private static final String DUE_DATE = "due_date";
+    private static final String TIME_PERIOD = "time_period";
+    private static final String FREQUENCY = "frequency";
+    private static final String CURRENT_PROGRESS = "current_progress";
+    private static final String COMPLETED = "completed";
+    private static final String COMPLETED_AT = "completed_at";
+
+    private GoalJsonCodec() {
+    }
+
+    /**
+     * Encodes a goal.
+     *
+     * @param goal the goal
+     * @return its JSON form
+     */
+    static JSONObject toJson(Goal goal) {
+        final JSONObject obj = infoToJson(goal.getGoalInfo().getInfo());
+        obj.put(TARGET, infoToJson(goal.getGoalInfo().getTargetTaskInfo()));
+        obj.put(BEGIN_DATE, goal.getBeginAndDueDates().getBeginDate().toString());
+        obj.put(DUE_DATE, goal.getBeginAndDueDates().getDueDate().toString());
+        obj.put(TIME_PERIOD, goal.getTimePeriod().name());
+        obj.put(FREQUENCY, goal.getFrequency());
+        obj.put(CURRENT_PROGRESS, goal.getCurrentProgress());
+        obj.put(COMPLETED, goal.isCompleted());
+        if (goal.getCompletedDateTime() != null) {
+            obj.put(COMPLETED_AT, goal.getCompletedDateTime().toString());
+        }
+        return obj;
+    }
+
+    /**
+     * Decodes a goal.
+     *
+     * @param obj a JSON object written by {@link #toJson(Goal)}
+     * @return the goal
+     */
+    static Goal fromJson(JSONObject obj) {
+        final Goal goal = new Goal(
+                new GoalInfo(infoFromJson(obj), infoFromJson(obj.getJSONObject(TARGET))),
+                new BeginAndDueDates(LocalDate.parse(obj.getString(BEGIN_DATE)),
+                        LocalDate.parse(obj.getString(DUE_DATE))),
+                GoalInterface.TimePeriod.valueOf(obj.getString(TIME_PERIOD)),
+                obj.getInt(FREQUENCY));
+        goal.setCurrentProgress(obj.optInt(CURRENT_PROGRESS));
+        goal.setCompleted(obj.optBoolean(COMPLETED));
+        if (obj.has(COMPLETED_AT)) {
+            goal.setCompletedDateTime(LocalDateTime.parse(obj.getString(COMPLETED_AT)));
+        }
+        return goal;
+    }
+
+    private static JSONObject infoToJson(Info info) {
+        final JSONObject obj = new JSONObject();
+        obj.put(ID, info.getId());
+        obj.put(NAME, info.getName());
+        if (info.getDescription() != null) {
+            obj.put(DESCRIPTION, info.getDescription());
+        }
+        if (info.getCategory() != null) {
+            obj.put(CATEGORY, info.getCategory());
+        }
+        return obj;
+    }
+
+    private static Info infoFromJson(JSONObject obj) {
+        // Records written before IDs were stored get a new one
+        return new Info.Builder(obj.getString(NAME))
+                .id(obj.optString(ID, null))
+                .description(obj.optString(DESCRIPTION, null))
+                .category(obj.optString(CATEGORY, null))
+                .build();
+    }
+}
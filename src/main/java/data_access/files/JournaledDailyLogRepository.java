@@ -0,0 +1,477 @@
+package data_access.files;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import entity.Angela.DailyLog;
+import use_case.repository.DailyLogRepository;
+
+/**
+ * An append-only, log-structured implementation of {@link DailyLogRepository}.
+ * Every save appends exactly one JSON record (one line) for the day to a journal file and
+ * forces it to disk, so the cost of a save does not depend on how much history exists.
+ * The latest record for a date wins; superseded records are dropped by periodic compaction,
+ * which rewrites the live records to a temporary file and atomically renames it into place.
+ * A torn trailing record left behind by a crash is truncated the next time the journal is opened;
+ * a complete record that cannot be parsed is reported and skipped, and dropped by the next compaction.
+ *
+ * <p>A sidecar index file ({@code <journal>.idx}) holds one fixed-width entry per record
+ * (epoch day, byte offset, length). Opening the repository reads the index instead of parsing
+ * the journal, and range queries jump straight to the requested records, so their cost depends
+ * on the number of days asked for rather than on the size of the history. The index is derived
+ * data: if it is missing, short or inconsistent with the journal it is rebuilt from the journal.</p>
+ */
+public class JournaledDailyLogRepository implements DailyLogRepository {
+
+    private static final String JOURNAL_PATH = "daily_logs.journal";
+    private static final String LEGACY_PATH = "daily_logs.json";
+    private static final String COMPACT_SUFFIX = ".compact";
+    private static final String IMPORT_SUFFIX = ".import";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final String DATE_KEY = DailyLogJsonCodec.DATE;
+    private static final byte NEWLINE = '\n';
+
+    /**
+     * Size of one index entry: epoch day (int), record offset (long) and record length (int).
+     */
+    private static final int INDEX_ENTRY_BYTES = 16;
+    /**
+     * Compaction is considered only once the journal holds at least this many records.
+     */
+    private static final int MIN_RECORDS_BEFORE_COMPACTION = 64;
+    /**
+     * Compaction runs when the journal holds this many times more records than live days.
+     */
+    private static final int COMPACTION_RATIO = 2;
+
+    private final Path journalPath;
+    private final Path legacyPath;
+    private final Path indexPath;
+    /**
+     * Location of the latest record for each date, kept in date order.
+     */
+    private final NavigableMap<LocalDate, IndexEntry> index = new TreeMap<>();
+    /**
+     * Number of journal bytes covered by the index.
+     */
+    private long journalEnd;
+    private int recordCount;
+    private boolean opened;
+
+    /**
+     * Creates a repository backed by {@code daily_logs.journal} in the working directory,
+     * importing an existing {@code daily_logs.json} the first time it is opened.
+     */
+    public JournaledDailyLogRepository() {
+        this(Paths.get(JOURNAL_PATH), Paths.get(LEGACY_PATH));
+    }
+
+    /**
+     * Creates a repository backed by the given journal file.
+     *
+     * @param journalPath the append-only journal file
+     * @param legacyPath a {@link FileDailyLogRepository} JSON file to import when the journal does not exist yet;
+     *                   may be null
+     */
+    public JournaledDailyLogRepository(Path journalPath, Path legacyPath) {
+        this.journalPath = journalPath;
+        this.legacyPath = legacyPath;
+        this.indexPath = journalPath.resolveSibling(journalPath.getFileName() + INDEX_SUFFIX);
+    }
+
+    @Override
+    public synchronized void save(DailyLog dailyLog) {
+        try {
+            open();
+            final String line = DailyLogJsonCodec.toJson(dailyLog).toString();
+            final IndexEntry entry = appendToJournal(List.of(line)).get(0);
+            index.put(dailyLog.getDate(), entry);
+            journalEnd = entry.end();
+            recordCount++;
+            appendToIndex(Map.of(dailyLog.getDate(), entry));
+            if (recordCount >= MIN_RECORDS_BEFORE_COMPACTION
+                    && recordCount >= COMPACTION_RATIO * index.size()) {
+                compact();
+            }
+        }
+        catch (IOException exception) {
+            throw new RuntimeException("Failed to save DailyLog", exception);
+        }
+    }
+
+    @Override
+    public synchronized DailyLog findByDate(LocalDate date) {
+        try {
+            open();
+            final List<DailyLog> found = readRange(date, date);
+            if (found.isEmpty()) {
+                return null;
+            }
+            return found.get(0);
+        }
+        catch (IOException exception) {
+            throw new RuntimeException("Failed to load DailyLog", exception);
+        }
+    }
+
+    @Override
+    public synchronized List<DailyLog> loadBetween(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            return new ArrayList<>();
+        }
+        try {
+            open();
+            return readRange(from, to);
+        }
+        catch (IOException exception) {
+            throw new RuntimeException("Failed to load daily logs", exception);
+        }
+    }
+
+    /**
+     * Rewrites the journal so that it holds exactly one record per day, in date order.
+     * The new journal is written and forced to a temporary file first and then atomically
+     * renamed over the old one, so a crash leaves either the old or the new journal intact.
+     * The index is removed before the rename and rewritten after it, so it can never point
+     * into the wrong journal.
+     */
+    public synchronized void compact() {
+        try {
+            open();
+            final Path tmp = journalPath.resolveSibling(journalPath.getFileName() + COMPACT_SUFFIX);
+            final NavigableMap<LocalDate, IndexEntry> compacted = new TreeMap<>();
+            long position = 0;
+            try (FileChannel in = FileChannel.open(journalPath, StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                         StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (Map.Entry<LocalDate, IndexEntry> entry : index.entrySet()) {
+                    final byte[] record = readBytes(in, entry.getValue());
+                    writeLine(out, record);
+                    compacted.put(entry.getKey(), new IndexEntry(position, record.length));
+                    position += record.length + 1;
+                }
+                out.force(true);
+            }
+            Files.deleteIfExists(indexPath);
+            Files.move(tmp, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            index.clear();
+            index.putAll(compacted);
+            journalEnd = position;
+            recordCount = index.size();
+            appendToIndex(index);
+        }
+        catch (IOException exception) {
+            throw new RuntimeException("Failed to compact daily log journal", exception);
+        }
+    }
+
+    /**
+     * Lazily loads the date index on first use, importing the legacy JSON file if needed.
+     * Only the part of the journal not yet covered by the sidecar index is scanned.
+     *
+     * @throws IOException if the journal or its index cannot be read
+     */
+    private void open() throws IOException {
+        if (opened) {
+            return;
+        }
+        if (!Files.exists(journalPath) && legacyPath != null
+                && Files.exists(legacyPath) && Files.size(legacyPath) > 0) {
+            importLegacy();
+        }
+        loadIndex();
+        scanJournalFrom(journalEnd);
+        opened = true;
+    }
+
+    /**
+     * Writes the legacy records to a temporary file, forces it and atomically renames it into
+     * place, as {@link #compact()} does. The journal only exists once the whole import has
+     * landed, so an import cut short by a crash is simply run again on the next open.
+     *
+     * @throws IOException if the legacy file cannot be read or the journal cannot be written
+     */
+    private void importLegacy() throws IOException {
+        final String content = Files.readString(legacyPath, StandardCharsets.UTF_8);
+        final JSONObject root = new JSONObject(new JSONTokener(content));
+        final Path tmp = journalPath.resolveSibling(journalPath.getFileName() + IMPORT_SUFFIX);
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (String key : new TreeSet<>(root.keySet())) {
+                final JSONObject obj = root.getJSONObject(key);
+                obj.put(DATE_KEY, key);
+                writeLine(out, obj.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            out.force(true);
+        }
+        Files.deleteIfExists(indexPath);
+        Files.move(tmp, journalPath, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads index entries until the first one that points past the end of the journal,
+     * then cuts the index file back to the entries that were accepted.
+     *
+     * @throws IOException if the index cannot be read or truncated
+     */
+    private void loadIndex() throws IOException {
+        index.clear();
+        journalEnd = 0;
+        recordCount = 0;
+        if (!Files.exists(indexPath)) {
+            return;
+        }
+        final long journalSize;
+        if (Files.exists(journalPath)) {
+            journalSize = Files.size(journalPath);
+        }
+        else {
+            journalSize = 0;
+        }
+        final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(indexPath));
+        while (buffer.remaining() >= INDEX_ENTRY_BYTES) {
+            final LocalDate date = LocalDate.ofEpochDay(buffer.getInt());
+            final IndexEntry entry = new IndexEntry(buffer.getLong(), buffer.getInt());
+            if (entry.length < 0 || entry.end() > journalSize) {
+                break;
+            }
+            index.put(date, entry);
+            journalEnd = Math.max(journalEnd, entry.end());
+            recordCount++;
+        }
+        final long valid = (long) recordCount * INDEX_ENTRY_BYTES;
+        if (valid != buffer.capacity()) {
+            try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.WRITE)) {
+                channel.truncate(valid);
+            }
+        }
+    }
+
+    /**
+     * Replays the journal from the given offset, indexing every complete record found.
+     * A final line without its newline is a torn write and is truncated. A complete line that
+     * cannot be parsed is reported and skipped rather than truncated, so that one damaged record
+     * does not take every later day with it; compaction drops it.
+     *
+     * @param start the first journal byte not covered by the index
+     * @throws IOException if the journal cannot be read or truncated
+     */
+    private void scanJournalFrom(long start) throws IOException {
+        if (!Files.exists(journalPath)) {
+            return;
+        }
+        final Map<LocalDate, IndexEntry> found = new TreeMap<>();
+        final long size;
+        try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            size = channel.size();
+            if (start >= size) {
+                return;
+            }
+            final byte[] bytes = readBytes(channel, new IndexEntry(start, (int) (size - start)));
+            int pos = 0;
+            while (pos < bytes.length) {
+                final int end = indexOfNewline(bytes, pos);
+                if (end < 0) {
+                    break;
+                }
+                final LocalDate date = parseDate(new String(bytes, pos, end - pos, StandardCharsets.UTF_8));
+                if (date == null) {
+                    System.err.println("Skipping unreadable daily log record at byte " + (start + pos)
+                            + " of " + journalPath);
+                }
+                else {
+                    final IndexEntry entry = new IndexEntry(start + pos, end - pos);
+                    found.put(date, entry);
+                    index.put(date, entry);
+                }
+                recordCount++;
+                pos = end + 1;
+            }
+            journalEnd = start + pos;
+            if (journalEnd < size) {
+                channel.truncate(journalEnd);
+                channel.force(true);
+            }
+        }
+        appendToIndex(found);
+    }
+
+    /**
+     * Reads the records for every indexed day in the range, in date order.
+     * If a record does not match its index entry, the index is rebuilt from the journal once.
+     *
+     * @param from first day, inclusive
+     * @param to last day, inclusive
+     * @return the daily logs found
+     * @throws IOException if the journal cannot be read or the index cannot be repaired
+     */
+    private List<DailyLog> readRange(LocalDate from, LocalDate to) throws IOException {
+        List<DailyLog> logs = tryReadRange(from, to);
+        if (logs == null) {
+            Files.deleteIfExists(indexPath);
+            loadIndex();
+            scanJournalFrom(0);
+            logs = tryReadRange(from, to);
+        }
+        if (logs == null) {
+            throw new IOException("Daily log journal index is inconsistent with " + journalPath);
+        }
+        return logs;
+    }
+
+    private List<DailyLog> tryReadRange(LocalDate from, LocalDate to) throws IOException {
+        final List<DailyLog> logs = new ArrayList<>();
+        final NavigableMap<LocalDate, IndexEntry> range = index.subMap(from, true, to, true);
+        if (range.isEmpty()) {
+            return logs;
+        }
+        try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.READ)) {
+            for (Map.Entry<LocalDate, IndexEntry> entry : range.entrySet()) {
+                final String line = new String(readBytes(channel, entry.getValue()), StandardCharsets.UTF_8);
+                final JSONObject record = parseRecord(line);
+                if (record == null || !entry.getKey().toString().equals(record.optString(DATE_KEY))) {
+                    return null;
+                }
+                logs.add(DailyLogJsonCodec.fromJson(record));
+            }
+        }
+        return logs;
+    }
+
+    /**
+     * Appends the records to the journal and forces them to disk before returning.
+     *
+     * @param lines the records to append, one line each
+     * @return where each record was written
+     * @throws IOException if the write or the fsync fails
+     */
+    private List<IndexEntry> appendToJournal(List<String> lines) throws IOException {
+        final List<IndexEntry> entries = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            for (String line : lines) {
+                final byte[] data = line.getBytes(StandardCharsets.UTF_8);
+                entries.add(new IndexEntry(channel.size(), data.length));
+                writeLine(channel, data);
+            }
+            channel.force(false);
+        }
+        return entries;
+    }
+
+    /**
+     * Appends entries to the sidecar index. The index is not forced to disk: it is rebuilt
+     * from the journal whenever it turns out to be incomplete.
+     *
+     * @param entries the entries to append
+     * @throws IOException if the index cannot be written
+     */
+    private void appendToIndex(Map<LocalDate, IndexEntry> entries) throws IOException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(entries.size() * INDEX_ENTRY_BYTES);
+        for (Map.Entry<LocalDate, IndexEntry> entry : entries.entrySet()) {
+            buffer.putInt((int) entry.getKey().toEpochDay());
+            buffer.putLong(entry.getValue().offset);
+            buffer.putInt(entry.getValue().length);
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    private static byte[] readBytes(FileChannel channel, IndexEntry entry) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+        long position = entry.offset;
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            position += read;
+        }
+        return buffer.array();
+    }
+
+    private static void writeLine(FileChannel channel, byte[] data) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(data.length + 1);
+        buffer.put(data).put(NEWLINE).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static int indexOfNewline(byte[] bytes, int from) {
+        for (int i = from; i < bytes.length; i++) {
+            if (bytes[i] == NEWLINE) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static JSONObject parseRecord(String line) {
+        try {
+            return new JSONObject(line);
+        }
+        catch (JSONException exception) {
+            return null;
+        }
+    }
+
+    private static LocalDate parseDate(String line) {
+        final JSONObject record = parseRecord(line);
+        if (record == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(record.optString(DATE_KEY));
+        }
+        catch (DateTimeParseException exception) {
+            return null;
+        }
+    }
+
+    /**
+     * Position of one record inside the journal; the record is followed by a newline.
+     */
+    private static final class IndexEntry {
+        private final long offset;
+        private final int length;
+
+        IndexEntry(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+
+        long end() {
+            return offset + length + 1;
+        }
+    }
+}
@@ -0,0 +1,625 @@
+package data_access.files;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import data_access.DomainEventBus;
+import entity.Sophia.Goal;
+import use_case.repository.GoalRepository;
+
+/**
+ * A {@link GoalRepository} that records every change as one versioned JSON record appended to a
+ * journal ({@code goals.journal}), so saving a goal or editing the current/today lists writes a
+ * single line instead of rewriting all goals. Records are replayed in order on startup.
+ * When superseded records dominate, the journal is compacted into a snapshot written to a
+ * temporary file and atomically renamed into place. A torn trailing record left behind by a crash
+ * is truncated on startup.
+ *
+ * <p>Records are appended behind the caller's back: changes made within a short window are
+ * collected and written, and forced to disk, in one append on a background thread, at shutdown
+ * or on {@link #flush()}. Quick successive edits on the goal page therefore cost one disk sync
+ * instead of one each, and none of them block the Swing event thread.</p>
+ *
+ * <p>Each record carries a format version ({@code "v"}) and an operation ({@code "op"}):
+ * {@code put} (a whole goal), {@code delete}, and {@code current_add}, {@code current_remove},
+ * {@code today_add}, {@code today_remove} (a goal name). A journal written by a newer format
+ * version is refused rather than misread.</p>
+ *
+ * <p>When no journal exists yet, the files used by {@link FileGoalRepository} are imported once:
+ * the serialized {@code goals.txt} map and the {@code current_goals.txt} and
+ * {@code today_goal.txt} name lists. The legacy files are left untouched.</p>
+ */
+public class JournaledGoalRepository implements GoalRepository, interface_adapter.GoalRepository {
+
+    static final int FORMAT_VERSION = 1;
+
+    /**
+     * How long changes are collected before they are appended, unless configured otherwise.
+     */
+    public static final Duration DEFAULT_WRITE_DELAY = Duration.ofMillis(500);
+
+    private static final String JOURNAL_PATH = "goals.journal";
+    private static final String COMPACT_SUFFIX = ".compact";
+    private static final String VERSION = "v";
+    private static final String OP = "op";
+    private static final String GOAL = "goal";
+    private static final String PUT = "put";
+    private static final String DELETE = "delete";
+    private static final String CURRENT_ADD = "current_add";
+    private static final String CURRENT_REMOVE = "current_remove";
+    private static final String TODAY_ADD = "today_add";
+    private static final String TODAY_REMOVE = "today_remove";
+    private static final byte NEWLINE = '\n';
+
+    /**
+     * Compaction is considered only once the journal holds at least this many records.
+     */
+    private static final int MIN_RECORDS_BEFORE_COMPACTION = 64;
+    /**
+     * Compaction runs when the journal holds this many times more records than a snapshot would.
+     */
+    private static final int COMPACTION_RATIO = 2;
+
+    private final Path journalPath;
+    /**
+     * All goals keyed by name, in insertion order.
+     */
+    private final Map<String, Goal> goals = new LinkedHashMap<>();
+    /**
+     * The encoded form of each goal as last written, used to skip unchanged goals in {@link #saveGoals()}.
+     */
+    private final Map<String, String> written = new HashMap<>();
+    private final List<String> currentGoalNames = new ArrayList<>();
+    private final List<String> todayGoalNames = new ArrayList<>();
+    /**
+     * Records not yet appended to the journal, in the order they were made.
+     */
+    private List<JSONObject> pending = new ArrayList<>();
+    private final WriteBehind writeBehind;
+    /**
+     * Serializes flushes so appends and compactions never interleave.
+     */
+    private final Object flushLock = new Object();
+    private int recordCount;
+    private volatile DomainEventBus eventBus;
+
+    /**
+     * Creates a repository backed by {@code goals.journal} in the working directory, importing the
+     * {@link FileGoalRepository} files from the working directory the first time.
+     */
+    public JournaledGoalRepository() {
+        this(Paths.get(JOURNAL_PATH), new File("goals.txt"), new File("current_goals.txt"),
+                new File("today_goal.txt"));
+    }
+
+    /**
+     * Creates a repository backed by the given journal, loading it immediately.
+     *
+     * @param journalPath the append-only journal file
+     * @param legacyGoalsFile a serialized goals map to import when the journal does not exist yet; may be null
+     * @param legacyCurrentGoalsFile a list of current goal names to import; may be null
+     * @param legacyTodayGoalFile a list of today's goal names to import; may be null
+     */
+    public JournaledGoalRepository(Path journalPath, File legacyGoalsFile, File legacyCurrentGoalsFile,
+                                   File legacyTodayGoalFile) {
+        this(journalPath, legacyGoalsFile, legacyCurrentGoalsFile, legacyTodayGoalFile, DEFAULT_WRITE_DELAY);
+    }
+
+    /**
+     * Creates a repository backed by the given journal that appends changes at most
+     * {@code writeDelay} after they are made.
+     *
+     * @param journalPath the append-only journal file
+     * @param legacyGoalsFile a serialized goals map to import when the journal does not exist yet; may be null
+     * @param legacyCurrentGoalsFile a list of current goal names to import; may be null
+     * @param legacyTodayGoalFile a list of today's goal names to import; may be null
+     * @param writeDelay how long changes are collected before they are appended
+     */
+    public JournaledGoalRepository(Path journalPath, File legacyGoalsFile, File legacyCurrentGoalsFile,
+                                   File legacyTodayGoalFile, Duration writeDelay) {
+        this.journalPath = journalPath;
+        this.writeBehind = new WriteBehind("goals", writeDelay, this::flushPending);
+        try {
+            if (Files.exists(journalPath)) {
+                replay();
+            }
+            else {
+                importLegacy(legacyGoalsFile, legacyCurrentGoalsFile, legacyTodayGoalFile);
+                writeSnapshot();
+            }
+        }
+        catch (IOException exception) {
+            throw new RuntimeException("Failed to load goals", exception);
+        }
+    }
+
+    /**
+     * Sets the bus that every goal added, changed or deleted here is published on.
+     *
+     * @param eventBus the bus, or null to stop publishing
+     */
+    public void setEventBus(DomainEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    private void publish(GoalChangeEvent change) {
+        final DomainEventBus bus = eventBus;
+        if (bus != null && !change.isEmpty()) {
+            bus.publish(change);
+        }
+    }
+
+    // ===== Reads =====
+
+    @Override
+    public synchronized Optional<Goal> findByName(String name) {
+        return Optional.ofNullable(goals.get(name));
+    }
+
+    @Override
+    public synchronized Goal getGoalByName(String name) {
+        return goals.get(name);
+    }
+
+    @Override
+    public synchronized List<Goal> getAllGoals() {
+        return new ArrayList<>(goals.values());
+    }
+
+    @Override
+    public synchronized List<Goal> loadGoals() {
+        return new ArrayList<>(goals.values());
+    }
+
+    @Override
+    public synchronized List<Goal> getCurrentGoals() {
+        return resolve(currentGoalNames);
+    }
+
+    @Override
+    public synchronized List<Goal> loadCurrentGoals() {
+        return resolve(currentGoalNames);
+    }
+
+    @Override
+    public synchronized List<Goal> getTodayGoals() {
+        return resolve(todayGoalNames);
+    }
+
+    @Override
+    public synchronized Goal getTodayGoal() {
+        Goal result = null;
+        if (!todayGoalNames.isEmpty()) {
+            result = goals.get(todayGoalNames.get(0));
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized boolean isInCurrentGoals(Goal goal) {
+        return currentGoalNames.contains(nameOf(goal));
+    }
+
+    @Override
+    public synchronized boolean existsByName(String name) {
+        return goals.containsKey(name);
+    }
+
+    @Override
+    public synchronized List<Goal> findByTargetAmountRange(double minAmount, double maxAmount) {
+        final List<Goal> result = new ArrayList<>();
+        for (Goal goal : goals.values()) {
+            final double freq = goal.getFrequency();
+            if (freq >= minAmount && freq <= maxAmount) {
+                result.add(goal);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized List<Goal> findAvailableGoals() {
+        final LocalDate today = LocalDate.now();
+        final List<Goal> result = new ArrayList<>();
+        for (Goal goal : goals.values()) {
+            if (!goal.isCompleted()
+                    && !today.isBefore(goal.getBeginAndDueDates().getBeginDate())
+                    && !today.isAfter(goal.getBeginAndDueDates().getDueDate())) {
+                result.add(goal);
+            }
+        }
+        return result;
+    }
+
+    // ===== Writes =====
+
+    @Override
+    public synchronized void save(Goal goal) {
+        final String name = nameOf(goal);
+        goals.put(name, goal);
+        final String encoded = GoalJsonCodec.toJson(goal).toString();
+        if (!encoded.equals(written.get(name))) {
+            append(List.of(putRecord(goal)));
+            publish(written.put(name, encoded) == null ? GoalChangeEvent.added(name)
+                    : GoalChangeEvent.updated(List.of(name)));
+        }
+    }
+
+    @Override
+    public void saveGoal(Goal goal) {
+        save(goal);
+    }
+
+    /**
+     * Writes a record for every goal that was changed in place since it was last written.
+     */
+    @Override
+    public synchronized void saveGoals() {
+        final List<JSONObject> records = new ArrayList<>();
+        final List<String> names = new ArrayList<>();
+        for (Goal goal : goals.values()) {
+            final String encoded = GoalJsonCodec.toJson(goal).toString();
+            if (!encoded.equals(written.get(nameOf(goal)))) {
+                records.add(putRecord(goal));
+                written.put(nameOf(goal), encoded);
+                names.add(nameOf(goal));
+            }
+        }
+        append(records);
+        publish(GoalChangeEvent.updated(names));
+    }
+
+    /**
+     * The current goal list is written as it changes, so there is nothing left to persist.
+     */
+    @Override
+    public void saveCurrentGoals() {
+        // Every change to the list has already been journaled
+    }
+
+    @Override
+    public synchronized void deleteByName(String name) {
+        if (goals.remove(name) != null || currentGoalNames.contains(name) || todayGoalNames.contains(name)) {
+            currentGoalNames.remove(name);
+            todayGoalNames.remove(name);
+            written.remove(name);
+            append(List.of(nameRecord(DELETE, name)));
+            publish(GoalChangeEvent.removed(name));
+        }
+    }
+
+    @Override
+    public void deleteGoal(String name) {
+        deleteByName(name);
+    }
+
+    @Override
+    public void removeGoal(String goalName) {
+        deleteByName(goalName);
+    }
+
+    @Override
+    public synchronized void addToCurrentGoals(Goal goal) {
+        final String name = nameOf(goal);
+        if (!currentGoalNames.contains(name)) {
+            currentGoalNames.add(name);
+            append(List.of(nameRecord(CURRENT_ADD, name)));
+            publish(GoalChangeEvent.updated(List.of(name)));
+        }
+    }
+
+    @Override
+    public synchronized void removeFromCurrentGoals(Goal goal) {
+        final String name = nameOf(goal);
+        if (currentGoalNames.remove(name)) {
+            append(List.of(nameRecord(CURRENT_REMOVE, name)));
+            publish(GoalChangeEvent.updated(List.of(name)));
+        }
+    }
+
+    @Override
+    public synchronized void saveTodayGoal(Goal goal) {
+        if (goal != null) {
+            addGoalToToday(nameOf(goal));
+        }
+    }
+
+    @Override
+    public synchronized void addGoalToToday(String goalName) {
+        if (goals.containsKey(goalName) && !todayGoalNames.contains(goalName)) {
+            todayGoalNames.add(goalName);
+            append(List.of(nameRecord(TODAY_ADD, goalName)));
+            publish(GoalChangeEvent.updated(List.of(goalName)));
+        }
+    }
+
+    @Override
+    public synchronized void removeGoalFromToday(String goalName) {
+        if (todayGoalNames.remove(goalName)) {
+            append(List.of(nameRecord(TODAY_REMOVE, goalName)));
+            publish(GoalChangeEvent.updated(List.of(goalName)));
+        }
+    }
+
+    @Override
+    public synchronized void updateTodayGoalProgress(String goalName, int newProgress) {
+        final Goal goal = goals.get(goalName);
+        if (goal != null && todayGoalNames.contains(goalName)) {
+            goal.setCurrentProgress(newProgress);
+            if (newProgress >= goal.getFrequency()) {
+                goal.setCompleted(true);
+            }
+            save(goal);
+        }
+    }
+
+    // ===== Journal =====
+
+    private void replay() throws IOException {
+        final byte[] bytes = Files.readAllBytes(journalPath);
+        int start = 0;
+        while (start < bytes.length) {
+            int end = start;
+            while (end < bytes.length && bytes[end] != NEWLINE) {
+                end++;
+            }
+            if (end == bytes.length) {
+                // Every record is written with its newline, so a last line without one was cut
+                // short by a crash even if it happens to parse; appending after it would join the
+                // next record onto it
+                truncate(start);
+                return;
+            }
+            final String line = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+            if (!line.isBlank()) {
+                try {
+                    apply(new JSONObject(line));
+                    recordCount++;
+                }
+                catch (JSONException exception) {
+                    throw new IOException("Corrupt goal journal record at byte " + start, exception);
+                }
+            }
+            start = end + 1;
+        }
+    }
+
+    private void apply(JSONObject record) {
+        final int version = record.optInt(VERSION, 0);
+        if (version > FORMAT_VERSION) {
+            throw new IllegalStateException("Goal journal was written by a newer version (format " + version + ")");
+        }
+        final String op = record.getString(OP);
+        switch (op) {
+            case PUT -> {
+                final Goal goal = GoalJsonCodec.fromJson(record.getJSONObject(GOAL));
+                goals.put(nameOf(goal), goal);
+                written.put(nameOf(goal), record.getJSONObject(GOAL).toString());
+            }
+            case DELETE -> {
+                final String name = record.getString(GoalJsonCodec.NAME);
+                goals.remove(name);
+                written.remove(name);
+                currentGoalNames.remove(name);
+                todayGoalNames.remove(name);
+            }
+            case CURRENT_ADD -> addName(currentGoalNames, record.getString(GoalJsonCodec.NAME));
+            case CURRENT_REMOVE -> currentGoalNames.remove(record.getString(GoalJsonCodec.NAME));
+            case TODAY_ADD -> addName(todayGoalNames, record.getString(GoalJsonCodec.NAME));
+            case TODAY_REMOVE -> todayGoalNames.remove(record.getString(GoalJsonCodec.NAME));
+            default -> System.err.println("Skipping unknown goal journal operation: " + op);
+        }
+    }
+
+    private void truncate(long length) throws IOException {
+        try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Queues the records for the next background append.
+     */
+    private void append(List<JSONObject> records) {
+        if (!records.isEmpty()) {
+            pending.addAll(records);
+            writeBehind.changed();
+        }
+    }
+
+    /**
+     * Appends all queued records to the journal and forces them to disk before returning.
+     *
+     * @throws RuntimeException if the journal cannot be written
+     */
+    public void flush() {
+        writeBehind.flushNow();
+    }
+
+    /**
+     * Appends the queued records in one write and one sync, compacting afterwards if due.
+     * The queue is taken under the repository lock and written outside it. On failure the
+     * records are queued again ahead of anything newer.
+     */
+    private void flushPending() {
+        synchronized (flushLock) {
+            final List<JSONObject> batch;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = new ArrayList<>();
+            }
+            final StringBuilder lines = new StringBuilder();
+            for (JSONObject record : batch) {
+                lines.append(record).append('\n');
+            }
+            try {
+                try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    final ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    channel.force(false);
+                }
+                synchronized (this) {
+                    recordCount += batch.size();
+                    if (recordCount >= MIN_RECORDS_BEFORE_COMPACTION
+                            && recordCount >= COMPACTION_RATIO * snapshotSize()) {
+                        writeSnapshot();
+                    }
+                }
+            }
+            catch (IOException exception) {
+                synchronized (this) {
+                    batch.addAll(pending);
+                    pending = batch;
+                }
+                throw new RuntimeException("Failed to save goals", exception);
+            }
+        }
+    }
+
+    /**
+     * Replaces the journal with the minimal set of records that rebuilds the current state.
+     * The snapshot is written and forced to a temporary file first and then atomically renamed.
+     * Must be called with the repository lock held.
+     */
+    private void writeSnapshot() throws IOException {
+        final List<JSONObject> records = new ArrayList<>();
+        for (Goal goal : goals.values()) {
+            records.add(putRecord(goal));
+            written.put(nameOf(goal), GoalJsonCodec.toJson(goal).toString());
+        }
+        for (String name : currentGoalNames) {
+            records.add(nameRecord(CURRENT_ADD, name));
+        }
+        for (String name : todayGoalNames) {
+            records.add(nameRecord(TODAY_ADD, name));
+        }
+        final StringBuilder lines = new StringBuilder();
+        for (JSONObject record : records) {
+            lines.append(record).append('\n');
+        }
+        final Path tmp = journalPath.resolveSibling(journalPath.getFileName() + COMPACT_SUFFIX);
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(true);
+        }
+        Files.move(tmp, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        recordCount = records.size();
+        // The snapshot already reflects every queued change
+        pending.clear();
+    }
+
+    private int snapshotSize() {
+        return Math.max(1, goals.size() + currentGoalNames.size() + todayGoalNames.size());
+    }
+
+    // ===== Legacy import =====
+
+    /**
+     * Reads the {@link FileGoalRepository} files. A file that cannot be read fails the import
+     * rather than being skipped: the journal written afterwards would stop the import from ever
+     * being retried, and the goals in the file would be lost for good.
+     */
+    private void importLegacy(File goalsFile, File currentGoalsFile, File todayGoalFile) throws IOException {
+        if (goalsFile != null && goalsFile.exists()) {
+            try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(goalsFile))) {
+                final Object obj = in.readObject();
+                if (obj instanceof Map<?, ?> map) {
+                    for (Map.Entry<?, ?> entry : map.entrySet()) {
+                        if (entry.getKey() instanceof String name && entry.getValue() instanceof Goal goal) {
+                            goals.put(name, goal);
+                        }
+                    }
+                }
+            }
+            catch (IOException | ClassNotFoundException exception) {
+                throw new IOException("Cannot import legacy goals from " + goalsFile
+                        + "; it is left in place and will be read again on the next start", exception);
+            }
+        }
+        readNames(currentGoalsFile, currentGoalNames);
+        readNames(todayGoalFile, todayGoalNames);
+    }
+
+    private static void readNames(File file, List<String> names) throws IOException {
+        if (file == null || !file.exists()) {
+            return;
+        }
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line = reader.readLine();
+            while (line != null) {
+                if (!line.isBlank()) {
+                    addName(names, line.trim());
+                }
+                line = reader.readLine();
+            }
+        }
+        catch (IOException exception) {
+            throw new IOException("Cannot import legacy goal list " + file, exception);
+        }
+    }
+
+    // ===== Helpers =====
+
+    private List<Goal> resolve(List<String> names) {
+        final List<Goal> result = new ArrayList<>();
+        for (String name : names) {
+            final Goal goal = goals.get(name);
+            if (goal != null) {
+                result.add(goal);
+            }
+        }
+        return result;
+    }
+
+    private static void addName(List<String> names, String name) {
+        if (!names.contains(name)) {
+            names.add(name);
+        }
+    }
+
+    private static String nameOf(Goal goal) {
+        return goal.getGoalInfo().getInfo().getName();
+    }
+
+    private static JSONObject putRecord(Goal goal) {
+        return new JSONObject().put(VERSION, FORMAT_VERSION).put(OP, PUT).put(GOAL, GoalJsonCodec.toJson(goal));
+    }
+
+    private static JSONObject nameRecord(String op, String name) {
+        return new JSONObject().put(VERSION, FORMAT_VERSION).put(OP, op).put(GoalJsonCodec.NAME, name);
+    }
+}
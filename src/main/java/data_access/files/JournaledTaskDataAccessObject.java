@@ -0,0 +1,359 @@
+package data_access.files;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import data_access.InMemoryTaskDataAccessObject;
+import data_access.TaskChangeEvent;
+import entity.Angela.Task.Task;
+import entity.Angela.Task.TaskAvailable;
+import entity.Angela.Task.TaskAvailableInterf;
+import entity.Angela.Task.TaskInterf;
+
+/**
+ * The task data access object, kept on disk. Reads and indexes are those of
+ * {@link InMemoryTaskDataAccessObject}; in addition every write is recorded as one versioned
+ * JSON record appended to a journal ({@code tasks.journal}), so saving a task costs one line
+ * whatever the size of the catalog. On startup the journal is read once, only the latest record
+ * of each task is decoded, and the lists are indexed in one batch. A torn trailing record left
+ * behind by a crash is truncated. When superseded records dominate, the journal is compacted
+ * into a snapshot written to a temporary file and atomically renamed into place, which keeps
+ * startup time proportional to the number of tasks rather than to the number of edits.
+ *
+ * <p>As in {@link JournaledGoalRepository}, records are appended behind the caller's back:
+ * changes made within a short window are written, and forced to disk, in one append on a
+ * background thread, at shutdown or on {@link #flush()}.</p>
+ *
+ * <p>Each record carries a format version ({@code "v"}), an operation ({@code "op"}, either
+ * {@code put} with the whole task or {@code delete} with its ID) and the list it belongs to
+ * ({@code "store"}, {@code available} or {@code today}). A journal written by a newer format
+ * version is refused rather than misread. Only writes made through this object are recorded;
+ * a task changed in place by a caller is written with its next change here.</p>
+ */
+public class JournaledTaskDataAccessObject extends InMemoryTaskDataAccessObject {
+
+    static final int FORMAT_VERSION = 1;
+
+    /**
+     * How long changes are collected before they are appended, unless configured otherwise.
+     */
+    public static final Duration DEFAULT_WRITE_DELAY = Duration.ofMillis(500);
+
+    private static final String JOURNAL_PATH = "tasks.journal";
+    private static final String COMPACT_SUFFIX = ".compact";
+    private static final String VERSION = "v";
+    private static final String OP = "op";
+    private static final String STORE = "store";
+    private static final String TASK = "task";
+    private static final String PUT = "put";
+    private static final String DELETE = "delete";
+    private static final String AVAILABLE = "available";
+    private static final String TODAY = "today";
+    private static final byte NEWLINE = '\n';
+
+    /**
+     * Compaction is considered only once the journal holds at least this many records.
+     */
+    private static final int MIN_RECORDS_BEFORE_COMPACTION = 64;
+    /**
+     * Compaction runs when the journal holds this many times more records than a snapshot would.
+     */
+    private static final int COMPACTION_RATIO = 2;
+
+    private final Path journalPath;
+    /**
+     * Guards the fields below. Separate from the lists, which are concurrent and never wait on it.
+     */
+    private final Object journalLock = new Object();
+    /**
+     * The encoded form of each template and each of today's tasks as last written, used to skip
+     * writes that change nothing and to know which deletes need a record.
+     */
+    private final Map<String, String> writtenTemplates = new HashMap<>();
+    private final Map<String, String> writtenTasks = new HashMap<>();
+    /**
+     * Records not yet appended to the journal, in the order they were made.
+     */
+    private List<JSONObject> pending = new ArrayList<>();
+    private final WriteBehind writeBehind;
+    /**
+     * Serializes flushes so appends and compactions never interleave.
+     */
+    private final Object flushLock = new Object();
+    private int recordCount;
+
+    /**
+     * Creates a task store backed by {@code tasks.journal} in the working directory.
+     */
+    public JournaledTaskDataAccessObject() {
+        this(Paths.get(JOURNAL_PATH));
+    }
+
+    /**
+     * Creates a task store backed by the given journal, loading it immediately.
+     *
+     * @param journalPath the append-only journal file; created on the first write if missing
+     */
+    public JournaledTaskDataAccessObject(Path journalPath) {
+        this(journalPath, DEFAULT_WRITE_DELAY);
+    }
+
+    /**
+     * Creates a task store backed by the given journal that appends changes at most
+     * {@code writeDelay} after they are made.
+     *
+     * @param journalPath the append-only journal file; created on the first write if missing
+     * @param writeDelay how long changes are collected before they are appended
+     */
+    public JournaledTaskDataAccessObject(Path journalPath, Duration writeDelay) {
+        this.journalPath = journalPath;
+        this.writeBehind = new WriteBehind("tasks", writeDelay, this::flushPending);
+        if (Files.exists(journalPath)) {
+            try {
+                replay();
+            }
+            catch (IOException exception) {
+                throw new RuntimeException("Failed to load tasks", exception);
+            }
+        }
+    }
+
+    // ===== Recording changes =====
+
+    @Override
+    protected void tasksChanged(TaskChangeEvent event) {
+        final boolean today = event.getStore() == TaskChangeEvent.Store.TODAY;
+        final String store = today ? TODAY : AVAILABLE;
+        final List<JSONObject> records = new ArrayList<>();
+        synchronized (journalLock) {
+            final Map<String, String> written = today ? writtenTasks : writtenTemplates;
+            for (String id : event.getRemoved()) {
+                if (written.remove(id) != null) {
+                    records.add(deleteRecord(store, id));
+                }
+            }
+            final List<String> changedIds = new ArrayList<>(event.getAdded());
+            changedIds.addAll(event.getUpdated());
+            for (String id : changedIds) {
+                final JSONObject encoded = today ? encodeTask(getTodaysTaskById(id))
+                        : encodeTemplate(getTaskAvailableById(id));
+                if (encoded == null) {
+                    // Removed again before this change was recorded
+                    if (written.remove(id) != null) {
+                        records.add(deleteRecord(store, id));
+                    }
+                }
+                else {
+                    final String text = encoded.toString();
+                    if (!text.equals(written.put(id, text))) {
+                        records.add(putRecord(store, encoded));
+                    }
+                }
+            }
+            if (!records.isEmpty()) {
+                pending.addAll(records);
+                writeBehind.changed();
+            }
+        }
+    }
+
+    private static JSONObject encodeTemplate(TaskAvailableInterf template) {
+        return template instanceof TaskAvailable ? TaskJsonCodec.templateToJson((TaskAvailable) template) : null;
+    }
+
+    private static JSONObject encodeTask(TaskInterf task) {
+        return task instanceof Task ? TaskJsonCodec.taskToJson((Task) task) : null;
+    }
+
+    // ===== Journal =====
+
+    /**
+     * Reads the journal, keeping only the latest record of each task, then decodes and restores
+     * the survivors in one batch.
+     */
+    private void replay() throws IOException {
+        final Map<String, JSONObject> templates = new LinkedHashMap<>();
+        final Map<String, JSONObject> tasks = new LinkedHashMap<>();
+        final byte[] bytes = Files.readAllBytes(journalPath);
+        int start = 0;
+        while (start < bytes.length) {
+            int end = start;
+            while (end < bytes.length && bytes[end] != NEWLINE) {
+                end++;
+            }
+            final String line = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+            final boolean complete = end < bytes.length;
+            if (!line.isBlank()) {
+                try {
+                    apply(new JSONObject(line), templates, tasks);
+                    recordCount++;
+                }
+                catch (JSONException exception) {
+                    if (!complete) {
+                        truncate(start);
+                        break;
+                    }
+                    throw new IOException("Corrupt task journal record at byte " + start, exception);
+                }
+            }
+            start = end + 1;
+        }
+
+        final List<TaskAvailable> restoredTemplates = new ArrayList<>(templates.size());
+        for (JSONObject obj : templates.values()) {
+            restoredTemplates.add(TaskJsonCodec.templateFromJson(obj));
+            writtenTemplates.put(obj.getString(TaskJsonCodec.ID), obj.toString());
+        }
+        final List<Task> restoredTasks = new ArrayList<>(tasks.size());
+        for (JSONObject obj : tasks.values()) {
+            restoredTasks.add(TaskJsonCodec.taskFromJson(obj));
+            writtenTasks.put(obj.getString(TaskJsonCodec.ID), obj.toString());
+        }
+        restore(restoredTemplates, restoredTasks);
+    }
+
+    private static void apply(JSONObject record, Map<String, JSONObject> templates, Map<String, JSONObject> tasks) {
+        final int version = record.optInt(VERSION, 0);
+        if (version > FORMAT_VERSION) {
+            throw new IllegalStateException("Task journal was written by a newer version (format " + version + ")");
+        }
+        final String store = record.getString(STORE);
+        final Map<String, JSONObject> target;
+        if (TODAY.equals(store)) {
+            target = tasks;
+        }
+        else if (AVAILABLE.equals(store)) {
+            target = templates;
+        }
+        else {
+            System.err.println("Skipping task journal record for unknown list: " + store);
+            return;
+        }
+        final String op = record.getString(OP);
+        switch (op) {
+            case PUT -> {
+                final JSONObject task = record.getJSONObject(TASK);
+                target.put(task.getString(TaskJsonCodec.ID), task);
+            }
+            case DELETE -> target.remove(record.getString(TaskJsonCodec.ID));
+            default -> System.err.println("Skipping unknown task journal operation: " + op);
+        }
+    }
+
+    private void truncate(long length) throws IOException {
+        try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Appends all queued records to the journal and forces them to disk before returning.
+     *
+     * @throws RuntimeException if the journal cannot be written
+     */
+    public void flush() {
+        writeBehind.flushNow();
+    }
+
+    /**
+     * Appends the queued records in one write and one sync, compacting afterwards if due.
+     * The queue is taken under the journal lock and written outside it. On failure the
+     * records are queued again ahead of anything newer.
+     */
+    private void flushPending() {
+        synchronized (flushLock) {
+            final List<JSONObject> batch;
+            synchronized (journalLock) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = new ArrayList<>();
+            }
+            final StringBuilder lines = new StringBuilder();
+            for (JSONObject record : batch) {
+                lines.append(record).append('\n');
+            }
+            try {
+                try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                    final ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    channel.force(false);
+                }
+                synchronized (journalLock) {
+                    recordCount += batch.size();
+                    final int snapshotSize = Math.max(1, writtenTemplates.size() + writtenTasks.size());
+                    if (recordCount >= MIN_RECORDS_BEFORE_COMPACTION
+                            && recordCount >= COMPACTION_RATIO * snapshotSize) {
+                        writeSnapshot();
+                    }
+                }
+            }
+            catch (IOException exception) {
+                synchronized (journalLock) {
+                    batch.addAll(pending);
+                    pending = batch;
+                }
+                throw new RuntimeException("Failed to save tasks", exception);
+            }
+        }
+    }
+
+    /**
+     * Replaces the journal with one put record per stored task, from the encoded forms last
+     * recorded. The snapshot is written and forced to a temporary file first and then atomically
+     * renamed. Records still queued are already part of the snapshot; appending them afterwards
+     * repeats changes it holds, which is harmless. Must be called with the journal lock held.
+     */
+    private void writeSnapshot() throws IOException {
+        final StringBuilder lines = new StringBuilder();
+        for (String encoded : writtenTemplates.values()) {
+            lines.append(putRecord(AVAILABLE, new JSONObject(encoded))).append('\n');
+        }
+        for (String encoded : writtenTasks.values()) {
+            lines.append(putRecord(TODAY, new JSONObject(encoded))).append('\n');
+        }
+        final Path tmp = journalPath.resolveSibling(journalPath.getFileName() + COMPACT_SUFFIX);
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(true);
+        }
+        Files.move(tmp, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        recordCount = writtenTemplates.size() + writtenTasks.size();
+    }
+
+    // ===== Helpers =====
+
+    private static JSONObject putRecord(String store, JSONObject task) {
+        return new JSONObject().put(VERSION, FORMAT_VERSION).put(OP, PUT).put(STORE, store).put(TASK, task);
+    }
+
+    private static JSONObject deleteRecord(String store, String id) {
+        return new JSONObject().put(VERSION, FORMAT_VERSION).put(OP, DELETE).put(STORE, store)
+                .put(TaskJsonCodec.ID, id);
+    }
+}
@@ -0,0 +1,452 @@
+package data_access.files;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ref.SoftReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import entity.Angela.HistoryRollup;
+import entity.Angela.TodaySoFarSnapshot;
+import use_case.Angela.view_history.HistoryAnalytics;
+import use_case.Angela.view_history.HistoryMetricsDataAccessInterface;
+import use_case.Angela.view_history.HistoryRollupDataAccessInterface;
+import use_case.Angela.view_history.ViewHistoryDataAccessInterface;
+
+/**
+ * History snapshots kept on disk, one compressed segment file per day in a {@code history}
+ * directory. Each segment is named after its date ({@code 2025-03-10.snapshot.gz}) and holds the
+ * snapshot encoded by {@link SnapshotSegmentCodec}, so a day costs a few kilobytes and years of
+ * history stay cheap to keep.
+ *
+ * <p>The date index is built from the file names alone when the store is opened: listing dates and
+ * checking whether a day has a snapshot never open a segment. A snapshot body is read the first
+ * time it is asked for and then held through a soft reference, which the collector may drop again
+ * under memory pressure. Segments are written to a temporary file, forced to disk and atomically
+ * renamed into place, so a crash leaves either the old snapshot or the new one. A segment that cannot be read,
+ * or was written by a newer format version, is reported and treated as missing.</p>
+ *
+ * <p>Weekly and monthly rollups of older days are few (bounded by the retention policy), so they
+ * are all kept in memory and in one {@code rollups.json} file beside the segments, replaced
+ * atomically whenever a rollup changes.</p>
+ *
+ * <p>The figures {@link HistoryAnalytics} needs from each snapshot are appended as one line to
+ * {@code metrics.ndjson} when it is saved and read back on open, so trend queries never open a
+ * segment and still cover days whose snapshots have since been rolled up. A line torn by a crash
+ * is cut off on open, and once most lines are superseded by later saves of the same day the file
+ * is rewritten with only the latest line per day.</p>
+ */
+public class SegmentedHistoryDataAccess implements ViewHistoryDataAccessInterface, HistoryRollupDataAccessInterface,
+        HistoryMetricsDataAccessInterface {
+
+    static final int FORMAT_VERSION = 1;
+
+    private static final String DIRECTORY = "history";
+    private static final String SEGMENT_SUFFIX = ".snapshot.gz";
+    private static final String TMP_SUFFIX = ".tmp";
+    private static final String ROLLUPS_FILE = "rollups.json";
+    private static final String METRICS_FILE = "metrics.ndjson";
+    private static final byte NEWLINE = '\n';
+
+    private final Path directory;
+    private final Clock clock;
+    /**
+     * Every day with a segment on disk, mapped to its file.
+     */
+    private final NavigableMap<LocalDate, Path> index = new TreeMap<>();
+    /**
+     * Snapshot bodies read or written so far.
+     */
+    private final Map<LocalDate, SoftReference<TodaySoFarSnapshot>> loaded = new HashMap<>();
+    private final Map<HistoryRollup.Granularity, NavigableMap<LocalDate, HistoryRollup>> rollups =
+            new EnumMap<>(HistoryRollup.Granularity.class);
+    private HistoryAnalytics analytics = new HistoryAnalytics();
+
+    /**
+     * Opens the store in the {@code history} directory under the working directory.
+     */
+    public SegmentedHistoryDataAccess() {
+        this(Paths.get(DIRECTORY), Clock.systemDefaultZone());
+    }
+
+    /**
+     * Opens the store in the given directory, creating it if needed, and indexes its segments.
+     *
+     * @param directory the directory holding one segment per day
+     * @param clock the clock that decides which snapshots are old enough to clean up
+     */
+    public SegmentedHistoryDataAccess(Path directory, Clock clock) {
+        this.directory = directory;
+        this.clock = clock;
+        openIndex();
+        loadRollups();
+        loadMetrics();
+    }
+
+    @Override
+    public synchronized boolean saveSnapshot(TodaySoFarSnapshot snapshot) {
+        if (snapshot == null || snapshot.getDate() == null) {
+            return false;
+        }
+        final LocalDate date = snapshot.getDate();
+        final Path segment = segmentFor(date);
+        final byte[] body = SnapshotSegmentCodec.toJson(snapshot, FORMAT_VERSION).toString()
+                .getBytes(StandardCharsets.UTF_8);
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4);
+        try (OutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        }
+        catch (IOException exception) {
+            System.err.println("Error writing history snapshot for " + date + ": " + exception.getMessage());
+            return false;
+        }
+        try {
+            replaceDurably(segment, compressed.toByteArray());
+        }
+        catch (IOException exception) {
+            System.err.println("Error saving history snapshot for " + date + ": " + exception.getMessage());
+            return false;
+        }
+        index.put(date, segment);
+        loaded.put(date, new SoftReference<>(snapshot));
+        analytics.record(snapshot);
+        appendMetrics(snapshot);
+        return true;
+    }
+
+    @Override
+    public synchronized TodaySoFarSnapshot getSnapshot(LocalDate date) {
+        final Path segment = date == null ? null : index.get(date);
+        if (segment == null) {
+            return null;
+        }
+        final SoftReference<TodaySoFarSnapshot> cached = loaded.get(date);
+        TodaySoFarSnapshot snapshot = cached == null ? null : cached.get();
+        if (snapshot == null) {
+            snapshot = read(segment);
+            if (snapshot != null) {
+                loaded.put(date, new SoftReference<>(snapshot));
+            }
+        }
+        return snapshot;
+    }
+
+    @Override
+    public synchronized List<LocalDate> getAvailableDates() {
+        return new ArrayList<>(index.descendingKeySet());
+    }
+
+    @Override
+    public synchronized boolean hasSnapshot(LocalDate date) {
+        return date != null && index.containsKey(date);
+    }
+
+    @Override
+    public synchronized int cleanupOldSnapshots(int daysToKeep) {
+        final LocalDate cutoffDate = LocalDate.now(clock).minusDays(daysToKeep);
+        final Map<LocalDate, Path> old = index.headMap(cutoffDate, false);
+        int deleted = 0;
+        for (Map.Entry<LocalDate, Path> entry : new ArrayList<>(old.entrySet())) {
+            try {
+                Files.deleteIfExists(entry.getValue());
+            }
+            catch (IOException exception) {
+                System.err.println("Error deleting history snapshot for " + entry.getKey() + ": "
+                        + exception.getMessage());
+                continue;
+            }
+            index.remove(entry.getKey());
+            loaded.remove(entry.getKey());
+            deleted++;
+        }
+        return deleted;
+    }
+
+    @Override
+    public synchronized boolean saveRollup(HistoryRollup rollup) {
+        if (rollup == null) {
+            return false;
+        }
+        final HistoryRollup previous = rollupsOf(rollup.getGranularity()).put(rollup.getStart(), rollup);
+        if (persistRollups()) {
+            return true;
+        }
+        if (previous == null) {
+            rollupsOf(rollup.getGranularity()).remove(rollup.getStart());
+        }
+        else {
+            rollupsOf(rollup.getGranularity()).put(rollup.getStart(), previous);
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized HistoryRollup getRollup(HistoryRollup.Granularity granularity, LocalDate start) {
+        return rollupsOf(granularity).get(start);
+    }
+
+    @Override
+    public synchronized List<HistoryRollup> getRollups(HistoryRollup.Granularity granularity) {
+        return new ArrayList<>(rollupsOf(granularity).descendingMap().values());
+    }
+
+    @Override
+    public synchronized int deleteRollupsBefore(HistoryRollup.Granularity granularity, LocalDate start) {
+        final Map<LocalDate, HistoryRollup> old = rollupsOf(granularity).headMap(start, false);
+        final int deleted = old.size();
+        if (deleted > 0) {
+            old.clear();
+            persistRollups();
+        }
+        return deleted;
+    }
+
+    @Override
+    public synchronized boolean deleteSnapshot(LocalDate date) {
+        final Path segment = date == null ? null : index.get(date);
+        if (segment == null) {
+            return false;
+        }
+        try {
+            Files.deleteIfExists(segment);
+        }
+        catch (IOException exception) {
+            System.err.println("Error deleting history snapshot for " + date + ": " + exception.getMessage());
+            return false;
+        }
+        index.remove(date);
+        loaded.remove(date);
+        return true;
+    }
+
+    @Override
+    public synchronized HistoryAnalytics getAnalytics() {
+        return analytics;
+    }
+
+    /**
+     * Deletes every snapshot, rollup and metrics line (useful for testing).
+     */
+    public synchronized void clear() {
+        for (Path segment : index.values()) {
+            deleteQuietly(segment);
+        }
+        index.clear();
+        loaded.clear();
+        rollups.clear();
+        deleteQuietly(directory.resolve(ROLLUPS_FILE));
+        analytics = new HistoryAnalytics();
+        deleteQuietly(directory.resolve(METRICS_FILE));
+    }
+
+    /**
+     * Gets the total number of snapshots stored.
+     * @return The number of snapshots
+     */
+    public synchronized int size() {
+        return index.size();
+    }
+
+    private NavigableMap<LocalDate, HistoryRollup> rollupsOf(HistoryRollup.Granularity granularity) {
+        return rollups.computeIfAbsent(granularity, g -> new TreeMap<>());
+    }
+
+    private void appendMetrics(TodaySoFarSnapshot snapshot) {
+        final String line = SnapshotSegmentCodec.metricsToJson(snapshot) + "\n";
+        try {
+            Files.writeString(directory.resolve(METRICS_FILE), line, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        catch (IOException exception) {
+            // The segment is saved; only trend queries after a restart miss this day
+            System.err.println("Error saving history metrics for " + snapshot.getDate() + ": "
+                    + exception.getMessage());
+        }
+    }
+
+    private void loadMetrics() {
+        final Path file = directory.resolve(METRICS_FILE);
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            final byte[] bytes = Files.readAllBytes(file);
+            int end = bytes.length;
+            while (end > 0 && bytes[end - 1] != NEWLINE) {
+                end--;
+            }
+            if (end < bytes.length) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    channel.truncate(end);
+                }
+            }
+            // The latest line for each day, in the order the days were last saved
+            final Map<String, String> latest = new LinkedHashMap<>();
+            int lines = 0;
+            for (String line : new String(bytes, 0, end, StandardCharsets.UTF_8).split("\n")) {
+                if (!line.isBlank()) {
+                    final JSONObject obj = new JSONObject(line);
+                    SnapshotSegmentCodec.recordMetrics(obj, analytics);
+                    latest.remove(obj.getString(SnapshotSegmentCodec.DATE));
+                    latest.put(obj.getString(SnapshotSegmentCodec.DATE), line);
+                    lines++;
+                }
+            }
+            if (lines - latest.size() > latest.size()) {
+                replaceDurably(file, (String.join("\n", latest.values()) + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        catch (IOException | JSONException | IllegalArgumentException | DateTimeParseException exception) {
+            System.err.println("Error reading history metrics " + file + ": " + exception.getMessage());
+        }
+    }
+
+    private void loadRollups() {
+        final Path file = directory.resolve(ROLLUPS_FILE);
+        if (!Files.exists(file)) {
+            return;
+        }
+        try {
+            final JSONArray array = new JSONArray(Files.readString(file, StandardCharsets.UTF_8));
+            for (int i = 0; i < array.length(); i++) {
+                final HistoryRollup rollup = SnapshotSegmentCodec.rollupFromJson(array.getJSONObject(i));
+                rollupsOf(rollup.getGranularity()).put(rollup.getStart(), rollup);
+            }
+        }
+        catch (IOException | JSONException | IllegalArgumentException | DateTimeParseException exception) {
+            System.err.println("Error reading history rollups " + file + ": " + exception.getMessage());
+            rollups.clear();
+        }
+    }
+
+    private boolean persistRollups() {
+        final JSONArray array = new JSONArray();
+        for (NavigableMap<LocalDate, HistoryRollup> byStart : rollups.values()) {
+            for (HistoryRollup rollup : byStart.values()) {
+                array.put(SnapshotSegmentCodec.rollupToJson(rollup));
+            }
+        }
+        try {
+            replaceDurably(directory.resolve(ROLLUPS_FILE), array.toString().getBytes(StandardCharsets.UTF_8));
+            return true;
+        }
+        catch (IOException exception) {
+            System.err.println("Error saving history rollups: " + exception.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Writes the data to a temporary file beside the target, forces it to disk and atomically
+     * renames it over the target, so a crash leaves either the old file or the complete new one.
+     *
+     * @param file the file to replace
+     * @param data its new content
+     * @throws IOException if the data cannot be written or moved into place; the temporary file
+     *                     is removed
+     */
+    private static void replaceDurably(Path file, byte[] data) throws IOException {
+        final Path tmp = file.resolveSibling(file.getFileName() + TMP_SUFFIX);
+        try {
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                final ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException exception) {
+            deleteQuietly(tmp);
+            throw exception;
+        }
+    }
+
+    private Path segmentFor(LocalDate date) {
+        return directory.resolve(date + SEGMENT_SUFFIX);
+    }
+
+    private void openIndex() {
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+                for (Path file : files) {
+                    final String name = file.getFileName().toString();
+                    if (name.endsWith(TMP_SUFFIX)) {
+                        // Left behind by a write that never reached its rename
+                        deleteQuietly(file);
+                    }
+                    else if (name.endsWith(SEGMENT_SUFFIX)) {
+                        indexSegment(file, name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+                    }
+                }
+            }
+        }
+        catch (IOException exception) {
+            System.err.println("Error opening history directory " + directory + ": " + exception.getMessage());
+        }
+    }
+
+    private void indexSegment(Path file, String date) {
+        try {
+            index.put(LocalDate.parse(date), file);
+        }
+        catch (DateTimeParseException exception) {
+            System.err.println("Ignoring history file with no date in its name: " + file);
+        }
+    }
+
+    private static TodaySoFarSnapshot read(Path segment) {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(segment))) {
+            final JSONObject obj = new JSONObject(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            final int version = obj.optInt(SnapshotSegmentCodec.VERSION, FORMAT_VERSION);
+            if (version > FORMAT_VERSION) {
+                System.err.println("History snapshot " + segment + " was written by a newer version ("
+                        + version + ")");
+                return null;
+            }
+            return SnapshotSegmentCodec.fromJson(obj);
+        }
+        catch (IOException | JSONException | IllegalArgumentException | DateTimeParseException exception) {
+            System.err.println("Error reading history snapshot " + segment + ": " + exception.getMessage());
+            return null;
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        }
+        catch (IOException exception) {
+            System.err.println("Error deleting " + file + ": " + exception.getMessage());
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package data_access.files;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import entity.Angela.HistoryRollup;
+import entity.Angela.Task.Task;
+import entity.Angela.TodaySoFarSnapshot;
+import entity.BeginAndDueDates.BeginAndDueDates;
+import entity.alex.WellnessLogEntry.WellnessLogEntry;
+import entity.info.Info;
+import use_case.Angela.view_history.HistoryAnalytics;
+
+/**
+ * Converts a {@link TodaySoFarSnapshot} to and from the JSON body of a history segment, a
+ * {@link HistoryRollup} to and from its entry in the rollup file, and a snapshot's figures to and
+ * from its line in the metrics file read into {@link HistoryAnalytics}.
+ *
+ * The day's tasks are stored once each, column by column: one array per field, with a row per
+ * task. Today's, completed and overdue tasks are lists of row numbers into that table, so a task
+ * that is both today's and completed is written once. Columns of small repeated values (names,
+ * categories, template IDs) compress far better than the same values scattered across objects.
+ * Dates are epoch days and absent values are JSON nulls.
+ */
+final class SnapshotSegmentCodec {
+
+    static final String VERSION = "v";
+    static final String DATE = "date";
+
+    private static final String ID = "id";
+    private static final String CREATED_AT = "created_at";
+    private static final String COMPLETION_RATE = "completion_rate";
+    private static final String TASKS = "tasks";
+    private static final String TODAY = "today";
+    private static final String COMPLETED = "completed";
+    private static final String OVERDUE = "overdue";
+    private static final String EVENTS = "events";
+    private static final String GOALS = "goals";
+    private static final String WELLNESS = "wellness";
+
+    private static final String TEMPLATE_ID = "template_id";
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final String CATEGORY = "category";
+    private static final String PRIORITY = "priority";
+    private static final String BEGIN_DAY = "begin_day";
+    private static final String DUE_DAY = "due_day";
+    private static final String COMPLETED_AT = "completed_at";
+    private static final String ONE_TIME = "one_time";
+
+    private static final String GRANULARITY = "granularity";
+    private static final String START = "start";
+    private static final String LAST_DAY = "last_day";
+    private static final String DAYS = "days";
+    private static final String COVERED_DAYS = "covered_days";
+    private static final String COMPLETION_RATE_SUM = "completion_rate_sum";
+    private static final String TASK_COUNT = "task_count";
+    private static final String COMPLETED_COUNT = "completed_count";
+    private static final String COMPLETED_BY_CATEGORY = "completed_by_category";
+    private static final String WELLNESS_COUNT = "wellness_count";
+    private static final String STRESS_SUM = "stress_sum";
+    private static final String ENERGY_SUM = "energy_sum";
+    private static final String FATIGUE_SUM = "fatigue_sum";
+
+    private static final String GOAL_ID = "goal_id";
+    private static final String PERIOD = "period";
+    private static final String CURRENT = "current";
+    private static final String TARGET = "target";
+
+    private SnapshotSegmentCodec() {
+    }
+
+    /**
+     * Encodes a snapshot.
+     *
+     * @param snapshot the snapshot
+     * @param version the format version to record
+     * @return its JSON form
+     */
+    static JSONObject toJson(TodaySoFarSnapshot snapshot, int version) {
+        final TaskColumns columns = new TaskColumns();
+        final JSONArray today = columns.rowsOf(snapshot.getTodaysTasks());
+        final JSONArray completed = columns.rowsOf(snapshot.getCompletedTasks());
+        final JSONArray overdue = columns.rowsOf(snapshot.getOverdueTasks());
+
+        final JSONArray events = new JSONArray();
+        for (Info event : snapshot.getTodaysEvents()) {
+            events.put(new JSONObject()
+                    .put(NAME, event.getName())
+                    .putOpt(DESCRIPTION, event.getDescription())
+                    .putOpt(CATEGORY, event.getCategory()));
+        }
+        final JSONArray wellness = new JSONArray();
+        for (WellnessLogEntry entry : snapshot.getWellnessEntries()) {
+            wellness.put(DailyLogJsonCodec.wellnessToJson(entry));
+        }
+
+        return new JSONObject()
+                .put(VERSION, version)
+                .put(ID, snapshot.getId())
+                .put(DATE, snapshot.getDate().toString())
+                .put(CREATED_AT, snapshot.getCreatedAt().toString())
+                .put(COMPLETION_RATE, snapshot.getTaskCompletionRate())
+                .put(TASKS, columns.toJson())
+                .put(TODAY, today)
+                .put(COMPLETED, completed)
+                .put(OVERDUE, overdue)
+                .put(EVENTS, events)
+                .put(GOALS, goalsToJson(snapshot.getGoalProgress()))
+                .put(WELLNESS, wellness);
+    }
+
+    /**
+     * Decodes a snapshot.
+     *
+     * @param obj a JSON object written by {@link #toJson(TodaySoFarSnapshot, int)}
+     * @return the snapshot, with its original ID and creation time
+     */
+    static TodaySoFarSnapshot fromJson(JSONObject obj) {
+        final List<Task> rows = TaskColumns.fromJson(obj.getJSONObject(TASKS));
+
+        final List<Info> events = new ArrayList<>();
+        final JSONArray eventArray = obj.getJSONArray(EVENTS);
+        for (int i = 0; i < eventArray.length(); i++) {
+            final JSONObject event = eventArray.getJSONObject(i);
+            events.add(new Info.Builder(event.getString(NAME))
+                    .description(event.optString(DESCRIPTION, null))
+                    .category(event.optString(CATEGORY, null))
+                    .build());
+        }
+        final List<WellnessLogEntry> wellness = new ArrayList<>();
+        final JSONArray wellnessArray = obj.getJSONArray(WELLNESS);
+        for (int i = 0; i < wellnessArray.length(); i++) {
+            wellness.add((WellnessLogEntry) DailyLogJsonCodec.wellnessFromJson(wellnessArray.getJSONObject(i)));
+        }
+
+        return TodaySoFarSnapshot.restore(obj.getString(ID),
+                LocalDate.parse(obj.getString(DATE)),
+                LocalDateTime.parse(obj.getString(CREATED_AT)),
+                select(rows, obj.getJSONArray(TODAY)),
+                select(rows, obj.getJSONArray(COMPLETED)),
+                obj.getInt(COMPLETION_RATE),
+                select(rows, obj.getJSONArray(OVERDUE)),
+                events, goalsFromJson(obj.getJSONArray(GOALS)), wellness);
+    }
+
+    /**
+     * Encodes a weekly or monthly rollup.
+     *
+     * @param rollup the rollup
+     * @return its JSON form
+     */
+    static JSONObject rollupToJson(HistoryRollup rollup) {
+        return new JSONObject()
+                .put(GRANULARITY, rollup.getGranularity().name())
+                .put(START, rollup.getStart().toString())
+                .put(LAST_DAY, rollup.getLastDay().toString())
+                .put(COVERED_DAYS, rollup.getCoveredDays())
+                .put(DAYS, rollup.getDays())
+                .put(COMPLETION_RATE_SUM, rollup.getCompletionRateSum())
+                .put(TASK_COUNT, rollup.getTasks())
+                .put(COMPLETED_COUNT, rollup.getCompletedTasks())
+                .put(COMPLETED_BY_CATEGORY, new JSONObject(rollup.getCompletedByCategory()))
+                .put(GOALS, goalsToJson(rollup.getGoalProgress()))
+                .put(WELLNESS_COUNT, rollup.getWellnessEntries())
+                .put(STRESS_SUM, rollup.getStressSum())
+                .put(ENERGY_SUM, rollup.getEnergySum())
+                .put(FATIGUE_SUM, rollup.getFatigueSum());
+    }
+
+    /**
+     * Decodes a weekly or monthly rollup.
+     *
+     * @param obj a JSON object written by {@link #rollupToJson(HistoryRollup)}
+     * @return the rollup
+     */
+    static HistoryRollup rollupFromJson(JSONObject obj) {
+        final LocalDate start = LocalDate.parse(obj.getString(START));
+        final LocalDate lastDay = LocalDate.parse(obj.getString(LAST_DAY));
+        return new HistoryRollup(HistoryRollup.Granularity.valueOf(obj.getString(GRANULARITY)),
+                start,
+                lastDay,
+                obj.optInt(COVERED_DAYS, HistoryRollup.coverageThrough(start, lastDay)),
+                obj.getInt(DAYS),
+                obj.getLong(COMPLETION_RATE_SUM),
+                obj.getInt(TASK_COUNT),
+                obj.getInt(COMPLETED_COUNT),
+                countsFromJson(obj.getJSONObject(COMPLETED_BY_CATEGORY)),
+                goalsFromJson(obj.getJSONArray(GOALS)),
+                obj.getInt(WELLNESS_COUNT),
+                obj.getLong(STRESS_SUM),
+                obj.getLong(ENERGY_SUM),
+                obj.getLong(FATIGUE_SUM));
+    }
+
+    /**
+     * Encodes the figures of a snapshot kept for analytics: its counts, rate, completed tasks per
+     * category and goal progress.
+     *
+     * @param snapshot the snapshot
+     * @return its metrics line
+     */
+    static JSONObject metricsToJson(TodaySoFarSnapshot snapshot) {
+        return new JSONObject()
+                .put(DATE, snapshot.getDate().toString())
+                .put(TASK_COUNT, snapshot.getTodaysTasks().size())
+                .put(COMPLETED_COUNT, snapshot.getCompletedTasks().size())
+                .put(COMPLETION_RATE, snapshot.getTaskCompletionRate())
+                .put(COMPLETED_BY_CATEGORY,
+                        new JSONObject(HistoryAnalytics.countByCategory(snapshot.getCompletedTasks())))
+                .put(GOALS, goalsToJson(snapshot.getGoalProgress()));
+    }
+
+    /**
+     * Records a metrics line written by {@link #metricsToJson(TodaySoFarSnapshot)}.
+     *
+     * @param obj the metrics line
+     * @param analytics the analytics to record it in
+     */
+    static void recordMetrics(JSONObject obj, HistoryAnalytics analytics) {
+        analytics.record(LocalDate.parse(obj.getString(DATE)),
+                obj.getInt(TASK_COUNT),
+                obj.getInt(COMPLETED_COUNT),
+                obj.getInt(COMPLETION_RATE),
+                countsFromJson(obj.getJSONObject(COMPLETED_BY_CATEGORY)),
+                goalsFromJson(obj.getJSONArray(GOALS)));
+    }
+
+    private static Map<String, Integer> countsFromJson(JSONObject obj) {
+        final Map<String, Integer> counts = new HashMap<>();
+        for (String key : obj.keySet()) {
+            counts.put(key, obj.getInt(key));
+        }
+        return counts;
+    }
+
+    private static JSONArray goalsToJson(List<TodaySoFarSnapshot.GoalProgress> goalProgress) {
+        final JSONArray goals = new JSONArray();
+        for (TodaySoFarSnapshot.GoalProgress goal : goalProgress) {
+            goals.put(new JSONObject()
+                    .put(GOAL_ID, goal.getGoalId())
+                    .put(NAME, goal.getGoalName())
+                    .put(PERIOD, goal.getPeriod())
+                    .put(CURRENT, goal.getCurrent())
+                    .put(TARGET, goal.getTarget()));
+        }
+        return goals;
+    }
+
+    private static List<TodaySoFarSnapshot.GoalProgress> goalsFromJson(JSONArray goalArray) {
+        final List<TodaySoFarSnapshot.GoalProgress> goals = new ArrayList<>();
+        for (int i = 0; i < goalArray.length(); i++) {
+            final JSONObject goal = goalArray.getJSONObject(i);
+            goals.add(new TodaySoFarSnapshot.GoalProgress(goal.getString(GOAL_ID), goal.getString(NAME),
+                    goal.getString(PERIOD), goal.getInt(CURRENT), goal.getInt(TARGET)));
+        }
+        return goals;
+    }
+
+    private static List<Task> select(List<Task> rows, JSONArray indexes) {
+        final List<Task> tasks = new ArrayList<>(indexes.length());
+        for (int i = 0; i < indexes.length(); i++) {
+            tasks.add(rows.get(indexes.getInt(i)));
+        }
+        return tasks;
+    }
+
+    /**
+     * The task table of one snapshot, built up a list at a time. Tasks are matched by ID, since
+     * the snapshot hands out a fresh copy of a task for every list it is in.
+     */
+    private static final class TaskColumns {
+        private final Map<String, Integer> rowById = new HashMap<>();
+        private final JSONArray ids = new JSONArray();
+        private final JSONArray templateIds = new JSONArray();
+        private final JSONArray names = new JSONArray();
+        private final JSONArray descriptions = new JSONArray();
+        private final JSONArray categories = new JSONArray();
+        private final JSONArray priorities = new JSONArray();
+        private final JSONArray beginDays = new JSONArray();
+        private final JSONArray dueDays = new JSONArray();
+        private final JSONArray completedAt = new JSONArray();
+        private final JSONArray oneTime = new JSONArray();
+
+        JSONArray rowsOf(List<Task> tasks) {
+            final JSONArray rows = new JSONArray();
+            for (Task task : tasks) {
+                rows.put(rowById.computeIfAbsent(task.getId(), id -> add(task)));
+            }
+            return rows;
+        }
+
+        private int add(Task task) {
+            ids.put(task.getId());
+            templateIds.put(task.getTemplateTaskId());
+            names.put(task.getInfo().getName());
+            descriptions.put(orNull(task.getInfo().getDescription()));
+            categories.put(orNull(task.getInfo().getCategory()));
+            priorities.put(task.getPriority() == null ? JSONObject.NULL : task.getPriority().name());
+            beginDays.put(epochDayOrNull(task.getDates().getBeginDate()));
+            dueDays.put(epochDayOrNull(task.getDates().getDueDate()));
+            completedAt.put(task.isCompleted() && task.getCompletedDateTime() != null
+                    ? task.getCompletedDateTime().toString() : JSONObject.NULL);
+            oneTime.put(task.isOneTime());
+            return ids.length() - 1;
+        }
+
+        JSONObject toJson() {
+            return new JSONObject()
+                    .put(ID, ids)
+                    .put(TEMPLATE_ID, templateIds)
+                    .put(NAME, names)
+                    .put(DESCRIPTION, descriptions)
+                    .put(CATEGORY, categories)
+                    .put(PRIORITY, priorities)
+                    .put(BEGIN_DAY, beginDays)
+                    .put(DUE_DAY, dueDays)
+                    .put(COMPLETED_AT, completedAt)
+                    .put(ONE_TIME, oneTime);
+        }
+
+        static List<Task> fromJson(JSONObject columns) {
+            final JSONArray ids = columns.getJSONArray(ID);
+            final JSONArray templateIds = columns.getJSONArray(TEMPLATE_ID);
+            final JSONArray names = columns.getJSONArray(NAME);
+            final JSONArray descriptions = columns.getJSONArray(DESCRIPTION);
+            final JSONArray categories = columns.getJSONArray(CATEGORY);
+            final JSONArray priorities = columns.getJSONArray(PRIORITY);
+            final JSONArray beginDays = columns.getJSONArray(BEGIN_DAY);
+            final JSONArray dueDays = columns.getJSONArray(DUE_DAY);
+            final JSONArray completedAt = columns.getJSONArray(COMPLETED_AT);
+            final JSONArray oneTime = columns.getJSONArray(ONE_TIME);
+
+            final List<Task> tasks = new ArrayList<>(ids.length());
+            for (int row = 0; row < ids.length(); row++) {
+                final Info info = new Info.Builder(names.getString(row))
+                        .description(descriptions.isNull(row) ? null : descriptions.getString(row))
+                        .category(categories.isNull(row) ? null : categories.getString(row))
+                        .build();
+                final LocalDateTime completed = completedAt.isNull(row)
+                        ? null : LocalDateTime.parse(completedAt.getString(row));
+                tasks.add(new Task(ids.getString(row), templateIds.getString(row), info,
+                        priorities.isNull(row) ? null : Task.Priority.valueOf(priorities.getString(row)),
+                        new BeginAndDueDates(dateOrNull(beginDays, row), dateOrNull(dueDays, row)),
+                        completed != null, completed, oneTime.getBoolean(row)));
+            }
+            return tasks;
+        }
+
+        private static Object orNull(String value) {
+            return value == null ? JSONObject.NULL : value;
+        }
+
+        private static Object epochDayOrNull(LocalDate date) {
+            return date == null ? JSONObject.NULL : date.toEpochDay();
+        }
+
+        private static LocalDate dateOrNull(JSONArray days, int row) {
+            return days.isNull(row) ? null : LocalDate.ofEpochDay(days.getLong(row));
+        }
+    }
+}
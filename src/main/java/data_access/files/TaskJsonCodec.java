@@ -0,0 +1,140 @@
+package data_access.files;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.json.JSONObject;
+
+import entity.Angela.Task.Task;
+import entity.Angela.Task.TaskAvailable;
+import entity.BeginAndDueDates.BeginAndDueDates;
+import entity.info.Info;
+import entity.info.InfoInterf;
+
+/**
+ * Converts available task templates and today's tasks to and from the JSON objects stored by
+ * {@link JournaledTaskDataAccessObject}. As with {@link GoalJsonCodec}, the format only depends
+ * on the field names below. The ID of each task's {@link Info} is kept as well as the task's own:
+ * a template's Info ID must equal the template ID, and goals find the task they target by it.
+ * Records written before Info IDs were stored get the ID they had when created, the template ID.
+ * Names, categories and template IDs are interned as they are read, so the thousands of tasks
+ * loaded at startup share one copy of each instead of one per record.
+ */
+final class TaskJsonCodec {
+
+    static final String ID = "id";
+
+    private static final String TEMPLATE_ID = "template_id";
+    private static final String INFO_ID = "info_id";
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final String CATEGORY = "category";
+    private static final String PLANNED_DUE_DATE = "planned_due_date";
+    private static final String ONE_TIME = "one_time";
+    private static final String PRIORITY = "priority";
+    private static final String BEGIN_DATE = "begin_date";
+    private static final String DUE_DATE = "due_date";
+    private static final String COMPLETED_AT = "completed_at";
+
+    private TaskJsonCodec() {
+    }
+
+    /**
+     * Encodes an available task template.
+     *
+     * @param template the template
+     * @return its JSON form
+     */
+    static JSONObject templateToJson(TaskAvailable template) {
+        final JSONObject obj = infoToJson(template.getId(), template.getInfo());
+        if (template.getPlannedDueDate() != null) {
+            obj.put(PLANNED_DUE_DATE, template.getPlannedDueDate());
+        }
+        obj.put(ONE_TIME, template.isOneTime());
+        return obj;
+    }
+
+    /**
+     * Decodes an available task template.
+     *
+     * @param obj a JSON object written by {@link #templateToJson(TaskAvailable)}
+     * @return the template
+     */
+    static TaskAvailable templateFromJson(JSONObject obj) {
+        return new TaskAvailable(obj.getString(ID), infoFromJson(obj, obj.getString(ID)),
+                obj.optString(PLANNED_DUE_DATE, null), obj.optBoolean(ONE_TIME));
+    }
+
+    /**
+     * Encodes one of today's tasks.
+     *
+     * @param task the task
+     * @return its JSON form
+     */
+    static JSONObject taskToJson(Task task) {
+        final JSONObject obj = infoToJson(task.getId(), task.getInfo());
+        obj.put(TEMPLATE_ID, task.getTemplateTaskId());
+        if (task.getPriority() != null) {
+            obj.put(PRIORITY, task.getPriority().name());
+        }
+        if (task.getDates().getBeginDate() != null) {
+            obj.put(BEGIN_DATE, task.getDates().getBeginDate().toString());
+        }
+        if (task.getDates().getDueDate() != null) {
+            obj.put(DUE_DATE, task.getDates().getDueDate().toString());
+        }
+        if (task.isCompleted() && task.getCompletedDateTime() != null) {
+            obj.put(COMPLETED_AT, task.getCompletedDateTime().toString());
+        }
+        obj.put(ONE_TIME, task.isOneTime());
+        return obj;
+    }
+
+    /**
+     * Decodes one of today's tasks. A task is completed exactly when it has a completion time.
+     *
+     * @param obj a JSON object written by {@link #taskToJson(Task)}
+     * @return the task
+     */
+    static Task taskFromJson(JSONObject obj) {
+        final LocalDateTime completedAt = obj.has(COMPLETED_AT)
+                ? LocalDateTime.parse(obj.getString(COMPLETED_AT)) : null;
+        final String templateId = obj.getString(TEMPLATE_ID).intern();
+        return new Task(obj.getString(ID), templateId, infoFromJson(obj, templateId),
+                obj.has(PRIORITY) ? Task.Priority.valueOf(obj.getString(PRIORITY)) : null,
+                new BeginAndDueDates(dateOrNull(obj, BEGIN_DATE), dateOrNull(obj, DUE_DATE)),
+                completedAt != null, completedAt, obj.optBoolean(ONE_TIME));
+    }
+
+    private static JSONObject infoToJson(String id, InfoInterf info) {
+        final JSONObject obj = new JSONObject();
+        obj.put(ID, id);
+        obj.put(INFO_ID, info.getId());
+        obj.put(NAME, info.getName());
+        if (info.getDescription() != null) {
+            obj.put(DESCRIPTION, info.getDescription());
+        }
+        if (info.getCategory() != null) {
+            obj.put(CATEGORY, info.getCategory());
+        }
+        return obj;
+    }
+
+    private static Info infoFromJson(JSONObject obj, String defaultId) {
+        final String infoId = obj.has(INFO_ID) ? obj.getString(INFO_ID).intern() : defaultId;
+        return new Info.Builder(obj.getString(NAME).intern())
+                .id(infoId)
+                .description(obj.optString(DESCRIPTION, null))
+                .category(internedOrNull(obj, CATEGORY))
+                .build();
+    }
+
+    private static String internedOrNull(JSONObject obj, String key) {
+        final String value = obj.optString(key, null);
+        return value == null ? null : value.intern();
+    }
+
+    private static LocalDate dateOrNull(JSONObject obj, String key) {
+        return obj.has(key) ? LocalDate.parse(obj.getString(key)) : null;
+    }
+}
@@ -0,0 +1,109 @@
+package data_access.files;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces bursts of changes into one background write. The first change schedules the flush
+ * action after a short delay; changes made before it runs are written by that same flush.
+ * Pending changes are also flushed on {@link #flushNow()} and when the JVM shuts down.
+ * Flushes run on a single shared daemon thread, so they never overlap each other.
+ */
+final class WriteBehind {
+
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "write-behind");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Every write-behind still in use, flushed by the one shutdown hook. Held weakly so a store
+     * that is no longer referenced can be collected; one with a flush pending is kept reachable
+     * by the executor until it has run.
+     */
+    private static final Set<WriteBehind> LIVE = Collections.newSetFromMap(new WeakHashMap<>());
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(WriteBehind::flushAllQuietly, "write-behind-shutdown-flush"));
+    }
+
+    private final String name;
+    private final Duration delay;
+    private final Runnable flushAction;
+    private ScheduledFuture<?> scheduled;
+
+    /**
+     * Creates a write-behind for one store.
+     *
+     * @param name names the store in error messages
+     * @param delay how long after the first unsaved change the flush runs
+     * @param flushAction writes every unsaved change; must be safe to call when nothing is unsaved
+     */
+    WriteBehind(String name, Duration delay, Runnable flushAction) {
+        this.name = name;
+        this.delay = delay;
+        this.flushAction = flushAction;
+        synchronized (LIVE) {
+            LIVE.add(this);
+        }
+    }
+
+    /**
+     * Records that there are unsaved changes, scheduling a flush unless one is already pending.
+     */
+    synchronized void changed() {
+        if (scheduled == null) {
+            scheduled = EXECUTOR.schedule(this::runScheduled, delay.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Writes all unsaved changes on the calling thread.
+     *
+     * @throws RuntimeException if the write fails
+     */
+    void flushNow() {
+        synchronized (this) {
+            if (scheduled != null) {
+                scheduled.cancel(false);
+                scheduled = null;
+            }
+        }
+        flushAction.run();
+    }
+
+    private void runScheduled() {
+        synchronized (this) {
+            scheduled = null;
+        }
+        flushQuietly();
+    }
+
+    private static void flushAllQuietly() {
+        final List<WriteBehind> live;
+        synchronized (LIVE) {
+            live = new ArrayList<>(LIVE);
+        }
+        for (WriteBehind writeBehind : live) {
+            writeBehind.flushQuietly();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flushAction.run();
+        }
+        catch (RuntimeException exception) {
+            System.err.println("Error saving " + name + ": " + exception.getMessage());
+        }
+    }
+}
@@ -69,14 +69,12 @@ public class AddToTodayStrategy implements AddToTodayDataAccessInterface {
     
     @Override
     public boolean isTaskInTodaysList(String templateTaskId) {
-        return todaysTasks.values().stream()
-                .anyMatch(task -> templateTaskId.equals(task.getTemplateTaskId()));
+        return TaskLookups.hasTodaysTaskWithTemplate(todaysTasks, templateTaskId);
     }
     
     @Override
     public boolean isTaskInTodaysListAndNotOverdue(String templateTaskId) {
-        return todaysTasks.values().stream()
-                .filter(task -> templateTaskId.equals(task.getTemplateTaskId()))
+        return TaskLookups.todaysTasksWithTemplate(todaysTasks, templateTaskId).stream()
                 .anyMatch(task -> !task.isOverDue());
     }
     
@@ -89,15 +87,14 @@ public class AddToTodayStrategy implements AddToTodayDataAccessInterface {
     
     @Override
     public boolean isExactDuplicateInTodaysList(String templateTaskId, Task.Priority priority, LocalDate dueDate) {
-        return todaysTasks.values().stream()
+        return TaskLookups.todaysTasksWithTemplate(todaysTasks, templateTaskId).stream()
                 .anyMatch(task -> {
-                    boolean templateMatches = templateTaskId.equals(task.getTemplateTaskId());
                     boolean priorityMatches = (priority == null && task.getPriority() == null) ||
                                             (priority != null && priority.equals(task.getPriority()));
                     boolean dueDateMatches = (dueDate == null && task.getDates().getDueDate() == null) ||
                                            (dueDate != null && dueDate.equals(task.getDates().getDueDate()));
                     
-                    return templateMatches && priorityMatches && dueDateMatches;
+                    return priorityMatches && dueDateMatches;
                 });
     }
 }
\ No newline at end of file
@@ -3,9 +3,9 @@ package data_access.strategy;
 import entity.Angela.Task.Task;
 import entity.Angela.Task.TaskAvailable;
 import use_case.Angela.category.delete.DeleteCategoryTaskDataAccessInterface;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Strategy for handling category deletion operations on tasks.
@@ -24,30 +24,12 @@ public class DeleteCategoryTaskStrategy implements DeleteCategoryTaskDataAccessI
     
     @Override
     public List<TaskAvailable> findAvailableTasksByCategory(String categoryId) {
-        return availableTaskTemplates.values().stream()
-                .filter(task -> task != null && task.getInfo() != null)
-                .filter(task -> {
-                    String taskCategory = task.getInfo().getCategory();
-                    if (categoryId == null || categoryId.trim().isEmpty()) {
-                        return taskCategory == null || taskCategory.trim().isEmpty();
-                    }
-                    return categoryId.equals(taskCategory);
-                })
-                .collect(Collectors.toList());
+        return TaskLookups.templatesInCategory(availableTaskTemplates, categoryId);
     }
     
     @Override
     public List<Task> findTodaysTasksByCategory(String categoryId) {
-        return todaysTasks.values().stream()
-                .filter(task -> task != null && task.getInfo() != null)
-                .filter(task -> {
-                    String taskCategory = task.getInfo().getCategory();
-                    if (categoryId == null || categoryId.trim().isEmpty()) {
-                        return taskCategory == null || taskCategory.trim().isEmpty();
-                    }
-                    return categoryId.equals(taskCategory);
-                })
-                .collect(Collectors.toList());
+        return TaskLookups.todaysTasksInCategory(todaysTasks, categoryId);
     }
     
     @Override
@@ -58,6 +40,7 @@ public class DeleteCategoryTaskStrategy implements DeleteCategoryTaskDataAccessI
         }
         
         task.getInfo().setCategory(newCategoryId != null ? newCategoryId : "");
+        TaskLookups.reindex(availableTaskTemplates, taskId);
         return true;
     }
     
@@ -69,6 +52,7 @@ public class DeleteCategoryTaskStrategy implements DeleteCategoryTaskDataAccessI
         }
         
         task.getInfo().setCategory(newCategoryId != null ? newCategoryId : "");
+        TaskLookups.reindex(todaysTasks, taskId);
         return true;
     }
     
@@ -85,22 +69,25 @@ public class DeleteCategoryTaskStrategy implements DeleteCategoryTaskDataAccessI
     @Override
     public boolean updateTasksCategoryToNull(String categoryId) {
         try {
-            // Update available tasks
-            List<TaskAvailable> availableTasks = findAvailableTasksByCategory(categoryId);
-            for (TaskAvailable task : availableTasks) {
-                if (!updateAvailableTaskCategory(task.getId(), "")) {
+            // Clear the category on every affected task in one batch per store, so the
+            // indexes are rebuilt once rather than once per task
+            List<String> availableIds = new ArrayList<>();
+            for (TaskAvailable task : findAvailableTasksByCategory(categoryId)) {
+                if (task.getInfo() == null) {
                     return false;
                 }
+                availableIds.add(task.getId());
             }
-            
-            // Update today's tasks
-            List<Task> todayTasks = findTodaysTasksByCategory(categoryId);
-            for (Task task : todayTasks) {
-                if (!updateTodaysTaskCategory(task.getId(), "")) {
+            List<String> todayIds = new ArrayList<>();
+            for (Task task : findTodaysTasksByCategory(categoryId)) {
+                if (task.getInfo() == null) {
                     return false;
                 }
+                todayIds.add(task.getId());
             }
-            
+
+            TaskLookups.updateAll(availableTaskTemplates, availableIds, task -> task.getInfo().clearCategory());
+            TaskLookups.updateAll(todaysTasks, todayIds, task -> task.getInfo().clearCategory());
             return true;
         } catch (Exception e) {
             return false;
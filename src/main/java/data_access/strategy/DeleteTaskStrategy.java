@@ -64,8 +64,7 @@ public class DeleteTaskStrategy implements DeleteTaskDataAccessInterface {
     
     @Override
     public boolean templateExistsInToday(String templateTaskId) {
-        return todaysTasks.values().stream()
-                .anyMatch(task -> templateTaskId.equals(task.getTemplateTaskId()));
+        return TaskLookups.hasTodaysTaskWithTemplate(todaysTasks, templateTaskId);
     }
     
     @Override
@@ -81,12 +80,9 @@ public class DeleteTaskStrategy implements DeleteTaskDataAccessInterface {
     
     @Override
     public boolean deleteAllTodaysTasksWithTemplate(String templateTaskId) {
-        List<String> toRemove = todaysTasks.entrySet().stream()
-                .filter(entry -> templateTaskId.equals(entry.getValue().getTemplateTaskId()))
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toList());
+        List<Task> toRemove = TaskLookups.todaysTasksWithTemplate(todaysTasks, templateTaskId);
         
-        toRemove.forEach(todaysTasks::remove);
+        toRemove.forEach(task -> todaysTasks.remove(task.getId()));
         return !toRemove.isEmpty();
     }
     
@@ -112,8 +108,7 @@ public class DeleteTaskStrategy implements DeleteTaskDataAccessInterface {
     
     @Override
     public List<TaskInterf> getTodaysTasksByTemplate(String templateTaskId) {
-        return todaysTasks.values().stream()
-                .filter(task -> templateTaskId.equals(task.getTemplateTaskId()))
+        return TaskLookups.todaysTasksWithTemplate(todaysTasks, templateTaskId).stream()
                 .map(task -> (TaskInterf) task)
                 .collect(Collectors.toList());
     }
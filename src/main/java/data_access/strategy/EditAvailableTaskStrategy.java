@@ -44,21 +44,22 @@ public class EditAvailableTaskStrategy implements EditAvailableTaskDataAccessInt
         // Update the one-time flag
         existingTask.setOneTime(isOneTime);
         
+        TaskLookups.reindex(availableTaskTemplates, taskId);
+        
         // Update legacy storage for backward compatibility
         availableTasks.put(taskId, (Info) info);
         
         // Propagate ALL changes to Today's tasks
-        for (Task todayTask : todaysTasks.values()) {
-            if (taskId.equals(todayTask.getTemplateTaskId())) {
-                // Update ALL properties in today's task
-                InfoInterf todayInfo = todayTask.getInfo();
-                todayInfo.setName(newName);
-                todayInfo.setDescription(newDescription != null ? newDescription : "");
-                todayInfo.setCategory(newCategoryId != null ? newCategoryId : "");
-                
-                // Also update the one-time flag if it changed
-                todayTask.setOneTime(isOneTime);
-            }
+        for (Task todayTask : TaskLookups.todaysTasksWithTemplate(todaysTasks, taskId)) {
+            // Update ALL properties in today's task
+            InfoInterf todayInfo = todayTask.getInfo();
+            todayInfo.setName(newName);
+            todayInfo.setDescription(newDescription != null ? newDescription : "");
+            todayInfo.setCategory(newCategoryId != null ? newCategoryId : "");
+            
+            // Also update the one-time flag if it changed
+            todayTask.setOneTime(isOneTime);
+            TaskLookups.reindex(todaysTasks, todayTask.getId());
         }
         
         return true;
@@ -5,7 +5,6 @@ import entity.Angela.Task.TaskAvailable;
 import use_case.Angela.category.edit.EditCategoryTaskDataAccessInterface;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Strategy for handling category edit operations on tasks.
@@ -24,30 +23,12 @@ public class EditCategoryTaskStrategy implements EditCategoryTaskDataAccessInter
     
     @Override
     public List<TaskAvailable> findAvailableTasksByCategory(String categoryId) {
-        return availableTaskTemplates.values().stream()
-                .filter(task -> task != null && task.getInfo() != null)
-                .filter(task -> {
-                    String taskCategory = task.getInfo().getCategory();
-                    if (categoryId == null || categoryId.trim().isEmpty()) {
-                        return taskCategory == null || taskCategory.trim().isEmpty();
-                    }
-                    return categoryId.equals(taskCategory);
-                })
-                .collect(Collectors.toList());
+        return TaskLookups.templatesInCategory(availableTaskTemplates, categoryId);
     }
     
     @Override
     public List<Task> findTodaysTasksByCategory(String categoryId) {
-        return todaysTasks.values().stream()
-                .filter(task -> task != null && task.getInfo() != null)
-                .filter(task -> {
-                    String taskCategory = task.getInfo().getCategory();
-                    if (categoryId == null || categoryId.trim().isEmpty()) {
-                        return taskCategory == null || taskCategory.trim().isEmpty();
-                    }
-                    return categoryId.equals(taskCategory);
-                })
-                .collect(Collectors.toList());
+        return TaskLookups.todaysTasksInCategory(todaysTasks, categoryId);
     }
     
     @Override
@@ -58,6 +39,7 @@ public class EditCategoryTaskStrategy implements EditCategoryTaskDataAccessInter
         }
         
         task.getInfo().setCategory(newCategoryId != null ? newCategoryId : "");
+        TaskLookups.reindex(availableTaskTemplates, taskId);
         return true;
     }
     
@@ -69,6 +51,7 @@ public class EditCategoryTaskStrategy implements EditCategoryTaskDataAccessInter
         }
         
         task.getInfo().setCategory(newCategoryId != null ? newCategoryId : "");
+        TaskLookups.reindex(todaysTasks, taskId);
         return true;
     }
 }
\ No newline at end of file
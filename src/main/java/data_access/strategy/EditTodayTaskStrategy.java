@@ -35,6 +35,7 @@ public class EditTodayTaskStrategy implements EditTodayTaskDataAccessInterface {
         
         // Update due date (including setting to null)
         task.getDates().setDueDate(dueDate);
+        TaskLookups.reindex(todaysTasks, taskId);
         
         return true;
     }
@@ -0,0 +1,521 @@
+package data_access.strategy;
+
+import java.time.LocalDate;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A task map that keeps secondary indexes by template ID, category ID and due date, so the
+ * strategies can answer "today's tasks for this template / category / date range" in time
+ * proportional to the result instead of scanning every task.
+ *
+ * <p>The indexes are maintained on every put and remove. Tasks are mutable, so a strategy that
+ * changes an indexed field of a stored task in place must call {@link #reindex(String)}.
+ * Categories are indexed in the normalised form the strategies compare with: a null or blank
+ * category is stored under the empty string.</p>
+ *
+ * <p>When created with a name function the map also keeps the tasks ordered by name,
+ * case-insensitively, and {@link #sortedByName()} hands out a cached read-only list of them.
+ * A rename is an in-place edit, so it also needs {@link #reindex(String)}.</p>
+ *
+ * <p>Readers never lock. Tasks live in a {@link ConcurrentHashMap}, whose iterators are weakly
+ * consistent rather than fail-fast, so the snapshot and reminder timers can walk the map while
+ * the UI edits it. Each index bucket is a concurrent set that writers add to and remove from in
+ * place, so indexing a task costs O(1) however large its bucket is. Writers are serialised by one
+ * lock among themselves only. A lookup racing a write may miss a task that was just added or
+ * skip one that was just removed, as with any weakly consistent view, but it never throws and
+ * never returns null elements. Only {@link #sortedByName()} hands out a copy, rebuilt on the
+ * first read after a change.</p>
+ *
+ * @param <T> the task type stored
+ */
+public final class IndexedTaskMap<T> extends AbstractMap<String, T> {
+
+    private static final String NO_CATEGORY = "";
+
+    private final ConcurrentMap<String, T> tasks = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+
+    // Guarded by writeLock
+    private final Map<String, IndexKeys> indexedKeys = new HashMap<>();
+
+    // Buckets are concurrent sets; writers change them in place under writeLock
+    private final ConcurrentMap<String, Set<String>> byTemplate = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Set<String>> byCategory = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<LocalDate, Set<String>> byDueDate = new ConcurrentSkipListMap<>();
+    private final ConcurrentNavigableMap<NameKey, T> byName = new ConcurrentSkipListMap<>();
+
+    // Bumped after every write; a cached sorted list is only reused while it is unchanged
+    private volatile long version;
+    private volatile SortedSnapshot<T> sortedSnapshot = new SortedSnapshot<>(0, List.of());
+
+    private final Function<T, String> templateOf;
+    private final Function<T, String> categoryOf;
+    private final Function<T, LocalDate> dueDateOf;
+    private final Function<T, String> nameOf;
+    private final Set<Entry<String, T>> entrySet = new EntrySet();
+
+    /**
+     * Creates an empty map.
+     *
+     * @param templateOf returns a task's template ID, or null if it has none
+     * @param categoryOf returns a task's category ID, or null if it has none
+     * @param dueDateOf returns a task's due date, or null if it has none
+     */
+    public IndexedTaskMap(Function<T, String> templateOf,
+                          Function<T, String> categoryOf,
+                          Function<T, LocalDate> dueDateOf) {
+        this(templateOf, categoryOf, dueDateOf, null);
+    }
+
+    /**
+     * Creates an empty map that also keeps its tasks ordered by name.
+     *
+     * @param templateOf returns a task's template ID, or null if it has none
+     * @param categoryOf returns a task's category ID, or null if it has none
+     * @param dueDateOf returns a task's due date, or null if it has none
+     * @param nameOf returns a task's name, or null if it has none; null to keep no order
+     */
+    public IndexedTaskMap(Function<T, String> templateOf,
+                          Function<T, String> categoryOf,
+                          Function<T, LocalDate> dueDateOf,
+                          Function<T, String> nameOf) {
+        this.templateOf = templateOf;
+        this.categoryOf = categoryOf;
+        this.dueDateOf = dueDateOf;
+        this.nameOf = nameOf;
+    }
+
+    /**
+     * Normalises a category ID the way the index stores it.
+     *
+     * @param categoryId the category ID, possibly null or blank
+     * @return the empty string for a null or blank category, otherwise the ID unchanged
+     */
+    public static String normalizeCategory(String categoryId) {
+        return categoryId == null || categoryId.trim().isEmpty() ? NO_CATEGORY : categoryId;
+    }
+
+    // Callers look up IDs straight from user input, so a null key finds nothing rather than
+    // throwing as ConcurrentHashMap would.
+
+    @Override
+    public T get(Object key) {
+        return key == null ? null : tasks.get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key != null && tasks.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return tasks.size();
+    }
+
+    @Override
+    public T put(String id, T task) {
+        synchronized (writeLock) {
+            final T previous = tasks.put(id, task);
+            if (previous != null) {
+                unindex(id);
+            }
+            index(id, task);
+            version++;
+            return previous;
+        }
+    }
+
+    /**
+     * Stores several tasks at once under one hold of the write lock.
+     */
+    @Override
+    public void putAll(Map<? extends String, ? extends T> batch) {
+        synchronized (writeLock) {
+            for (Entry<? extends String, ? extends T> entry : batch.entrySet()) {
+                final String id = entry.getKey();
+                if (tasks.put(id, entry.getValue()) != null) {
+                    unindex(id);
+                }
+                index(id, entry.getValue());
+            }
+            if (!batch.isEmpty()) {
+                version++;
+            }
+        }
+    }
+
+    @Override
+    public T remove(Object key) {
+        if (key == null) {
+            return null;
+        }
+        synchronized (writeLock) {
+            final T removed = tasks.remove(key);
+            if (removed != null) {
+                unindex((String) key);
+                version++;
+            }
+            return removed;
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (writeLock) {
+            tasks.clear();
+            indexedKeys.clear();
+            byTemplate.clear();
+            byCategory.clear();
+            byDueDate.clear();
+            byName.clear();
+            version++;
+        }
+    }
+
+    @Override
+    public Set<Entry<String, T>> entrySet() {
+        return entrySet;
+    }
+
+    /**
+     * Returns an immutable copy of the stored tasks, for callers that need a stable list to
+     * work through while the map keeps changing.
+     *
+     * @return the tasks, in no particular order
+     */
+    public List<T> snapshot() {
+        return List.copyOf(tasks.values());
+    }
+
+    /**
+     * Re-reads the indexed fields of a stored task after it was changed in place.
+     *
+     * @param id the task ID
+     */
+    public void reindex(String id) {
+        synchronized (writeLock) {
+            final T task = tasks.get(id);
+            if (task != null) {
+                unindex(id);
+                index(id, task);
+                version++;
+            }
+        }
+    }
+
+    /**
+     * Changes several stored tasks in place and reindexes them, all under one hold of the write
+     * lock, so readers see the cached name order rebuilt once for the batch rather than per task.
+     *
+     * @param ids the IDs of the tasks to change; IDs that are not stored are skipped
+     * @param change edits one task in place
+     * @return how many tasks were changed
+     */
+    public int updateAll(Collection<String> ids, Consumer<? super T> change) {
+        synchronized (writeLock) {
+            int changed = 0;
+            for (String id : ids) {
+                final T task = id == null ? null : tasks.get(id);
+                if (task == null) {
+                    continue;
+                }
+                change.accept(task);
+                unindex(id);
+                index(id, task);
+                changed++;
+            }
+            if (changed > 0) {
+                version++;
+            }
+            return changed;
+        }
+    }
+
+    /**
+     * Returns the tasks ordered by name, ignoring case, with unnamed tasks last. The list is
+     * read-only and shared: until the map changes, every call returns the same list without
+     * copying or sorting. After a change it is rebuilt by walking the name order, in O(N).
+     *
+     * @return the tasks in name order
+     * @throws IllegalStateException if the map was created without a name function
+     */
+    public List<T> sortedByName() {
+        if (nameOf == null) {
+            throw new IllegalStateException("This map does not keep a name order");
+        }
+        final SortedSnapshot<T> cached = sortedSnapshot;
+        final long current = version;
+        if (cached.version == current) {
+            return cached.tasks;
+        }
+        final List<T> rebuilt = List.copyOf(byName.values());
+        sortedSnapshot = new SortedSnapshot<>(current, rebuilt);
+        return rebuilt;
+    }
+
+    /**
+     * Returns the tasks created from a template.
+     *
+     * @param templateId the template ID
+     * @return the matching tasks, in no particular order
+     */
+    public List<T> withTemplate(String templateId) {
+        return lookup(templateId == null ? null : byTemplate.get(templateId));
+    }
+
+    /**
+     * Tells whether any task was created from a template.
+     *
+     * @param templateId the template ID
+     * @return true if at least one task has that template
+     */
+    public boolean hasTemplate(String templateId) {
+        return templateId != null && byTemplate.containsKey(templateId);
+    }
+
+    /**
+     * Returns the tasks in a category.
+     *
+     * @param categoryId the category ID; null or blank selects tasks without a category
+     * @return the matching tasks, in no particular order
+     */
+    public List<T> inCategory(String categoryId) {
+        return lookup(byCategory.get(normalizeCategory(categoryId)));
+    }
+
+    /**
+     * Returns the tasks due in a date range. Tasks without a due date are never returned.
+     *
+     * @param fromInclusive the first due date to include, or null for no lower bound
+     * @param toExclusive the first due date to exclude, or null for no upper bound
+     * @return the matching tasks, ordered by due date; tasks due the same day in no particular order
+     */
+    public List<T> dueBetween(LocalDate fromInclusive, LocalDate toExclusive) {
+        NavigableMap<LocalDate, Set<String>> range = byDueDate;
+        if (fromInclusive != null) {
+            range = range.tailMap(fromInclusive, true);
+        }
+        if (toExclusive != null) {
+            range = range.headMap(toExclusive, false);
+        }
+        final List<T> result = new ArrayList<>();
+        for (Set<String> ids : range.values()) {
+            addTasks(ids, result);
+        }
+        return result;
+    }
+
+    private List<T> lookup(Set<String> ids) {
+        if (ids == null) {
+            return new ArrayList<>();
+        }
+        final List<T> result = new ArrayList<>(ids.size());
+        addTasks(ids, result);
+        return result;
+    }
+
+    private void addTasks(Set<String> ids, List<T> result) {
+        for (String id : ids) {
+            final T task = tasks.get(id);
+            if (task != null) {
+                result.add(task);
+            }
+        }
+    }
+
+    private void index(String id, T task) {
+        if (task == null) {
+            return;
+        }
+        final IndexKeys keys = keysOf(id, task);
+        indexedKeys.put(id, keys);
+        add(byTemplate, keys.templateId, id);
+        add(byCategory, keys.categoryId, id);
+        add(byDueDate, keys.dueDate, id);
+        if (keys.nameKey != null) {
+            byName.put(keys.nameKey, task);
+        }
+    }
+
+    private IndexKeys keysOf(String id, T task) {
+        final NameKey nameKey = nameOf == null ? null : new NameKey(nameOf.apply(task), id);
+        return new IndexKeys(templateOf.apply(task),
+                normalizeCategory(categoryOf.apply(task)), dueDateOf.apply(task), nameKey);
+    }
+
+    /**
+     * Removes a task from the indexes using the keys recorded when it was indexed,
+     * since its fields may have changed since then.
+     */
+    private void unindex(String id) {
+        final IndexKeys keys = indexedKeys.remove(id);
+        if (keys == null) {
+            return;
+        }
+        removeFrom(byTemplate, keys.templateId, id);
+        removeFrom(byCategory, keys.categoryId, id);
+        removeFrom(byDueDate, keys.dueDate, id);
+        if (keys.nameKey != null) {
+            byName.remove(keys.nameKey);
+        }
+    }
+
+    private static <K> void add(Map<K, Set<String>> index, K key, String id) {
+        if (key == null) {
+            return;
+        }
+        index.computeIfAbsent(key, unused -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    private static <K> void removeFrom(Map<K, Set<String>> index, K key, String id) {
+        if (key == null) {
+            return;
+        }
+        final Set<String> ids = index.get(key);
+        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+            // Writers hold the lock, so nothing can have been added since the set emptied
+            index.remove(key);
+        }
+    }
+
+    /**
+     * The index keys a task was stored under.
+     */
+    private static final class IndexKeys {
+        private final String templateId;
+        private final String categoryId;
+        private final LocalDate dueDate;
+        private final NameKey nameKey;
+
+        IndexKeys(String templateId, String categoryId, LocalDate dueDate, NameKey nameKey) {
+            this.templateId = templateId;
+            this.categoryId = categoryId;
+            this.dueDate = dueDate;
+            this.nameKey = nameKey;
+        }
+    }
+
+    /**
+     * Sort key for the name order. The name is case-folded once, when the task is indexed, the
+     * same way {@link String#compareToIgnoreCase(String)} folds each character, so comparisons
+     * are plain string comparisons. The task ID breaks ties between equal names.
+     */
+    private static final class NameKey implements Comparable<NameKey> {
+        private final String folded;
+        private final String id;
+
+        NameKey(String name, String id) {
+            this.folded = name == null ? null : fold(name);
+            this.id = id;
+        }
+
+        private static String fold(String name) {
+            final char[] chars = name.toCharArray();
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+            }
+            return new String(chars);
+        }
+
+        @Override
+        public int compareTo(NameKey other) {
+            if (folded == null || other.folded == null) {
+                if (folded != other.folded) {
+                    return folded == null ? 1 : -1;
+                }
+            }
+            else {
+                final int byName = folded.compareTo(other.folded);
+                if (byName != 0) {
+                    return byName;
+                }
+            }
+            return id.compareTo(other.id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof NameKey && compareTo((NameKey) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return id.hashCode();
+        }
+    }
+
+    /**
+     * A sorted list together with the map version it was built from.
+     */
+    private static final class SortedSnapshot<T> {
+        private final long version;
+        private final List<T> tasks;
+
+        SortedSnapshot(long version, List<T> tasks) {
+            this.version = version;
+            this.tasks = tasks;
+        }
+    }
+
+    /**
+     * Live, weakly consistent view of the entries. Removing through its iterator keeps the
+     * indexes in step.
+     */
+    private final class EntrySet extends AbstractSet<Entry<String, T>> {
+
+        @Override
+        public Iterator<Entry<String, T>> iterator() {
+            final Iterator<Entry<String, T>> delegate = tasks.entrySet().iterator();
+            return new Iterator<>() {
+                private String lastId;
+
+                @Override
+                public boolean hasNext() {
+                    return delegate.hasNext();
+                }
+
+                @Override
+                public Entry<String, T> next() {
+                    final Entry<String, T> entry = delegate.next();
+                    lastId = entry.getKey();
+                    return new SimpleImmutableEntry<>(entry);
+                }
+
+                @Override
+                public void remove() {
+                    if (lastId == null) {
+                        throw new IllegalStateException();
+                    }
+                    IndexedTaskMap.this.remove(lastId);
+                    lastId = null;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return IndexedTaskMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            IndexedTaskMap.this.clear();
+        }
+    }
+}
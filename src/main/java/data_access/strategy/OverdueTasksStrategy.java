@@ -24,10 +24,7 @@ public class OverdueTasksStrategy implements OverdueTasksDataAccessInterface {
     public List<TaskInterf> getOverdueTasks(int daysBack) {
         LocalDate cutoffDate = LocalDate.now().minusDays(daysBack);
         
-        return todaysTasks.values().stream()
-                .filter(task -> task.getBeginAndDueDates().getDueDate() != null)
-                .filter(task -> task.getBeginAndDueDates().getDueDate().isBefore(LocalDate.now()))
-                .filter(task -> !task.getBeginAndDueDates().getDueDate().isBefore(cutoffDate))
+        return TaskLookups.todaysTasksDueBetween(todaysTasks, cutoffDate, LocalDate.now()).stream()
                 .filter(task -> !task.isCompleted()) // Exclude completed tasks
                 .map(task -> (TaskInterf) task)
                 .collect(Collectors.toList());
@@ -35,9 +32,7 @@ public class OverdueTasksStrategy implements OverdueTasksDataAccessInterface {
     
     @Override
     public List<TaskInterf> getAllOverdueTasks() {
-        return todaysTasks.values().stream()
-                .filter(task -> task.getBeginAndDueDates().getDueDate() != null)
-                .filter(task -> task.getBeginAndDueDates().getDueDate().isBefore(LocalDate.now()))
+        return TaskLookups.todaysTasksDueBetween(todaysTasks, null, LocalDate.now()).stream()
                 .filter(task -> !task.isCompleted()) // Exclude completed tasks
                 .map(task -> (TaskInterf) task)
                 .collect(Collectors.toList());
@@ -0,0 +1,118 @@
+package data_access.strategy;
+
+import entity.Angela.Task.Task;
+import entity.Angela.Task.TaskAvailable;
+import entity.info.InfoInterf;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Lookups shared by the strategies. When the store is an {@link IndexedTaskMap} they use its
+ * indexes; for a plain map they fall back to scanning every task.
+ */
+final class TaskLookups {
+
+    private TaskLookups() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static List<Task> todaysTasksWithTemplate(Map<String, Task> todaysTasks, String templateTaskId) {
+        if (todaysTasks instanceof IndexedTaskMap) {
+            return ((IndexedTaskMap<Task>) todaysTasks).withTemplate(templateTaskId);
+        }
+        return todaysTasks.values().stream()
+                .filter(task -> templateTaskId.equals(task.getTemplateTaskId()))
+                .collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    static boolean hasTodaysTaskWithTemplate(Map<String, Task> todaysTasks, String templateTaskId) {
+        if (todaysTasks instanceof IndexedTaskMap) {
+            return ((IndexedTaskMap<Task>) todaysTasks).hasTemplate(templateTaskId);
+        }
+        return todaysTasks.values().stream()
+                .anyMatch(task -> templateTaskId.equals(task.getTemplateTaskId()));
+    }
+
+    @SuppressWarnings("unchecked")
+    static List<Task> todaysTasksInCategory(Map<String, Task> todaysTasks, String categoryId) {
+        if (todaysTasks instanceof IndexedTaskMap) {
+            return ((IndexedTaskMap<Task>) todaysTasks).inCategory(categoryId);
+        }
+        return todaysTasks.values().stream()
+                .filter(task -> task != null && inCategory(task.getInfo(), categoryId))
+                .collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    static List<TaskAvailable> templatesInCategory(Map<String, TaskAvailable> templates, String categoryId) {
+        if (templates instanceof IndexedTaskMap) {
+            return ((IndexedTaskMap<TaskAvailable>) templates).inCategory(categoryId);
+        }
+        return templates.values().stream()
+                .filter(task -> task != null && inCategory(task.getInfo(), categoryId))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns today's tasks whose due date is in a range.
+     *
+     * @param fromInclusive the first due date to include, or null for no lower bound
+     * @param toExclusive the first due date to exclude
+     */
+    @SuppressWarnings("unchecked")
+    static List<Task> todaysTasksDueBetween(Map<String, Task> todaysTasks,
+                                            LocalDate fromInclusive, LocalDate toExclusive) {
+        if (todaysTasks instanceof IndexedTaskMap) {
+            return ((IndexedTaskMap<Task>) todaysTasks).dueBetween(fromInclusive, toExclusive);
+        }
+        return todaysTasks.values().stream()
+                .filter(task -> task.getBeginAndDueDates().getDueDate() != null)
+                .filter(task -> task.getBeginAndDueDates().getDueDate().isBefore(toExclusive))
+                .filter(task -> fromInclusive == null
+                        || !task.getBeginAndDueDates().getDueDate().isBefore(fromInclusive))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Tells the store that a task's category or due date was changed in place.
+     */
+    static void reindex(Map<String, ?> store, String taskId) {
+        if (store instanceof IndexedTaskMap) {
+            ((IndexedTaskMap<?>) store).reindex(taskId);
+        }
+    }
+
+    /**
+     * Changes several stored tasks in place. An {@link IndexedTaskMap} reindexes them as one
+     * batch; a plain map needs no reindexing.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> void updateAll(Map<String, T> store, Collection<String> taskIds, Consumer<? super T> change) {
+        if (store instanceof IndexedTaskMap) {
+            ((IndexedTaskMap<T>) store).updateAll(taskIds, change);
+            return;
+        }
+        for (String taskId : taskIds) {
+            final T task = store.get(taskId);
+            if (task != null) {
+                change.accept(task);
+            }
+        }
+    }
+
+    private static boolean inCategory(InfoInterf info, String categoryId) {
+        if (info == null) {
+            return false;
+        }
+        final String taskCategory = info.getCategory();
+        if (categoryId == null || categoryId.trim().isEmpty()) {
+            return taskCategory == null || taskCategory.trim().isEmpty();
+        }
+        return categoryId.equals(taskCategory);
+    }
+}
@@ -0,0 +1,258 @@
+package entity.Angela;
+
+import entity.Angela.Task.Task;
+import entity.alex.WellnessLogEntry.WellnessLogEntry;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A summary of the daily snapshots of one week or one month, kept once the snapshots themselves
+ * are too old to keep in full. It holds the task totals, the completed tasks per category (as in
+ * {@link DailyTaskSummary}), the latest progress of each goal and the wellness levels, as sums so
+ * that rollups of the same period can be combined as more days are folded in. It also records
+ * which days it covers, so a day is never folded into the same rollup twice.
+ */
+public class HistoryRollup {
+
+    /**
+     * The length of the period a rollup covers.
+     */
+    public enum Granularity {
+        /** Monday to Sunday. */
+        WEEK,
+        /** A calendar month. */
+        MONTH;
+
+        /**
+         * Returns the first day of the period containing a date.
+         *
+         * @param date any day in the period
+         * @return the Monday of its week, or the first of its month
+         */
+        public LocalDate startOf(LocalDate date) {
+            return this == WEEK
+                    ? date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
+                    : date.withDayOfMonth(1);
+        }
+
+        /**
+         * Returns the last day of the period starting on a date.
+         *
+         * @param start the first day of the period
+         * @return the Sunday of the week, or the last day of the month
+         */
+        public LocalDate endOf(LocalDate start) {
+            return this == WEEK ? start.plusDays(6) : start.with(TemporalAdjusters.lastDayOfMonth());
+        }
+    }
+
+    private final Granularity granularity;
+    private final LocalDate start;
+    private final LocalDate lastDay;
+    /** Bit {@code i} is set when the day {@code start + i} has been folded in. */
+    private final int coveredDays;
+    private final int days;
+    private final long completionRateSum;
+    private final int tasks;
+    private final int completedTasks;
+    private final Map<String, Integer> completedByCategory;
+    private final Map<String, TodaySoFarSnapshot.GoalProgress> latestGoalProgress;
+    private final int wellnessEntries;
+    private final long stressSum;
+    private final long energySum;
+    private final long fatigueSum;
+
+    /**
+     * Creates a rollup from its stored totals.
+     *
+     * @param coveredDays the days folded in, as a bit set of offsets from the start; see
+     *                    {@link #coverageThrough(LocalDate, LocalDate)} for records that lack it
+     */
+    public HistoryRollup(Granularity granularity, LocalDate start, LocalDate lastDay, int coveredDays, int days,
+                         long completionRateSum, int tasks, int completedTasks,
+                         Map<String, Integer> completedByCategory,
+                         List<TodaySoFarSnapshot.GoalProgress> latestGoalProgress,
+                         int wellnessEntries, long stressSum, long energySum, long fatigueSum) {
+        this.granularity = granularity;
+        this.start = start;
+        this.lastDay = lastDay;
+        this.coveredDays = coveredDays;
+        this.days = days;
+        this.completionRateSum = completionRateSum;
+        this.tasks = tasks;
+        this.completedTasks = completedTasks;
+        this.completedByCategory = Collections.unmodifiableMap(new TreeMap<>(completedByCategory));
+        final Map<String, TodaySoFarSnapshot.GoalProgress> goals = new LinkedHashMap<>();
+        for (TodaySoFarSnapshot.GoalProgress goal : latestGoalProgress) {
+            goals.put(goal.getGoalId(), goal);
+        }
+        this.latestGoalProgress = goals;
+        this.wellnessEntries = wellnessEntries;
+        this.stressSum = stressSum;
+        this.energySum = energySum;
+        this.fatigueSum = fatigueSum;
+    }
+
+    /**
+     * Summarizes daily snapshots that all fall within one period.
+     *
+     * @param granularity the length of the period
+     * @param snapshots at least one snapshot, all in the same period
+     * @return the rollup of those days
+     * @throws IllegalArgumentException if there are no snapshots or they span several periods
+     */
+    public static HistoryRollup of(Granularity granularity, List<TodaySoFarSnapshot> snapshots) {
+        if (snapshots.isEmpty()) {
+            throw new IllegalArgumentException("A rollup needs at least one snapshot");
+        }
+        final LocalDate start = granularity.startOf(snapshots.get(0).getDate());
+        LocalDate lastDay = start;
+        int covered = 0;
+        long completionRateSum = 0;
+        int tasks = 0;
+        int completed = 0;
+        final Map<String, Integer> byCategory = new TreeMap<>();
+        final Map<String, TodaySoFarSnapshot.GoalProgress> goals = new LinkedHashMap<>();
+        int wellnessEntries = 0;
+        long stress = 0;
+        long energy = 0;
+        long fatigue = 0;
+
+        final List<TodaySoFarSnapshot> byDate = new ArrayList<>(snapshots);
+        byDate.sort((a, b) -> a.getDate().compareTo(b.getDate()));
+        for (TodaySoFarSnapshot snapshot : byDate) {
+            if (!granularity.startOf(snapshot.getDate()).equals(start)) {
+                throw new IllegalArgumentException(snapshot.getDate() + " is not in the "
+                        + granularity.name().toLowerCase() + " starting " + start);
+            }
+            lastDay = snapshot.getDate();
+            covered |= dayBit(start, lastDay);
+            completionRateSum += snapshot.getTaskCompletionRate();
+            tasks += snapshot.getTodaysTasks().size();
+            final List<Task> done = snapshot.getCompletedTasks();
+            completed += done.size();
+            for (Task task : done) {
+                final String category = task.getInfo().getCategory();
+                if (category != null) {
+                    byCategory.merge(category, 1, Integer::sum);
+                }
+            }
+            for (TodaySoFarSnapshot.GoalProgress goal : snapshot.getGoalProgress()) {
+                goals.put(goal.getGoalId(), goal);
+            }
+            for (WellnessLogEntry entry : snapshot.getWellnessEntries()) {
+                if (entry.getStressLevel() == null || entry.getEnergyLevel() == null
+                        || entry.getFatigueLevel() == null) {
+                    continue;
+                }
+                wellnessEntries++;
+                stress += entry.getStressLevel().getValue();
+                energy += entry.getEnergyLevel().getValue();
+                fatigue += entry.getFatigueLevel().getValue();
+            }
+        }
+        return new HistoryRollup(granularity, start, lastDay, covered, byDate.size(), completionRateSum, tasks, completed,
+                byCategory, new ArrayList<>(goals.values()), wellnessEntries, stress, energy, fatigue);
+    }
+
+    /**
+     * Combines this rollup with another of the same period, as if both sets of days had been
+     * rolled up together. Goal progress is taken from whichever covers the later day.
+     *
+     * @param other a rollup of the same granularity and start
+     * @return the combined rollup
+     * @throws IllegalArgumentException if the other rollup covers a different period, or any of
+     *                                  the same days, which would then be counted twice
+     */
+    public HistoryRollup combine(HistoryRollup other) {
+        if (other.granularity != granularity || !other.start.equals(start)) {
+            throw new IllegalArgumentException("Cannot combine rollups of different periods");
+        }
+        if ((coveredDays & other.coveredDays) != 0) {
+            throw new IllegalArgumentException("Cannot combine rollups that cover the same days");
+        }
+        final boolean otherIsLater = other.lastDay.isAfter(lastDay);
+        final Map<String, Integer> byCategory = new TreeMap<>(completedByCategory);
+        other.completedByCategory.forEach((category, count) -> byCategory.merge(category, count, Integer::sum));
+        final Map<String, TodaySoFarSnapshot.GoalProgress> goals =
+                new LinkedHashMap<>(otherIsLater ? latestGoalProgress : other.latestGoalProgress);
+        goals.putAll(otherIsLater ? other.latestGoalProgress : latestGoalProgress);
+        return new HistoryRollup(granularity, start, otherIsLater ? other.lastDay : lastDay,
+                coveredDays | other.coveredDays, days + other.days, completionRateSum + other.completionRateSum,
+                tasks + other.tasks, completedTasks + other.completedTasks,
+                byCategory, new ArrayList<>(goals.values()), wellnessEntries + other.wellnessEntries,
+                stressSum + other.stressSum, energySum + other.energySum, fatigueSum + other.fatigueSum);
+    }
+
+    /**
+     * Returns whether a day has already been folded into this rollup.
+     *
+     * @param date any day
+     * @return true if the day is in this period and was rolled up
+     */
+    public boolean covers(LocalDate date) {
+        if (!granularity.startOf(date).equals(start)) {
+            return false;
+        }
+        return (coveredDays & dayBit(start, date)) != 0;
+    }
+
+    /**
+     * Returns the coverage of every day from the start of a period to a given day, for rollups
+     * stored before coverage was recorded; days were always folded in oldest first.
+     *
+     * @param start the first day of the period
+     * @param lastDay the last day folded in
+     * @return the coverage to pass to the constructor
+     */
+    public static int coverageThrough(LocalDate start, LocalDate lastDay) {
+        return (dayBit(start, lastDay) << 1) - 1;
+    }
+
+    private static int dayBit(LocalDate start, LocalDate date) {
+        return 1 << (int) ChronoUnit.DAYS.between(start, date);
+    }
+
+    // Getters
+    public Granularity getGranularity() { return granularity; }
+    public LocalDate getStart() { return start; }
+    public LocalDate getEnd() { return granularity.endOf(start); }
+    public LocalDate getLastDay() { return lastDay; }
+    public int getCoveredDays() { return coveredDays; }
+    public int getDays() { return days; }
+    public long getCompletionRateSum() { return completionRateSum; }
+    public int getTasks() { return tasks; }
+    public int getCompletedTasks() { return completedTasks; }
+    public Map<String, Integer> getCompletedByCategory() { return completedByCategory; }
+    public List<TodaySoFarSnapshot.GoalProgress> getGoalProgress() { return new ArrayList<>(latestGoalProgress.values()); }
+    public int getWellnessEntries() { return wellnessEntries; }
+    public long getStressSum() { return stressSum; }
+    public long getEnergySum() { return energySum; }
+    public long getFatigueSum() { return fatigueSum; }
+
+    /**
+     * Returns the mean of the daily completion rates, as a percentage.
+     *
+     * @return the average completion rate, or 0 if no days were rolled up
+     */
+    public double getAverageCompletionRate() {
+        return days == 0 ? 0 : (double) completionRateSum / days;
+    }
+
+    public double getAverageStress() { return average(stressSum); }
+    public double getAverageEnergy() { return average(energySum); }
+    public double getAverageFatigue() { return average(fatigueSum); }
+
+    private double average(long sum) {
+        return wellnessEntries == 0 ? 0 : (double) sum / wellnessEntries;
+    }
+}
@@ -0,0 +1,148 @@
+package entity.Angela.Task;
+
+import entity.BeginAndDueDates.BeginAndDueDates;
+import entity.info.Info;
+import entity.info.InfoInterf;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * A frozen copy of a Today's task, packed for long-term storage such as history snapshots.
+ *
+ * A {@link Task} holds its ID as a 36-character string, its own {@link Info} (with a further ID
+ * string and creation date) and a {@link BeginAndDueDates} holding two {@link LocalDate}s, about
+ * 350 bytes per task. This form keeps the same data in roughly a quarter of that:
+ * - Task and template IDs that are UUIDs are kept as two longs each
+ * - Name, description and category are interned, so every copy shares one string
+ * - Dates are epoch days, the completion time an epoch second and nanosecond, the priority a byte
+ *
+ * The Info's own ID and creation date are not kept; {@link #toTask()} gives the task a fresh Info.
+ */
+public final class CompactTask {
+
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final long NOT_COMPLETED = Long.MIN_VALUE;
+    private static final byte NO_PRIORITY = -1;
+    private static final Task.Priority[] PRIORITIES = Task.Priority.values();
+
+    private final long idHigh;
+    private final long idLow;
+    /** The ID as given, or null when it is a UUID held in idHigh/idLow. */
+    private final String idText;
+    private final long templateIdHigh;
+    private final long templateIdLow;
+    /** The template ID as given, or null when it is a UUID held in templateIdHigh/templateIdLow. */
+    private final String templateIdText;
+    private final String name;
+    private final String description;
+    private final String category;
+    private final int beginEpochDay;
+    private final int dueEpochDay;
+    private final long completedEpochSecond;
+    private final int completedNano;
+    private final byte priority;
+    private final boolean oneTime;
+
+    private CompactTask(Task task) {
+        final UUID id = asUuid(task.getId());
+        this.idHigh = id == null ? 0 : id.getMostSignificantBits();
+        this.idLow = id == null ? 0 : id.getLeastSignificantBits();
+        this.idText = id == null ? task.getId() : null;
+        final UUID templateId = asUuid(task.getTemplateTaskId());
+        this.templateIdHigh = templateId == null ? 0 : templateId.getMostSignificantBits();
+        this.templateIdLow = templateId == null ? 0 : templateId.getLeastSignificantBits();
+        this.templateIdText = templateId == null ? task.getTemplateTaskId() : null;
+
+        final InfoInterf info = task.getInfo();
+        this.name = intern(info.getName());
+        this.description = intern(info.getDescription());
+        this.category = intern(info.getCategory());
+
+        final BeginAndDueDates dates = task.getDates();
+        this.beginEpochDay = toEpochDay(dates == null ? null : dates.getBeginDate());
+        this.dueEpochDay = toEpochDay(dates == null ? null : dates.getDueDate());
+
+        final LocalDateTime completedAt = task.isCompleted() ? task.getCompletedDateTime() : null;
+        this.completedEpochSecond = completedAt == null ? NOT_COMPLETED : completedAt.toEpochSecond(ZoneOffset.UTC);
+        this.completedNano = completedAt == null ? 0 : completedAt.getNano();
+        this.priority = task.getPriority() == null ? NO_PRIORITY : (byte) task.getPriority().ordinal();
+        this.oneTime = task.isOneTime();
+    }
+
+    /**
+     * Packs a task. Later changes to the task do not affect the copy.
+     *
+     * @param task the task
+     * @return the packed copy
+     */
+    public static CompactTask of(Task task) {
+        return new CompactTask(task);
+    }
+
+    /**
+     * Unpacks the copy into a new task with the same ID, template, details, dates and status.
+     *
+     * @return a new task
+     */
+    public Task toTask() {
+        final Info info = new Info.Builder(name).description(description).category(category).build();
+        final LocalDateTime completedAt = isCompleted()
+                ? LocalDateTime.ofEpochSecond(completedEpochSecond, completedNano, ZoneOffset.UTC)
+                : null;
+        return new Task(getId(), getTemplateTaskId(), info,
+                priority == NO_PRIORITY ? null : PRIORITIES[priority],
+                new BeginAndDueDates(toDate(beginEpochDay), toDate(dueEpochDay)),
+                completedAt != null, completedAt, oneTime);
+    }
+
+    public String getId() {
+        return idText != null ? idText : new UUID(idHigh, idLow).toString();
+    }
+
+    public String getTemplateTaskId() {
+        return templateIdText != null ? templateIdText : new UUID(templateIdHigh, templateIdLow).toString();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public boolean isCompleted() {
+        return completedEpochSecond != NOT_COMPLETED;
+    }
+
+    /**
+     * Returns the UUID a string spells, or null if it is not one in canonical form,
+     * so that unpacking gives back exactly the same string.
+     */
+    private static UUID asUuid(String text) {
+        if (text == null || text.length() != 36) {
+            return null;
+        }
+        try {
+            final UUID uuid = UUID.fromString(text);
+            return uuid.toString().equals(text) ? uuid : null;
+        }
+        catch (IllegalArgumentException notAUuid) {
+            return null;
+        }
+    }
+
+    private static String intern(String text) {
+        return text == null ? null : text.intern();
+    }
+
+    private static int toEpochDay(LocalDate date) {
+        return date == null ? NO_DATE : Math.toIntExact(date.toEpochDay());
+    }
+
+    private static LocalDate toDate(int epochDay) {
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+}
@@ -1,5 +1,6 @@
 package entity.Angela;
 
+import entity.Angela.Task.CompactTask;
 import entity.Angela.Task.Task;
 import entity.info.Info;
 import entity.alex.WellnessLogEntry.WellnessLogEntry;
@@ -7,12 +8,16 @@ import entity.alex.WellnessLogEntry.WellnessLogEntry;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 /**
  * Represents a historical snapshot of "Today So Far" data for a specific date.
  * This entity stores the complete state of a day including tasks, events, goals, and wellness data.
+ * Tasks are kept as {@link CompactTask} copies, so the snapshot does not change with the live tasks,
+ * holds a task listed as both completed and today's only once, and takes little room in a long history.
  */
 public class TodaySoFarSnapshot {
     private final String id;
@@ -20,10 +25,10 @@ public class TodaySoFarSnapshot {
     private final LocalDateTime createdAt;
     
     // Task data
-    private final List<Task> todaysTasks;
-    private final List<Task> completedTasks;
+    private final List<CompactTask> todaysTasks;
+    private final List<CompactTask> completedTasks;
     private final int taskCompletionRate;
-    private final List<Task> overdueTasks;
+    private final List<CompactTask> overdueTasks;
     
     // Event data
     private final List<Info> todaysEvents;
@@ -45,17 +50,66 @@ public class TodaySoFarSnapshot {
                              List<Info> todaysEvents,
                              List<GoalProgress> goalProgress,
                              List<WellnessLogEntry> wellnessEntries) {
-        this.id = UUID.randomUUID().toString();
+        this(UUID.randomUUID().toString(), date, LocalDateTime.now(), todaysTasks, completedTasks,
+                taskCompletionRate, overdueTasks, todaysEvents, goalProgress, wellnessEntries);
+    }
+
+    private TodaySoFarSnapshot(String id,
+                              LocalDate date,
+                              LocalDateTime createdAt,
+                              List<Task> todaysTasks,
+                              List<Task> completedTasks,
+                              int taskCompletionRate,
+                              List<Task> overdueTasks,
+                              List<Info> todaysEvents,
+                              List<GoalProgress> goalProgress,
+                              List<WellnessLogEntry> wellnessEntries) {
+        this.id = id;
         this.date = date;
-        this.createdAt = LocalDateTime.now();
-        this.todaysTasks = new ArrayList<>(todaysTasks);
-        this.completedTasks = new ArrayList<>(completedTasks);
+        this.createdAt = createdAt;
+        Map<Task, CompactTask> packed = new IdentityHashMap<>();
+        this.todaysTasks = pack(todaysTasks, packed);
+        this.completedTasks = pack(completedTasks, packed);
         this.taskCompletionRate = taskCompletionRate;
-        this.overdueTasks = new ArrayList<>(overdueTasks);
+        this.overdueTasks = pack(overdueTasks, packed);
         this.todaysEvents = new ArrayList<>(todaysEvents);
         this.goalProgress = new ArrayList<>(goalProgress);
         this.wellnessEntries = new ArrayList<>(wellnessEntries);
     }
+
+    /**
+     * Rebuilds a snapshot that was stored earlier, keeping its original ID and creation time.
+     * A task passed in more than one list is kept once, as when the snapshot was first taken.
+     */
+    public static TodaySoFarSnapshot restore(String id,
+                                             LocalDate date,
+                                             LocalDateTime createdAt,
+                                             List<Task> todaysTasks,
+                                             List<Task> completedTasks,
+                                             int taskCompletionRate,
+                                             List<Task> overdueTasks,
+                                             List<Info> todaysEvents,
+                                             List<GoalProgress> goalProgress,
+                                             List<WellnessLogEntry> wellnessEntries) {
+        return new TodaySoFarSnapshot(id, date, createdAt, todaysTasks, completedTasks, taskCompletionRate,
+                overdueTasks, todaysEvents, goalProgress, wellnessEntries);
+    }
+
+    private static List<CompactTask> pack(List<Task> tasks, Map<Task, CompactTask> packed) {
+        List<CompactTask> result = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            result.add(packed.computeIfAbsent(task, CompactTask::of));
+        }
+        return result;
+    }
+
+    private static List<Task> unpack(List<CompactTask> tasks) {
+        List<Task> result = new ArrayList<>(tasks.size());
+        for (CompactTask task : tasks) {
+            result.add(task.toTask());
+        }
+        return result;
+    }
     
     /**
      * Represents a goal with its progress at this point in time.
@@ -87,10 +141,10 @@ public class TodaySoFarSnapshot {
     public String getId() { return id; }
     public LocalDate getDate() { return date; }
     public LocalDateTime getCreatedAt() { return createdAt; }
-    public List<Task> getTodaysTasks() { return new ArrayList<>(todaysTasks); }
-    public List<Task> getCompletedTasks() { return new ArrayList<>(completedTasks); }
+    public List<Task> getTodaysTasks() { return unpack(todaysTasks); }
+    public List<Task> getCompletedTasks() { return unpack(completedTasks); }
     public int getTaskCompletionRate() { return taskCompletionRate; }
-    public List<Task> getOverdueTasks() { return new ArrayList<>(overdueTasks); }
+    public List<Task> getOverdueTasks() { return unpack(overdueTasks); }
     public List<Info> getTodaysEvents() { return new ArrayList<>(todaysEvents); }
     public List<GoalProgress> getGoalProgress() { return new ArrayList<>(goalProgress); }
     public List<WellnessLogEntry> getWellnessEntries() { return new ArrayList<>(wellnessEntries); }
@@ -22,7 +22,7 @@ public class Info implements InfoInterf {
      * @param builder Builder instance containing the fields.
      */
     private Info(Builder builder) {
-        this.id = UUID.randomUUID().toString();
+        this.id = builder.id != null ? builder.id : UUID.randomUUID().toString();
         this.name = builder.name;
         this.description = builder.description;
         this.category = builder.category;
@@ -31,6 +31,7 @@ public class Info implements InfoInterf {
 
     public static class Builder {
         private final String name;
+        private String id;
         private String description;
         private String category;
 
@@ -58,6 +59,18 @@ public class Info implements InfoInterf {
             return this;
         }
 
+        /**
+         * @param id Optional ID, for restoring an item that was saved; a new ID is generated
+         *           when none is given
+         * @return the Builder itself
+         */
+        public Builder id(String id) {
+            if (id != null && !id.trim().isEmpty()) {
+                this.id = id;
+            }
+            return this;
+        }
+
         /**
          * @param category Optional category (e.g., "work", "personal", "academic")
          * @return the Builder itself
@@ -26,5 +26,13 @@ public interface InfoInterf {
      */
     @Deprecated
     void setCategory(String category);
+
+    /**
+     * Removes the category, as when the category itself is deleted. Unlike the immutable update
+     * methods this keeps the item's identity, so every store and log holding it sees the change.
+     */
+    default void clearCategory() {
+        setCategory("");
+    }
 }
 
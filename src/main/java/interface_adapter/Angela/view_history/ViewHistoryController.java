@@ -1,5 +1,7 @@
 package interface_adapter.Angela.view_history;
 
+import use_case.Angela.view_history.HistoryExportFormat;
+import use_case.Angela.view_history.HistoryExportInputData;
 import use_case.Angela.view_history.ViewHistoryInputBoundary;
 import use_case.Angela.view_history.ViewHistoryInputData;
 
@@ -39,4 +41,14 @@ public class ViewHistoryController {
         ViewHistoryInputData inputData = new ViewHistoryInputData(date);
         interactor.exportHistory(inputData);
     }
-}
\ No newline at end of file
+    
+    /**
+     * Exports all history between two dates, inclusive, to one file in the background.
+     * @param from The first date to export
+     * @param to The last date to export
+     * @param format The file format
+     */
+    public void exportHistoryRange(LocalDate from, LocalDate to, HistoryExportFormat format) {
+        interactor.exportHistoryRange(new HistoryExportInputData(from, to, format));
+    }
+}
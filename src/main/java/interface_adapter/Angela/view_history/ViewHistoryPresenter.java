@@ -1,9 +1,13 @@
 package interface_adapter.Angela.view_history;
 
+import entity.Angela.HistoryRollup;
 import use_case.Angela.view_history.ViewHistoryOutputBoundary;
 import use_case.Angela.view_history.ViewHistoryOutputData;
 
+import javax.swing.SwingUtilities;
 import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -11,6 +15,9 @@ import java.util.List;
  * Converts use case output to view model state.
  */
 public class ViewHistoryPresenter implements ViewHistoryOutputBoundary {
+    private static final DateTimeFormatter WEEK_FORMAT = DateTimeFormatter.ofPattern("MMM dd, yyyy");
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("MMMM yyyy");
+    
     private final ViewHistoryViewModel viewModel;
     
     public ViewHistoryPresenter(ViewHistoryViewModel viewModel) {
@@ -55,20 +62,61 @@ public class ViewHistoryPresenter implements ViewHistoryOutputBoundary {
     }
     
     @Override
-    public void presentExportSuccess(String filePath) {
+    public void presentRollups(List<HistoryRollup> weeks, List<HistoryRollup> months) {
+        List<String> summaries = new ArrayList<>();
+        for (HistoryRollup week : weeks) {
+            summaries.add("Week of " + week.getStart().format(WEEK_FORMAT) + ": " + summarize(week));
+        }
+        for (HistoryRollup month : months) {
+            summaries.add(month.getStart().format(MONTH_FORMAT) + ": " + summarize(month));
+        }
         ViewHistoryState newState = new ViewHistoryState.Builder(viewModel.getState())
-            .exportMessage("History exported successfully to: " + filePath)
+            .rollupSummaries(summaries)
             .build();
         
         viewModel.setState(newState);
     }
     
+    private static String summarize(HistoryRollup rollup) {
+        return rollup.getDays() + (rollup.getDays() == 1 ? " day, " : " days, ")
+            + rollup.getCompletedTasks() + "/" + rollup.getTasks() + " tasks done, "
+            + Math.round(rollup.getAverageCompletionRate()) + "% average completion";
+    }
+    
+    @Override
+    public void presentExportSuccess(String filePath) {
+        updateExport("History exported successfully to: " + filePath, -1);
+    }
+    
     @Override
     public void presentExportFailure(String error) {
-        ViewHistoryState newState = new ViewHistoryState.Builder(viewModel.getState())
-            .exportMessage("Export failed: " + error)
-            .build();
-        
-        viewModel.setState(newState);
+        updateExport("Export failed: " + error, -1);
+    }
+    
+    @Override
+    public void presentExportProgress(int exportedDays, int totalDays) {
+        // Clear the last export's message so that it is not shown again with every update
+        updateExport(null, totalDays == 0 ? 100 : exportedDays * 100 / totalDays);
+    }
+    
+    /**
+     * Sets the export fields on the Swing thread. Range exports report from their own thread,
+     * and reading and replacing the state there could drop an update made meanwhile by the
+     * other presenter methods, which run on the Swing thread.
+     */
+    private void updateExport(String message, int progress) {
+        Runnable update = () -> {
+            ViewHistoryState newState = new ViewHistoryState.Builder(viewModel.getState())
+                .exportMessage(message)
+                .exportProgress(progress)
+                .build();
+            
+            viewModel.setState(newState);
+        };
+        if (SwingUtilities.isEventDispatchThread()) {
+            update.run();
+        } else {
+            SwingUtilities.invokeLater(update);
+        }
     }
-}
\ No newline at end of file
+}
@@ -16,6 +16,8 @@ import java.util.List;
 public class ViewHistoryState {
     private final LocalDate selectedDate;
     private final List<LocalDate> availableDates;
+    /** One line per weekly or monthly rollup, for days no longer kept in full. */
+    private final List<String> rollupSummaries;
     private final boolean hasData;
     private final String errorMessage;
     
@@ -36,11 +38,14 @@ public class ViewHistoryState {
     
     // Export status
     private final String exportMessage;
+    /** Percentage done of the running range export, or -1 when none is running. */
+    private final int exportProgress;
     
     // Default constructor
     public ViewHistoryState() {
         this.selectedDate = null;
         this.availableDates = new ArrayList<>();
+        this.rollupSummaries = new ArrayList<>();
         this.hasData = false;
         this.errorMessage = null;
         this.todaysTasks = new ArrayList<>();
@@ -51,12 +56,14 @@ public class ViewHistoryState {
         this.goalProgress = new ArrayList<>();
         this.wellnessEntries = new ArrayList<>();
         this.exportMessage = null;
+        this.exportProgress = -1;
     }
     
     // Copy constructor with modifications
     private ViewHistoryState(Builder builder) {
         this.selectedDate = builder.selectedDate;
         this.availableDates = builder.availableDates != null ? new ArrayList<>(builder.availableDates) : new ArrayList<>();
+        this.rollupSummaries = builder.rollupSummaries != null ? new ArrayList<>(builder.rollupSummaries) : new ArrayList<>();
         this.hasData = builder.hasData;
         this.errorMessage = builder.errorMessage;
         this.todaysTasks = builder.todaysTasks != null ? new ArrayList<>(builder.todaysTasks) : new ArrayList<>();
@@ -67,12 +74,14 @@ public class ViewHistoryState {
         this.goalProgress = builder.goalProgress != null ? new ArrayList<>(builder.goalProgress) : new ArrayList<>();
         this.wellnessEntries = builder.wellnessEntries != null ? new ArrayList<>(builder.wellnessEntries) : new ArrayList<>();
         this.exportMessage = builder.exportMessage;
+        this.exportProgress = builder.exportProgress;
     }
     
     // Builder class for creating new states
     public static class Builder {
         private LocalDate selectedDate;
         private List<LocalDate> availableDates = new ArrayList<>();
+        private List<String> rollupSummaries = new ArrayList<>();
         private boolean hasData;
         private String errorMessage;
         private List<Task> todaysTasks = new ArrayList<>();
@@ -83,10 +92,12 @@ public class ViewHistoryState {
         private List<TodaySoFarSnapshot.GoalProgress> goalProgress = new ArrayList<>();
         private List<WellnessLogEntry> wellnessEntries = new ArrayList<>();
         private String exportMessage;
+        private int exportProgress = -1;
         
         public Builder(ViewHistoryState copyFrom) {
             this.selectedDate = copyFrom.selectedDate;
             this.availableDates = copyFrom.availableDates != null ? new ArrayList<>(copyFrom.availableDates) : new ArrayList<>();
+            this.rollupSummaries = copyFrom.rollupSummaries != null ? new ArrayList<>(copyFrom.rollupSummaries) : new ArrayList<>();
             this.hasData = copyFrom.hasData;
             this.errorMessage = copyFrom.errorMessage;
             this.todaysTasks = copyFrom.todaysTasks != null ? new ArrayList<>(copyFrom.todaysTasks) : new ArrayList<>();
@@ -97,12 +108,14 @@ public class ViewHistoryState {
             this.goalProgress = copyFrom.goalProgress != null ? new ArrayList<>(copyFrom.goalProgress) : new ArrayList<>();
             this.wellnessEntries = copyFrom.wellnessEntries != null ? new ArrayList<>(copyFrom.wellnessEntries) : new ArrayList<>();
             this.exportMessage = copyFrom.exportMessage;
+            this.exportProgress = copyFrom.exportProgress;
         }
         
         public Builder() {}
         
         public Builder selectedDate(LocalDate date) { this.selectedDate = date; return this; }
         public Builder availableDates(List<LocalDate> dates) { this.availableDates = dates; return this; }
+        public Builder rollupSummaries(List<String> summaries) { this.rollupSummaries = summaries; return this; }
         public Builder hasData(boolean hasData) { this.hasData = hasData; return this; }
         public Builder errorMessage(String error) { this.errorMessage = error; return this; }
         public Builder todaysTasks(List<Task> tasks) { this.todaysTasks = tasks; return this; }
@@ -113,6 +126,7 @@ public class ViewHistoryState {
         public Builder goalProgress(List<TodaySoFarSnapshot.GoalProgress> progress) { this.goalProgress = progress; return this; }
         public Builder wellnessEntries(List<WellnessLogEntry> entries) { this.wellnessEntries = entries; return this; }
         public Builder exportMessage(String message) { this.exportMessage = message; return this; }
+        public Builder exportProgress(int percent) { this.exportProgress = percent; return this; }
         
         public ViewHistoryState build() {
             return new ViewHistoryState(this);
@@ -122,6 +136,7 @@ public class ViewHistoryState {
     // Getters
     public LocalDate getSelectedDate() { return selectedDate; }
     public List<LocalDate> getAvailableDates() { return new ArrayList<>(availableDates); }
+    public List<String> getRollupSummaries() { return new ArrayList<>(rollupSummaries); }
     public boolean hasData() { return hasData; }
     public String getErrorMessage() { return errorMessage; }
     public List<Task> getTodaysTasks() { return new ArrayList<>(todaysTasks); }
@@ -132,4 +147,5 @@ public class ViewHistoryState {
     public List<TodaySoFarSnapshot.GoalProgress> getGoalProgress() { return new ArrayList<>(goalProgress); }
     public List<WellnessLogEntry> getWellnessEntries() { return new ArrayList<>(wellnessEntries); }
     public String getExportMessage() { return exportMessage; }
+    public int getExportProgress() { return exportProgress; }
 }
\ No newline at end of file
@@ -9,6 +9,8 @@ import entity.feedback_entry.FeedbackEntryInterf;
 public final class FeedbackHistoryViewModel {
     private final PropertyChangeSupport pcs = new PropertyChangeSupport(this);
     private List<FeedbackEntryInterf> entries = List.of();
+    private String draftRecommendation = "";
+    private String errorMessage = "";
 
     public void setEntries(List<FeedbackEntryInterf> newEntries) {
         final List<FeedbackEntryInterf> old = this.entries;
@@ -20,6 +22,34 @@ public final class FeedbackHistoryViewModel {
         return entries;
     }
 
+    /**
+     * Sets the recommendation text streamed in so far for the feedback being generated.
+     * @param draft the partial text, or an empty string once generation has finished
+     */
+    public void setDraftRecommendation(String draft) {
+        final String old = this.draftRecommendation;
+        this.draftRecommendation = (draft == null) ? "" : draft;
+        pcs.firePropertyChange("draftRecommendation", old, this.draftRecommendation);
+    }
+
+    public String getDraftRecommendation() {
+        return draftRecommendation;
+    }
+
+    /**
+     * Sets the error shown when generating this week's feedback failed.
+     * @param message the error, or an empty string to clear it
+     */
+    public void setErrorMessage(String message) {
+        final String old = this.errorMessage;
+        this.errorMessage = (message == null) ? "" : message;
+        pcs.firePropertyChange("errorMessage", old, this.errorMessage);
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
     public void addPropertyChangeListener(PropertyChangeListener listener) {
         pcs.addPropertyChangeListener(listener);
     }
@@ -0,0 +1,172 @@
+package interface_adapter.generate_feedback;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import use_case.generate_feedback.AsyncGptService;
+import use_case.generate_feedback.ExecutorAsyncGptService;
+import use_case.generate_feedback.GptResponseCache;
+import use_case.generate_feedback.GptService;
+import use_case.generate_feedback.StreamingGptService;
+
+/**
+ * Decorates any {@link GptService} with a response cache keyed by a SHA-256 hash of the model,
+ * the temperature and the prompt. Re-running the same week produces identical prompts, so
+ * retries and manual regeneration are answered from the cache without a network call.
+ * A streamed recommendation that is already cached arrives as a single delta.
+ *
+ * <p>Only replies the feedback use case can read are cached: the analysis and correlation replies
+ * must be JSON objects and the recommendation must not be blank. A reply that fails this check is
+ * still returned, so the caller reports it, but the next run asks GPT again instead of getting the
+ * same bad reply back. Cached entries are checked the same way when they are read.</p>
+ */
+public class CachingGptService implements GptService, AsyncGptService, StreamingGptService {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final Predicate<String> JSON_OBJECT = CachingGptService::isJsonObject;
+    private static final Predicate<String> NOT_BLANK = response -> !response.isBlank();
+
+    private final GptService delegate;
+    private final AsyncGptService asyncDelegate;
+    private final GptResponseCache cache;
+    private final String model;
+    private final double temperature;
+
+    /**
+     * Creates the caching decorator.
+     * @param delegate the service that answers cache misses
+     * @param cache where responses are stored
+     * @param model the model the delegate uses, part of the cache key
+     * @param temperature the temperature the delegate uses, part of the cache key
+     */
+    public CachingGptService(GptService delegate, GptResponseCache cache, String model, double temperature) {
+        this.delegate = delegate;
+        this.asyncDelegate = ExecutorAsyncGptService.of(delegate);
+        this.cache = cache;
+        this.model = model;
+        this.temperature = temperature;
+    }
+
+    @Override public String callGeneralAnalysis(String prompt) throws IOException {
+        return cached(prompt, JSON_OBJECT, () -> delegate.callGeneralAnalysis(prompt));
+    }
+
+    @Override public String callCorrelationBayes(String prompt) throws IOException {
+        return cached(prompt, JSON_OBJECT, () -> delegate.callCorrelationBayes(prompt));
+    }
+
+    @Override public String callRecommendation(String prompt) throws IOException {
+        return cached(prompt, NOT_BLANK, () -> delegate.callRecommendation(prompt));
+    }
+
+    @Override public CompletableFuture<String> callGeneralAnalysisAsync(String prompt) {
+        return cachedAsync(prompt, JSON_OBJECT, () -> asyncDelegate.callGeneralAnalysisAsync(prompt));
+    }
+
+    @Override public CompletableFuture<String> callCorrelationBayesAsync(String prompt) {
+        return cachedAsync(prompt, JSON_OBJECT, () -> asyncDelegate.callCorrelationBayesAsync(prompt));
+    }
+
+    @Override public CompletableFuture<String> callRecommendationAsync(String prompt) {
+        return cachedAsync(prompt, NOT_BLANK, () -> asyncDelegate.callRecommendationAsync(prompt));
+    }
+
+    @Override public CompletableFuture<String> streamRecommendation(String prompt, Consumer<String> onDelta) {
+        final String key = keyFor(prompt);
+        final String response = cache.get(key);
+        if (response != null && NOT_BLANK.test(response)) {
+            onDelta.accept(response);
+            return CompletableFuture.completedFuture(response);
+        }
+        final CompletableFuture<String> call;
+        if (delegate instanceof StreamingGptService streaming) {
+            call = streaming.streamRecommendation(prompt, onDelta);
+        }
+        else {
+            call = asyncDelegate.callRecommendationAsync(prompt).thenApply(result -> {
+                onDelta.accept(result);
+                return result;
+            });
+        }
+        return call.thenApply(result -> putIfUsable(key, result, NOT_BLANK));
+    }
+
+    private String cached(String prompt, Predicate<String> usable, GptCall call) throws IOException {
+        final String key = keyFor(prompt);
+        final String response = cache.get(key);
+        if (response != null && usable.test(response)) {
+            return response;
+        }
+        return putIfUsable(key, call.run(), usable);
+    }
+
+    private CompletableFuture<String> cachedAsync(String prompt, Predicate<String> usable,
+                                                  Supplier<CompletableFuture<String>> call) {
+        final String key = keyFor(prompt);
+        final String response = cache.get(key);
+        if (response != null && usable.test(response)) {
+            return CompletableFuture.completedFuture(response);
+        }
+        return call.get().thenApply(result -> putIfUsable(key, result, usable));
+    }
+
+    private String putIfUsable(String key, String response, Predicate<String> usable) {
+        if (response != null && usable.test(response)) {
+            cache.put(key, response);
+        }
+        return response;
+    }
+
+    private static boolean isJsonObject(String response) {
+        try {
+            new JSONObject(response);
+            return true;
+        }
+        catch (JSONException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Hashes the parts of a request that determine its response.
+     * @param prompt the prompt
+     * @return lowercase hex SHA-256 of model, temperature and prompt
+     */
+    String keyFor(String prompt) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(model.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(Double.toString(temperature).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            final byte[] hash = digest.digest(prompt.getBytes(StandardCharsets.UTF_8));
+            final char[] hex = new char[hash.length * 2];
+            for (int i = 0; i < hash.length; i++) {
+                hex[i * 2] = HEX[(hash[i] >> 4) & 0xF];
+                hex[i * 2 + 1] = HEX[hash[i] & 0xF];
+            }
+            return new String(hex);
+        }
+        catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
+    }
+
+    /**
+     * A single blocking GPT call.
+     */
+    @FunctionalInterface
+    private interface GptCall {
+        String run() throws IOException;
+    }
+}
@@ -0,0 +1,113 @@
+package interface_adapter.generate_feedback;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+/**
+ * Stops calling OpenAI for a while after repeated failures, so a down or throttling API costs
+ * one fast {@link IOException} per call instead of a full round of retries.
+ * After {@code threshold} consecutive failed calls the circuit opens; once the open period has
+ * passed a single trial call is let through, and its outcome closes or reopens the circuit.
+ * Installed outside {@link RetryInterceptor}, so a call only counts as failed once its retries
+ * are used up.
+ */
+public class CircuitBreakerInterceptor implements Interceptor {
+
+    /**
+     * The states of the breaker.
+     */
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int threshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    /**
+     * Creates a breaker using the system clock.
+     * @param threshold consecutive failed calls that open the circuit
+     * @param openDuration how long the circuit stays open
+     */
+    public CircuitBreakerInterceptor(int threshold, Duration openDuration) {
+        this(threshold, openDuration, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a breaker.
+     * @param threshold consecutive failed calls that open the circuit
+     * @param openDuration how long the circuit stays open
+     * @param clock used to time the open period
+     */
+    public CircuitBreakerInterceptor(int threshold, Duration openDuration, Clock clock) {
+        this.threshold = threshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        acquire();
+        final Response response;
+        try {
+            response = chain.proceed(chain.request());
+        }
+        catch (IOException | RuntimeException exception) {
+            recordFailure();
+            throw exception;
+        }
+        if (RetryInterceptor.isRetryable(response.code())) {
+            recordFailure();
+        }
+        else {
+            recordSuccess();
+        }
+        return response;
+    }
+
+    /**
+     * Returns the current state, moving from open to half-open if the open period has passed.
+     * @return the breaker state
+     */
+    public synchronized State getState() {
+        if (state == State.OPEN && clock.millis() - openedAt >= openDuration.toMillis()) {
+            state = State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    private synchronized void acquire() throws IOException {
+        final State current = getState();
+        if (current == State.OPEN || current == State.HALF_OPEN && trialInFlight) {
+            final long waitMillis = Math.max(0, openDuration.toMillis() - (clock.millis() - openedAt));
+            throw new IOException("GPT API circuit breaker is open; retry in " + waitMillis + " ms");
+        }
+        if (current == State.HALF_OPEN) {
+            trialInFlight = true;
+        }
+    }
+
+    private synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        trialInFlight = false;
+        state = State.CLOSED;
+    }
+
+    private synchronized void recordFailure() {
+        consecutiveFailures++;
+        trialInFlight = false;
+        if (state == State.HALF_OPEN || consecutiveFailures >= threshold) {
+            state = State.OPEN;
+            openedAt = clock.millis();
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package interface_adapter.generate_feedback;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 import javax.swing.SwingUtilities;
 
@@ -11,6 +13,11 @@ import use_case.generate_feedback.GenerateFeedbackOutputData;
 
 public class GenerateFeedbackPresenter implements GenerateFeedbackOutputBoundary {
     private final FeedbackHistoryViewModel historyVm;
+    /**
+     * Latest streamed text not yet shown; deltas arriving faster than the EDT repaints are
+     * coalesced into one update.
+     */
+    private final AtomicReference<String> pendingDraft = new AtomicReference<>();
 
     public GenerateFeedbackPresenter(FeedbackHistoryViewModel historyVm) {
         this.historyVm = historyVm;
@@ -19,7 +26,46 @@ public class GenerateFeedbackPresenter implements GenerateFeedbackOutputBoundary
     @Override
     public void present(GenerateFeedbackOutputData out) {
         final FeedbackEntryInterf entry = out.getFeedbackEntry();
-        SwingUtilities.invokeLater(() -> historyVm.setEntries(List.of(entry))
-        );
+        SwingUtilities.invokeLater(() -> {
+            pendingDraft.set(null);
+            historyVm.setDraftRecommendation("");
+            historyVm.setErrorMessage("");
+            historyVm.setEntries(withNewest(entry, historyVm.getEntries()));
+        });
+    }
+
+    @Override
+    public void presentFailure(String errorMessage) {
+        SwingUtilities.invokeLater(() -> {
+            pendingDraft.set(null);
+            historyVm.setDraftRecommendation("");
+            historyVm.setErrorMessage(errorMessage);
+        });
+    }
+
+    private static List<FeedbackEntryInterf> withNewest(FeedbackEntryInterf newest,
+                                                        List<FeedbackEntryInterf> shown) {
+        final List<FeedbackEntryInterf> entries = new ArrayList<>();
+        entries.add(newest);
+        if (shown != null) {
+            for (FeedbackEntryInterf entry : shown) {
+                if (!entry.getDate().equals(newest.getDate())) {
+                    entries.add(entry);
+                }
+            }
+        }
+        return entries;
+    }
+
+    @Override
+    public void presentPartial(String recommendationSoFar) {
+        if (pendingDraft.getAndSet(recommendationSoFar) == null) {
+            SwingUtilities.invokeLater(() -> {
+                final String draft = pendingDraft.getAndSet(null);
+                if (draft != null) {
+                    historyVm.setDraftRecommendation(draft);
+                }
+            });
+        }
     }
 }
@@ -1,6 +1,12 @@
 package interface_adapter.generate_feedback;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.json.JSONObject;
@@ -14,7 +20,56 @@ import entity.alex.Event.EventInterf;
 import entity.alex.WellnessLogEntry.WellnessLogEntryInterf;
 import use_case.generate_feedback.GptPromptPort;
 
+/**
+ * Builds the weekly feedback prompts. Each day is encoded as one row of a pipe-separated table
+ * whose columns are described once, and every prompt is fitted to a token budget: when the full
+ * table is too large, notes, then task and event names, then categories and moods are dropped,
+ * and finally neighbouring days are merged into one row until the prompt fits.
+ * The estimated size of each prompt is passed to a {@link PromptTokenReporter}, which is also told
+ * when a prompt cannot be brought under its budget.
+ */
 public class GptPromptPortAdapter implements GptPromptPort {
+
+    /**
+     * Default budget for the analysis and correlation prompts, instructions included.
+     */
+    public static final int DEFAULT_TOKEN_BUDGET = 2000;
+
+    private static final String MISSING = "-";
+    private static final String SEPARATOR = "|";
+    private static final int MAX_NOTE_CHARS = 80;
+    private static final int MAX_ANALYSIS_CHARS = 4000;
+
+    /**
+     * How much of each day the table keeps, from richest to leanest.
+     */
+    private enum Detail {
+        FULL, NO_NOTES, NO_NAMES, COUNTS_ONLY
+    }
+
+    private final int tokenBudget;
+    private final PromptTokenReporter reporter;
+
+    /**
+     * Creates an adapter with the default budget that does not report prompt sizes.
+     */
+    public GptPromptPortAdapter() {
+        this(DEFAULT_TOKEN_BUDGET, PromptTokenReporter.NONE);
+    }
+
+    /**
+     * Creates an adapter with an explicit budget and reporter.
+     * @param tokenBudget the most tokens a data-carrying prompt may take
+     * @param reporter receives the estimated size of every prompt built
+     */
+    public GptPromptPortAdapter(int tokenBudget, PromptTokenReporter reporter) {
+        if (tokenBudget <= 0) {
+            throw new IllegalArgumentException("Token budget must be positive");
+        }
+        this.tokenBudget = tokenBudget;
+        this.reporter = reporter;
+    }
+
     /**
      * Build a prompt asking GPT to perform a general wellness/productivity analysis based on listed weekly information.
      * @param logs daily logs for the past week (last monday to sunday)
@@ -22,47 +77,14 @@ public class GptPromptPortAdapter implements GptPromptPort {
      */
     @Override
     public String buildAnalysis(List<DailyLog> logs) {
-        // idea: extract info: completed tasks, stress lvl, moods, overdues, etc
-        // buildPrompt coherent natural language prompt
-
-        final StringBuilder prompt = new StringBuilder();
-
-        prompt.append("You are an analyst and coach. "
-                      + "Analyse the 7-day report below, DO NOT ANALYZE ANY OTHER DAYS OUTSIDE OF THE 7 DAYS"
-                      + "summarize productivity patterns trends, correlations between amount of completed tasks, "
-                      + "average wellness changes: \n ")
-                .append("Analyze which scheduled tasks are completed more "
-                        + "and how that may relate to productivity/wellness/mood. \n")
-                .append("Analyze how number of events scheduled could affect productivity. \n")
-                .append("Only give one sentence discussing missing data across the week if there are. "
-                        + "Must focus on productivity trend and wellness")
-                .append("Rules for missing data: If any day's data (tasks, wellness, or events) is missing or partial,"
-                        + " explicitly flag it as MISSING.\n")
-                .append("Discuss how that gap could relate to productivity or wellness trends seen on other days, "
-                        + "but clearly mark such points as assumptions or possibilities "
-                        + "(e.g., 'it is possible', 'may indicate'). Do NOT invent exact numbers.\n")
-                .append("Focus on trends, correlations, and data gaps across different days. "
-                        + "Analyze trends across remaining days if there is missing data. NO advice verbs there.\n")
-                .append("If no data is present throughout the week, write "
-                        + "\"No Data is present for analysis this week.\"");
-
-        for (DailyLog log: logs) {
-            prompt.append("=== Date: ").append(log.getDate()).append(" ===\n");
-
-            // ------- Task summary ------
-            extractTaskSummaries(log, prompt);
-
-            // ------Wellness logs ------
-            extractWellnessLog(log, prompt);
-
-            // ------ Event logs ------
-            extractEvents(log, prompt);
-
-            //
-        }
-        prompt.append("WEEK DATA END.");
-
-        prompt.append("""
+        final String instructions = "You are an analyst. Analyse ONLY the days in the table below: summarize "
+                + "productivity trends and correlations between completed tasks, events, moods and average "
+                + "wellness, including how mood may relate to wellness levels and completion rate.\n"
+                + "Flag any day with missing or partial data as MISSING in one sentence; you may relate gaps to "
+                + "trends on other days only as possibilities ('it is possible', 'may indicate'). "
+                + "Do NOT invent exact numbers and give NO advice.\n"
+                + "If no data is present, write \"No Data is present for analysis this week.\"\n";
+        final String output = """
 OUTPUT REQUIREMENTS:
 Return STRICT JSON only, no markdown.  Use this schema exactly:
 
@@ -70,9 +92,24 @@ Return STRICT JSON only, no markdown.  Use this schema exactly:
   "analysis":    string,   // trends & correlations, NO advice
   "extra_notes": string    // notes on missing / partial data ("" if none)
 }
-            """);
-
-        return prompt.toString();
+""";
+        final List<DayRow> days = toRows(logs);
+        String prompt = null;
+        for (Detail detail : Detail.values()) {
+            prompt = instructions + analysisTable(days, detail) + output;
+            if (TokenEstimator.estimate(prompt) <= tokenBudget) {
+                return report("analysis", prompt);
+            }
+        }
+        List<DayRow> merged = days;
+        while (merged.size() > 1) {
+            merged = mergePairs(merged);
+            prompt = instructions + analysisTable(merged, Detail.COUNTS_ONLY) + output;
+            if (TokenEstimator.estimate(prompt) <= tokenBudget) {
+                break;
+            }
+        }
+        return report("analysis", prompt);
     }
 
     /**
@@ -82,13 +119,63 @@ Return STRICT JSON only, no markdown.  Use this schema exactly:
      */
     @Override
     public String buildCorrelation(List<DailyLog> logs) {
-        final StringBuilder prompt = new StringBuilder();
+        List<DayRow> days = toRows(logs);
+        String prompt = correlationPrompt(days);
+        while (TokenEstimator.estimate(prompt) > tokenBudget && days.size() > 1) {
+            days = mergePairs(days);
+            prompt = correlationPrompt(days);
+        }
+        return report("correlation", prompt);
+    }
 
+    /**
+     * Build a prompt that returns recommendations based on the user's weekly productivity analysis.
+     * @param analysisJson JSON string returned by buildAnalysis call
+     * @return prompt string for GPT
+     */
+    @Override
+    public String buildRecommendation(String analysisJson) {
+        final JSONObject obj = new JSONObject(analysisJson);
+        String analysisTxt = obj.optString("analysis", "(no analysis)").trim();
+        if (analysisTxt.length() > MAX_ANALYSIS_CHARS) {
+            analysisTxt = analysisTxt.substring(0, MAX_ANALYSIS_CHARS) + "...";
+        }
+        final String dataGapsTxt = obj.optString("extra_notes", "None");
+
+        return report("recommendation", """
+You are a productivity & wellness coach.  Provide concise, concrete advice only.
+
+Below is this week's analysis%s
+Write 3–5 imperative sentences of recommendations for next week.
+Return in form of numerical list.
+
+ANALYSIS:
+%s
+
+OUTPUT:
+Plain text only – 3 to 5 sentences.
+""".formatted(
+                dataGapsTxt.isBlank() ? "" : " (and a note about data gaps)",
+                analysisTxt));
+    }
+
+    // Helper methods
+    private String report(String kind, String prompt) {
+        final int tokens = TokenEstimator.estimate(prompt);
+        reporter.report(kind, tokens, tokenBudget);
+        if (tokens > tokenBudget) {
+            reporter.reportOverBudget(kind, tokens, tokenBudget);
+        }
+        return prompt;
+    }
+
+    private static String correlationPrompt(List<DayRow> days) {
+        final StringBuilder prompt = new StringBuilder();
         prompt.append("SYSTEM:\n")
                 .append("You are a statistician performing a simple Bayesian regression\n")
                 .append("to relate wellness metrics to task‑completion rate.\n\n")
                 .append("USER:\n")
-                .append("For each of the last 7 days you get:\n")
+                .append(periodDescription(days))
                 .append("  date, completion_rate (0‑1), avg_stress, avg_energy, avg_fatigue.\n")
                 .append("Assume Normal(0,1) priors on coefficients and independent variables.\n")
                 .append("Task:\n")
@@ -98,7 +185,7 @@ Return STRICT JSON only, no markdown.  Use this schema exactly:
                 .append("Return STRICT JSON only, no extra keys. \n\n")
 
                 .append("INPUT:\n")
-                .append(toWeekVectorJson(logs))
+                .append(toWeekVectorJson(days))
                 .append("\n\n")
 
                 .append("OUTPUT JSON SCHEMA:\n")
@@ -110,129 +197,250 @@ Return STRICT JSON only, no markdown.  Use this schema exactly:
                 .append("    {\"variable\":\"Fatigue\", ...}\n")
                 .append("  ],\n")
                 .append("}\n");
-
         return prompt.toString();
     }
 
-    /**
-     * Build a prompt that returns recommendations based on the user's weekly productivity analysis.
-     * @param analysisJson JSON string returned by buildAnalysis call
-     * @return prompt string for GPT
-     */
-    @Override
-    public String buildRecommendation(String analysisJson) {
-        final JSONObject obj = new JSONObject(analysisJson);
-        final String analysisTxt = obj.optString("analysis", "(no analysis)");
-        final String dataGapsTxt = obj.optString("extra_notes", "None");
-
-        return """
-You are a productivity & wellness coach.  Provide concise, concrete advice only.
-
-Below is this week's analysis%s
-Write 3–5 imperative sentences of recommendations for next week.
-Return in form of numerical list.
+    private static String periodDescription(List<DayRow> days) {
+        final boolean merged = days.stream().anyMatch(day -> !day.from.equals(day.to));
+        if (!merged) {
+            return "For each of the last " + days.size() + " days you get:\n";
+        }
+        return "Neighbouring days have been combined into " + days.size() + " periods; a period's date is "
+                + "a range 'first..last', its completion_rate covers all its tasks and its averages cover "
+                + "all its wellness entries. Treat each period as one observation. For each period you get:\n";
+    }
 
-ANALYSIS:
-%s
+    private static String toWeekVectorJson(List<DayRow> days) {
+        return days.stream().map(day -> String.format("{\"date\":\"%s\",\"completion_rate\":%.3f,"
+                                 + "\"Stress\":%.2f,\"Energy\":%.2f,\"Fatigue\":%.2f}",
+                day.label(), day.completionRate(), day.average(day.stressSum), day.average(day.energySum),
+                day.average(day.fatigueSum)))
+                .collect(Collectors.joining(",\n", "[\n", "\n]"));
+    }
 
-OUTPUT:
-Plain text only – 3 to 5 sentences.
-""".formatted(
-                dataGapsTxt.isBlank() ? "" : " (and a note about data gaps)",
-                analysisTxt.trim());
+    private static String analysisTable(List<DayRow> days, Detail detail) {
+        final StringBuilder table = new StringBuilder("DATA, one row per day ('")
+                .append(MISSING).append("' = MISSING; wellness levels are daily averages):\n");
+        final List<String> columns = new ArrayList<>(List.of("date", "done/scheduled", "completion"));
+        if (detail.compareTo(Detail.NO_NAMES) <= 0) {
+            columns.add("completed by category");
+        }
+        if (detail.compareTo(Detail.NO_NOTES) <= 0) {
+            columns.add("completed tasks");
+            columns.add("open tasks");
+            columns.add("events");
+        }
+        else {
+            columns.add("events");
+        }
+        columns.addAll(List.of("stress", "energy", "fatigue"));
+        if (detail.compareTo(Detail.NO_NAMES) <= 0) {
+            columns.add("moods");
+        }
+        if (detail == Detail.FULL) {
+            columns.add("notes");
+        }
+        table.append(String.join(SEPARATOR, columns)).append('\n');
+        for (DayRow day : days) {
+            day.appendTo(table, detail);
+        }
+        return table.append("WEEK DATA END.\n").toString();
     }
 
+    private static List<DayRow> toRows(List<DailyLog> logs) {
+        final List<DayRow> rows = new ArrayList<>(logs.size());
+        for (DailyLog log : logs) {
+            rows.add(DayRow.of(log));
+        }
+        return rows;
+    }
 
-    // Helper methods
-    private static String toWeekVectorJson(List<DailyLog> logs) {
-        return logs.stream().map(dailyLog -> {
-            final double completion = dailyLog.getDailyTaskSummary() == null
-                    ? Double.NaN : dailyLog.getDailyTaskSummary().getCompletionRate();
+    private static List<DayRow> mergePairs(List<DayRow> days) {
+        final List<DayRow> merged = new ArrayList<>((days.size() + 1) / 2);
+        for (int i = 0; i < days.size(); i += 2) {
+            if (i + 1 < days.size()) {
+                merged.add(days.get(i).merge(days.get(i + 1)));
+            }
+            else {
+                merged.add(days.get(i));
+            }
+        }
+        return merged;
+    }
 
-            // average wellness levels for the day
-            final double stress = avg(dailyLog, logEntry -> logEntry.getStressLevel().getValue());
-            final double energy = avg(dailyLog, logEntry -> logEntry.getEnergyLevel().getValue());
-            final double fatigue = avg(dailyLog, logEntry -> logEntry.getFatigueLevel().getValue());
+    private static String format(double value) {
+        if (Double.isNaN(value)) {
+            return MISSING;
+        }
+        return String.format("%.1f", value);
+    }
 
-            return String.format("{\"date\":\"%s\",\"completion_rate\":%.3f,"
-                                 + "\"Stress\":%.2f,\"Energy\":%.2f,\"Fatigue\":%.2f}",
-                    dailyLog.getDate(), completion, stress, energy, fatigue);
-        }).collect(Collectors.joining(",\n", "[\n", "\n]"));
+    private static String list(List<String> values) {
+        if (values.isEmpty()) {
+            return MISSING;
+        }
+        return values.stream().map(value -> value.replace(SEPARATOR, "/").replace('\n', ' '))
+                .collect(Collectors.joining(","));
     }
 
-    private static double avg(DailyLog dailyLog, java.util.function.ToIntFunction<WellnessLogEntryInterf> map) {
-        if (dailyLog.getDailyWellnessLog() == null || dailyLog.getDailyWellnessLog().getEntries().isEmpty()) {
-            return Double.NaN;
+    private static String counts(Map<String, Integer> counts) {
+        if (counts.isEmpty()) {
+            return MISSING;
         }
-        return dailyLog.getDailyWellnessLog().getEntries().stream()
-                .mapToInt(map).average().orElse(Double.NaN);
+        return counts.entrySet().stream()
+                .map(entry -> entry.getKey().replace(SEPARATOR, "/") + "=" + entry.getValue())
+                .collect(Collectors.joining(","));
     }
 
-    private static void extractEvents(DailyLog log, StringBuilder prompt) {
-        final DailyEventLogInterf events = log.getDailyEventLog();
-        final int numEvents = events.getActualEvents().size();
-        prompt.append("Events amount: ").append(numEvents);
-        prompt.append(", Events scheduled: ");
-        if (events != null && events.getActualEvents() != null && !events.getActualEvents().isEmpty()) {
-            for (EventInterf event : events.getActualEvents()) {
-                prompt.append("- ").append(event.getInfo().getName()).append('\n');
+    /**
+     * The facts the prompts use about one day, or about a run of merged days.
+     */
+    private static final class DayRow {
+        private final LocalDate from;
+        private LocalDate to;
+        private int scheduled;
+        private int completed;
+        private boolean hasTasks;
+        private final Map<String, Integer> categories = new LinkedHashMap<>();
+        private final List<String> completedNames = new ArrayList<>();
+        private final List<String> openNames = new ArrayList<>();
+        private final List<String> eventNames = new ArrayList<>();
+        private int wellnessEntries;
+        private double stressSum;
+        private double energySum;
+        private double fatigueSum;
+        private final Map<String, Integer> moods = new LinkedHashMap<>();
+        private final List<String> notes = new ArrayList<>();
+
+        private DayRow(LocalDate from) {
+            this.from = from;
+            this.to = from;
+        }
+
+        static DayRow of(DailyLog log) {
+            final DayRow row = new DayRow(log.getDate());
+            final DailyTaskSummary summary = log.getDailyTaskSummary();
+            if (summary != null) {
+                final List<Task> scheduledTasks = summary.getScheduledTasks();
+                final Set<String> completedIds = new HashSet<>();
+                for (Task task : summary.getCompletedTasks()) {
+                    completedIds.add(task.getId());
+                    row.completedNames.add(task.getInfo().getName());
+                }
+                for (Task task : scheduledTasks) {
+                    if (!completedIds.contains(task.getId())) {
+                        row.openNames.add(task.getInfo().getName());
+                    }
+                }
+                row.scheduled = scheduledTasks.size();
+                row.completed = completedIds.size();
+                row.hasTasks = row.scheduled > 0;
+                row.categories.putAll(summary.getCategoryBreakdown());
             }
+            final DailyEventLogInterf events = log.getDailyEventLog();
+            if (events != null && events.getActualEvents() != null) {
+                for (EventInterf event : events.getActualEvents()) {
+                    row.eventNames.add(event.getInfo().getName());
+                }
+            }
+            final DailyWellnessLogInterf wellnessLog = log.getDailyWellnessLog();
+            if (wellnessLog != null && wellnessLog.getEntries() != null) {
+                for (WellnessLogEntryInterf entry : wellnessLog.getEntries()) {
+                    row.wellnessEntries++;
+                    row.stressSum += entry.getStressLevel().getValue();
+                    row.energySum += entry.getEnergyLevel().getValue();
+                    row.fatigueSum += entry.getFatigueLevel().getValue();
+                    if (entry.getMoodLabel() != null) {
+                        row.moods.merge(entry.getMoodLabel().getName(), 1, Integer::sum);
+                    }
+                    if (entry.getUserNote() != null && !entry.getUserNote().isBlank()) {
+                        final String note = entry.getUserNote().trim();
+                        if (note.length() > MAX_NOTE_CHARS) {
+                            row.notes.add(note.substring(0, MAX_NOTE_CHARS) + "...");
+                        }
+                        else {
+                            row.notes.add(note);
+                        }
+                    }
+                }
+            }
+            return row;
         }
-        else {
-            prompt.append("No Events data for this date.");
-        }
-        prompt.append('\n');
-    }
-
-    private static void extractTaskSummaries(DailyLog log, StringBuilder prompt) {
-        prompt.append("Task summary: \n");
-        final DailyTaskSummary summary = log.getDailyTaskSummary();
-        if (summary != null) {
-            final int scheduled = summary.getScheduledTasks().size();
-            final List<Task> scheduledTasks = summary.getScheduledTasks();
-            final int completed = summary.getCompletedTasks().size();
-            final List<Task> completedTasks = summary.getCompletedTasks();
-            final int overdue = scheduled - completed;
-
-            prompt.append("Tasks Scheduled: ").append(scheduled)
-                    .append(", Scheduled tasks: ").append(scheduledTasks)
-                    .append(", Completed amount: ").append(completed)
-                    .append(", Completed task list:").append(completedTasks)
-                    .append(", Overdue: ").append(overdue)
-                    .append("Completion rate:").append(summary.getCompletionRate())
-                    .append("\n");
-
-            if (!summary.getCategoryBreakdown().isEmpty() && summary.getCategoryBreakdown() != null) {
-                final String categories = summary.getCategoryBreakdown().entrySet().stream()
-                        .map(entry -> entry.getKey() + "=" + entry.getValue())
-                        .collect(Collectors.joining(","));
-                prompt.append("Category breakdown: ").append(categories).append('\n');
+
+        DayRow merge(DayRow next) {
+            final DayRow merged = new DayRow(from);
+            merged.to = next.to;
+            for (DayRow part : List.of(this, next)) {
+                merged.scheduled += part.scheduled;
+                merged.completed += part.completed;
+                merged.hasTasks |= part.hasTasks;
+                part.categories.forEach((key, value) -> merged.categories.merge(key, value, Integer::sum));
+                merged.completedNames.addAll(part.completedNames);
+                merged.openNames.addAll(part.openNames);
+                merged.eventNames.addAll(part.eventNames);
+                merged.wellnessEntries += part.wellnessEntries;
+                merged.stressSum += part.stressSum;
+                merged.energySum += part.energySum;
+                merged.fatigueSum += part.fatigueSum;
+                part.moods.forEach((key, value) -> merged.moods.merge(key, value, Integer::sum));
+                merged.notes.addAll(part.notes);
             }
-            else {
-                prompt.append("No task data available for this date.");
+            return merged;
+        }
+
+        String label() {
+            if (from.equals(to)) {
+                return from.toString();
             }
+            return from + ".." + to;
         }
-    }
 
-    private static void extractWellnessLog(DailyLog log, StringBuilder prompt) {
-        prompt.append("Wellness Log: \n");
-        final DailyWellnessLogInterf wellnessLog = log.getDailyWellnessLog();
-        if (wellnessLog != null && wellnessLog.getEntries() != null && !wellnessLog.getEntries().isEmpty()) {
-            for (WellnessLogEntryInterf entry : wellnessLog.getEntries()) {
-                prompt.append("---")
-                        .append("Stress level: ").append(entry.getStressLevel()).append(",")
-                        .append("Energy level: ").append(entry.getEnergyLevel()).append(",")
-                        .append("Fatigue level: ").append(entry.getFatigueLevel()).append(",")
-                        .append("Mood: ").append(entry.getMoodLabel().getName())
-                        .append(", analyze how this mood may influence the above wellness levels and completion rate.");
-                if (entry.getUserNote() != null && !entry.getUserNote().isBlank()) {
-                    prompt.append("Note: ").append(entry.getUserNote());
-                }
-                prompt.append('\n');
+        double completionRate() {
+            if (scheduled == 0) {
+                return 0.0;
             }
+            return (double) completed / scheduled;
         }
-        else {
-            prompt.append("No wellness data on record for this date.");
+
+        double average(double sum) {
+            if (wellnessEntries == 0) {
+                return Double.NaN;
+            }
+            return sum / wellnessEntries;
+        }
+
+        void appendTo(StringBuilder table, Detail detail) {
+            final List<String> cells = new ArrayList<>();
+            cells.add(label());
+            if (hasTasks) {
+                cells.add(completed + "/" + scheduled);
+                cells.add(String.format("%.2f", completionRate()));
+            }
+            else {
+                cells.add(MISSING);
+                cells.add(MISSING);
+            }
+            if (detail.compareTo(Detail.NO_NAMES) <= 0) {
+                cells.add(counts(categories));
+            }
+            if (detail.compareTo(Detail.NO_NOTES) <= 0) {
+                cells.add(list(completedNames));
+                cells.add(list(openNames));
+                cells.add(list(eventNames));
+            }
+            else {
+                cells.add(Integer.toString(eventNames.size()));
+            }
+            cells.add(format(average(stressSum)));
+            cells.add(format(average(energySum)));
+            cells.add(format(average(fatigueSum)));
+            if (detail.compareTo(Detail.NO_NAMES) <= 0) {
+                cells.add(counts(moods));
+            }
+            if (detail == Detail.FULL) {
+                cells.add(list(notes));
+            }
+            table.append(String.join(SEPARATOR, cells)).append('\n');
         }
     }
 }
@@ -0,0 +1,211 @@
+package interface_adapter.generate_feedback;
+
+import java.time.Duration;
+
+/**
+ * Connection, retry and circuit breaker settings for the OpenAI HTTP client.
+ * Use {@link Builder} to override any of the defaults.
+ */
+public final class HttpClientConfig {
+
+    private final Duration connectTimeout;
+    private final Duration readTimeout;
+    private final Duration writeTimeout;
+    private final Duration callTimeout;
+    private final int maxIdleConnections;
+    private final Duration keepAlive;
+    private final int maxRetries;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final Duration maxRetryAfter;
+    private final int failureThreshold;
+    private final Duration openDuration;
+
+    private HttpClientConfig(Builder builder) {
+        this.connectTimeout = builder.connectTimeout;
+        this.readTimeout = builder.readTimeout;
+        this.writeTimeout = builder.writeTimeout;
+        this.callTimeout = builder.callTimeout;
+        this.maxIdleConnections = builder.maxIdleConnections;
+        this.keepAlive = builder.keepAlive;
+        this.maxRetries = builder.maxRetries;
+        this.baseBackoff = builder.baseBackoff;
+        this.maxBackoff = builder.maxBackoff;
+        this.maxRetryAfter = builder.maxRetryAfter;
+        this.failureThreshold = builder.failureThreshold;
+        this.openDuration = builder.openDuration;
+    }
+
+    /**
+     * Returns the default configuration.
+     * @return a config with every setting at its default
+     */
+    public static HttpClientConfig defaults() {
+        return new Builder().build();
+    }
+
+    public static class Builder {
+        private Duration connectTimeout = Duration.ofSeconds(10);
+        private Duration readTimeout = Duration.ofSeconds(30);
+        // Prompts are a few kilobytes, so a stalled upload shows much sooner than a slow reply
+        private Duration writeTimeout = Duration.ofSeconds(10);
+        private Duration callTimeout = Duration.ofMinutes(2);
+        private int maxIdleConnections = 5;
+        private Duration keepAlive = Duration.ofMinutes(5);
+        private int maxRetries = 3;
+        private Duration baseBackoff = Duration.ofMillis(500);
+        private Duration maxBackoff = Duration.ofSeconds(8);
+        private Duration maxRetryAfter = Duration.ofSeconds(30);
+        private int failureThreshold = 5;
+        private Duration openDuration = Duration.ofSeconds(60);
+
+        /**
+         * @param timeout time allowed to open a connection
+         * @return the Builder itself
+         */
+        public Builder connectTimeout(Duration timeout) {
+            this.connectTimeout = timeout;
+            return this;
+        }
+
+        /**
+         * @param timeout time allowed between bytes of a response, per attempt
+         * @return the Builder itself
+         */
+        public Builder readTimeout(Duration timeout) {
+            this.readTimeout = timeout;
+            return this;
+        }
+
+        /**
+         * @param timeout time allowed between bytes of a request body, per attempt
+         * @return the Builder itself
+         */
+        public Builder writeTimeout(Duration timeout) {
+            this.writeTimeout = timeout;
+            return this;
+        }
+
+        /**
+         * @param timeout time allowed for a whole call, retries and backoff included
+         * @return the Builder itself
+         */
+        public Builder callTimeout(Duration timeout) {
+            this.callTimeout = timeout;
+            return this;
+        }
+
+        /**
+         * @param max idle connections kept in the shared pool
+         * @param keepAliveParam how long an idle connection is kept
+         * @return the Builder itself
+         */
+        public Builder connectionPool(int max, Duration keepAliveParam) {
+            this.maxIdleConnections = max;
+            this.keepAlive = keepAliveParam;
+            return this;
+        }
+
+        /**
+         * @param retries how many times a 429, 5xx or I/O failure is retried
+         * @return the Builder itself
+         */
+        public Builder maxRetries(int retries) {
+            if (retries < 0) {
+                throw new IllegalArgumentException("maxRetries cannot be negative");
+            }
+            this.maxRetries = retries;
+            return this;
+        }
+
+        /**
+         * @param base backoff before the first retry; doubled on every further retry
+         * @param max upper bound of the backoff before jitter
+         * @return the Builder itself
+         */
+        public Builder backoff(Duration base, Duration max) {
+            this.baseBackoff = base;
+            this.maxBackoff = max;
+            return this;
+        }
+
+        /**
+         * @param max longest Retry-After the client will wait for before giving up on a retry
+         * @return the Builder itself
+         */
+        public Builder maxRetryAfter(Duration max) {
+            this.maxRetryAfter = max;
+            return this;
+        }
+
+        /**
+         * @param threshold consecutive failed calls that open the circuit
+         * @param open how long the circuit stays open before a trial call is let through
+         * @return the Builder itself
+         */
+        public Builder circuitBreaker(int threshold, Duration open) {
+            if (threshold <= 0) {
+                throw new IllegalArgumentException("Circuit breaker threshold must be positive");
+            }
+            this.failureThreshold = threshold;
+            this.openDuration = open;
+            return this;
+        }
+
+        /**
+         * Builds and returns a new config.
+         * @return new HttpClientConfig instance
+         */
+        public HttpClientConfig build() {
+            return new HttpClientConfig(this);
+        }
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    public Duration getWriteTimeout() {
+        return writeTimeout;
+    }
+
+    public Duration getCallTimeout() {
+        return callTimeout;
+    }
+
+    public int getMaxIdleConnections() {
+        return maxIdleConnections;
+    }
+
+    public Duration getKeepAlive() {
+        return keepAlive;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public Duration getBaseBackoff() {
+        return baseBackoff;
+    }
+
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public Duration getMaxRetryAfter() {
+        return maxRetryAfter;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public Duration getOpenDuration() {
+        return openDuration;
+    }
+}
@@ -1,39 +1,66 @@
 package interface_adapter.generate_feedback;
 
 import java.io.IOException;
-import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
 
 import constants.Constants;
+import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
 import okhttp3.Response;
+import okio.BufferedSource;
+import use_case.generate_feedback.AsyncGptService;
 import use_case.generate_feedback.GptService;
+import use_case.generate_feedback.StreamingGptService;
 
 // style checked
-public class OpenAiApiAdapter implements GptService {
+public class OpenAiApiAdapter implements GptService, AsyncGptService, StreamingGptService {
 
     private static final MediaType JSON = MediaType.get("application/json; charset=utf-8");
-    private static final String MODEL = "gpt-4o-mini";
+    private static final String SSE_DATA = "data:";
+    private static final String SSE_DONE = "[DONE]";
+    public static final String MODEL = "gpt-4o-mini";
+    public static final double TEMPERATURE = Constants.HALF;
     private static final String ENDPOINT = System.getProperty(
             "OPENAI_API_BASE_URL",
             "https://api.openai.com/v1/chat/completions");
 
     private final OkHttpClient client;
     private final String apiKey;
+    private final String endpoint;
 
     public OpenAiApiAdapter() {
-        this.apiKey = Objects.requireNonNull(System.getenv("OPENAI_API_KEY"), "OPENAI_API_KEY env variable not set.");
+        this(Objects.requireNonNull(System.getenv("OPENAI_API_KEY"), "OPENAI_API_KEY env variable not set."),
+                ENDPOINT);
+    }
 
-        this.client = new OkHttpClient.Builder()
-                .callTimeout(Duration.ofSeconds(Constants.THIRTY))
-                .build();
+    /**
+     * Creates an adapter for an explicit key and chat completions endpoint.
+     * @param apiKey the OpenAI API key
+     * @param endpoint the chat completions URL
+     */
+    public OpenAiApiAdapter(String apiKey, String endpoint) {
+        this(apiKey, endpoint, HttpClientConfig.defaults());
+    }
 
+    /**
+     * Creates an adapter with explicit timeout, connection pool, retry and circuit breaker settings.
+     * @param apiKey the OpenAI API key
+     * @param endpoint the chat completions URL
+     * @param config the HTTP client settings
+     */
+    public OpenAiApiAdapter(String apiKey, String endpoint, HttpClientConfig config) {
+        this.apiKey = Objects.requireNonNull(apiKey, "OPENAI_API_KEY env variable not set.");
+        this.endpoint = endpoint;
+        this.client = OpenAiHttpClients.create(config);
     }
 
     @Override public String callGeneralAnalysis(String prompt) throws IOException {
@@ -48,32 +75,147 @@ public class OpenAiApiAdapter implements GptService {
         return chat(prompt);
     }
 
+    @Override public CompletableFuture<String> callGeneralAnalysisAsync(String prompt) {
+        return chatAsync(prompt);
+    }
+
+    @Override public CompletableFuture<String> callCorrelationBayesAsync(String prompt) {
+        return chatAsync(prompt);
+    }
+
+    @Override public CompletableFuture<String> callRecommendationAsync(String prompt) {
+        return chatAsync(prompt);
+    }
+
+    /**
+     * Requests the recommendation with {@code stream: true} and forwards each server-sent
+     * content delta as it arrives.
+     * @param prompt the input containing analysis results and recommendation specifications
+     * @param onDelta receives each new piece of text on an OkHttp dispatcher thread
+     * @return a future of the complete, trimmed recommendation text
+     */
+    @Override public CompletableFuture<String> streamRecommendation(String prompt, Consumer<String> onDelta) {
+        final CompletableFuture<String> future = new CompletableFuture<>();
+        client.newCall(buildRequest(prompt, true)).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException exception) {
+                future.completeExceptionally(exception);
+            }
+
+            @Override
+            public void onResponse(Call call, Response resp) {
+                try (resp) {
+                    future.complete(readStream(resp, onDelta));
+                }
+                catch (IOException | RuntimeException exception) {
+                    future.completeExceptionally(exception);
+                }
+            }
+        });
+        return future;
+    }
+
     /* --------------- Internal helper --------------- */
 
     private String chat(String userPrompt) throws IOException {
+        try (Response resp = client.newCall(buildRequest(userPrompt, false)).execute()) {
+            return parseContent(resp);
+        }
+    }
+
+    private CompletableFuture<String> chatAsync(String userPrompt) {
+        final CompletableFuture<String> future = new CompletableFuture<>();
+        client.newCall(buildRequest(userPrompt, false)).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException exception) {
+                future.completeExceptionally(exception);
+            }
+
+            @Override
+            public void onResponse(Call call, Response resp) {
+                try (resp) {
+                    future.complete(parseContent(resp));
+                }
+                catch (IOException | RuntimeException exception) {
+                    future.completeExceptionally(exception);
+                }
+            }
+        });
+        return future;
+    }
+
+    private Request buildRequest(String userPrompt, boolean stream) {
         final JSONObject body = new JSONObject()
                 .put("model", MODEL)
-                .put("temperature", Constants.HALF)
+                .put("temperature", TEMPERATURE)
                 .put("messages", new JSONArray()
                         .put(new JSONObject().put("role", "user").put("content", userPrompt)));
+        if (stream) {
+            body.put("stream", true);
+        }
 
-        final Request req = new Request.Builder()
-                .url(ENDPOINT)
+        return new Request.Builder()
+                .url(endpoint)
                 .header("Authorization", "Bearer " + apiKey)
                 .post(RequestBody.create(body.toString(), JSON))
                 .build();
+    }
 
-        try (Response resp = client.newCall(req).execute()) {
-            if (!resp.isSuccessful()) {
-                throw new IOException("GPT API error " + resp.code() + ": " + resp.body().string());
+    private static String parseContent(Response resp) throws IOException {
+        checkSuccessful(resp);
+        final String json = Objects.requireNonNull(resp.body()).string();
+        final JSONArray choices = new JSONObject(json).getJSONArray("choices");
+        return choices.getJSONObject(0)
+                .getJSONObject("message")
+                .getString("content")
+                .trim();
+    }
+
+    /**
+     * Reads a server-sent event stream of chat completion chunks until {@code [DONE]}.
+     * @param resp the streaming response
+     * @param onDelta receives each non-empty content delta
+     * @return the concatenated, trimmed content
+     * @throws IOException if the call failed or the stream ended without {@code [DONE]}
+     */
+    static String readStream(Response resp, Consumer<String> onDelta) throws IOException {
+        checkSuccessful(resp);
+        final BufferedSource source = Objects.requireNonNull(resp.body()).source();
+        final StringBuilder content = new StringBuilder();
+        String line = source.readUtf8Line();
+        while (line != null) {
+            if (line.startsWith(SSE_DATA)) {
+                final String data = line.substring(SSE_DATA.length()).trim();
+                if (SSE_DONE.equals(data)) {
+                    return content.toString().trim();
+                }
+                final String delta = parseDelta(data);
+                if (!delta.isEmpty()) {
+                    content.append(delta);
+                    onDelta.accept(delta);
+                }
             }
-            final String json = Objects.requireNonNull(resp.body()).string();
-            final JSONArray choices = new JSONObject(json).getJSONArray("choices");
-            return choices.getJSONObject(0)
-                    .getJSONObject("message")
-                    .getString("content")
-                    .trim();
+            line = source.readUtf8Line();
+        }
+        // A connection closed before [DONE] leaves a partial answer that must not be saved as if whole
+        throw new IOException("GPT stream ended before [DONE] after " + content.length() + " characters");
+    }
+
+    private static String parseDelta(String chunk) {
+        final JSONArray choices = new JSONObject(chunk).optJSONArray("choices");
+        if (choices == null || choices.isEmpty()) {
+            return "";
+        }
+        final JSONObject delta = choices.getJSONObject(0).optJSONObject("delta");
+        if (delta == null) {
+            return "";
         }
+        return delta.optString("content", "");
     }
 
+    private static void checkSuccessful(Response resp) throws IOException {
+        if (!resp.isSuccessful()) {
+            throw new IOException("GPT API error " + resp.code() + ": " + resp.body().string());
+        }
+    }
 }
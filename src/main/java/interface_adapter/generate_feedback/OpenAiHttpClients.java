@@ -0,0 +1,69 @@
+package interface_adapter.generate_feedback;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+/**
+ * Builds the OkHttp clients used to talk to OpenAI.
+ * Every client shares one connection pool and dispatcher, so adapters reuse warm TLS connections
+ * (multiplexed over HTTP/2 where the server offers it) instead of each opening their own.
+ * Retry and circuit breaker state is per client.
+ */
+public final class OpenAiHttpClients {
+
+    private static final int MAX_REQUESTS_PER_HOST = 8;
+    private static final HttpClientConfig DEFAULTS = HttpClientConfig.defaults();
+    private static final OkHttpClient BASE = new OkHttpClient.Builder()
+            .connectionPool(new ConnectionPool(DEFAULTS.getMaxIdleConnections(),
+                    DEFAULTS.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS))
+            .dispatcher(sharedDispatcher())
+            .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+            .build();
+
+    private OpenAiHttpClients() {
+    }
+
+    /**
+     * Creates a client with the default settings.
+     * @return a new client on the shared pool
+     */
+    public static OkHttpClient create() {
+        return create(DEFAULTS);
+    }
+
+    /**
+     * Creates a client with the given settings. The shared pool is used unless the config asks
+     * for different pool limits.
+     * @param config timeouts, pool, retry and circuit breaker settings
+     * @return a new client
+     */
+    public static OkHttpClient create(HttpClientConfig config) {
+        final OkHttpClient.Builder builder = BASE.newBuilder()
+                .connectTimeout(config.getConnectTimeout())
+                .readTimeout(config.getReadTimeout())
+                .writeTimeout(config.getWriteTimeout())
+                .callTimeout(config.getCallTimeout())
+                // Retried by RetryInterceptor with backoff instead
+                .retryOnConnectionFailure(false)
+                .addInterceptor(new CircuitBreakerInterceptor(config.getFailureThreshold(),
+                        config.getOpenDuration()))
+                .addInterceptor(new RetryInterceptor(config));
+        if (config.getMaxIdleConnections() != DEFAULTS.getMaxIdleConnections()
+                || !config.getKeepAlive().equals(DEFAULTS.getKeepAlive())) {
+            builder.connectionPool(new ConnectionPool(config.getMaxIdleConnections(),
+                    config.getKeepAlive().toMillis(), TimeUnit.MILLISECONDS));
+        }
+        return builder.build();
+    }
+
+    private static Dispatcher sharedDispatcher() {
+        final Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+        return dispatcher;
+    }
+}
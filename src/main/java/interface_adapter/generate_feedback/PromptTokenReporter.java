@@ -0,0 +1,38 @@
+package interface_adapter.generate_feedback;
+
+/**
+ * Receives the estimated size of every prompt {@link GptPromptPortAdapter} builds, so GPT cost
+ * and latency can be tracked per request.
+ */
+@FunctionalInterface
+public interface PromptTokenReporter {
+
+    /** Discards every report. */
+    PromptTokenReporter NONE = (promptKind, tokens, budget) -> { };
+
+    /** Logs each prompt's size to standard output, so GPT costs can be followed in the app's log. */
+    PromptTokenReporter STDOUT = (promptKind, tokens, budget) ->
+            System.out.println("GPT " + promptKind + " prompt: ~" + tokens + " tokens (budget " + budget + ")");
+
+    /**
+     * Reports one built prompt.
+     * @param promptKind which prompt was built: "analysis", "correlation" or "recommendation"
+     * @param tokens the estimated token count of the prompt
+     * @param budget the token budget the prompt was fitted to
+     */
+    void report(String promptKind, int tokens, int budget);
+
+    /**
+     * Reports a prompt that is still over its budget after every row has been merged, because the
+     * instructions or a single merged row are larger than the budget on their own. The prompt is
+     * sent anyway, so by default the overrun is logged to standard error, whatever {@link #report}
+     * does with the size.
+     * @param promptKind which prompt was built
+     * @param tokens the estimated token count of the prompt
+     * @param budget the token budget it exceeds
+     */
+    default void reportOverBudget(String promptKind, int tokens, int budget) {
+        System.err.println("GPT " + promptKind + " prompt is ~" + tokens + " tokens, over its budget of "
+                + budget + " even at its leanest");
+    }
+}
@@ -0,0 +1,162 @@
+package interface_adapter.generate_feedback;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Retries OpenAI calls that fail with 429, a 5xx status or an I/O error.
+ * The wait before each retry honours the server's {@code Retry-After} header when present and
+ * otherwise uses exponential backoff with full jitter, so bursts of clients spread out.
+ */
+public class RetryInterceptor implements Interceptor {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int SERVER_ERROR = 500;
+
+    private final HttpClientConfig config;
+    private final Sleeper sleeper;
+    private final Clock clock;
+
+    /**
+     * Creates an interceptor that sleeps the calling thread between attempts.
+     * @param config retry and backoff settings
+     */
+    public RetryInterceptor(HttpClientConfig config) {
+        this(config, Thread::sleep, Clock.systemUTC());
+    }
+
+    /**
+     * Creates an interceptor with an explicit way to wait and tell the time.
+     * @param config retry and backoff settings
+     * @param sleeper waits between attempts
+     * @param clock used to turn an HTTP-date {@code Retry-After} into a delay
+     */
+    public RetryInterceptor(HttpClientConfig config, Sleeper sleeper, Clock clock) {
+        this.config = config;
+        this.sleeper = sleeper;
+        this.clock = clock;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        final Request request = chain.request();
+        int attempt = 0;
+        while (true) {
+            Response response = null;
+            IOException failure = null;
+            try {
+                response = chain.proceed(request);
+            }
+            catch (IOException exception) {
+                failure = exception;
+            }
+            if (response != null && !isRetryable(response.code())) {
+                return response;
+            }
+
+            long delay = backoffMillis(attempt);
+            if (response != null) {
+                final long retryAfter = retryAfterMillis(response.header("Retry-After"));
+                if (retryAfter > config.getMaxRetryAfter().toMillis()) {
+                    return response;
+                }
+                if (retryAfter >= 0) {
+                    delay = retryAfter;
+                }
+            }
+            if (attempt >= config.getMaxRetries()) {
+                if (response != null) {
+                    return response;
+                }
+                throw failure;
+            }
+            if (response != null) {
+                response.close();
+            }
+            pause(delay);
+            attempt++;
+        }
+    }
+
+    /**
+     * Tells whether a status code is worth retrying.
+     * @param code HTTP status code
+     * @return true for 429 and every 5xx status
+     */
+    static boolean isRetryable(int code) {
+        return code == TOO_MANY_REQUESTS || code >= SERVER_ERROR;
+    }
+
+    /**
+     * Picks a random delay between zero and the capped exponential backoff for the attempt.
+     * @param attempt zero for the first retry
+     * @return the delay in milliseconds
+     */
+    long backoffMillis(int attempt) {
+        final long base = config.getBaseBackoff().toMillis();
+        final long cap = config.getMaxBackoff().toMillis();
+        final long exponential;
+        if (attempt >= Long.SIZE - 2 || base << attempt > cap || base << attempt < 0) {
+            exponential = cap;
+        }
+        else {
+            exponential = base << attempt;
+        }
+        return ThreadLocalRandom.current().nextLong(exponential + 1);
+    }
+
+    /**
+     * Parses a {@code Retry-After} header given either as seconds or as an HTTP date.
+     * @param header the header value, may be null
+     * @return the delay in milliseconds, or -1 if the header is absent or unreadable
+     */
+    long retryAfterMillis(String header) {
+        if (header == null || header.isBlank()) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Duration.ofSeconds(Long.parseLong(header.trim())).toMillis());
+        }
+        catch (NumberFormatException notSeconds) {
+            try {
+                final ZonedDateTime at = ZonedDateTime.parse(header.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, at.toInstant().toEpochMilli() - clock.millis());
+            }
+            catch (DateTimeParseException notDate) {
+                return -1;
+            }
+        }
+    }
+
+    private void pause(long millis) throws IOException {
+        try {
+            sleeper.sleep(millis);
+        }
+        catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while backing off before a retry");
+        }
+    }
+
+    /**
+     * Waits between attempts.
+     */
+    @FunctionalInterface
+    public interface Sleeper {
+        /**
+         * @param millis how long to wait
+         * @throws InterruptedException if the wait is interrupted
+         */
+        void sleep(long millis) throws InterruptedException;
+    }
+}
@@ -0,0 +1,45 @@
+package interface_adapter.generate_feedback;
+
+/**
+ * Cheap estimate of how many tokens a prompt costs, without shipping a tokenizer.
+ * English prose averages about four characters per token, while short words, digits and
+ * punctuation-heavy tables cost closer to one token per word or symbol; the estimate takes the
+ * larger of the two so budgets err on the safe side.
+ */
+public final class TokenEstimator {
+
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private TokenEstimator() {
+    }
+
+    /**
+     * Estimates the token count of a piece of text.
+     * @param text the text
+     * @return the estimated number of tokens, 0 for null or empty text
+     */
+    public static int estimate(CharSequence text) {
+        if (text == null || text.length() == 0) {
+            return 0;
+        }
+        int pieces = 0;
+        boolean inWord = false;
+        for (int i = 0; i < text.length(); i++) {
+            final char ch = text.charAt(i);
+            if (Character.isLetterOrDigit(ch)) {
+                if (!inWord) {
+                    pieces++;
+                    inWord = true;
+                }
+            }
+            else {
+                inWord = false;
+                if (!Character.isWhitespace(ch)) {
+                    pieces++;
+                }
+            }
+        }
+        final int byLength = (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+        return Math.max(byLength, pieces);
+    }
+}
@@ -1,6 +1,7 @@
 package use_case.Angela.category;
 
 import entity.Category;
+import use_case.Angela.today_so_far.CategoryReadDataAccessInterface;
 import java.util.List;
 
 /**
@@ -16,7 +17,7 @@ import java.util.List;
  * - CategoryReadDataAccessInterface for category read operations
  */
 @Deprecated
-public interface CategoryGateway {
+public interface CategoryGateway extends CategoryReadDataAccessInterface {
 
     /**
      * Saves a new category.
@@ -4,7 +4,10 @@ import entity.Category;
 import entity.Angela.Task.TaskAvailable;
 import entity.Angela.Task.Task;
 import entity.info.Info;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Interactor for the delete category use case.
@@ -46,70 +49,30 @@ public class DeleteCategoryInteractor implements DeleteCategoryInputBoundary {
             return;
         }
         
-        // Check if deleting this category will create duplicate tasks with the same name and empty category
-        // First, get all tasks that currently have this category
-        List<TaskAvailable> tasksWithThisCategory = taskDataAccess.findAvailableTasksByCategory(categoryId);
-        List<Task> todaysTasksWithThisCategory = taskDataAccess.findTodaysTasksByCategory(categoryId);
-        
-        // Then check if there are already tasks with empty categories that have the same names
-        List<TaskAvailable> existingEmptyAvailableTasks = taskDataAccess.findAvailableTasksWithEmptyCategory();
-        List<Task> existingEmptyTodaysTasks = taskDataAccess.findTodaysTasksWithEmptyCategory();
-        
-        // Check for name conflicts in available tasks
-        int conflictingAvailableTasks = 0;
-        for (TaskAvailable taskWithCategory : tasksWithThisCategory) {
-            String taskName = taskWithCategory.getInfo().getName();
-            for (TaskAvailable emptyTask : existingEmptyAvailableTasks) {
-                if (taskName != null && taskName.equalsIgnoreCase(emptyTask.getInfo().getName())) {
-                    conflictingAvailableTasks++;
-                    break; // Found one conflict for this task name, no need to check more
-                }
-            }
-        }
-        
-        // Check for name conflicts in today's tasks
-        int conflictingTodaysTasks = 0;
-        for (Task taskWithCategory : todaysTasksWithThisCategory) {
-            String taskName = taskWithCategory.getInfo().getName();
-            for (Task emptyTask : existingEmptyTodaysTasks) {
-                if (taskName != null && taskName.equalsIgnoreCase(emptyTask.getInfo().getName())) {
-                    conflictingTodaysTasks++;
-                    break; // Found one conflict for this task name, no need to check more
-                }
-            }
-        }
-        
+        // Check if deleting this category will create duplicate tasks with the same name and empty category.
+        // Each list is read once; the names already in the empty category go into a set, so the
+        // check is linear in the number of tasks rather than tasks-in-category times empty tasks.
+        List<TaskAvailable> availableTasksToUpdate = taskDataAccess.findAvailableTasksByCategory(categoryId);
+        List<Task> todaysTasksToUpdate = taskDataAccess.findTodaysTasksByCategory(categoryId);
+
+        int conflictingAvailableTasks = countNameConflicts(availableTasksToUpdate,
+                taskDataAccess.findAvailableTasksWithEmptyCategory(), task -> task.getInfo().getName());
+        int conflictingTodaysTasks = countNameConflicts(todaysTasksToUpdate,
+                taskDataAccess.findTodaysTasksWithEmptyCategory(), task -> task.getInfo().getName());
+
         // Check events if available
+        List<Info> availableEventsToUpdate = List.of();
+        List<Info> todaysEventsToUpdate = List.of();
         int conflictingAvailableEvents = 0;
         int conflictingTodaysEvents = 0;
-        
+
         if (eventDataAccess != null) {
-            List<Info> eventsWithThisCategory = eventDataAccess.findAvailableEventsByCategory(categoryId);
-            List<Info> todaysEventsWithThisCategory = eventDataAccess.findTodaysEventsByCategory(categoryId);
-            List<Info> existingEmptyAvailableEvents = eventDataAccess.findAvailableEventsWithEmptyCategory();
-            List<Info> existingEmptyTodaysEvents = eventDataAccess.findTodaysEventsWithEmptyCategory();
-            
-            // Check for name conflicts in available events
-            for (Info eventWithCategory : eventsWithThisCategory) {
-                String eventName = eventWithCategory.getName();
-                for (Info emptyEvent : existingEmptyAvailableEvents) {
-                    if (eventName != null && eventName.equalsIgnoreCase(emptyEvent.getName())) {
-                        conflictingAvailableEvents++;
-                        break;
-                    }
-                }
-            }
-            
-            // Check for name conflicts in today's events
-            for (Info eventWithCategory : todaysEventsWithThisCategory) {
-                String eventName = eventWithCategory.getName();
-                for (Info emptyEvent : existingEmptyTodaysEvents) {
-                    if (eventName != null && eventName.equalsIgnoreCase(emptyEvent.getName())) {
-                        conflictingTodaysEvents++;
-                        break;
-                    }
-                }
-            }
+            availableEventsToUpdate = eventDataAccess.findAvailableEventsByCategory(categoryId);
+            todaysEventsToUpdate = eventDataAccess.findTodaysEventsByCategory(categoryId);
+            conflictingAvailableEvents = countNameConflicts(availableEventsToUpdate,
+                    eventDataAccess.findAvailableEventsWithEmptyCategory(), Info::getName);
+            conflictingTodaysEvents = countNameConflicts(todaysEventsToUpdate,
+                    eventDataAccess.findTodaysEventsWithEmptyCategory(), Info::getName);
         }
         
         int totalConflictingTasks = conflictingAvailableTasks + conflictingTodaysTasks;
@@ -136,19 +99,6 @@ public class DeleteCategoryInteractor implements DeleteCategoryInputBoundary {
         }
         
 
-        // Count how many tasks and events will be updated BEFORE updating them
-        List<TaskAvailable> availableTasksToUpdate = taskDataAccess.findAvailableTasksByCategory(categoryId);
-        List<Task> todaysTasksToUpdate = taskDataAccess.findTodaysTasksByCategory(categoryId);
-        
-        int availableEventsToUpdate = 0;
-        int todaysEventsToUpdate = 0;
-        if (eventDataAccess != null) {
-            List<entity.info.Info> availableEvents = eventDataAccess.findAvailableEventsByCategory(categoryId);
-            List<entity.info.Info> todaysEvents = eventDataAccess.findTodaysEventsByCategory(categoryId);
-            availableEventsToUpdate = availableEvents.size();
-            todaysEventsToUpdate = todaysEvents.size();
-        }
-        
         // CRITICAL: Update all tasks that have this category BEFORE deleting the category
         boolean taskUpdateSuccess = taskDataAccess.updateTasksCategoryToNull(categoryId);
         
@@ -173,11 +123,11 @@ public class DeleteCategoryInteractor implements DeleteCategoryInputBoundary {
 
         if (deleted) {
             String message;
-            if (eventDataAccess != null && (availableEventsToUpdate > 0 || todaysEventsToUpdate > 0)) {
+            if (eventDataAccess != null && (!availableEventsToUpdate.isEmpty() || !todaysEventsToUpdate.isEmpty())) {
                 message = String.format(
                     "Category deleted successfully. Updated %d available tasks, %d today's tasks, %d available events, and %d today's events", 
                     availableTasksToUpdate.size(), todaysTasksToUpdate.size(), 
-                    availableEventsToUpdate, todaysEventsToUpdate
+                    availableEventsToUpdate.size(), todaysEventsToUpdate.size()
                 );
             } else {
                 message = String.format(
@@ -192,4 +142,42 @@ public class DeleteCategoryInteractor implements DeleteCategoryInputBoundary {
             outputBoundary.prepareFailView("Failed to delete category");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Counts the items whose names, ignoring case, are already taken by an item with an empty
+     * category. Runs in O(n + m) using a set of the empty-category names.
+     */
+    private static <T> int countNameConflicts(List<T> itemsWithCategory, List<T> itemsWithEmptyCategory,
+                                              Function<T, String> nameOf) {
+        if (itemsWithCategory.isEmpty() || itemsWithEmptyCategory.isEmpty()) {
+            return 0;
+        }
+        Set<String> emptyCategoryNames = new HashSet<>();
+        for (T item : itemsWithEmptyCategory) {
+            String name = nameOf.apply(item);
+            if (name != null) {
+                emptyCategoryNames.add(foldCase(name));
+            }
+        }
+        int conflicts = 0;
+        for (T item : itemsWithCategory) {
+            String name = nameOf.apply(item);
+            if (name != null && emptyCategoryNames.contains(foldCase(name))) {
+                conflicts++;
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Folds a name so that two names are equal exactly when String.equalsIgnoreCase says so,
+     * which also compares the upper- and lower-case forms of each character.
+     */
+    private static String foldCase(String name) {
+        StringBuilder folded = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            folded.append(Character.toLowerCase(Character.toUpperCase(name.charAt(i))));
+        }
+        return folded.toString();
+    }
+}
@@ -1,17 +1,20 @@
 package use_case.Angela.task.overdue;
 
 import entity.Category;
+import use_case.Angela.today_so_far.CategoryReadDataAccessInterface;
 
 /**
  * Data access interface for category operations required by the overdue tasks use case.
- * Follows Interface Segregation Principle.
+ * Follows Interface Segregation Principle; category names come from
+ * {@link CategoryReadDataAccessInterface#getCategoryName(String)}.
  */
-public interface OverdueTasksCategoryDataAccessInterface {
+public interface OverdueTasksCategoryDataAccessInterface extends CategoryReadDataAccessInterface {
     /**
      * Finds a category by its ID.
      *
      * @param id The category ID
      * @return The category, or null if not found
      */
+    @Override
     Category getCategoryById(String id);
 }
\ No newline at end of file
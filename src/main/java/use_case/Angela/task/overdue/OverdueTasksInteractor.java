@@ -1,7 +1,6 @@
 package use_case.Angela.task.overdue;
 
 import entity.Angela.Task.TaskInterf;
-import entity.Category;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
@@ -39,9 +38,9 @@ public class OverdueTasksInteractor implements OverdueTasksInputBoundary {
                 String categoryName = "";
                 String categoryId = task.getInfo().getCategory();
                 if (categoryId != null && !categoryId.isEmpty()) {
-                    Category category = categoryDataAccess.getCategoryById(categoryId);
-                    if (category != null) {
-                        categoryName = category.getName();
+                    String name = categoryDataAccess.getCategoryName(categoryId);
+                    if (name != null) {
+                        categoryName = name;
                     }
                 }
                 
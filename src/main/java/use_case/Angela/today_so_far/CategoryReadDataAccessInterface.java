@@ -13,4 +13,19 @@ public interface CategoryReadDataAccessInterface {
      * @return The category, or null if not found
      */
     Category getCategoryById(String id);
+
+    /**
+     * Finds the name of a category by its ID. Implementations that keep a name cache
+     * answer this without looking the category up.
+     *
+     * @param id The category ID
+     * @return The category name, or null if there is no such category
+     */
+    default String getCategoryName(String id) {
+        if (id == null) {
+            return null;
+        }
+        Category category = getCategoryById(id);
+        return category != null ? category.getName() : null;
+    }
 }
\ No newline at end of file
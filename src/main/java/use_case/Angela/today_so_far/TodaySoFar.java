@@ -0,0 +1,236 @@
+package use_case.Angela.today_so_far;
+
+import entity.Angela.Task.TaskInterf;
+import entity.Sophia.GoalInterface;
+import entity.alex.Event.EventInterf;
+import entity.alex.WellnessLogEntry.WellnessLogEntryInterf;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * What the Today So Far panel shows, kept up to date one change at a time.
+ *
+ * <p>Each goal, task, event and wellness entry is stored as the row the panel draws, keyed by
+ * its ID, so applying a change costs one map update instead of re-reading every list. Rows keep
+ * the category ID rather than its name, so renaming a category shows up on the next render.</p>
+ *
+ * <p>Not thread-safe; callers apply changes and render from one thread.</p>
+ */
+public class TodaySoFar {
+
+    private static final DateTimeFormatter PERIOD_FORMAT = DateTimeFormatter.ofPattern("MMM dd");
+
+    private final Map<String, TodaySoFarOutputData.GoalProgress> goals = new LinkedHashMap<>();
+    private final Map<String, Item> completedTasks = new LinkedHashMap<>();
+    private final Map<String, Item> events = new LinkedHashMap<>();
+    private final Map<String, TodaySoFarOutputData.WellnessEntry> wellnessEntries = new LinkedHashMap<>();
+
+    /**
+     * Whether each of today's tasks (overdue tasks excluded) is completed, to keep the counts.
+     */
+    private final Map<String, Boolean> todaysTasks = new HashMap<>();
+    private int totalTaskCount;
+    private int completedTaskCount;
+
+    /**
+     * Builds the aggregate from the data access object's lists in one pass.
+     *
+     * @param dataAccess where to read today's data
+     * @return the aggregate
+     */
+    public static TodaySoFar from(TodaySoFarDataAccessInterface dataAccess) {
+        final TodaySoFar todaySoFar = new TodaySoFar();
+        final List<GoalInterface> goals = dataAccess.getActiveGoals();
+        if (goals != null) {
+            for (GoalInterface goal : goals) {
+                todaySoFar.goalChanged(goal.getGoalInfo().getInfo().getName(), goal);
+            }
+        }
+        final List<TaskInterf> completedTasks = dataAccess.getCompletedTasksForToday();
+        if (completedTasks != null) {
+            for (TaskInterf task : completedTasks) {
+                todaySoFar.completedTasks.put(task.getId(),
+                        new Item(task.getInfo().getName(), task.getInfo().getCategory()));
+            }
+        }
+        final List<EventInterf> events = dataAccess.getCompletedEventsForToday();
+        if (events != null) {
+            for (EventInterf event : events) {
+                todaySoFar.eventChanged(event.getInfo().getId(), event);
+            }
+        }
+        final List<WellnessLogEntryInterf> entries = dataAccess.getWellnessEntriesForToday();
+        if (entries != null) {
+            for (WellnessLogEntryInterf entry : entries) {
+                todaySoFar.wellnessEntryChanged(entry.getId(), entry);
+            }
+        }
+        todaySoFar.totalTaskCount = dataAccess.getTotalTasksForToday();
+        todaySoFar.completedTaskCount = dataAccess.getCompletedTasksCountForToday();
+        return todaySoFar;
+    }
+
+    /**
+     * Applies a change to one of today's goals.
+     *
+     * @param goalName the goal's name
+     * @param goal the goal as it is now, or null if it is no longer on today's list
+     */
+    public void goalChanged(String goalName, GoalInterface goal) {
+        if (goal == null) {
+            goals.remove(goalName);
+        }
+        else {
+            goals.put(goalName, new TodaySoFarOutputData.GoalProgress(
+                    goal.getGoalInfo().getInfo().getName(), formatPeriod(goal), formatProgress(goal)));
+        }
+    }
+
+    /**
+     * Applies a change to one of today's tasks. Overdue tasks are not counted.
+     *
+     * @param taskId the task's ID
+     * @param task the task as it is now, or null if it was removed from today
+     */
+    public void taskChanged(String taskId, TaskInterf task) {
+        final Boolean wasCompleted = todaysTasks.remove(taskId);
+        if (wasCompleted != null) {
+            totalTaskCount--;
+            if (wasCompleted) {
+                completedTaskCount--;
+            }
+        }
+        if (task == null || task.isOverDue()) {
+            completedTasks.remove(taskId);
+            return;
+        }
+        final boolean completed = task.getStatus();
+        todaysTasks.put(taskId, completed);
+        totalTaskCount++;
+        if (completed) {
+            completedTaskCount++;
+            completedTasks.put(taskId, new Item(task.getInfo().getName(), task.getInfo().getCategory()));
+        }
+        else {
+            completedTasks.remove(taskId);
+        }
+    }
+
+    /**
+     * Applies a change to one of today's events. Every logged event counts as completed.
+     *
+     * @param eventId the event's ID
+     * @param event the event as it is now, or null if it was removed
+     */
+    public void eventChanged(String eventId, EventInterf event) {
+        if (event == null || event.getInfo() == null) {
+            events.remove(eventId);
+        }
+        else {
+            events.put(eventId, new Item(event.getInfo().getName(), event.getInfo().getCategory()));
+        }
+    }
+
+    /**
+     * Applies a change to one of today's wellness entries.
+     *
+     * @param entryId the entry's ID
+     * @param entry the entry as it is now, or null if it was removed
+     */
+    public void wellnessEntryChanged(String entryId, WellnessLogEntryInterf entry) {
+        if (entry == null) {
+            wellnessEntries.remove(entryId);
+            return;
+        }
+        final String mood = entry.getMoodLabel() != null ? entry.getMoodLabel().toString() : "Unknown";
+        final int stress = entry.getStressLevel() != null ? entry.getStressLevel().getValue() : 0;
+        final int energy = entry.getEnergyLevel() != null ? entry.getEnergyLevel().getValue() : 0;
+        final int fatigue = entry.getFatigueLevel() != null ? entry.getFatigueLevel().getValue() : 0;
+        final LocalTime time = entry.getTime() != null ? entry.getTime().toLocalTime() : LocalTime.now();
+        wellnessEntries.put(entryId, new TodaySoFarOutputData.WellnessEntry(mood, stress, energy, fatigue, time));
+    }
+
+    /**
+     * Percentage of today's tasks that are completed, rounded.
+     *
+     * @return the completion rate, 0 to 100
+     */
+    public int getCompletionRate() {
+        if (totalTaskCount <= 0) {
+            return 0;
+        }
+        return (int) Math.round((completedTaskCount * 100.0) / totalTaskCount);
+    }
+
+    /**
+     * Copies the rows out for the panel. Each category is named once, however many rows use it.
+     *
+     * @param categoryName turns a category ID into the name to show
+     * @return the output data
+     */
+    public TodaySoFarOutputData toOutputData(Function<String, String> categoryName) {
+        final Map<String, String> names = new HashMap<>();
+        final List<TodaySoFarOutputData.CompletedItem> completedItems = new ArrayList<>();
+        for (Item task : completedTasks.values()) {
+            completedItems.add(task.toCompletedItem("Task", names, categoryName));
+        }
+        for (Item event : events.values()) {
+            completedItems.add(event.toCompletedItem("Event", names, categoryName));
+        }
+        return new TodaySoFarOutputData(
+                new ArrayList<>(goals.values()),
+                completedItems,
+                getCompletionRate(),
+                new ArrayList<>(wellnessEntries.values()));
+    }
+
+    private static String formatPeriod(GoalInterface goal) {
+        if (goal.getTimePeriod() != null) {
+            switch (goal.getTimePeriod()) {
+                case WEEK:
+                    return "Weekly";
+                case MONTH:
+                    return "Monthly";
+                default:
+                    if (goal.getBeginAndDueDates() != null) {
+                        final String start = goal.getBeginAndDueDates().getBeginDate().format(PERIOD_FORMAT);
+                        final String end = goal.getBeginAndDueDates().getDueDate().format(PERIOD_FORMAT);
+                        return start + " - " + end;
+                    }
+            }
+        }
+        return "Ongoing";
+    }
+
+    private static String formatProgress(GoalInterface goal) {
+        return goal.getCurrentProgress() + "/" + goal.getFrequency();
+    }
+
+    /**
+     * A completed task or event, with its category still as an ID.
+     */
+    private static final class Item {
+        private final String name;
+        private final String categoryId;
+
+        Item(String name, String categoryId) {
+            this.name = name;
+            this.categoryId = categoryId;
+        }
+
+        TodaySoFarOutputData.CompletedItem toCompletedItem(String type, Map<String, String> names,
+                                                           Function<String, String> categoryName) {
+            final String category = categoryId == null
+                    ? categoryName.apply(null)
+                    : names.computeIfAbsent(categoryId, categoryName);
+            return new TodaySoFarOutputData.CompletedItem(type, name, category);
+        }
+    }
+}
@@ -54,4 +54,14 @@ public interface TodaySoFarDataAccessInterface {
      * @return Completed task count
      */
     int getCompletedTasksCountForToday();
+    
+    /**
+     * Gets everything the panel shows as one aggregate.
+     * The default builds it from the lists above on every call; implementations that see
+     * each change can keep one up to date instead.
+     * @return Today's aggregate
+     */
+    default TodaySoFar getTodaySoFar() {
+        return TodaySoFar.from(this);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,311 @@
+package use_case.Angela.view_history;
+
+import entity.Angela.Task.Task;
+import entity.Angela.TodaySoFarSnapshot;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Range queries over history: completion-rate series, completed tasks per category, goal progress
+ * curves and rolling averages.
+ *
+ * Each snapshot is reduced once, when it is recorded, to a handful of numbers stored in primitive
+ * columns indexed by day: an {@code int[]} each for task counts, completed counts and completion
+ * rates, one {@code int[]} per category for its completed count, and one per goal for its progress.
+ * A query over a range copies or sums a slice of those arrays and never touches a snapshot, so it
+ * costs one pass over the days in the range. Days without a snapshot hold {@link #NO_DATA} in the
+ * rate and goal columns and count as zero tasks.
+ *
+ * History stores that keep their own instance up to date expose it through
+ * {@link HistoryMetricsDataAccessInterface}; {@link #of(ViewHistoryDataAccessInterface)} builds one
+ * for any other store. Instances are safe to query while snapshots are being recorded.
+ */
+public class HistoryAnalytics {
+
+    /**
+     * Marks a day without a snapshot in completion-rate and goal-progress series.
+     */
+    public static final int NO_DATA = -1;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** Epoch day of index 0; meaningful only once a day has been recorded. */
+    private long baseDay;
+    /** Number of days from baseDay up to and including the latest recorded day. */
+    private int length;
+    private int[] taskCounts = new int[0];
+    private int[] completedCounts = new int[0];
+    private int[] completionRates = new int[0];
+    private final Map<String, int[]> completedByCategory = new HashMap<>();
+    private final Map<String, int[]> goalProgress = new HashMap<>();
+
+    /**
+     * Returns the analytics of a history store: the store's own, kept up to date as it saves
+     * snapshots, or else one built by reading each of its snapshots once.
+     *
+     * @param history the history store
+     * @return analytics over its snapshots
+     */
+    public static HistoryAnalytics of(ViewHistoryDataAccessInterface history) {
+        if (history instanceof HistoryMetricsDataAccessInterface) {
+            return ((HistoryMetricsDataAccessInterface) history).getAnalytics();
+        }
+        final HistoryAnalytics analytics = new HistoryAnalytics();
+        for (LocalDate date : history.getAvailableDates()) {
+            final TodaySoFarSnapshot snapshot = history.getSnapshot(date);
+            if (snapshot != null) {
+                analytics.record(snapshot);
+            }
+        }
+        return analytics;
+    }
+
+    /**
+     * Records a day's snapshot, replacing whatever was recorded for its date.
+     *
+     * @param snapshot the snapshot
+     */
+    public void record(TodaySoFarSnapshot snapshot) {
+        record(snapshot.getDate(), snapshot.getTodaysTasks().size(), snapshot.getCompletedTasks().size(),
+                snapshot.getTaskCompletionRate(), countByCategory(snapshot.getCompletedTasks()),
+                snapshot.getGoalProgress());
+    }
+
+    /**
+     * Records the figures of one day, replacing whatever was recorded for that date.
+     *
+     * @param date the day
+     * @param tasks the number of tasks that day
+     * @param completed the number of them completed
+     * @param completionRate the completion rate, as a percentage
+     * @param completedPerCategory completed tasks per category
+     * @param goals the progress of each goal at the end of the day
+     */
+    public synchronized void record(LocalDate date, int tasks, int completed, int completionRate,
+                                    Map<String, Integer> completedPerCategory,
+                                    List<TodaySoFarSnapshot.GoalProgress> goals) {
+        final int i = slotFor(date.toEpochDay());
+        taskCounts[i] = tasks;
+        completedCounts[i] = completed;
+        completionRates[i] = completionRate;
+        for (int[] column : completedByCategory.values()) {
+            column[i] = 0;
+        }
+        completedPerCategory.forEach((category, count) -> column(completedByCategory, category, 0)[i] = count);
+        for (int[] column : goalProgress.values()) {
+            column[i] = NO_DATA;
+        }
+        for (TodaySoFarSnapshot.GoalProgress goal : goals) {
+            column(goalProgress, goal.getGoalId(), NO_DATA)[i] = goal.getCurrent();
+        }
+    }
+
+    /**
+     * Returns the completion rate of each day in a range.
+     *
+     * @param from the first day, inclusive
+     * @param to the last day, inclusive
+     * @return one rate per day, {@link #NO_DATA} for days without a snapshot
+     */
+    public synchronized int[] completionRates(LocalDate from, LocalDate to) {
+        return slice(completionRates, from, to, NO_DATA);
+    }
+
+    /**
+     * Returns the number of tasks of each day in a range.
+     *
+     * @param from the first day, inclusive
+     * @param to the last day, inclusive
+     * @return one count per day, 0 for days without a snapshot
+     */
+    public synchronized int[] taskCounts(LocalDate from, LocalDate to) {
+        return slice(taskCounts, from, to, 0);
+    }
+
+    /**
+     * Returns the number of completed tasks of each day in a range.
+     *
+     * @param from the first day, inclusive
+     * @param to the last day, inclusive
+     * @return one count per day, 0 for days without a snapshot
+     */
+    public synchronized int[] completedCounts(LocalDate from, LocalDate to) {
+        return slice(completedCounts, from, to, 0);
+    }
+
+    /**
+     * Returns how many tasks were completed in each category over a range.
+     *
+     * @param from the first day, inclusive
+     * @param to the last day, inclusive
+     * @return completed counts by category name, omitting categories with none
+     */
+    public synchronized Map<String, Integer> completedByCategory(LocalDate from, LocalDate to) {
+        final Map<String, Integer> totals = new TreeMap<>();
+        for (Map.Entry<String, int[]> category : completedByCategory.entrySet()) {
+            int total = 0;
+            for (int count : slice(category.getValue(), from, to, 0)) {
+                total += count;
+            }
+            if (total > 0) {
+                totals.put(category.getKey(), total);
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * Returns the progress of a goal at the end of each day in a range.
+     *
+     * @param goalId the goal
+     * @param from the first day, inclusive
+     * @param to the last day, inclusive
+     * @return one value per day, {@link #NO_DATA} for days the goal was not recorded
+     */
+    public synchronized int[] goalProgress(String goalId, LocalDate from, LocalDate to) {
+        final int[] column = goalProgress.get(goalId);
+        if (column == null) {
+            final int[] none = new int[daysBetween(from, to)];
+            Arrays.fill(none, NO_DATA);
+            return none;
+        }
+        return slice(column, from, to, NO_DATA);
+    }
+
+    /**
+     * Returns the rolling average of the completion rate for each day in a range: the mean over
+     * the days with a snapshot among that day and the {@code window - 1} days before it.
+     *
+     * @param from the first day, inclusive
+     * @param to the last day, inclusive
+     * @param window the number of days averaged, such as 7 or 30
+     * @return one average per day, NaN where the window holds no snapshot
+     * @throws IllegalArgumentException if the window is not positive
+     */
+    public synchronized double[] rollingAverageCompletionRate(LocalDate from, LocalDate to, int window) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("window must be positive");
+        }
+        final int days = daysBetween(from, to);
+        final int[] rates = slice(completionRates, from.minusDays(window - 1L), to, NO_DATA);
+        final double[] averages = new double[days];
+        long sum = 0;
+        int count = 0;
+        for (int i = 0; i < rates.length; i++) {
+            if (rates[i] != NO_DATA) {
+                sum += rates[i];
+                count++;
+            }
+            if (i >= window && rates[i - window] != NO_DATA) {
+                sum -= rates[i - window];
+                count--;
+            }
+            if (i >= window - 1) {
+                averages[i - (window - 1)] = count == 0 ? Double.NaN : (double) sum / count;
+            }
+        }
+        return averages;
+    }
+
+    /**
+     * Counts completed tasks per category, as recorded for a day.
+     *
+     * @param completed the completed tasks
+     * @return counts by category, leaving out tasks without one
+     */
+    public static Map<String, Integer> countByCategory(List<Task> completed) {
+        final Map<String, Integer> counts = new TreeMap<>();
+        for (Task task : completed) {
+            final String category = task.getInfo().getCategory();
+            if (category != null) {
+                counts.merge(category, 1, Integer::sum);
+            }
+        }
+        return counts;
+    }
+
+    private int[] column(Map<String, int[]> columns, String key, int missing) {
+        return columns.computeIfAbsent(key, k -> {
+            final int[] column = new int[taskCounts.length];
+            Arrays.fill(column, missing);
+            return column;
+        });
+    }
+
+    /**
+     * Returns the index of a day, growing or shifting the columns so that it is covered.
+     */
+    private int slotFor(long epochDay) {
+        if (length == 0) {
+            baseDay = epochDay;
+            ensureCapacity(INITIAL_CAPACITY, 0);
+        }
+        else if (epochDay < baseDay) {
+            final int shift = Math.toIntExact(baseDay - epochDay);
+            ensureCapacity(length + shift, shift);
+            baseDay = epochDay;
+            length += shift;
+        }
+        final int index = Math.toIntExact(epochDay - baseDay);
+        if (index >= taskCounts.length) {
+            ensureCapacity(Math.max(index + 1, taskCounts.length * 2), 0);
+        }
+        length = Math.max(length, index + 1);
+        return index;
+    }
+
+    /**
+     * Reallocates every column to at least the given capacity, moving existing days up by
+     * {@code shift} slots. New slots are empty days.
+     */
+    private void ensureCapacity(int capacity, int shift) {
+        final int size = Math.max(capacity, taskCounts.length);
+        taskCounts = resize(taskCounts, size, shift, 0);
+        completedCounts = resize(completedCounts, size, shift, 0);
+        completionRates = resize(completionRates, size, shift, NO_DATA);
+        completedByCategory.replaceAll((category, column) -> resize(column, size, shift, 0));
+        goalProgress.replaceAll((goal, column) -> resize(column, size, shift, NO_DATA));
+    }
+
+    private static int[] resize(int[] column, int size, int shift, int empty) {
+        if (shift == 0 && column.length == size) {
+            return column;
+        }
+        final int[] resized = new int[size];
+        Arrays.fill(resized, empty);
+        System.arraycopy(column, 0, resized, shift, Math.min(column.length, size - shift));
+        return resized;
+    }
+
+    /**
+     * Copies the part of a column covering a range; days outside the recorded span are empty.
+     */
+    private int[] slice(int[] column, LocalDate from, LocalDate to, int empty) {
+        final int days = daysBetween(from, to);
+        final int[] result = new int[days];
+        Arrays.fill(result, empty);
+        if (length == 0) {
+            return result;
+        }
+        final long start = from.toEpochDay() - baseDay;
+        final long first = Math.max(0, start);
+        final long last = Math.min(length, start + days);
+        if (first < last) {
+            System.arraycopy(column, (int) first, result, (int) (first - start), (int) (last - first));
+        }
+        return result;
+    }
+
+    private static int daysBetween(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Range ends before it starts: " + from + " to " + to);
+        }
+        return Math.toIntExact(ChronoUnit.DAYS.between(from, to) + 1);
+    }
+}
@@ -0,0 +1,101 @@
+package use_case.Angela.view_history;
+
+import entity.Angela.HistoryRollup;
+import entity.Angela.TodaySoFarSnapshot;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Applies a {@link HistoryRetentionPolicy} to the history store. Daily snapshots older than the
+ * daily tier are folded into the rollup of their week and of their month and then deleted; weekly
+ * and monthly rollups older than their tiers are deleted. Each run only reads the days that have
+ * just aged out, so its cost does not grow with the length of the history, and the store never
+ * holds more than the policy's days, weeks and months.
+ */
+public class HistoryCompactor {
+    private final ViewHistoryDataAccessInterface snapshots;
+    private final HistoryRollupDataAccessInterface rollups;
+    private final HistoryRetentionPolicy policy;
+
+    public HistoryCompactor(ViewHistoryDataAccessInterface snapshots,
+                            HistoryRollupDataAccessInterface rollups,
+                            HistoryRetentionPolicy policy) {
+        this.snapshots = snapshots;
+        this.rollups = rollups;
+        this.policy = policy;
+    }
+
+    /**
+     * Rolls up and deletes the daily snapshots that have aged out, then drops expired rollups.
+     * Rollups are saved before the snapshots they summarize are deleted, so an interrupted run
+     * loses nothing, and each rollup records the days it covers, so when one of the saves or
+     * deletes fails the next run skips the days already folded instead of counting them twice.
+     *
+     * @param today the current date
+     * @return the number of daily snapshots rolled up
+     */
+    public int compact(LocalDate today) {
+        final LocalDate dailyCutoff = today.minusDays(policy.getDailyDays());
+        // Only whole weeks are folded in, so a week's rollup is written once with all its days
+        final LocalDate foldBefore = HistoryRollup.Granularity.WEEK.startOf(dailyCutoff);
+
+        final Map<LocalDate, List<TodaySoFarSnapshot>> byWeek = new TreeMap<>();
+        final Map<LocalDate, List<TodaySoFarSnapshot>> byMonth = new TreeMap<>();
+        final List<LocalDate> folded = new ArrayList<>();
+        for (LocalDate date : snapshots.getAvailableDates()) {
+            if (!date.isBefore(foldBefore)) {
+                continue;
+            }
+            final TodaySoFarSnapshot snapshot = snapshots.getSnapshot(date);
+            if (snapshot == null) {
+                continue;
+            }
+            byWeek.computeIfAbsent(HistoryRollup.Granularity.WEEK.startOf(date), start -> new ArrayList<>())
+                    .add(snapshot);
+            byMonth.computeIfAbsent(HistoryRollup.Granularity.MONTH.startOf(date), start -> new ArrayList<>())
+                    .add(snapshot);
+            folded.add(date);
+        }
+
+        boolean saved = saveRollups(HistoryRollup.Granularity.WEEK, byWeek);
+        saved &= saveRollups(HistoryRollup.Granularity.MONTH, byMonth);
+        if (saved) {
+            for (LocalDate date : folded) {
+                rollups.deleteSnapshot(date);
+            }
+        }
+
+        rollups.deleteRollupsBefore(HistoryRollup.Granularity.WEEK,
+                HistoryRollup.Granularity.WEEK.startOf(today).minusWeeks(policy.getWeeklyWeeks()));
+        rollups.deleteRollupsBefore(HistoryRollup.Granularity.MONTH,
+                HistoryRollup.Granularity.MONTH.startOf(today).minusMonths(policy.getMonthlyMonths()));
+        return saved ? folded.size() : 0;
+    }
+
+    private boolean saveRollups(HistoryRollup.Granularity granularity,
+                                Map<LocalDate, List<TodaySoFarSnapshot>> daysByPeriod) {
+        boolean saved = true;
+        for (Map.Entry<LocalDate, List<TodaySoFarSnapshot>> period : daysByPeriod.entrySet()) {
+            final HistoryRollup existing = rollups.getRollup(granularity, period.getKey());
+            final List<TodaySoFarSnapshot> notYetFolded = new ArrayList<>();
+            for (TodaySoFarSnapshot snapshot : period.getValue()) {
+                if (existing == null || !existing.covers(snapshot.getDate())) {
+                    notYetFolded.add(snapshot);
+                }
+            }
+            if (notYetFolded.isEmpty()) {
+                continue;
+            }
+            HistoryRollup rollup = HistoryRollup.of(granularity, notYetFolded);
+            if (existing != null) {
+                rollup = existing.combine(rollup);
+            }
+            saved &= rollups.saveRollup(rollup);
+        }
+        return saved;
+    }
+}
@@ -0,0 +1,26 @@
+package use_case.Angela.view_history;
+
+/**
+ * File formats for exporting a range of history.
+ */
+public enum HistoryExportFormat {
+    /** One row per task per day, with a header row; days without tasks get a row of their own. */
+    CSV("csv"),
+    /** One JSON object per line, holding a whole day: tasks, events, goals and wellness entries. */
+    NDJSON("ndjson");
+
+    private final String extension;
+
+    HistoryExportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * Returns the file extension for this format.
+     *
+     * @return the extension, without the dot
+     */
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,30 @@
+package use_case.Angela.view_history;
+
+import java.time.LocalDate;
+
+/**
+ * Input data for exporting every snapshot within a range of dates to one file.
+ */
+public class HistoryExportInputData {
+    private final LocalDate from;
+    private final LocalDate to;
+    private final HistoryExportFormat format;
+
+    public HistoryExportInputData(LocalDate from, LocalDate to, HistoryExportFormat format) {
+        this.from = from;
+        this.to = to;
+        this.format = format;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public HistoryExportFormat getFormat() {
+        return format;
+    }
+}
@@ -0,0 +1,197 @@
+package use_case.Angela.view_history;
+
+import entity.Angela.Task.Task;
+import entity.Angela.TodaySoFarSnapshot;
+import entity.alex.WellnessLogEntry.WellnessLogEntry;
+import entity.info.Info;
+import use_case.Angela.today_so_far.CategoryReadDataAccessInterface;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes snapshots one day at a time in an export format. Fields go straight to the writer, so
+ * nothing larger than a single day is ever held while exporting.
+ */
+final class HistoryExportWriter {
+
+    static final String CSV_HEADER =
+            "date,completion_rate,task_id,task,category,priority,due_date,completed,completed_at,overdue";
+
+    private final HistoryExportFormat format;
+    private final Writer out;
+    private final CategoryReadDataAccessInterface categories;
+
+    /**
+     * Creates a writer that names categories through the given reader. Categories it does not
+     * know, or every category when there is no reader, are written as stored.
+     */
+    HistoryExportWriter(HistoryExportFormat format, Writer out, CategoryReadDataAccessInterface categories) {
+        this.format = format;
+        this.out = out;
+        this.categories = categories;
+    }
+
+    /**
+     * Writes what comes before the first day: the header row for CSV, nothing for NDJSON.
+     */
+    void writeHeader() throws IOException {
+        if (format == HistoryExportFormat.CSV) {
+            out.write(CSV_HEADER);
+            out.write('\n');
+        }
+    }
+
+    void writeDay(TodaySoFarSnapshot snapshot) throws IOException {
+        if (format == HistoryExportFormat.CSV) {
+            writeCsvDay(snapshot);
+        }
+        else {
+            toJson(snapshot).write(out);
+            out.write('\n');
+        }
+    }
+
+    private void writeCsvDay(TodaySoFarSnapshot snapshot) throws IOException {
+        final String date = snapshot.getDate().toString();
+        final String rate = Integer.toString(snapshot.getTaskCompletionRate());
+        final List<Task> tasks = snapshot.getTodaysTasks();
+        if (tasks.isEmpty()) {
+            out.write(date);
+            out.write(',');
+            out.write(rate);
+            out.write(",,,,,,,,\n");
+            return;
+        }
+        final Set<String> overdue = idsOf(snapshot.getOverdueTasks());
+        for (Task task : tasks) {
+            out.write(date);
+            out.write(',');
+            out.write(rate);
+            out.write(',');
+            out.write(task.getId());
+            out.write(',');
+            writeCsvField(task.getInfo().getName());
+            out.write(',');
+            writeCsvField(categoryName(task.getInfo().getCategory()));
+            out.write(',');
+            writeCsvField(task.getPriority() == null ? null : task.getPriority().name());
+            out.write(',');
+            writeCsvField(task.getDates() == null || task.getDates().getDueDate() == null
+                    ? null : task.getDates().getDueDate().toString());
+            out.write(',');
+            out.write(Boolean.toString(task.isCompleted()));
+            out.write(',');
+            writeCsvField(task.getCompletedDateTime() == null ? null : task.getCompletedDateTime().toString());
+            out.write(',');
+            out.write(Boolean.toString(overdue.contains(task.getId())));
+            out.write('\n');
+        }
+    }
+
+    /**
+     * Writes a field, quoting it only if it holds a comma, a quote or a line break.
+     */
+    private void writeCsvField(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            final char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    private String categoryName(String category) {
+        if (category == null || category.isEmpty() || categories == null) {
+            return category;
+        }
+        final String name = categories.getCategoryName(category);
+        return name != null ? name : category;
+    }
+
+    private JSONObject toJson(TodaySoFarSnapshot snapshot) {
+        final Set<String> overdue = idsOf(snapshot.getOverdueTasks());
+        final JSONArray tasks = new JSONArray();
+        for (Task task : snapshot.getTodaysTasks()) {
+            final JSONObject json = new JSONObject();
+            json.put("id", task.getId());
+            json.put("name", task.getInfo().getName());
+            json.putOpt("category", categoryName(task.getInfo().getCategory()));
+            json.putOpt("priority", task.getPriority() == null ? null : task.getPriority().name());
+            json.putOpt("due_date", task.getDates() == null || task.getDates().getDueDate() == null
+                    ? null : task.getDates().getDueDate().toString());
+            json.put("completed", task.isCompleted());
+            json.putOpt("completed_at", task.getCompletedDateTime() == null
+                    ? null : task.getCompletedDateTime().toString());
+            json.put("overdue", overdue.contains(task.getId()));
+            tasks.put(json);
+        }
+
+        final JSONArray events = new JSONArray();
+        for (Info event : snapshot.getTodaysEvents()) {
+            final JSONObject json = new JSONObject();
+            json.put("name", event.getName());
+            json.putOpt("category", categoryName(event.getCategory()));
+            events.put(json);
+        }
+
+        final JSONArray goals = new JSONArray();
+        for (TodaySoFarSnapshot.GoalProgress goal : snapshot.getGoalProgress()) {
+            final JSONObject json = new JSONObject();
+            json.put("id", goal.getGoalId());
+            json.put("name", goal.getGoalName());
+            json.put("period", goal.getPeriod());
+            json.put("current", goal.getCurrent());
+            json.put("target", goal.getTarget());
+            goals.put(json);
+        }
+
+        final JSONArray wellness = new JSONArray();
+        for (WellnessLogEntry entry : snapshot.getWellnessEntries()) {
+            final JSONObject json = new JSONObject();
+            json.putOpt("time", entry.getTime() == null ? null : entry.getTime().toString());
+            json.putOpt("mood", entry.getMoodLabel() == null ? null : entry.getMoodLabel().getName());
+            json.putOpt("stress", entry.getStressLevel() == null ? null : entry.getStressLevel().getValue());
+            json.putOpt("energy", entry.getEnergyLevel() == null ? null : entry.getEnergyLevel().getValue());
+            json.putOpt("fatigue", entry.getFatigueLevel() == null ? null : entry.getFatigueLevel().getValue());
+            wellness.put(json);
+        }
+
+        final JSONObject day = new JSONObject();
+        day.put("date", snapshot.getDate().toString());
+        day.put("completion_rate", snapshot.getTaskCompletionRate());
+        day.put("tasks", tasks);
+        day.put("events", events);
+        day.put("goals", goals);
+        day.put("wellness", wellness);
+        return day;
+    }
+
+    private static Set<String> idsOf(List<Task> tasks) {
+        final Set<String> ids = new HashSet<>();
+        for (Task task : tasks) {
+            ids.add(task.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,16 @@
+package use_case.Angela.view_history;
+
+/**
+ * Implemented by history stores that keep {@link HistoryAnalytics} up to date as they save
+ * snapshots, so range queries never have to read the snapshots back.
+ */
+public interface HistoryMetricsDataAccessInterface {
+
+    /**
+     * Gets the analytics over every snapshot this store has saved. Days stay in the analytics
+     * after their snapshot has been rolled up or cleaned up, so trends reach back further than
+     * the full snapshots do.
+     * @return The store's analytics
+     */
+    HistoryAnalytics getAnalytics();
+}
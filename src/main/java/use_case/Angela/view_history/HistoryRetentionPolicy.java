@@ -0,0 +1,48 @@
+package use_case.Angela.view_history;
+
+/**
+ * How long each tier of history is kept: full daily snapshots for a number of days, then weekly
+ * rollups for a number of weeks and monthly rollups for a number of months. Days are folded into
+ * rollups a whole week at a time, so up to six days beyond the daily tier are kept in full until
+ * their week has passed.
+ */
+public final class HistoryRetentionPolicy {
+
+    /**
+     * Thirty days in full, half a year of weeks and ten years of months.
+     */
+    public static final HistoryRetentionPolicy DEFAULT = new HistoryRetentionPolicy(30, 26, 120);
+
+    private final int dailyDays;
+    private final int weeklyWeeks;
+    private final int monthlyMonths;
+
+    /**
+     * Creates a retention policy.
+     *
+     * @param dailyDays days of full daily snapshots to keep
+     * @param weeklyWeeks weeks of weekly rollups to keep
+     * @param monthlyMonths months of monthly rollups to keep
+     * @throws IllegalArgumentException if any length is negative
+     */
+    public HistoryRetentionPolicy(int dailyDays, int weeklyWeeks, int monthlyMonths) {
+        if (dailyDays < 0 || weeklyWeeks < 0 || monthlyMonths < 0) {
+            throw new IllegalArgumentException("Retention lengths cannot be negative");
+        }
+        this.dailyDays = dailyDays;
+        this.weeklyWeeks = weeklyWeeks;
+        this.monthlyMonths = monthlyMonths;
+    }
+
+    public int getDailyDays() {
+        return dailyDays;
+    }
+
+    public int getWeeklyWeeks() {
+        return weeklyWeeks;
+    }
+
+    public int getMonthlyMonths() {
+        return monthlyMonths;
+    }
+}
@@ -0,0 +1,50 @@
+package use_case.Angela.view_history;
+
+import entity.Angela.HistoryRollup;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Data access interface for the weekly and monthly rollups that replace old daily snapshots.
+ * Implemented alongside {@link ViewHistoryDataAccessInterface} by history stores that support
+ * tiered retention.
+ */
+public interface HistoryRollupDataAccessInterface {
+
+    /**
+     * Saves a rollup, replacing any earlier rollup of the same period.
+     * @param rollup The rollup to save
+     * @return true if saved successfully, false otherwise
+     */
+    boolean saveRollup(HistoryRollup rollup);
+
+    /**
+     * Retrieves the rollup of one period.
+     * @param granularity Week or month
+     * @param start The first day of the period
+     * @return The rollup if it exists, null otherwise
+     */
+    HistoryRollup getRollup(HistoryRollup.Granularity granularity, LocalDate start);
+
+    /**
+     * Gets every rollup of a granularity.
+     * @param granularity Week or month
+     * @return The rollups, most recent period first
+     */
+    List<HistoryRollup> getRollups(HistoryRollup.Granularity granularity);
+
+    /**
+     * Deletes the rollups of periods starting before a date.
+     * @param granularity Week or month
+     * @param start The earliest period start to keep
+     * @return Number of rollups deleted
+     */
+    int deleteRollupsBefore(HistoryRollup.Granularity granularity, LocalDate start);
+
+    /**
+     * Deletes the daily snapshot of one date, once it has been rolled up.
+     * @param date The date of the snapshot
+     * @return true if a snapshot was deleted, false otherwise
+     */
+    boolean deleteSnapshot(LocalDate date);
+}
@@ -20,4 +20,11 @@ public interface ViewHistoryInputBoundary {
      * @param date The date to export
      */
     void exportHistory(ViewHistoryInputData date);
-}
\ No newline at end of file
+    
+    /**
+     * Exports every snapshot between two dates to a single CSV or NDJSON file. The export runs in
+     * the background and reports its progress, then its success or failure, to the output boundary.
+     * @param inputData The range of dates and the file format
+     */
+    void exportHistoryRange(HistoryExportInputData inputData);
+}
@@ -1,16 +1,30 @@
 package use_case.Angela.view_history;
 
+import entity.Angela.HistoryRollup;
 import entity.Angela.TodaySoFarSnapshot;
 import entity.Angela.Task.Task;
 import entity.info.Info;
+import use_case.Angela.today_so_far.CategoryReadDataAccessInterface;
 
 import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 /**
@@ -18,13 +32,74 @@ import java.util.stream.Collectors;
  * Handles the business logic for retrieving and exporting historical data.
  */
 public class ViewHistoryInteractor implements ViewHistoryInputBoundary {
+    /** Size of the byte buffer between the encoder and the file channel during range exports. */
+    private static final int EXPORT_BUFFER_BYTES = 64 * 1024;
+
+    /** Runs range exports one at a time, off the thread that asked for them. */
+    private static final ExecutorService EXPORT_EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "history-export");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private final ViewHistoryDataAccessInterface dataAccess;
     private final ViewHistoryOutputBoundary outputBoundary;
+    private final Path exportDirectory;
+    private final Executor exportExecutor;
+    private final CategoryReadDataAccessInterface categories;
     
     public ViewHistoryInteractor(ViewHistoryDataAccessInterface dataAccess,
                                  ViewHistoryOutputBoundary outputBoundary) {
+        this(dataAccess, outputBoundary, (CategoryReadDataAccessInterface) null);
+    }
+    
+    /**
+     * Creates the interactor with range exports naming categories through the given reader.
+     * @param dataAccess the history store
+     * @param outputBoundary the presenter
+     * @param categories looks up category names for range exports, or null to write category IDs
+     */
+    public ViewHistoryInteractor(ViewHistoryDataAccessInterface dataAccess,
+                                 ViewHistoryOutputBoundary outputBoundary,
+                                 CategoryReadDataAccessInterface categories) {
+        this(dataAccess, outputBoundary, Paths.get(System.getProperty("user.home"), "Downloads"), EXPORT_EXECUTOR,
+            categories);
+    }
+    
+    /**
+     * Creates the interactor with its range exports written to the given directory and run on
+     * the given executor.
+     * @param dataAccess the history store
+     * @param outputBoundary the presenter
+     * @param exportDirectory where range exports are written
+     * @param exportExecutor where range exports run
+     */
+    public ViewHistoryInteractor(ViewHistoryDataAccessInterface dataAccess,
+                                 ViewHistoryOutputBoundary outputBoundary,
+                                 Path exportDirectory,
+                                 Executor exportExecutor) {
+        this(dataAccess, outputBoundary, exportDirectory, exportExecutor, null);
+    }
+    
+    /**
+     * Creates the interactor with its range exports written to the given directory, run on the
+     * given executor and naming categories through the given reader.
+     * @param dataAccess the history store
+     * @param outputBoundary the presenter
+     * @param exportDirectory where range exports are written
+     * @param exportExecutor where range exports run
+     * @param categories looks up category names for range exports, or null to write category IDs
+     */
+    public ViewHistoryInteractor(ViewHistoryDataAccessInterface dataAccess,
+                                 ViewHistoryOutputBoundary outputBoundary,
+                                 Path exportDirectory,
+                                 Executor exportExecutor,
+                                 CategoryReadDataAccessInterface categories) {
         this.dataAccess = dataAccess;
         this.outputBoundary = outputBoundary;
+        this.exportDirectory = exportDirectory;
+        this.exportExecutor = exportExecutor;
+        this.categories = categories;
     }
     
     @Override
@@ -72,6 +147,12 @@ public class ViewHistoryInteractor implements ViewHistoryInputBoundary {
     public void loadAvailableDates() {
         List<LocalDate> availableDates = dataAccess.getAvailableDates();
         outputBoundary.presentAvailableDates(availableDates);
+        // Days older than the daily tier only survive in their week's and month's rollups
+        if (dataAccess instanceof HistoryRollupDataAccessInterface) {
+            HistoryRollupDataAccessInterface rollups = (HistoryRollupDataAccessInterface) dataAccess;
+            outputBoundary.presentRollups(rollups.getRollups(HistoryRollup.Granularity.WEEK),
+                rollups.getRollups(HistoryRollup.Granularity.MONTH));
+        }
     }
     
     @Override
@@ -172,4 +253,67 @@ public class ViewHistoryInteractor implements ViewHistoryInputBoundary {
             outputBoundary.presentExportFailure("Failed to export history: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+    
+    @Override
+    public void exportHistoryRange(HistoryExportInputData inputData) {
+        final LocalDate from = inputData.getFrom();
+        final LocalDate to = inputData.getTo();
+        if (from == null || to == null || to.isBefore(from)) {
+            outputBoundary.presentExportFailure("Choose a start date on or before the end date");
+            return;
+        }
+        exportExecutor.execute(() -> exportRange(from, to, inputData.getFormat()));
+    }
+    
+    /**
+     * Streams the snapshots of a range to a file, oldest first, reading one snapshot at a time and
+     * writing it through a fixed-size buffer, so memory use does not depend on the number of days.
+     * The file is written under a temporary name and moved into place once complete.
+     */
+    private void exportRange(LocalDate from, LocalDate to, HistoryExportFormat format) {
+        final List<LocalDate> dates = dataAccess.getAvailableDates().stream()
+            .filter(date -> !date.isBefore(from) && !date.isAfter(to))
+            .sorted()
+            .collect(Collectors.toList());
+        if (dates.isEmpty()) {
+            outputBoundary.presentExportFailure("No data available for export between " + from + " and " + to);
+            return;
+        }
+        
+        final Path target = exportDirectory.resolve("history_" + from + "_" + to + "." + format.getExtension());
+        final Path temp = exportDirectory.resolve(target.getFileName() + ".tmp");
+        final int total = dates.size();
+        try {
+            Files.createDirectories(exportDirectory);
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                 Writer writer = Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), EXPORT_BUFFER_BYTES)) {
+                final HistoryExportWriter export = new HistoryExportWriter(format, writer, categories);
+                export.writeHeader();
+                // Report whole-percent steps only, so a long export sends at most 101 updates
+                outputBoundary.presentExportProgress(0, total);
+                int lastPercent = 0;
+                for (int i = 0; i < total; i++) {
+                    final TodaySoFarSnapshot snapshot = dataAccess.getSnapshot(dates.get(i));
+                    if (snapshot != null) {
+                        export.writeDay(snapshot);
+                    }
+                    final int percent = (i + 1) * 100 / total;
+                    if (percent != lastPercent) {
+                        lastPercent = percent;
+                        outputBoundary.presentExportProgress(i + 1, total);
+                    }
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            outputBoundary.presentExportSuccess(target.toString());
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // Nothing more can be done; the failure itself is reported below
+            }
+            outputBoundary.presentExportFailure("Failed to export history: " + e.getMessage());
+        }
+    }
+}
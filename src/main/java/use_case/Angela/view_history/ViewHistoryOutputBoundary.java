@@ -1,5 +1,7 @@
 package use_case.Angela.view_history;
 
+import entity.Angela.HistoryRollup;
+
 import java.time.LocalDate;
 import java.util.List;
 
@@ -25,6 +27,15 @@ public interface ViewHistoryOutputBoundary {
      */
     void presentAvailableDates(List<LocalDate> availableDates);
     
+    /**
+     * Presents the weekly and monthly summaries of days whose snapshots are no longer kept.
+     * Only called for history stores that keep rollups.
+     * @param weeks Weekly rollups, most recent first
+     * @param months Monthly rollups, most recent first
+     */
+    default void presentRollups(List<HistoryRollup> weeks, List<HistoryRollup> months) {
+    }
+    
     /**
      * Presents the export success message.
      * @param filePath The path where the file was exported
@@ -36,4 +47,11 @@ public interface ViewHistoryOutputBoundary {
      * @param error The error message
      */
     void presentExportFailure(String error);
-}
\ No newline at end of file
+    
+    /**
+     * Presents how far a range export has got. Called from the thread running the export.
+     * @param exportedDays The number of days written so far
+     * @param totalDays The number of days being exported
+     */
+    void presentExportProgress(int exportedDays, int totalDays);
+}
@@ -0,0 +1,30 @@
+package use_case.generate_feedback;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous variant of {@link GptService}. Each call returns immediately; the future completes
+ * with the GPT response, or exceptionally with an {@link java.io.IOException} if the call fails.
+ */
+public interface AsyncGptService {
+    /**
+     * Starts a general weekly productivity and wellness analysis call.
+     * @param prompt the input prompt containing user data and analysis instructions
+     * @return a future of the GPT-generated Json string containing analysis
+     */
+    CompletableFuture<String> callGeneralAnalysisAsync(String prompt);
+
+    /**
+     * Starts a bayesian correlation call.
+     * @param prompt the input that contains user data and correlation instruction
+     * @return a future of the GPT generated Json string containing correlation results
+     */
+    CompletableFuture<String> callCorrelationBayesAsync(String prompt);
+
+    /**
+     * Starts a recommendation call.
+     * @param prompt the input containing analysis results and recommendation specifications
+     * @return a future of the GPT generated recommendations
+     */
+    CompletableFuture<String> callRecommendationAsync(String prompt);
+}
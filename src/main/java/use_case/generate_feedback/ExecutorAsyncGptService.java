@@ -0,0 +1,88 @@
+package use_case.generate_feedback;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs the blocking calls of any {@link GptService} on an executor so that it can be used
+ * as an {@link AsyncGptService}.
+ */
+public class ExecutorAsyncGptService implements AsyncGptService {
+
+    private static final ExecutorService SHARED_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable, "gpt-call");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final GptService delegate;
+    private final Executor executor;
+
+    /**
+     * Wraps the service using a shared pool of daemon threads.
+     * @param delegate the blocking service
+     */
+    public ExecutorAsyncGptService(GptService delegate) {
+        this(delegate, SHARED_EXECUTOR);
+    }
+
+    /**
+     * Wraps the service using the given executor.
+     * @param delegate the blocking service
+     * @param executor where the blocking calls run
+     */
+    public ExecutorAsyncGptService(GptService delegate, Executor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    /**
+     * Returns the service itself if it is already asynchronous, otherwise wraps it.
+     * @param service the GPT service
+     * @return an asynchronous view of the service
+     */
+    public static AsyncGptService of(GptService service) {
+        if (service instanceof AsyncGptService async) {
+            return async;
+        }
+        return new ExecutorAsyncGptService(service);
+    }
+
+    @Override
+    public CompletableFuture<String> callGeneralAnalysisAsync(String prompt) {
+        return supply(() -> delegate.callGeneralAnalysis(prompt));
+    }
+
+    @Override
+    public CompletableFuture<String> callCorrelationBayesAsync(String prompt) {
+        return supply(() -> delegate.callCorrelationBayes(prompt));
+    }
+
+    @Override
+    public CompletableFuture<String> callRecommendationAsync(String prompt) {
+        return supply(() -> delegate.callRecommendation(prompt));
+    }
+
+    private CompletableFuture<String> supply(GptCall call) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return call.run();
+            }
+            catch (IOException exception) {
+                throw new CompletionException(exception);
+            }
+        }, executor);
+    }
+
+    /**
+     * A single blocking GPT call.
+     */
+    @FunctionalInterface
+    private interface GptCall {
+        String run() throws IOException;
+    }
+}
@@ -4,6 +4,8 @@ import java.io.IOException;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.json.JSONObject;
 
@@ -19,7 +21,9 @@ import use_case.repository.FeedbackRepository;
  * Workflow
  *  1. Determine this week’s Monday and see if it is already cached → return if yes.
  *  2. Load the last 7 days of DailyLogs (last Mon‑Sun inclusive).
- *  3. Call GPT 3 times (general analysis JSON → bayesian correlation JSON → recommendations).
+ *  3. Call GPT 3 times: general analysis JSON and bayesian correlation JSON run concurrently,
+ *     recommendations are chained on the analysis and streamed to the presenter when the
+ *     service supports it.
  *  4. Persist and return a new FeedbackEntry.
  */
 
@@ -27,16 +31,42 @@ public class GenerateFeedbackInteractor implements GenerateFeedbackInputBoundary
 
     private final DailyLogRepository dailyRepo;
     private final FeedbackRepository feedbackRepo;
-    private final GptService gpt;
+    private final AsyncGptService gpt;
+    private final StreamingGptService streamingGpt;
+    private final GptPromptPort promptBuilder;
     private final GenerateFeedbackOutputBoundary outputBoundary;
 
     public GenerateFeedbackInteractor(DailyLogRepository dailyRepo,
                                       FeedbackRepository feedbackRepo,
                                       GptService gpt,
                                       GenerateFeedbackOutputBoundary outputBoundary) {
+        this(dailyRepo, feedbackRepo, gpt, new GptPromptPortAdapter(), outputBoundary);
+    }
+
+    /**
+     * Creates an interactor that builds its prompts with the given port, so the app can choose
+     * the prompt token budget and where prompt sizes are reported.
+     * @param dailyRepo source of last week's daily logs
+     * @param feedbackRepo where generated entries are cached
+     * @param gpt the GPT service to call
+     * @param promptBuilder builds the analysis, correlation and recommendation prompts
+     * @param outputBoundary receives the entry, streamed text and failures
+     */
+    public GenerateFeedbackInteractor(DailyLogRepository dailyRepo,
+                                      FeedbackRepository feedbackRepo,
+                                      GptService gpt,
+                                      GptPromptPort promptBuilder,
+                                      GenerateFeedbackOutputBoundary outputBoundary) {
         this.dailyRepo = dailyRepo;
         this.feedbackRepo = feedbackRepo;
-        this.gpt = gpt;
+        this.gpt = ExecutorAsyncGptService.of(gpt);
+        if (gpt instanceof StreamingGptService streaming) {
+            this.streamingGpt = streaming;
+        }
+        else {
+            this.streamingGpt = null;
+        }
+        this.promptBuilder = promptBuilder;
         this.outputBoundary = outputBoundary;
     }
 
@@ -56,35 +86,24 @@ public class GenerateFeedbackInteractor implements GenerateFeedbackInputBoundary
             final LocalDate to = monday.minusDays(1);
             final List<DailyLog> weekLogs = dailyRepo.loadBetween(from, to);
 
-            final GptPromptPort promptBuilder = new GptPromptPortAdapter();
-
+            // Analysis and correlation are independent; only the recommendation needs the analysis.
             final String promptAnalysis = promptBuilder.buildAnalysis(weekLogs);
-            final String analysisJsonStr = gpt.callGeneralAnalysis(promptAnalysis);
+            final String promptCorr = promptBuilder.buildCorrelation(weekLogs);
+            final CompletableFuture<String> analysisFuture = gpt.callGeneralAnalysisAsync(promptAnalysis);
+            final CompletableFuture<String> correlationFuture = gpt.callCorrelationBayesAsync(promptCorr);
+            final CompletableFuture<String> recFuture = analysisFuture.thenCompose(
+                    analysis -> recommend(promptBuilder.buildRecommendation(analysis)));
+
+            final String analysisJsonStr = analysisFuture.join();
             final JSONObject analysisJson = new JSONObject(analysisJsonStr);
 
             // Analysis
             final String analysisText = analysisJson.optString("analysis", "(no analysis)");
             final String extraNotes = analysisJson.optString("extra_notes", "");
             // Correlation
-            final String promptCorr = promptBuilder.buildCorrelation(weekLogs);
-            final String correlationJson = gpt.callCorrelationBayes(promptCorr);
+            final String correlationJson = correlationFuture.join();
             // Recommendation
-            final String promptRec = promptBuilder.buildRecommendation(analysisJsonStr);
-            final String recText = gpt.callRecommendation(promptRec);
-
-//            final String promptAnalysis = GeneralAnalysisPromptBuilder.buildPromptFromWeeksLogs(weekLogs);
-//            final String analysisJsonStr = gpt.callGeneralAnalysis(promptAnalysis);
-//            final JSONObject analysisJson = new JSONObject(analysisJsonStr);
-//
-//            // Analysis
-//            final String analysisText = analysisJson.optString("analysis", "(no analysis)");
-//            final String extraNotes = analysisJson.optString("extra_notes", "");
-//            // Correlation
-//            final String promptCorr = BayesCorrelationPromptBuilder.buildPrompt(weekLogs);
-//            final String correlationJson = gpt.callCorrelationBayes(promptCorr);
-//            // Recommendation
-//            final String promptRec = RecommendationPromptBuilder.buildPrompt(analysisJsonStr);
-//            final String recText = gpt.callRecommendation(promptRec);
+            final String recText = recFuture.join();
 
             final String combinedAnalysis;
             if (extraNotes.isBlank()) {
@@ -101,8 +120,36 @@ public class GenerateFeedbackInteractor implements GenerateFeedbackInputBoundary
 
             outputBoundary.present(new GenerateFeedbackOutputData(entry));
         }
-        catch (IOException exception) {
-            throw new RuntimeException(exception);
+        catch (CompletionException exception) {
+            final Throwable cause = exception.getCause();
+            outputBoundary.presentFailure(failureMessage(cause != null ? cause : exception));
+            if (cause instanceof IOException) {
+                throw new RuntimeException(cause);
+            }
+            throw exception;
+        }
+        catch (RuntimeException exception) {
+            outputBoundary.presentFailure(failureMessage(exception));
+            throw exception;
+        }
+    }
+
+    private static String failureMessage(Throwable failure) {
+        final String detail = failure.getMessage();
+        if (detail == null || detail.isBlank()) {
+            return "Feedback generation failed: " + failure.getClass().getSimpleName();
+        }
+        return "Feedback generation failed: " + detail;
+    }
+
+    private CompletableFuture<String> recommend(String prompt) {
+        if (streamingGpt == null) {
+            return gpt.callRecommendationAsync(prompt);
         }
+        final StringBuilder soFar = new StringBuilder();
+        return streamingGpt.streamRecommendation(prompt, delta -> {
+            soFar.append(delta);
+            outputBoundary.presentPartial(soFar.toString());
+        });
     }
 }
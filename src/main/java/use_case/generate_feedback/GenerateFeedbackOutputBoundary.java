@@ -7,4 +7,20 @@ public interface GenerateFeedbackOutputBoundary {
      *                   entry and anything for presenting information
      */
     void present(GenerateFeedbackOutputData outputData);
+
+    /**
+     * Presents the recommendation generated so far while it is still streaming in.
+     * Called from a background thread; the full entry still arrives through {@link #present}.
+     * @param recommendationSoFar the recommendation text received so far
+     */
+    default void presentPartial(String recommendationSoFar) {
+    }
+
+    /**
+     * Presents that feedback could not be generated, discarding any recommendation streamed in
+     * so far. Called from the thread that ran the use case.
+     * @param errorMessage why generation failed
+     */
+    default void presentFailure(String errorMessage) {
+    }
 }
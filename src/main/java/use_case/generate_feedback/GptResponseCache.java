@@ -0,0 +1,33 @@
+package use_case.generate_feedback;
+
+/**
+ * Stores GPT responses by a content hash of the request so identical requests can be answered
+ * without calling GPT again.
+ */
+public interface GptResponseCache {
+    /**
+     * Looks up a cached response and counts the lookup as a hit or a miss.
+     * @param key the request hash
+     * @return the cached response, or null if absent or expired
+     */
+    String get(String key);
+
+    /**
+     * Stores a response.
+     * @param key the request hash
+     * @param response the GPT response
+     */
+    void put(String key, String response);
+
+    /**
+     * Returns the number of lookups answered from the cache.
+     * @return hit count
+     */
+    long getHitCount();
+
+    /**
+     * Returns the number of lookups that had to go to GPT.
+     * @return miss count
+     */
+    long getMissCount();
+}
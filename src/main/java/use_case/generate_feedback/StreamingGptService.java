@@ -0,0 +1,18 @@
+package use_case.generate_feedback;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * A GPT service that can deliver the recommendation text as it is generated, so the user sees
+ * the first words after one round trip instead of waiting for the whole response.
+ */
+public interface StreamingGptService {
+    /**
+     * Starts a recommendation call in streaming mode.
+     * @param prompt the input containing analysis results and recommendation specifications
+     * @param onDelta receives each new piece of text, in order, on a background thread
+     * @return a future of the complete recommendation text
+     */
+    CompletableFuture<String> streamRecommendation(String prompt, Consumer<String> onDelta);
+}
@@ -11,6 +11,7 @@ import interface_adapter.Angela.today_so_far.TodaySoFarViewModel;
 import interface_adapter.Angela.view_history.ViewHistoryController;
 import interface_adapter.Angela.view_history.ViewHistoryState;
 import interface_adapter.Angela.view_history.ViewHistoryViewModel;
+import use_case.Angela.view_history.HistoryExportFormat;
 import interface_adapter.sophia.today_goal.TodayGoalsViewModel;
 import interface_adapter.sophia.today_goal.TodaysGoalsState;
 import interface_adapter.alex.event_related.todays_events_module.todays_events.TodaysEventsState;
@@ -24,14 +25,18 @@ import javax.swing.Box;
 import javax.swing.BoxLayout;
 import javax.swing.ButtonGroup;
 import javax.swing.JButton;
+import javax.swing.JComboBox;
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JRadioButton;
 import javax.swing.JScrollPane;
 import javax.swing.JSplitPane;
+import javax.swing.JTextField;
 import javax.swing.ScrollPaneConstants;
 import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Component;
@@ -43,6 +48,7 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -78,6 +84,10 @@ public class HistoryView extends JPanel implements PropertyChangeListener {
     // Current selected date
     private LocalDate selectedDate;
     
+    // Shown while a range export runs
+    private JButton exportRangeButton;
+    private JProgressBar exportProgressBar;
+    
     // Historical data panels
     private JPanel historicalTasksContent;
     private JPanel historicalEventsContent;
@@ -166,14 +176,67 @@ public class HistoryView extends JPanel implements PropertyChangeListener {
                 JOptionPane.showMessageDialog(this, "Please select a date first");
             }
         });
+        exportRangeButton = new JButton("Export Range...");
+        exportRangeButton.addActionListener(e -> promptExportRange());
+        exportProgressBar = new JProgressBar(0, 100);
+        exportProgressBar.setStringPainted(true);
+        exportProgressBar.setVisible(false);
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
         buttonPanel.setBackground(Color.WHITE);
         buttonPanel.add(exportButton);
+        buttonPanel.add(exportRangeButton);
+        buttonPanel.add(exportProgressBar);
         panel.add(buttonPanel, BorderLayout.SOUTH);
         
         return panel;
     }
     
+    /**
+     * Asks for a range of dates and a format, defaulting to all available history, and starts
+     * the export.
+     */
+    private void promptExportRange() {
+        List<LocalDate> dates = viewModel.getState().getAvailableDates();
+        if (dates.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "No history to export");
+            return;
+        }
+        LocalDate first = dates.stream().min(LocalDate::compareTo).get();
+        LocalDate last = dates.stream().max(LocalDate::compareTo).get();
+        
+        JTextField fromField = new JTextField(first.toString(), 10);
+        JTextField toField = new JTextField(last.toString(), 10);
+        JComboBox<HistoryExportFormat> formatBox = new JComboBox<>(HistoryExportFormat.values());
+        JPanel form = new JPanel(new GridLayout(3, 2, 8, 8));
+        form.add(new JLabel("From (yyyy-mm-dd):"));
+        form.add(fromField);
+        form.add(new JLabel("To (yyyy-mm-dd):"));
+        form.add(toField);
+        form.add(new JLabel("Format:"));
+        form.add(formatBox);
+        
+        int choice = JOptionPane.showConfirmDialog(this, form, "Export History Range",
+            JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+        if (choice != JOptionPane.OK_OPTION) {
+            return;
+        }
+        try {
+            LocalDate from = LocalDate.parse(fromField.getText().trim());
+            LocalDate to = LocalDate.parse(toField.getText().trim());
+            controller.exportHistoryRange(from, to, (HistoryExportFormat) formatBox.getSelectedItem());
+        } catch (DateTimeParseException ex) {
+            JOptionPane.showMessageDialog(this, "Please enter dates as yyyy-mm-dd");
+        }
+    }
+    
+    private void showExportProgress(int percent) {
+        boolean running = percent >= 0;
+        exportProgressBar.setVisible(running);
+        exportProgressBar.setValue(running ? percent : 0);
+        exportRangeButton.setEnabled(!running);
+        exportProgressBar.getParent().revalidate();
+    }
+    
     private JPanel createContentPanel() {
         JPanel panel = new JPanel(new BorderLayout());
         panel.setBackground(Color.WHITE);
@@ -271,7 +334,7 @@ public class HistoryView extends JPanel implements PropertyChangeListener {
         return panel;
     }
     
-    private void updateDateList(List<LocalDate> dates) {
+    private void updateDateList(List<LocalDate> dates, List<String> rollupSummaries) {
         JPanel listContainer = new JPanel();
         listContainer.setLayout(new BoxLayout(listContainer, BoxLayout.Y_AXIS));
         listContainer.setBackground(Color.WHITE);
@@ -307,6 +370,22 @@ public class HistoryView extends JPanel implements PropertyChangeListener {
             listContainer.add(dateRow);
         }
         
+        // Older days are only kept as weekly and monthly summaries
+        if (!rollupSummaries.isEmpty()) {
+            JLabel earlierHeader = new JLabel("Earlier History");
+            earlierHeader.setFont(earlierHeader.getFont().deriveFont(Font.BOLD));
+            earlierHeader.setBorder(BorderFactory.createEmptyBorder(12, 12, 4, 0));
+            earlierHeader.setAlignmentX(Component.LEFT_ALIGNMENT);
+            listContainer.add(earlierHeader);
+            for (String summary : rollupSummaries) {
+                JLabel summaryLabel = new JLabel("<html>" + summary + "</html>");
+                summaryLabel.setForeground(Color.DARK_GRAY);
+                summaryLabel.setBorder(BorderFactory.createEmptyBorder(2, 12, 2, 0));
+                summaryLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
+                listContainer.add(summaryLabel);
+            }
+        }
+        
         // Update scroll pane content
         dateScrollPane.setViewportView(listContainer);
         dateScrollPane.revalidate();
@@ -508,11 +587,22 @@ public class HistoryView extends JPanel implements PropertyChangeListener {
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
         if ("state".equals(evt.getPropertyName())) {
-            ViewHistoryState state = viewModel.getState();
+            // Range exports report from their own thread
+            if (!SwingUtilities.isEventDispatchThread()) {
+                SwingUtilities.invokeLater(() -> propertyChange(evt));
+                return;
+            }
+            ViewHistoryState state = (ViewHistoryState) evt.getNewValue();
+            
+            showExportProgress(state.getExportProgress());
+            if (state.getExportProgress() >= 0) {
+                // Progress updates only move the bar
+                return;
+            }
             
             // Update date list
-            if (state.getAvailableDates() != null && !state.getAvailableDates().isEmpty()) {
-                updateDateList(state.getAvailableDates());
+            if (!state.getAvailableDates().isEmpty() || !state.getRollupSummaries().isEmpty()) {
+                updateDateList(state.getAvailableDates(), state.getRollupSummaries());
             }
             
             // Update content panels with historical data
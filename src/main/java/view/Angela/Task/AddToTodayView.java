@@ -8,7 +8,6 @@ import use_case.Angela.category.CategoryGateway;
 import entity.Angela.Task.Task;
 import entity.Angela.Task.TaskAvailable;
 import entity.Angela.Task.TaskAvailableInterf;
-import entity.Category;
 import view.DueDatePickerPanel;
 
 import javax.swing.*;
@@ -168,10 +167,7 @@ public class AddToTodayView extends JPanel implements PropertyChangeListener {
                 String categoryName = null;
                 // Get category name if category ID exists
                 if (categoryGateway != null && task.getInfo().getCategory() != null) {
-                    Category category = categoryGateway.getCategoryById(task.getInfo().getCategory());
-                    if (category != null) {
-                        categoryName = category.getName();
-                    }
+                    categoryName = categoryGateway.getCategoryName(task.getInfo().getCategory());
                 }
                 taskDropdown.addItem(new TaskItem(task.getId(), task.getInfo().getName(), categoryName));
             }
@@ -9,6 +9,8 @@ import interface_adapter.Angela.task.edit_available.EditAvailableTaskController;
 import interface_adapter.Angela.task.edit_available.EditAvailableTaskViewModel;
 import interface_adapter.Angela.task.edit_available.EditAvailableTaskState;
 import data_access.InMemoryTaskDataAccessObject;
+import data_access.DomainEventBus;
+import data_access.TaskChangeEvent;
 import use_case.Angela.category.CategoryGateway;
 import use_case.Angela.task.edit_available.EditAvailableTaskDataAccessInterface;
 import entity.Angela.Task.TaskAvailable;
@@ -24,8 +26,8 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import view.FontUtil;
 
 /**
@@ -37,7 +39,7 @@ public class AvailableTasksView extends JPanel implements PropertyChangeListener
     private final AvailableTasksViewModel availableTasksViewModel;
     private final DeleteTaskViewModel deleteTaskViewModel;
     private EditAvailableTaskViewModel editAvailableTaskViewModel;
-    private final DefaultTableModel tableModel;
+    private final TaskTableModel tableModel;
     private final JTable taskTable;
     private final JLabel messageLabel;
 
@@ -53,9 +55,7 @@ public class AvailableTasksView extends JPanel implements PropertyChangeListener
     // Store components for editing
     private JTextField editNameField;
     private JComboBox<CategoryItem> editCategoryCombo;
-    
-    // Map row index to task ID for sorting functionality
-    private final Map<Integer, String> rowToTaskIdMap = new HashMap<>();
+
     private JTextField editDescriptionField;
     private JCheckBox editOneTimeCheckbox;
     
@@ -102,7 +102,7 @@ public class AvailableTasksView extends JPanel implements PropertyChangeListener
 
         // Create table with One Time column
         String[] columnNames = {"Name", "Category", "Description", "One Time", "Edit", "Delete"};
-        tableModel = new DefaultTableModel(columnNames, 0) {
+        tableModel = new TaskTableModel(columnNames) {
             @Override
             public boolean isCellEditable(int row, int column) {
                 // In edit mode: ALL columns should be editable (including buttons for Save/Cancel)
@@ -209,6 +209,10 @@ public class AvailableTasksView extends JPanel implements PropertyChangeListener
         refreshTasks(); // Initial load
     }
     
+    public void setEventBus(DomainEventBus eventBus) {
+        eventBus.subscribe(TaskChangeEvent.class, this::applyTaskChanges);
+    }
+    
     public void setCategoryGateway(CategoryGateway categoryGateway) {
         this.categoryGateway = categoryGateway;
     }
@@ -360,54 +364,20 @@ public class AvailableTasksView extends JPanel implements PropertyChangeListener
             }
         }
         
-        // Don't preserve editing state during refresh - this ensures buttons reset properly
-        tableModel.setRowCount(0);
-
+        // Reload every row, but only repaint the rows whose contents changed
+        List<TaskTableModel.Row> rows = new ArrayList<>();
         if (editTaskDataAccess != null) {
             // Get TaskAvailable objects to access isOneTime through proper interface
-            List<TaskAvailableInterf> taskAvailables = editTaskDataAccess.getAllAvailableTasksWithDetails();
-            
-            for (TaskAvailableInterf taskAvailable : taskAvailables) {
-                Info task = (Info) taskAvailable.getInfo();
-                
-                // Convert category ID to name for display
-                String categoryDisplay = "";
-                String categoryId = task.getCategory();
-                if (categoryId != null && !categoryId.isEmpty() && categoryGateway != null) {
-                    Category category = categoryGateway.getCategoryById(categoryId);
-                    categoryDisplay = (category != null) ? category.getName() : "";
-                }
-                
-                tableModel.addRow(new Object[]{
-                        task.getName(),
-                        categoryDisplay,
-                        task.getDescription() != null ? task.getDescription() : "",
-                        taskAvailable.isOneTime(), // Boolean for One Time
-                        task.getId(), // Store ID for edit button
-                        task.getId()  // Store ID for delete button
-                });
+            for (TaskAvailableInterf taskAvailable : editTaskDataAccess.getAllAvailableTasksWithDetails()) {
+                rows.add(toRow((Info) taskAvailable.getInfo(), taskAvailable.isOneTime()));
             }
         } else if (taskGateway != null) {
             // Fallback to basic Info display if editTaskDataAccess is not available
-            List<Info> tasks = taskGateway.getAllAvailableTasks();
-            for (Info task : tasks) {
-                String categoryDisplay = "";
-                String categoryId = task.getCategory();
-                if (categoryId != null && !categoryId.isEmpty() && categoryGateway != null) {
-                    Category category = categoryGateway.getCategoryById(categoryId);
-                    categoryDisplay = (category != null) ? category.getName() : "";
-                }
-                
-                tableModel.addRow(new Object[]{
-                        task.getName(),
-                        categoryDisplay,
-                        task.getDescription() != null ? task.getDescription() : "",
-                        false, // Default to not one-time when using fallback
-                        task.getId(),
-                        task.getId()
-                });
+            for (Info task : taskGateway.getAllAvailableTasks()) {
+                rows.add(toRow(task, false)); // Default to not one-time when using fallback
             }
         }
+        tableModel.setRows(rows);
 
         // Restore the message if it was showing
         if (currentMessage != null && !currentMessage.trim().isEmpty() && !" ".equals(currentMessage)) {
@@ -418,6 +388,52 @@ public class AvailableTasksView extends JPanel implements PropertyChangeListener
         }
     }
 
+    /**
+     * Applies the templates changed since the last frame to just their rows, looking each one
+     * up once however many times it changed. While a row is in edit mode the row indices must
+     * stay put, so changes wait for the refresh that ends edit mode.
+     */
+    private void applyTaskChanges(List<TaskChangeEvent> events) {
+        if (taskGateway == null || editingTaskId != null || editingRow != -1) {
+            return;
+        }
+        Set<String> changed = new LinkedHashSet<>();
+        for (TaskChangeEvent event : events) {
+            if (event.getStore() == TaskChangeEvent.Store.AVAILABLE) {
+                changed.addAll(event.getRemoved());
+                changed.addAll(event.getAdded());
+                changed.addAll(event.getUpdated());
+            }
+        }
+        for (String taskId : changed) {
+            TaskAvailableInterf taskAvailable = taskGateway.getTaskAvailableById(taskId);
+            if (taskAvailable == null) {
+                tableModel.removeRow(taskId);
+            } else {
+                tableModel.upsertRow(toRow((Info) taskAvailable.getInfo(), taskAvailable.isOneTime()));
+            }
+        }
+    }
+
+    private TaskTableModel.Row toRow(Info task, boolean isOneTime) {
+        // Convert category ID to name for display
+        String categoryDisplay = "";
+        String categoryId = task.getCategory();
+        if (categoryId != null && !categoryId.isEmpty() && categoryGateway != null) {
+            String categoryName = categoryGateway.getCategoryName(categoryId);
+            categoryDisplay = (categoryName != null) ? categoryName : "";
+        }
+
+        return new TaskTableModel.Row(task.getId(),
+                task.getName(),
+                categoryDisplay,
+                task.getDescription() != null ? task.getDescription() : "",
+                isOneTime, // Boolean for One Time
+                task.getId(), // Store ID for edit button
+                task.getId()  // Store ID for delete button
+        );
+    }
+
     private void enterEditMode(int row) {
         // Get the task ID - it's stored in column 4, but we need to get it before we change button text
         String taskId = (String) tableModel.getValueAt(row, 4);
@@ -716,25 +732,12 @@ public class AvailableTasksView extends JPanel implements PropertyChangeListener
     }
 
     /**
-     * Sorts the table by the specified column.
+     * Sorts the table by the specified column. The order is kept through later refreshes.
      */
     private void sortTableByColumn(int columnIndex, boolean ascending) {
-        // Create list of row data with task IDs for sorting
-        List<RowData> rowDataList = new ArrayList<>();
-        
-        // Collect all rows and their corresponding task IDs
-        for (int i = 0; i < tableModel.getRowCount(); i++) {
-            Object[] row = new Object[tableModel.getColumnCount()];
-            for (int j = 0; j < tableModel.getColumnCount(); j++) {
-                row[j] = tableModel.getValueAt(i, j);
-            }
-            rowDataList.add(new RowData(row, rowToTaskIdMap.get(i)));
-        }
-        
-        // Sort rows based on the selected column
-        rowDataList.sort((rowData1, rowData2) -> {
-            Object val1 = rowData1.row[columnIndex];
-            Object val2 = rowData2.row[columnIndex];
+        tableModel.setOrder((row1, row2) -> {
+            Object val1 = row1[columnIndex];
+            Object val2 = row2[columnIndex];
             
             // Handle null values
             if (val1 == null && val2 == null) return 0;
@@ -742,35 +745,9 @@ public class AvailableTasksView extends JPanel implements PropertyChangeListener
             if (val2 == null) return ascending ? 1 : -1;
             
             // Sort by string comparison for most columns
-            String str1 = val1.toString();
-            String str2 = val2.toString();
-            
-            int result = str1.compareToIgnoreCase(str2);
+            int result = val1.toString().compareToIgnoreCase(val2.toString());
             return ascending ? result : -result;
         });
-        
-        // Clear and repopulate the table
-        tableModel.setRowCount(0);
-        rowToTaskIdMap.clear();
-        
-        for (int i = 0; i < rowDataList.size(); i++) {
-            RowData rowData = rowDataList.get(i);
-            tableModel.addRow(rowData.row);
-            rowToTaskIdMap.put(i, rowData.taskId);
-        }
-    }
-
-    /**
-     * Helper class to keep row data and task ID together during sorting.
-     */
-    private static class RowData {
-        final Object[] row;
-        final String taskId;
-        
-        RowData(Object[] row, String taskId) {
-            this.row = row;
-            this.taskId = taskId;
-        }
     }
 
     public String getViewName() {
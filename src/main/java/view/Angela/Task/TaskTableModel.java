@@ -0,0 +1,220 @@
+package view.Angela.Task;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Table model for the task tables. Each row is tied to a task ID, and changes are applied as
+ * row-level diffs: updating one task repaints one row, instead of clearing and re-adding every
+ * row as DefaultTableModel.setRowCount(0) forces.
+ *
+ * <p>An optional row order, set by clicking a column header, is kept as rows are added,
+ * reloaded or changed.</p>
+ */
+class TaskTableModel extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * One row of cell values and the ID of the task it shows.
+     */
+    static final class Row {
+        private final String taskId;
+        private final Object[] values;
+
+        Row(String taskId, Object... values) {
+            this.taskId = taskId;
+            this.values = values.clone();
+        }
+
+        String getTaskId() {
+            return taskId;
+        }
+    }
+
+    private final String[] columnNames;
+    private final List<Row> rows = new ArrayList<>();
+    private Comparator<Object[]> order;
+
+    TaskTableModel(String... columnNames) {
+        this.columnNames = columnNames.clone();
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        return rows.get(row).values[column];
+    }
+
+    @Override
+    public void setValueAt(Object value, int row, int column) {
+        rows.get(row).values[column] = value;
+        fireTableCellUpdated(row, column);
+    }
+
+    /**
+     * Returns the ID of the task shown in a row.
+     *
+     * @param row the row index
+     * @return the task ID, or null if the row does not exist
+     */
+    String getTaskIdAt(int row) {
+        return row >= 0 && row < rows.size() ? rows.get(row).taskId : null;
+    }
+
+    /**
+     * Returns the row showing a task.
+     *
+     * @param taskId the task ID
+     * @return the row index, or -1 if the task is not shown
+     */
+    int indexOf(String taskId) {
+        for (int i = 0; i < rows.size(); i++) {
+            if (rows.get(i).taskId.equals(taskId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Replaces the contents with a full reload, firing only the row changes needed to get there.
+     * Rows that are unchanged fire nothing. A reload that moves existing rows relative to each
+     * other falls back to a single data-changed event.
+     *
+     * @param newRows the rows to show, in the order to show them if no column order is set
+     */
+    void setRows(List<Row> newRows) {
+        final List<Row> incoming = new ArrayList<>(newRows);
+        if (order != null) {
+            incoming.sort((a, b) -> order.compare(a.values, b.values));
+        }
+        final Set<String> incomingIds = new HashSet<>();
+        for (Row row : incoming) {
+            incomingIds.add(row.taskId);
+        }
+
+        for (int i = rows.size() - 1; i >= 0; i--) {
+            if (!incomingIds.contains(rows.get(i).taskId)) {
+                rows.remove(i);
+                fireTableRowsDeleted(i, i);
+            }
+        }
+
+        final Set<String> currentIds = new HashSet<>();
+        for (Row row : rows) {
+            currentIds.add(row.taskId);
+        }
+        int next = 0;
+        for (Row row : incoming) {
+            if (currentIds.contains(row.taskId)) {
+                if (!rows.get(next).taskId.equals(row.taskId)) {
+                    rows.clear();
+                    rows.addAll(incoming);
+                    fireTableDataChanged();
+                    return;
+                }
+                next++;
+            }
+        }
+
+        for (int i = 0; i < incoming.size(); i++) {
+            final Row row = incoming.get(i);
+            if (i < rows.size() && rows.get(i).taskId.equals(row.taskId)) {
+                if (!Arrays.equals(rows.get(i).values, row.values)) {
+                    rows.set(i, row);
+                    fireTableRowsUpdated(i, i);
+                }
+            }
+            else {
+                rows.add(i, row);
+                fireTableRowsInserted(i, i);
+            }
+        }
+    }
+
+    /**
+     * Adds or updates the row for one task. A new row goes where the current order puts it,
+     * or at the end if there is no order.
+     *
+     * @param row the row
+     */
+    void upsertRow(Row row) {
+        final int index = indexOf(row.taskId);
+        if (index >= 0 && Arrays.equals(rows.get(index).values, row.values)) {
+            return;
+        }
+        if (index >= 0) {
+            rows.set(index, row);
+            if (order == null || isInOrder(index)) {
+                fireTableRowsUpdated(index, index);
+                return;
+            }
+            rows.remove(index);
+            fireTableRowsDeleted(index, index);
+        }
+        final int position = insertionPoint(row);
+        rows.add(position, row);
+        fireTableRowsInserted(position, position);
+    }
+
+    /**
+     * Removes the row for a task, if it is shown.
+     *
+     * @param taskId the task ID
+     */
+    void removeRow(String taskId) {
+        final int index = indexOf(taskId);
+        if (index >= 0) {
+            rows.remove(index);
+            fireTableRowsDeleted(index, index);
+        }
+    }
+
+    /**
+     * Sorts the rows and keeps them sorted through later changes.
+     *
+     * @param order compares the cell values of two rows
+     */
+    void setOrder(Comparator<Object[]> order) {
+        this.order = order;
+        rows.sort((a, b) -> order.compare(a.values, b.values));
+        fireTableDataChanged();
+    }
+
+    private boolean isInOrder(int index) {
+        final Object[] values = rows.get(index).values;
+        return (index == 0 || order.compare(rows.get(index - 1).values, values) <= 0)
+                && (index == rows.size() - 1 || order.compare(values, rows.get(index + 1).values) <= 0);
+    }
+
+    private int insertionPoint(Row row) {
+        if (order == null) {
+            return rows.size();
+        }
+        int position = 0;
+        while (position < rows.size() && order.compare(rows.get(position).values, row.values) <= 0) {
+            position++;
+        }
+        return position;
+    }
+}
@@ -7,14 +7,16 @@ import interface_adapter.Angela.task.edit_today.EditTodayTaskController;
 import interface_adapter.Angela.task.edit_today.EditTodayTaskViewModel;
 import interface_adapter.Angela.task.remove_from_today.RemoveFromTodayController;
 import entity.Angela.Task.Task;
-import entity.Category;
 import data_access.InMemoryTaskDataAccessObject;
+import data_access.DomainEventBus;
+import data_access.TaskChangeEvent;
 import use_case.Angela.category.CategoryGateway;
 import view.DueDatePickerPanel;
 import com.github.lgooddatepicker.components.DatePicker;
 import com.github.lgooddatepicker.components.DatePickerSettings;
 
 import javax.swing.*;
+import javax.swing.event.TableModelEvent;
 import javax.swing.table.*;
 import java.awt.*;
 import java.awt.event.*;
@@ -24,15 +26,15 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import view.FontUtil;
 
 /**
  * View for displaying today's tasks with priority, status, and due date.
  */
 public class TodaysTasksView extends JPanel implements PropertyChangeListener {
-    private final DefaultTableModel tableModel;
+    private final TaskTableModel tableModel;
     private final JTable taskTable;
     private final JLabel completedLabel;
     private final JLabel inProgressLabel;
@@ -57,9 +59,6 @@ public class TodaysTasksView extends JPanel implements PropertyChangeListener {
     // Store original values for cancel
     private Task.Priority originalPriority;
     private LocalDate originalDueDate;
-    
-    // Map row index to task ID for button handling
-    private final Map<Integer, String> rowToTaskIdMap = new HashMap<>();
 
     public TodaysTasksView(TodayTasksViewModel viewModel) {
         this.viewModel = viewModel;
@@ -78,7 +77,7 @@ public class TodaysTasksView extends JPanel implements PropertyChangeListener {
 
         // Create table
         String[] columnNames = {"Status", "Name", "Category", "Priority", "Due", "Edit", "Delete"};
-        tableModel = new DefaultTableModel(columnNames, 0) {
+        tableModel = new TaskTableModel(columnNames) {
             @Override
             public boolean isCellEditable(int row, int column) {
                 // Status checkbox (0), Priority (3), Due Date (4), and button columns (5, 6) are editable
@@ -131,10 +130,11 @@ public class TodaysTasksView extends JPanel implements PropertyChangeListener {
 
         // Add checkbox listener for status column
         taskTable.getModel().addTableModelListener(e -> {
-            if (e.getColumn() == 0 && markTaskCompleteController != null) { // Status checkbox column
+            if (e.getType() == TableModelEvent.UPDATE && e.getColumn() == 0
+                    && markTaskCompleteController != null) { // Status checkbox column
                 int row = e.getFirstRow();
                 Boolean isCompleted = (Boolean) tableModel.getValueAt(row, 0);
-                String taskId = rowToTaskIdMap.get(row); // Get task ID from our map
+                String taskId = tableModel.getTaskIdAt(row);
                 // Call controller to update task completion status
                 if (taskId != null && isCompleted != null) {
                     markTaskCompleteController.execute(taskId, isCompleted);
@@ -190,6 +190,10 @@ public class TodaysTasksView extends JPanel implements PropertyChangeListener {
         refreshTasks();
     }
 
+    public void setEventBus(DomainEventBus eventBus) {
+        eventBus.subscribe(TaskChangeEvent.class, this::applyTaskChanges);
+    }
+
     public void setCategoryGateway(CategoryGateway categoryGateway) {
         this.categoryGateway = categoryGateway;
     }
@@ -229,78 +233,110 @@ public class TodaysTasksView extends JPanel implements PropertyChangeListener {
         }
     }
 
+    /**
+     * Reloads every row, but only repaints the rows whose contents changed.
+     */
     private void refreshTasks() {
-        tableModel.setRowCount(0);
-        rowToTaskIdMap.clear();
-
-        if (taskGateway != null) {
-            List<Task> todaysTasks = taskGateway.getTodaysTasks();
-            int completedCount = 0;
-            int inProgressCount = 0;
-            int notStartedCount = 0;
-            int rowIndex = 0;
-
-            for (Task task : todaysTasks) {
-                // Skip overdue tasks - they should only appear in the Overdue panel
-                if (task.isOverdue()) {
-                    continue;
-                }
-                
-                // Get category name
-                String categoryDisplay = "";
-                String categoryId = task.getInfo().getCategory();
-                if (categoryId != null && !categoryId.isEmpty() && categoryGateway != null) {
-                    Category category = categoryGateway.getCategoryById(categoryId);
-                    categoryDisplay = (category != null) ? category.getName() : "";
-                }
+        if (taskGateway == null) {
+            return;
+        }
+        List<Task> todaysTasks = taskGateway.getTodaysTasks();
+        List<TaskTableModel.Row> rows = new ArrayList<>();
+        for (Task task : todaysTasks) {
+            // Skip overdue tasks - they should only appear in the Overdue panel
+            if (!task.isOverdue()) {
+                rows.add(toRow(task));
+            }
+        }
+        tableModel.setRows(rows);
+        updateStats(todaysTasks);
+    }
 
-                // Priority display
-                String priorityDisplay = task.getPriority() != null ? task.getPriority().toString() : "";
+    /**
+     * Applies the tasks changed since the last frame to just their rows. Each task is looked
+     * up once however many times it changed, and its current state decides whether its row
+     * stays. While a row is in edit mode the row indices must stay put, so changes wait for
+     * the refresh that ends edit mode.
+     */
+    private void applyTaskChanges(List<TaskChangeEvent> events) {
+        if (taskGateway == null || editingRow != -1) {
+            return;
+        }
+        Set<String> changed = new LinkedHashSet<>();
+        for (TaskChangeEvent event : events) {
+            if (event.getStore() == TaskChangeEvent.Store.TODAY) {
+                changed.addAll(event.getRemoved());
+                changed.addAll(event.getAdded());
+                changed.addAll(event.getUpdated());
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        for (String taskId : changed) {
+            Task task = (Task) taskGateway.getTodayTaskById(taskId);
+            if (task == null || task.isOverdue()) {
+                tableModel.removeRow(taskId);
+            } else {
+                tableModel.upsertRow(toRow(task));
+            }
+        }
+        updateStats(taskGateway.getTodaysTasks());
+    }
 
-                // Status checkbox
-                boolean isCompleted = task.isCompleted();
-                if (isCompleted) {
-                    completedCount++;
-                } else if (task.getDates().getBeginDate() != null && task.getDates().getBeginDate().isBefore(java.time.LocalDate.now().plusDays(1))) {
-                    inProgressCount++;
-                } else {
-                    notStartedCount++;
-                }
+    private TaskTableModel.Row toRow(Task task) {
+        // Category names come from the shared cache, so this costs no lookup per row
+        String categoryDisplay = "";
+        String categoryId = task.getInfo().getCategory();
+        if (categoryId != null && !categoryId.isEmpty() && categoryGateway != null) {
+            String categoryName = categoryGateway.getCategoryName(categoryId);
+            categoryDisplay = (categoryName != null) ? categoryName : "";
+        }
 
-                // Due date display
-                String dueDateDisplay = "";
-                if (task.getDates().getDueDate() != null) {
-                    dueDateDisplay = task.getDates().getDueDate().format(DateTimeFormatter.ISO_LOCAL_DATE);
-                }
+        // Priority display
+        String priorityDisplay = task.getPriority() != null ? task.getPriority().toString() : "";
 
-                // Check if this task is being edited (use row index, not task ID)
-                boolean isBeingEdited = (editingRow == rowIndex);
-                
-                // Store task ID for this row (use Task's ID, not Info's ID)
-                rowToTaskIdMap.put(rowIndex, task.getId());
-                
-                tableModel.addRow(new Object[]{
-                    isCompleted, // Status checkbox
-                    task.getInfo().getName(),
-                    categoryDisplay,
-                    priorityDisplay,
-                    dueDateDisplay,
-                    isBeingEdited ? "Save" : "Edit",    // Edit/Save button
-                    isBeingEdited ? "Cancel" : "Delete"  // Delete/Cancel button
-                });
-                
-                if (isBeingEdited) {
-                }
-                
-                rowIndex++;
-            }
+        // Due date display
+        String dueDateDisplay = "";
+        if (task.getDates().getDueDate() != null) {
+            dueDateDisplay = task.getDates().getDueDate().format(DateTimeFormatter.ISO_LOCAL_DATE);
+        }
+
+        boolean isBeingEdited = task.getId().equals(editingTaskId);
+
+        return new TaskTableModel.Row(task.getId(),
+            task.isCompleted(), // Status checkbox
+            task.getInfo().getName(),
+            categoryDisplay,
+            priorityDisplay,
+            dueDateDisplay,
+            isBeingEdited ? "Save" : "Edit",    // Edit/Save button
+            isBeingEdited ? "Cancel" : "Delete"  // Delete/Cancel button
+        );
+    }
 
-            // Update stats (only count non-overdue tasks)
-            int totalNonOverdueTasks = completedCount + inProgressCount + notStartedCount;
-            completedLabel.setText("Completed: " + completedCount + "/" + totalNonOverdueTasks);
-            inProgressLabel.setText("In Progress: " + inProgressCount);
-            notStartedLabel.setText("Not Started: " + notStartedCount);
+    private void updateStats(List<Task> todaysTasks) {
+        int completedCount = 0;
+        int inProgressCount = 0;
+        int notStartedCount = 0;
+        for (Task task : todaysTasks) {
+            // Only count non-overdue tasks
+            if (task.isOverdue()) {
+                continue;
+            }
+            if (task.isCompleted()) {
+                completedCount++;
+            } else if (task.getDates().getBeginDate() != null && task.getDates().getBeginDate().isBefore(LocalDate.now().plusDays(1))) {
+                inProgressCount++;
+            } else {
+                notStartedCount++;
+            }
         }
+
+        int totalNonOverdueTasks = completedCount + inProgressCount + notStartedCount;
+        completedLabel.setText("Completed: " + completedCount + "/" + totalNonOverdueTasks);
+        inProgressLabel.setText("In Progress: " + inProgressCount);
+        notStartedLabel.setText("Not Started: " + notStartedCount);
     }
 
     private void showMessage(String message, boolean isError) {
@@ -312,27 +348,7 @@ public class TodaysTasksView extends JPanel implements PropertyChangeListener {
     }
     
     private void handleEditTask(String taskId) {
-        
-        // The taskId passed in is actually the task ID we need
-        // Find the row for this task by comparing with tasks from gateway
-        // IMPORTANT: Skip overdue tasks since they're not shown in the table
-        int row = -1;
-        List<Task> todaysTasks = taskGateway.getTodaysTasks();
-        int tableRow = 0;
-        for (Task task : todaysTasks) {
-            // Skip overdue tasks - they're not in the table
-            if (task.isOverdue()) {
-                continue;
-            }
-            // Compare with Task's ID, not Info's ID
-            if (task.getId().equals(taskId)) {
-                row = tableRow;
-                break;
-            }
-            tableRow++;
-        }
-        
-        
+        int row = tableModel.indexOf(taskId);
         if (row >= 0) {
             enterEditMode(row);
         } else {
@@ -341,23 +357,9 @@ public class TodaysTasksView extends JPanel implements PropertyChangeListener {
     }
     
     private void enterEditMode(int row) {
-        // Get the task ID from the tasks list, skipping overdue tasks
-        List<Task> todaysTasks = taskGateway.getTodaysTasks();
-        
-        // Find the actual task at this row, skipping overdue tasks
-        int currentRow = 0;
-        Task targetTask = null;
-        for (Task task : todaysTasks) {
-            // Skip overdue tasks - they're not in the table
-            if (task.isOverdue()) {
-                continue;
-            }
-            if (currentRow == row) {
-                targetTask = task;
-                break;
-            }
-            currentRow++;
-        }
+        // Get the task shown in this row
+        String rowTaskId = tableModel.getTaskIdAt(row);
+        Task targetTask = rowTaskId != null ? (Task) taskGateway.getTodayTaskById(rowTaskId) : null;
         
         if (targetTask == null) {
             showMessage("Invalid row selected", true);
@@ -570,7 +572,7 @@ public class TodaysTasksView extends JPanel implements PropertyChangeListener {
             
             currentRow = row;
             // Get the task ID from our map, NOT from the cell value
-            taskId = rowToTaskIdMap.get(row);
+            taskId = tableModel.getTaskIdAt(row);
             
             // The value parameter contains the button text (Edit/Save/Delete/Cancel)
             String buttonText = (String) value;
@@ -673,25 +675,12 @@ public class TodaysTasksView extends JPanel implements PropertyChangeListener {
     }
 
     /**
-     * Sorts the table by the specified column.
+     * Sorts the table by the specified column. The order is kept through later refreshes.
      */
     private void sortTableByColumn(int columnIndex, boolean ascending) {
-        // Create list of row data with task IDs for sorting
-        List<RowData> rowDataList = new ArrayList<>();
-        
-        // Collect all rows and their corresponding task IDs
-        for (int i = 0; i < tableModel.getRowCount(); i++) {
-            Object[] row = new Object[tableModel.getColumnCount()];
-            for (int j = 0; j < tableModel.getColumnCount(); j++) {
-                row[j] = tableModel.getValueAt(i, j);
-            }
-            rowDataList.add(new RowData(row, rowToTaskIdMap.get(i)));
-        }
-        
-        // Sort rows based on the selected column
-        rowDataList.sort((rowData1, rowData2) -> {
-            Object val1 = rowData1.row[columnIndex];
-            Object val2 = rowData2.row[columnIndex];
+        tableModel.setOrder((row1, row2) -> {
+            Object val1 = row1[columnIndex];
+            Object val2 = row2[columnIndex];
             
             // Handle null values
             if (val1 == null && val2 == null) return 0;
@@ -699,34 +688,8 @@ public class TodaysTasksView extends JPanel implements PropertyChangeListener {
             if (val2 == null) return ascending ? 1 : -1;
             
             // Sort by string comparison for most columns
-            String str1 = val1.toString();
-            String str2 = val2.toString();
-            
-            int result = str1.compareToIgnoreCase(str2);
+            int result = val1.toString().compareToIgnoreCase(val2.toString());
             return ascending ? result : -result;
         });
-        
-        // Clear and repopulate the table
-        tableModel.setRowCount(0);
-        rowToTaskIdMap.clear();
-        
-        for (int i = 0; i < rowDataList.size(); i++) {
-            RowData rowData = rowDataList.get(i);
-            tableModel.addRow(rowData.row);
-            rowToTaskIdMap.put(i, rowData.taskId);
-        }
-    }
-
-    /**
-     * Helper class to keep row data and task ID together during sorting.
-     */
-    private static class RowData {
-        final Object[] row;
-        final String taskId;
-        
-        RowData(Object[] row, String taskId) {
-            this.row = row;
-            this.taskId = taskId;
-        }
     }
 }
\ No newline at end of file
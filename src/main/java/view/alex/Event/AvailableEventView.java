@@ -152,9 +152,9 @@ public class AvailableEventView extends JPanel {
             // Display category name instead of ID
             String categoryDisplay = "";
             if (categoryGateway != null && event.getCategory() != null && !event.getCategory().isEmpty()) {
-                Category category = categoryGateway.getCategoryById(event.getCategory());
+                String categoryName = categoryGateway.getCategoryName(event.getCategory());
                 // Only show category name if it exists, otherwise show empty
-                categoryDisplay = category != null ? category.getName() : "";
+                categoryDisplay = categoryName != null ? categoryName : "";
             }
             row.add(new JLabel(categoryDisplay, SwingConstants.CENTER));
 
@@ -11,7 +11,6 @@ import interface_adapter.alex.event_related.todays_events_module.todays_events.T
 import interface_adapter.alex.event_related.todays_events_module.todays_events.TodaysEventsViewModel;
 import interface_adapter.alex.event_related.todays_events_module.delete_todays_event.DeleteTodaysEventController;
 import view.DueDatePickerPanel;
-import entity.Category;
 import use_case.Angela.category.CategoryGateway;
 
 import javax.swing.*;
@@ -136,9 +135,9 @@ public class TodaysEventsView extends JPanel {
             // Display category name instead of ID
             String categoryDisplay = "";
             if (categoryGateway != null && event.getInfo().getCategory() != null && !event.getInfo().getCategory().isEmpty()) {
-                Category category = categoryGateway.getCategoryById(event.getInfo().getCategory());
+                String categoryName = categoryGateway.getCategoryName(event.getInfo().getCategory());
                 // Only show category name if it exists, otherwise show empty
-                categoryDisplay = category != null ? category.getName() : "";
+                categoryDisplay = categoryName != null ? categoryName : "";
             }
             row.add(new JLabel(categoryDisplay, SwingConstants.CENTER));
             
@@ -26,12 +26,15 @@ public class NotificationView implements PropertyChangeListener {
             NotificationState state = (NotificationState) evt.getNewValue();
 
             if (state.shouldShowReminder()) {
-                JOptionPane.showMessageDialog(
+                // Reminders are checked on the scheduler thread; the modal dialog belongs on the
+                // event dispatch thread, where waiting for the user does not hold up other jobs
+                String message = state.getReminderMessage();
+                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(
                         null,
-                        state.getReminderMessage(),
+                        message,
                         "Reminder",
                         JOptionPane.INFORMATION_MESSAGE
-                );
+                ));
             }
         }
     }
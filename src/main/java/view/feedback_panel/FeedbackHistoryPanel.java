@@ -13,6 +13,7 @@ import javax.swing.BoxLayout;
 import javax.swing.JButton;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.JTextArea;
 
 import constants.Constants;
 import entity.feedback_entry.FeedbackEntryInterf;
@@ -37,7 +38,9 @@ public class FeedbackHistoryPanel extends JPanel {
 
         // observe VM updates
         this.viewModel.addPropertyChangeListener(evt -> {
-            if ("entries".equals(evt.getPropertyName())) {
+            if ("entries".equals(evt.getPropertyName())
+                    || "draftRecommendation".equals(evt.getPropertyName())
+                    || "errorMessage".equals(evt.getPropertyName())) {
                 rebuild();
             }
         });
@@ -52,6 +55,32 @@ public class FeedbackHistoryPanel extends JPanel {
         header.setBorder(BorderFactory.createEmptyBorder(0, 0, Constants.SIXTEEN, 0));
         add(header);
 
+        final String error = viewModel.getErrorMessage();
+        if (error != null && !error.isEmpty()) {
+            final JLabel errorLabel = new JLabel(error);
+            errorLabel.setForeground(Color.RED);
+            errorLabel.setAlignmentX(Component.LEFT_ALIGNMENT);
+            errorLabel.setBorder(BorderFactory.createEmptyBorder(0, 0, Constants.SIXTEEN, 0));
+            add(errorLabel);
+        }
+
+        final String draft = viewModel.getDraftRecommendation();
+        if (draft != null && !draft.isEmpty()) {
+            final JLabel generating = new JLabel("Generating this week's feedback...");
+            generating.setForeground(Color.GRAY);
+            generating.setAlignmentX(Component.LEFT_ALIGNMENT);
+            add(generating);
+
+            final JTextArea draftArea = new JTextArea(draft);
+            draftArea.setEditable(false);
+            draftArea.setLineWrap(true);
+            draftArea.setWrapStyleWord(true);
+            draftArea.setOpaque(false);
+            draftArea.setAlignmentX(Component.LEFT_ALIGNMENT);
+            draftArea.setBorder(BorderFactory.createEmptyBorder(0, 0, Constants.SIXTEEN, 0));
+            add(draftArea);
+        }
+
         final List<FeedbackEntryInterf> entries = viewModel.getEntries();
         if (entries == null || entries.isEmpty()) {
             final JLabel empty = new JLabel("No feedback entry on record.");
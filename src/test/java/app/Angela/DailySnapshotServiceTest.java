@@ -2,23 +2,31 @@ package app.Angela;
 
 import entity.Angela.TodaySoFarSnapshot;
 import entity.Angela.Task.Task;
+import entity.BeginAndDueDates.BeginAndDueDates;
 import entity.info.Info;
 import entity.Sophia.Goal;
 import entity.alex.WellnessLogEntry.WellnessLogEntry;
 import use_case.Angela.view_history.ViewHistoryDataAccessInterface;
-import app.SharedDataAccess;
+import app.AppDataAccessFactory;
+import app.scheduler.AppScheduler;
 import data_access.InMemoryTaskDataAccessObject;
-import data_access.files.FileGoalRepository;
+import data_access.files.JournaledGoalRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.MockitoAnnotations;
 
+import java.time.Clock;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -32,25 +40,19 @@ class DailySnapshotServiceTest {
     private ViewHistoryDataAccessInterface historyDataAccess;
 
     @Mock
-    private SharedDataAccess sharedDataAccess;
+    private AppDataAccessFactory appDataAccess;
 
     @Mock
     private InMemoryTaskDataAccessObject taskGateway;
 
     @Mock
-    private FileGoalRepository goalRepository;
-
-    @Mock
-    private Task task1;
-
-    @Mock
-    private Task task2;
+    private JournaledGoalRepository goalRepository;
 
     @Mock
     private Goal goal;
 
     private MockedStatic<HistoryPageBuilder> historyPageBuilderMock;
-    private MockedStatic<SharedDataAccess> sharedDataAccessMock;
+    private MockedStatic<AppDataAccessFactory> appDataAccessMock;
 
     @BeforeEach
     void setUp() {
@@ -61,12 +63,12 @@ class DailySnapshotServiceTest {
         
         // Mock static methods
         historyPageBuilderMock = mockStatic(HistoryPageBuilder.class);
-        sharedDataAccessMock = mockStatic(SharedDataAccess.class);
+        appDataAccessMock = mockStatic(AppDataAccessFactory.class);
         
         historyPageBuilderMock.when(HistoryPageBuilder::getHistoryDataAccess)
             .thenReturn(historyDataAccess);
-        sharedDataAccessMock.when(SharedDataAccess::getInstance)
-            .thenReturn(sharedDataAccess);
+        appDataAccessMock.when(AppDataAccessFactory::getInstance)
+            .thenReturn(appDataAccess);
     }
 
     @AfterEach
@@ -74,8 +76,8 @@ class DailySnapshotServiceTest {
         if (historyPageBuilderMock != null) {
             historyPageBuilderMock.close();
         }
-        if (sharedDataAccessMock != null) {
-            sharedDataAccessMock.close();
+        if (appDataAccessMock != null) {
+            appDataAccessMock.close();
         }
         DailySnapshotService.resetForTesting();
     }
@@ -147,12 +149,10 @@ class DailySnapshotServiceTest {
         when(historyDataAccess.saveSnapshot(any(TodaySoFarSnapshot.class))).thenReturn(true);
         when(historyDataAccess.cleanupOldSnapshots(30)).thenReturn(5);
         
-        when(sharedDataAccess.getTaskGateway()).thenReturn(taskGateway);
-        when(sharedDataAccess.getGoalRepository()).thenReturn(goalRepository);
+        when(appDataAccess.getTaskGateway()).thenReturn(taskGateway);
+        when(appDataAccess.getGoalRepository()).thenReturn(goalRepository);
         
-        when(task1.isCompleted()).thenReturn(true);
-        when(task2.isCompleted()).thenReturn(false);
-        List<Task> todaysTasks = Arrays.asList(task1, task2);
+        List<Task> todaysTasks = Arrays.asList(task(true), task(false));
         when(taskGateway.getTodaysTasks()).thenReturn(todaysTasks);
         when(goalRepository.getCurrentGoals()).thenReturn(Arrays.asList());
 
@@ -175,8 +175,8 @@ class DailySnapshotServiceTest {
         when(historyDataAccess.hasSnapshot(today)).thenReturn(false);
         when(historyDataAccess.saveSnapshot(any(TodaySoFarSnapshot.class))).thenReturn(false);
         
-        when(sharedDataAccess.getTaskGateway()).thenReturn(taskGateway);
-        when(sharedDataAccess.getGoalRepository()).thenReturn(goalRepository);
+        when(appDataAccess.getTaskGateway()).thenReturn(taskGateway);
+        when(appDataAccess.getGoalRepository()).thenReturn(goalRepository);
         
         List<Task> todaysTasks = Arrays.asList();
         when(taskGateway.getTodaysTasks()).thenReturn(todaysTasks);
@@ -199,8 +199,8 @@ class DailySnapshotServiceTest {
         when(historyDataAccess.saveSnapshot(any(TodaySoFarSnapshot.class))).thenReturn(true);
         when(historyDataAccess.cleanupOldSnapshots(30)).thenReturn(0);
         
-        when(sharedDataAccess.getTaskGateway()).thenReturn(taskGateway);
-        when(sharedDataAccess.getGoalRepository()).thenReturn(goalRepository);
+        when(appDataAccess.getTaskGateway()).thenReturn(taskGateway);
+        when(appDataAccess.getGoalRepository()).thenReturn(goalRepository);
         
         when(taskGateway.getTodaysTasks()).thenReturn(Arrays.asList());
         when(goalRepository.getCurrentGoals()).thenReturn(Arrays.asList());
@@ -221,19 +221,11 @@ class DailySnapshotServiceTest {
         when(historyDataAccess.saveSnapshot(any(TodaySoFarSnapshot.class))).thenReturn(true);
         when(historyDataAccess.cleanupOldSnapshots(30)).thenReturn(0);
         
-        when(sharedDataAccess.getTaskGateway()).thenReturn(taskGateway);
-        when(sharedDataAccess.getGoalRepository()).thenReturn(goalRepository);
+        when(appDataAccess.getTaskGateway()).thenReturn(taskGateway);
+        when(appDataAccess.getGoalRepository()).thenReturn(goalRepository);
         
         // 3 tasks: 2 completed, 1 not completed = 66% completion rate
-        Task completedTask1 = mock(Task.class);
-        Task completedTask2 = mock(Task.class);
-        Task incompleteTask = mock(Task.class);
-        
-        when(completedTask1.isCompleted()).thenReturn(true);
-        when(completedTask2.isCompleted()).thenReturn(true);
-        when(incompleteTask.isCompleted()).thenReturn(false);
-        
-        List<Task> todaysTasks = Arrays.asList(completedTask1, completedTask2, incompleteTask);
+        List<Task> todaysTasks = Arrays.asList(task(true), task(true), task(false));
         when(taskGateway.getTodaysTasks()).thenReturn(todaysTasks);
         when(goalRepository.getCurrentGoals()).thenReturn(Arrays.asList());
 
@@ -252,8 +244,8 @@ class DailySnapshotServiceTest {
         when(historyDataAccess.hasSnapshot(any(LocalDate.class))).thenReturn(false);
         when(historyDataAccess.saveSnapshot(any(TodaySoFarSnapshot.class))).thenReturn(true);
         
-        when(sharedDataAccess.getTaskGateway()).thenReturn(taskGateway);
-        when(sharedDataAccess.getGoalRepository()).thenReturn(goalRepository);
+        when(appDataAccess.getTaskGateway()).thenReturn(taskGateway);
+        when(appDataAccess.getGoalRepository()).thenReturn(goalRepository);
         
         when(taskGateway.getTodaysTasks()).thenReturn(Arrays.asList());
         when(goalRepository.getCurrentGoals()).thenReturn(Arrays.asList());
@@ -297,4 +289,63 @@ class DailySnapshotServiceTest {
         assertDoesNotThrow(() -> service2.startAutomaticSnapshots());
         assertDoesNotThrow(() -> service2.stopAutomaticSnapshots());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testStartAutomaticSnapshots_backfillsDaysMissedSinceTheLatestSnapshot() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        Clock noon = Clock.fixed(today.atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant(),
+            ZoneId.systemDefault());
+        List<Runnable> ticks = new ArrayList<>();
+        ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+        when(executor.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).thenAnswer(call -> {
+            ticks.add(call.getArgument(0));
+            return null;
+        });
+        
+        when(historyDataAccess.getAvailableDates()).thenReturn(List.of(today.minusDays(3)));
+        when(historyDataAccess.saveSnapshot(any(TodaySoFarSnapshot.class))).thenReturn(true);
+        when(goalRepository.getCurrentGoals()).thenReturn(Arrays.asList());
+        
+        Task doneYesterday = task(false, today.minusDays(3));
+        doneYesterday.markComplete(today.minusDays(1).atTime(10, 0));
+        Task doneToday = task(false, today.minusDays(3));
+        doneToday.markComplete(today.atTime(9, 0));
+        Task startsToday = task(false, today);
+        when(taskGateway.getTodaysTasks()).thenReturn(Arrays.asList(doneYesterday, doneToday, startsToday));
+        
+        DailySnapshotService service = new DailySnapshotService(historyDataAccess, taskGateway, goalRepository,
+            new AppScheduler(executor, noon));
+        
+        // Act - run the catch-up ticks, then the one that finds today's run still to come
+        service.startAutomaticSnapshots();
+        for (int i = 0; i < 3; i++) {
+            ticks.get(i).run();
+        }
+        
+        // Assert
+        ArgumentCaptor<TodaySoFarSnapshot> saved = ArgumentCaptor.forClass(TodaySoFarSnapshot.class);
+        verify(historyDataAccess, times(2)).saveSnapshot(saved.capture());
+        TodaySoFarSnapshot first = saved.getAllValues().get(0);
+        TodaySoFarSnapshot second = saved.getAllValues().get(1);
+        assertEquals(today.minusDays(2), first.getDate());
+        assertEquals(0, first.getTaskCompletionRate(), "Nothing was done yet two days ago");
+        assertEquals(today.minusDays(1), second.getDate());
+        assertEquals(2, second.getTodaysTasks().size(), "The task starting today is left out");
+        assertEquals(50, second.getTaskCompletionRate());
+    }
+
+    /** Snapshots keep packed copies of today's tasks, so these have to be real tasks. */
+    private static Task task(boolean completed) {
+        return task(completed, LocalDate.now());
+    }
+
+    private static Task task(boolean completed, LocalDate begin) {
+        Task task = new Task("template1", new Info.Builder("Task").build(),
+                new BeginAndDueDates(begin, null), false);
+        if (completed) {
+            task.markComplete();
+        }
+        return task;
+    }
+}
@@ -3,7 +3,7 @@ package app;
 import data_access.*;
 import data_access.alex.TodaysEventDataAccessObject;
 import data_access.alex.TodaysWellnessLogDataAccessObject;
-import data_access.files.FileGoalRepository;
+import data_access.files.JournaledGoalRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.AfterEach;
@@ -49,6 +49,13 @@ class SharedDataAccessTest {
         assertNotNull(sharedData.getGoalRepository(), "Goal repository should be initialized");
     }
     
+    @Test
+    void testGoalRepositoryIsTheAppsOwn() {
+        assertSame(AppDataAccessFactory.getInstance().getGoalRepository(),
+                SharedDataAccess.getInstance().getGoalRepository(),
+                "Only one repository may own the goal journal");
+    }
+    
     @Test
     void testSameInstancesAcrossMultipleGets() {
         SharedDataAccess sharedData = SharedDataAccess.getInstance();
@@ -66,8 +73,8 @@ class SharedDataAccessTest {
         TodaysWellnessLogDataAccessObject wellnessDAO1 = sharedData.getWellnessDataAccess();
         TodaysWellnessLogDataAccessObject wellnessDAO2 = sharedData.getWellnessDataAccess();
         
-        FileGoalRepository goalRepo1 = sharedData.getGoalRepository();
-        FileGoalRepository goalRepo2 = sharedData.getGoalRepository();
+        JournaledGoalRepository goalRepo1 = sharedData.getGoalRepository();
+        JournaledGoalRepository goalRepo2 = sharedData.getGoalRepository();
         
         // Verify same instances are returned
         assertSame(taskGateway1, taskGateway2, "Should return same task gateway instance");
@@ -1,5 +1,6 @@
 package app.alex.Notification_related;
 
+import app.scheduler.AppScheduler;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -34,15 +35,8 @@ class NotificationSystemRunnerTest {
             }
         }
         
-        // Interrupt any threads that may be running
-        ThreadGroup threadGroup = Thread.currentThread().getThreadGroup();
-        Thread[] threads = new Thread[threadGroup.activeCount()];
-        threadGroup.enumerate(threads);
-        for (Thread thread : threads) {
-            if (thread != null && thread.getName().equals("ReminderSchedulerThread")) {
-                thread.interrupt();
-            }
-        }
+        // Stop the reminder check the runner registered
+        AppScheduler.shared().cancel(NotificationSystemRunner.JOB_NAME);
     }
 
     @Test
@@ -66,32 +60,35 @@ class NotificationSystemRunnerTest {
     }
 
     @Test
-    @DisplayName("Should create scheduler thread during run")
+    @DisplayName("Should register the reminder check with the shared scheduler during run")
     void testSchedulerThreadCreation() {
         runner.run();
         
-        // Allow some time for thread creation
+        // Allow some time for the first check to run
         try {
             Thread.sleep(100);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
         
-        // Check if scheduler thread was created
+        assertTrue(AppScheduler.shared().isScheduled(NotificationSystemRunner.JOB_NAME),
+            "The reminder check should be registered with the shared scheduler");
+        
+        // Check that the shared scheduler thread is running as a daemon
         ThreadGroup threadGroup = Thread.currentThread().getThreadGroup();
         Thread[] threads = new Thread[threadGroup.activeCount()];
         int count = threadGroup.enumerate(threads);
         
         boolean schedulerThreadFound = false;
         for (int i = 0; i < count; i++) {
-            if (threads[i] != null && "ReminderSchedulerThread".equals(threads[i].getName())) {
+            if (threads[i] != null && "app-scheduler".equals(threads[i].getName())) {
                 schedulerThreadFound = true;
                 assertTrue(threads[i].isDaemon(), "Scheduler thread should be a daemon thread");
                 break;
             }
         }
         
-        assertTrue(schedulerThreadFound, "ReminderSchedulerThread should be created and running");
+        assertTrue(schedulerThreadFound, "The shared scheduler thread should be created and running");
     }
 
     @Test
@@ -0,0 +1,201 @@
+package app.scheduler;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AppSchedulerTest {
+
+    /** Clocks went forward an hour at 2 AM on 2025-03-09 here. */
+    private static final ZoneId ZONE = ZoneId.of("America/New_York");
+    private static final LocalTime SNAPSHOT_TIME = LocalTime.of(23, 59);
+
+    private MutableClock clock;
+    /** Ticks the scheduler has handed to its executor, in order, with their delays. */
+    private final Deque<Runnable> ticks = new ArrayDeque<>();
+    private final Deque<Long> delays = new ArrayDeque<>();
+    private AppScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(LocalDateTime.of(2025, 3, 5, 12, 0));
+        final ScheduledExecutorService executor = mock(ScheduledExecutorService.class);
+        when(executor.schedule(any(Runnable.class), anyLong(), any(TimeUnit.class))).thenAnswer(call -> {
+            ticks.add(call.getArgument(0));
+            delays.add(TimeUnit.MILLISECONDS.convert(call.getArgument(1), call.getArgument(2)));
+            return mock(ScheduledFuture.class);
+        });
+        scheduler = new AppScheduler(executor, clock);
+    }
+
+    /** Runs the next tick the way the executor would once its delay had passed. */
+    private void runNextTick() {
+        assertFalse(ticks.isEmpty(), "Nothing is scheduled");
+        delays.poll();
+        ticks.poll().run();
+    }
+
+    @Test
+    void dailyJob_runsAtItsTime_andWakesAtLeastEveryMinute() {
+        final List<LocalDate> runs = new ArrayList<>();
+        final AppScheduler.ScheduledJob job = scheduler.scheduleDaily("snapshot", SNAPSHOT_TIME, null, runs::add);
+
+        assertEquals(ZonedDateTime.of(2025, 3, 5, 23, 59, 0, 0, ZONE), job.getNextRun());
+        assertEquals(AppScheduler.MAX_WAIT.toMillis(), delays.peek());
+
+        clock.set(LocalDateTime.of(2025, 3, 5, 18, 0));
+        runNextTick();
+        assertTrue(runs.isEmpty(), "Woken early, it only waits again");
+
+        clock.set(LocalDateTime.of(2025, 3, 5, 23, 59, 30));
+        runNextTick();
+        assertEquals(List.of(LocalDate.of(2025, 3, 5)), runs);
+        assertEquals(ZonedDateTime.of(2025, 3, 6, 23, 59, 0, 0, ZONE), job.getNextRun());
+    }
+
+    @Test
+    void dailyJob_keepsItsLocalTime_acrossDaylightSaving() {
+        clock.set(LocalDateTime.of(2025, 3, 8, 23, 59));
+        final AppScheduler.ScheduledJob job = scheduler.scheduleDaily("snapshot", SNAPSHOT_TIME, null, day -> { });
+        runNextTick();
+
+        final ZonedDateTime next = job.getNextRun();
+        assertEquals(LocalDateTime.of(2025, 3, 9, 23, 59), next.toLocalDateTime());
+        assertEquals(Duration.ofHours(23), Duration.between(clock.instant(), next.toInstant()),
+                "The day the clocks go forward is an hour short");
+    }
+
+    @Test
+    void dailyJob_catchesUpOnMissedDays_oldestFirst() {
+        final List<LocalDate> runs = new ArrayList<>();
+        final AppScheduler.ScheduledJob job = scheduler.scheduleDaily("snapshot", SNAPSHOT_TIME,
+                LocalDate.of(2025, 3, 1), runs::add);
+
+        assertEquals(0L, delays.peek(), "Missed days run straight away");
+        for (int i = 0; i < 3; i++) {
+            runNextTick();
+        }
+        runNextTick();
+
+        assertEquals(List.of(LocalDate.of(2025, 3, 2), LocalDate.of(2025, 3, 3), LocalDate.of(2025, 3, 4)), runs);
+        assertEquals(LocalDate.of(2025, 3, 5), job.getNextRun().toLocalDate(), "Today's run is still to come");
+    }
+
+    @Test
+    void dailyJob_catchUpIsLimited() {
+        final List<LocalDate> runs = new ArrayList<>();
+        scheduler.scheduleDaily("snapshot", SNAPSHOT_TIME, LocalDate.of(2024, 12, 25), runs::add);
+
+        for (int i = 0; i < AppScheduler.MAX_CATCH_UP_DAYS + 2; i++) {
+            runNextTick();
+        }
+
+        assertEquals(AppScheduler.MAX_CATCH_UP_DAYS, runs.size());
+        assertEquals(LocalDate.of(2025, 3, 5).minusDays(AppScheduler.MAX_CATCH_UP_DAYS), runs.get(0));
+    }
+
+    @Test
+    void dailyJob_alreadyDoneToday_startsTomorrow() {
+        final AppScheduler.ScheduledJob job = scheduler.scheduleDaily("snapshot", SNAPSHOT_TIME,
+                LocalDate.of(2025, 3, 5), day -> { });
+
+        assertEquals(LocalDate.of(2025, 3, 6), job.getNextRun().toLocalDate());
+    }
+
+    @Test
+    void weeklyJob_missedWhileAsleep_runsOnce_thenKeepsItsDay() {
+        final int[] runs = {0};
+        final AppScheduler.ScheduledJob job = scheduler.scheduleWeekly("feedback", DayOfWeek.MONDAY,
+                LocalTime.MIDNIGHT, () -> runs[0]++);
+        assertEquals(ZonedDateTime.of(2025, 3, 10, 0, 0, 0, 0, ZONE), job.getNextRun());
+
+        // Asleep from before Monday until the Wednesday of the week after
+        clock.set(LocalDateTime.of(2025, 3, 19, 8, 0));
+        runNextTick();
+
+        assertEquals(1, runs[0]);
+        assertEquals(ZonedDateTime.of(2025, 3, 24, 0, 0, 0, 0, ZONE), job.getNextRun());
+    }
+
+    @Test
+    void repeatingJob_runsNow_andSurvivesFailures() {
+        final int[] runs = {0};
+        final AppScheduler.ScheduledJob job = scheduler.scheduleRepeating("reminders", Duration.ofMinutes(1), () -> {
+            runs[0]++;
+            throw new IllegalStateException("boom");
+        });
+
+        runNextTick();
+
+        assertEquals(1, runs[0]);
+        assertEquals(clock.instant().plusSeconds(60), job.getNextRun().toInstant());
+        assertFalse(ticks.isEmpty(), "A failed run does not stop the job");
+    }
+
+    @Test
+    void registeringANameAgain_replacesTheJob_andCancelStopsIt() {
+        final List<String> runs = new ArrayList<>();
+        scheduler.scheduleRepeating("reminders", Duration.ofMinutes(1), () -> runs.add("old"));
+        scheduler.scheduleRepeating("reminders", Duration.ofMinutes(1), () -> runs.add("new"));
+
+        runNextTick();
+        runNextTick();
+        assertEquals(List.of("new"), runs);
+
+        scheduler.cancel("reminders");
+        assertFalse(scheduler.isScheduled("reminders"));
+        while (!ticks.isEmpty()) {
+            runNextTick();
+        }
+        assertEquals(List.of("new"), runs);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(LocalDateTime now) {
+            set(now);
+        }
+
+        void set(LocalDateTime time) {
+            now = time.atZone(ZONE).toInstant();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZONE;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
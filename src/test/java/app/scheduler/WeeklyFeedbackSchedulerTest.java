@@ -6,9 +6,9 @@ import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import use_case.generate_feedback.GenerateFeedbackInputBoundary;
 
-import java.lang.reflect.Field;
 import java.time.*;
-import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -24,73 +24,66 @@ class WeeklyFeedbackSchedulerTest {
     @Mock
     ScheduledExecutorService executor;
 
-    /**
-     * Replace the private final executor field with our mock via reflection.
-     */
-    private static void injectExecutor(WeeklyFeedbackScheduler scheduler, ScheduledExecutorService mockExec) {
-        try {
-            Field f = WeeklyFeedbackScheduler.class.getDeclaredField("executor");
-            f.setAccessible(true);
-            f.set(scheduler, mockExec);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to inject mock executor", e);
-        }
+    @Test
+    void start_registersAMondayMidnightJob_andRunnableInvokesUseCase() {
+        // A Wednesday afternoon
+        ZoneId zone = ZoneId.of("Europe/London");
+        Instant wednesday = ZonedDateTime.of(2025, 3, 26, 15, 0, 0, 0, zone).toInstant();
+        AppScheduler appScheduler = new AppScheduler(executor, Clock.fixed(wednesday, zone));
+        WeeklyFeedbackScheduler scheduler = new WeeklyFeedbackScheduler(useCase, appScheduler);
+
+        ArgumentCaptor<Runnable> tickCap = ArgumentCaptor.forClass(Runnable.class);
+        ArgumentCaptor<Long> delayCap = ArgumentCaptor.forClass(Long.class);
+
+        // Act
+        scheduler.start();
+
+        // 1) The job is registered with the shared scheduler and waits at most a minute at a time
+        assertTrue(appScheduler.isScheduled(WeeklyFeedbackScheduler.JOB_NAME));
+        verify(executor, times(1)).schedule(tickCap.capture(), delayCap.capture(), eq(TimeUnit.MILLISECONDS));
+        assertEquals(AppScheduler.MAX_WAIT.toMillis(), delayCap.getValue());
+
+        // 2) A tick before Monday does not run the use case
+        tickCap.getValue().run();
+        verify(useCase, never()).execute();
     }
 
     @Test
-    void start_schedulesAtFixedRateWithWeeklyPeriod_andRunnableInvokesUseCase() {
-        WeeklyFeedbackScheduler scheduler = new WeeklyFeedbackScheduler(useCase);
-        injectExecutor(scheduler, executor);
-
-        // Capture timing just before calling start()
-        LocalDateTime t0 = LocalDateTime.now();
+    void tickAtMondayMidnight_handsTheUseCaseToTheWorker_andKeepsTheJobScheduled() {
+        ZoneId zone = ZoneId.of("Europe/London");
+        Instant mondayMidnight = ZonedDateTime.of(2025, 3, 24, 0, 0, 0, 0, zone).toInstant();
+        AppScheduler appScheduler = new AppScheduler(executor, Clock.fixed(mondayMidnight, zone));
+        List<Runnable> handedOff = new ArrayList<>();
+        WeeklyFeedbackScheduler scheduler = new WeeklyFeedbackScheduler(useCase, appScheduler, handedOff::add);
 
-        ArgumentCaptor<Runnable> runnableCap = ArgumentCaptor.forClass(Runnable.class);
-        ArgumentCaptor<Long> initialDelayCap = ArgumentCaptor.forClass(Long.class);
-        ArgumentCaptor<Long> periodCap = ArgumentCaptor.forClass(Long.class);
-        ArgumentCaptor<TimeUnit> unitCap = ArgumentCaptor.forClass(TimeUnit.class);
+        ArgumentCaptor<Runnable> tickCap = ArgumentCaptor.forClass(Runnable.class);
 
-        // Act
         scheduler.start();
+        verify(executor).schedule(tickCap.capture(), eq(0L), eq(TimeUnit.MILLISECONDS));
+        tickCap.getValue().run();
 
-        // Assert scheduleAtFixedRate was called once
-        verify(executor, times(1)).scheduleAtFixedRate(
-                runnableCap.capture(),
-                initialDelayCap.capture(),
-                periodCap.capture(),
-                unitCap.capture()
-        );
-
-        // 1) Verify period = 7 days, TimeUnit.MILLISECONDS
-        assertEquals(TimeUnit.MILLISECONDS, unitCap.getValue(), "TimeUnit must be MILLISECONDS");
-        assertEquals(TimeUnit.DAYS.toMillis(7), periodCap.getValue(), "Period must be 7 days in ms");
-
-        // 2) Verify initial delay equals time until next-or-same Monday 00:00 (within [t1..t0] window)
-        // Compute a conservative range using t0 (before start) and t1 (after start)
-        LocalDateTime t1 = LocalDateTime.now();
-
-        long expectedFromT0 = millisUntilNextMondayMidnight(t0);
-        long expectedFromT1 = millisUntilNextMondayMidnight(t1);
-        long actualDelay = initialDelayCap.getValue();
-
-        // The delay computed between t0 and t1 should fall within that shrinking window.
-        // Because time passed between t0 and t1, expectedFromT1 <= actualDelay <= expectedFromT0.
-        assertTrue(actualDelay <= expectedFromT0,
-                "Initial delay should be <= delay computed at t0");
-        assertTrue(actualDelay >= expectedFromT1,
-                "Initial delay should be >= delay computed at t1");
-
-        // 3) Invoking the scheduled runnable should call useCase.execute()
-        Runnable scheduledTask = runnableCap.getValue();
-        assertNotNull(scheduledTask, "Scheduled runnable must not be null");
-        scheduledTask.run();
+        // The scheduler thread only triggers the run; the slow GPT calls happen on the worker
+        verify(useCase, never()).execute();
+        assertEquals(1, handedOff.size());
+        handedOff.get(0).run();
         verify(useCase, times(1)).execute();
+        assertTrue(appScheduler.isScheduled(WeeklyFeedbackScheduler.JOB_NAME));
+        verify(executor).schedule(any(Runnable.class), eq(AppScheduler.MAX_WAIT.toMillis()), eq(TimeUnit.MILLISECONDS));
     }
 
-    private static long millisUntilNextMondayMidnight(LocalDateTime from) {
-        LocalDateTime nextMondayMidnight = from
-                .with(TemporalAdjusters.nextOrSame(DayOfWeek.MONDAY))
-                .withHour(0).withMinute(0).withSecond(0).withNano(0);
-        return Duration.between(from, nextMondayMidnight).toMillis();
+    @Test
+    void failingUseCase_isReportedOnTheWorker_notThrown() {
+        ZoneId zone = ZoneId.of("Europe/London");
+        Instant mondayMidnight = ZonedDateTime.of(2025, 3, 24, 0, 0, 0, 0, zone).toInstant();
+        AppScheduler appScheduler = new AppScheduler(executor, Clock.fixed(mondayMidnight, zone));
+        doThrow(new RuntimeException("GPT unavailable")).when(useCase).execute();
+        List<Runnable> handedOff = new ArrayList<>();
+        new WeeklyFeedbackScheduler(useCase, appScheduler, handedOff::add).start();
+
+        ArgumentCaptor<Runnable> tickCap = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor).schedule(tickCap.capture(), eq(0L), eq(TimeUnit.MILLISECONDS));
+        tickCap.getValue().run();
+
+        assertDoesNotThrow(() -> handedOff.get(0).run());
     }
 }
@@ -40,7 +40,7 @@ class TaskPageBuilderTest {
         when(mockDataAccessFactory.getTaskGateway()).thenReturn(mockTaskGateway);
         when(mockDataAccessFactory.getCategoryDataAccess()).thenReturn(mockCategoryDataAccess);
         when(mockDataAccessFactory.getCategoryManagementViewModel()).thenReturn(mockCategoryViewModel);
-        when(mockDataAccessFactory.getGoalRepository()).thenReturn(mock(data_access.files.FileGoalRepository.class));
+        when(mockDataAccessFactory.getGoalRepository()).thenReturn(mock(data_access.files.JournaledGoalRepository.class));
     }
 
     @Test
@@ -0,0 +1,107 @@
+package data_access;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that DomainEventBus batches events per frame and hands each subscriber only the
+ * types it asked for.
+ */
+class DomainEventBusTest {
+
+    private List<Runnable> frames;
+    private DomainEventBus bus;
+
+    @BeforeEach
+    void setUp() {
+        frames = new ArrayList<>();
+        bus = new DomainEventBus(frames::add);
+    }
+
+    private void runFrames() {
+        List<Runnable> due = new ArrayList<>(frames);
+        frames.clear();
+        due.forEach(Runnable::run);
+    }
+
+    private static TaskChangeEvent today(String taskId) {
+        return TaskChangeEvent.added(TaskChangeEvent.Store.TODAY, taskId);
+    }
+
+    @Test
+    @DisplayName("Should deliver a burst of events in one batch, in publish order")
+    void testCoalescesBurst() {
+        List<List<TaskChangeEvent>> batches = new ArrayList<>();
+        bus.subscribe(TaskChangeEvent.class, batches::add);
+
+        bus.publish(today("a"));
+        bus.publish(today("b"));
+        bus.publish(today("c"));
+        assertEquals(1, frames.size(), "Only the first event of a burst schedules a frame");
+        assertTrue(batches.isEmpty(), "Nothing is delivered before the frame runs");
+
+        runFrames();
+        assertEquals(1, batches.size());
+        assertEquals(List.of(Set.of("a"), Set.of("b"), Set.of("c")),
+                batches.get(0).stream().map(TaskChangeEvent::getAdded).toList());
+
+        bus.publish(today("d"));
+        assertEquals(1, frames.size(), "The next burst schedules a new frame");
+    }
+
+    @Test
+    @DisplayName("Should hand each subscriber only the event types it asked for")
+    void testTypedSubscriptions() {
+        List<TaskChangeEvent> tasks = new ArrayList<>();
+        List<DomainChangeEvent> all = new ArrayList<>();
+        List<String> strings = new ArrayList<>();
+        bus.subscribe(TaskChangeEvent.class, tasks::addAll);
+        bus.subscribe(DomainChangeEvent.class, all::addAll);
+        bus.subscribe(String.class, strings::addAll);
+
+        bus.publish(today("a"));
+        bus.publish(42);
+        runFrames();
+
+        assertEquals(1, tasks.size());
+        assertEquals(1, all.size(), "Subclasses are delivered to a supertype subscription");
+        assertTrue(strings.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep delivering to other subscribers when one fails")
+    void testFailingSubscriber() {
+        List<TaskChangeEvent> received = new ArrayList<>();
+        bus.subscribe(TaskChangeEvent.class, events -> {
+            throw new IllegalStateException("boom");
+        });
+        bus.subscribe(TaskChangeEvent.class, received::addAll);
+
+        bus.publish(today("a"));
+        runFrames();
+
+        assertEquals(1, received.size());
+    }
+
+    @Test
+    @DisplayName("Should stop delivering to an unsubscribed handler")
+    void testUnsubscribe() {
+        List<TaskChangeEvent> received = new ArrayList<>();
+        Consumer<List<TaskChangeEvent>> handler = received::addAll;
+        bus.subscribe(TaskChangeEvent.class, handler);
+        bus.unsubscribe(handler);
+
+        bus.publish(today("a"));
+        runFrames();
+
+        assertTrue(received.isEmpty());
+    }
+}
@@ -395,4 +395,40 @@ class InMemoryCategoryDataAccessObjectTest {
         dataAccess.saveCategory(workUpper);
         assertEquals(2, dataAccess.getCategoryCount());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCategoryNameCacheFollowsWrites() {
+        assertNull(dataAccess.getCategoryName("1"));
+        assertNull(dataAccess.getCategoryName(null));
+
+        dataAccess.save(workCategory);
+        dataAccess.saveCategory(personalCategory);
+        assertEquals("Work", dataAccess.getCategoryName("1"));
+        assertEquals("Personal", dataAccess.getCategoryName("2"));
+
+        dataAccess.updateCategory(new Category("1", "Career", "#FF0000"));
+        assertEquals("Career", dataAccess.getCategoryName("1"));
+
+        dataAccess.deleteCategory("2");
+        assertNull(dataAccess.getCategoryName("2"));
+
+        dataAccess.clearAllData();
+        assertNull(dataAccess.getCategoryName("1"));
+    }
+
+    @Test
+    void testCategoryNameCacheUnderConcurrentRenames() throws Exception {
+        dataAccess.saveCategory(workCategory);
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 2_000; i++) {
+                dataAccess.updateCategory(new Category("1", "Work " + i, "#FF0000"));
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            assertTrue(dataAccess.getCategoryName("1").startsWith("Work"));
+        }
+        writer.join();
+        assertEquals("Work 1999", dataAccess.getCategoryName("1"));
+    }
+}
@@ -0,0 +1,179 @@
+package data_access;
+
+import entity.Angela.Task.Task;
+import entity.Angela.Task.TaskAvailable;
+import entity.Angela.Task.TaskInterf;
+import entity.info.Info;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs snapshot-style readers (what DailySnapshotService and the reminder timer do) against
+ * threads making UI edits, and checks that reads never fail and the indexes end up matching
+ * the tasks.
+ */
+class InMemoryTaskDataAccessObjectConcurrencyTest {
+
+    private static final int TEMPLATES = 20;
+    private static final int CATEGORIES = 5;
+    private static final int EDITORS = 3;
+    private static final int READERS = 3;
+    private static final int EDITS_PER_EDITOR = 5_000;
+
+    @Test
+    void backgroundSnapshots_runSafelyAgainstUiEdits() throws Exception {
+        InMemoryTaskDataAccessObject dao = new InMemoryTaskDataAccessObject();
+        List<TaskAvailable> templates = new ArrayList<>();
+        for (int i = 0; i < TEMPLATES; i++) {
+            TaskAvailable template = new TaskAvailable(new Info.Builder("Task " + i)
+                    .category("cat" + (i % CATEGORIES)).build());
+            dao.saveTaskAvailable(template);
+            templates.add(template);
+        }
+
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        AtomicBoolean editing = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(EDITORS + READERS);
+
+        List<Future<?>> editors = new ArrayList<>();
+        for (int e = 0; e < EDITORS; e++) {
+            final long seed = e;
+            editors.add(pool.submit(() -> {
+                await(start);
+                Random random = new Random(seed);
+                List<String> mine = new ArrayList<>();
+                try {
+                    for (int i = 0; i < EDITS_PER_EDITOR; i++) {
+                        edit(dao, templates, mine, random);
+                    }
+                }
+                catch (Throwable t) {
+                    failures.add(t);
+                }
+            }));
+        }
+        for (int r = 0; r < READERS; r++) {
+            pool.submit(() -> {
+                await(start);
+                try {
+                    while (editing.get()) {
+                        snapshot(dao);
+                    }
+                }
+                catch (Throwable t) {
+                    failures.add(t);
+                }
+            });
+        }
+
+        start.countDown();
+        for (Future<?> editor : editors) {
+            editor.get(60, TimeUnit.SECONDS);
+        }
+        editing.set(false);
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertTrue(failures.isEmpty(), () -> "Concurrent access failed: " + failures.peek());
+        assertIndexesMatchTasks(dao, templates);
+    }
+
+    private static void edit(InMemoryTaskDataAccessObject dao, List<TaskAvailable> templates,
+                             List<String> mine, Random random) {
+        int action = random.nextInt(10);
+        if (mine.isEmpty() || action < 3) {
+            TaskAvailable template = templates.get(random.nextInt(templates.size()));
+            LocalDate due = LocalDate.now().plusDays(random.nextInt(20) - 10);
+            mine.add(dao.addTaskToToday(template, Task.Priority.MEDIUM, due).getId());
+            return;
+        }
+        String taskId = mine.get(random.nextInt(mine.size()));
+        switch (action) {
+            case 3:
+                dao.updateTaskCompletionStatus(taskId, random.nextBoolean());
+                break;
+            case 4:
+                // Editing never moves a due date before the task's begin date
+                dao.updateTodayTaskPriorityAndDueDate(taskId, Task.Priority.HIGH,
+                        LocalDate.now().plusDays(random.nextInt(10)));
+                break;
+            case 5:
+                dao.updateTodaysTaskCategory(taskId, "cat" + random.nextInt(CATEGORIES));
+                break;
+            case 6:
+                dao.updateTasksCategoryToNull("cat" + random.nextInt(CATEGORIES));
+                break;
+            default:
+                dao.removeFromTodaysList(taskId);
+                mine.remove(taskId);
+                break;
+        }
+    }
+
+    /**
+     * Does what the snapshot and reminder timers do: walk today's list and run the overdue,
+     * template and category lookups.
+     */
+    private static void snapshot(InMemoryTaskDataAccessObject dao) {
+        List<Task> today = dao.getTodaysTasks();
+        long completed = today.stream().filter(Task::isCompleted).count();
+        assertTrue(completed <= today.size());
+        for (TaskInterf task : dao.getOverdueTasks(7)) {
+            assertNotNull(task);
+        }
+        for (int i = 0; i < CATEGORIES; i++) {
+            assertFalse(dao.findTodaysTasksByCategory("cat" + i).contains(null));
+        }
+        assertFalse(dao.getAllTodaysTasks().contains(null));
+    }
+
+    private static void assertIndexesMatchTasks(InMemoryTaskDataAccessObject dao, List<TaskAvailable> templates) {
+        List<TaskInterf> all = dao.getAllTodaysTasks();
+        for (TaskAvailable template : templates) {
+            assertEquals(ids(all.stream().filter(t -> template.getId().equals(t.getTemplateTaskId()))
+                            .collect(Collectors.toList())),
+                    ids(dao.getTodaysTasksByTemplate(template.getId())));
+        }
+        for (int i = 0; i < CATEGORIES; i++) {
+            String category = "cat" + i;
+            assertEquals(ids(all.stream().filter(t -> category.equals(t.getInfo().getCategory()))
+                            .collect(Collectors.toList())),
+                    ids(dao.findTodaysTasksByCategory(category)));
+        }
+        LocalDate today = LocalDate.now();
+        assertEquals(ids(all.stream()
+                        .filter(t -> !t.getStatus() && t.getBeginAndDueDates().getDueDate() != null
+                                && t.getBeginAndDueDates().getDueDate().isBefore(today))
+                        .collect(Collectors.toList())),
+                ids(dao.getAllOverdueTasks()));
+    }
+
+    private static List<String> ids(List<? extends TaskInterf> tasks) {
+        return tasks.stream().map(TaskInterf::getId).sorted().collect(Collectors.toList());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -16,7 +16,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -495,8 +498,96 @@ class InMemoryTaskDataAccessObjectTest {
         assertTrue(dataAccess.getTodaysTasks().isEmpty());
     }
 
+    @Test
+    @DisplayName("Should publish which tasks were added, updated and removed")
+    void testPublishesTaskChanges() {
+        // Given
+        TaskAvailable template = createAndSaveTaskAvailable("Task", "cat1");
+        List<Runnable> deliveries = new ArrayList<>();
+        DomainEventBus bus = new DomainEventBus(deliveries::add);
+        List<TaskChangeEvent> events = new ArrayList<>();
+        bus.subscribe(TaskChangeEvent.class, events::addAll);
+        dataAccess.setEventBus(bus);
+
+        // When
+        Task task = (Task) dataAccess.addTaskToToday(template, Task.Priority.LOW, null);
+        dataAccess.updateTaskCompletionStatus(task.getId(), true);
+        dataAccess.removeFromTodaysList(task.getId());
+        deliveries.forEach(Runnable::run);
+
+        // Then
+        assertEquals(1, deliveries.size(), "A burst of writes is delivered once");
+        assertEquals(3, events.size());
+        assertEquals(TaskChangeEvent.Store.TODAY, events.get(0).getStore());
+        assertEquals(Set.of(task.getId()), events.get(0).getAdded());
+        assertEquals(Set.of(task.getId()), events.get(1).getUpdated());
+        assertEquals(Set.of(task.getId()), events.get(2).getRemoved());
+    }
+
+    @Test
+    @DisplayName("Indexed lookups should match a scan of today's list after mixed changes")
+    void testIndexedLookupsMatchScanAfterChanges() {
+        // Given
+        LocalDate today = LocalDate.now();
+        List<TaskAvailable> templates = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            templates.add(createAndSaveTaskAvailable("Task " + i, "cat" + i % 4));
+        }
+        List<Task> added = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            LocalDate due = i % 5 == 0 ? today.minusDays(1 + i % 10) : today.plusDays(i % 7);
+            added.add((Task) dataAccess.addTaskToToday(templates.get(i % 20), Task.Priority.LOW, due));
+        }
+
+        // When
+        for (int i = 0; i < added.size(); i += 3) {
+            dataAccess.updateTodaysTaskCategory(added.get(i).getId(), "cat" + (i + 1) % 4);
+        }
+        for (int i = 5; i < added.size(); i += 15) {
+            // Overdue tasks given a later due date
+            dataAccess.updateTodayTaskPriorityAndDueDate(added.get(i).getId(), Task.Priority.HIGH, today.plusDays(2));
+        }
+        for (int i = 0; i < added.size(); i += 10) {
+            dataAccess.updateTaskCompletionStatus(added.get(i).getId(), true);
+        }
+        for (int i = 2; i < added.size(); i += 11) {
+            dataAccess.removeFromTodaysList(added.get(i).getId());
+        }
+        dataAccess.deleteTaskCompletely(templates.get(5).getId());
+        dataAccess.updateTasksCategoryToNull("cat2");
+
+        // Then
+        List<Task> scan = dataAccess.getTodaysTasks();
+        for (TaskAvailable template : templates) {
+            assertEquals(idsOf(scan.stream().filter(t -> t.getTemplateTaskId().equals(template.getId())).toList()),
+                    idsOf(dataAccess.getTodaysTasksByTemplate(template.getId())));
+        }
+        for (String category : List.of("cat0", "cat1", "cat2", "cat3")) {
+            assertEquals(idsOf(scan.stream().filter(t -> category.equals(t.getInfo().getCategory())).toList()),
+                    idsOf(dataAccess.findTodaysTasksByCategory(category)));
+        }
+        assertEquals(idsOf(scan.stream()
+                        .filter(t -> t.getInfo().getCategory() == null || t.getInfo().getCategory().isEmpty())
+                        .toList()),
+                idsOf(dataAccess.findTodaysTasksWithEmptyCategory()));
+        assertEquals(idsOf(scan.stream()
+                        .filter(t -> !t.isCompleted() && t.getDates().getDueDate() != null)
+                        .filter(t -> t.getDates().getDueDate().isBefore(today)
+                                && !t.getDates().getDueDate().isBefore(today.minusDays(7)))
+                        .toList()),
+                idsOf(dataAccess.getOverdueTasks(7)));
+    }
+
     // ===== Helper Methods =====
 
+    private static Set<String> idsOf(List<? extends TaskInterf> tasks) {
+        Set<String> ids = new HashSet<>();
+        for (TaskInterf task : tasks) {
+            ids.add(task.getId());
+        }
+        return ids;
+    }
+
     private TaskAvailable createAndSaveTaskAvailable(String name, String categoryId) {
         InfoInterf info = infoFactory.create(name, "Description for " + name, categoryId);
         TaskAvailable taskAvailable = (TaskAvailable) taskAvailableFactory.create(info, false);
@@ -1,11 +1,14 @@
 package data_access;
 
 import entity.Angela.Task.Task;
+import entity.Angela.Task.TaskAvailable;
 import entity.Angela.Task.TaskInterf;
 import entity.alex.Event.EventInterf;
 import entity.alex.WellnessLogEntry.WellnessLogEntryInterf;
 import entity.Sophia.Goal;
 import entity.Sophia.GoalInterface;
+import entity.info.Info;
+import use_case.Angela.today_so_far.TodaySoFar;
 import use_case.repository.GoalRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -447,4 +450,34 @@ class InMemoryTodaySoFarDataAccessTest {
         assertEquals(1, dataAccess.getCompletedTasksCountForToday());
         assertEquals(100, dataAccess.getTodayTaskCompletionRate());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testTodaySoFarFollowsPublishedChanges() {
+        InMemoryTaskDataAccessObject taskGateway = new InMemoryTaskDataAccessObject();
+        List<Runnable> frames = new ArrayList<>();
+        DomainEventBus bus = new DomainEventBus(frames::add);
+        taskGateway.setEventBus(bus);
+        dataAccess = new InMemoryTodaySoFarDataAccess(taskGateway);
+        dataAccess.setEventBus(bus);
+
+        TaskAvailable template = new TaskAvailable(new Info.Builder("Read").category("cat1").build());
+        taskGateway.saveTaskAvailable(template);
+        TaskInterf read = taskGateway.addTaskToToday(template, Task.Priority.LOW, null);
+        TaskInterf again = taskGateway.addTaskToToday(template, Task.Priority.LOW, null);
+        TodaySoFar todaySoFar = dataAccess.getTodaySoFar();
+        assertEquals(0, todaySoFar.getCompletionRate());
+
+        taskGateway.updateTaskCompletionStatus(read.getId(), true);
+        frames.forEach(Runnable::run);
+        frames.clear();
+
+        assertSame(todaySoFar, dataAccess.getTodaySoFar(), "Changes are applied in place, not rebuilt");
+        assertEquals(50, todaySoFar.getCompletionRate());
+        assertEquals(1, todaySoFar.toOutputData(id -> id).getCompletedItems().size());
+
+        taskGateway.removeFromTodaysList(again.getId());
+        frames.forEach(Runnable::run);
+
+        assertEquals(100, todaySoFar.getCompletionRate());
+    }
+}
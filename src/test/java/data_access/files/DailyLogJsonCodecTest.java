@@ -0,0 +1,112 @@
+package data_access.files;
+
+import entity.Angela.DailyLog;
+import entity.Angela.Task.Task;
+import entity.BeginAndDueDates.BeginAndDueDates;
+import entity.alex.Event.Event;
+import entity.alex.Event.EventInterf;
+import entity.alex.MoodLabel.MoodLabel;
+import entity.alex.MoodLabel.Type;
+import entity.alex.WellnessLogEntry.Levels;
+import entity.alex.WellnessLogEntry.WellnessLogEntry;
+import entity.alex.WellnessLogEntry.WellnessLogEntryInterf;
+import entity.info.Info;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DailyLogJsonCodecTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 8, 20);
+
+    /**
+     * Builds a log with two tasks (one completed), one event and one wellness entry.
+     */
+    static DailyLog fullLog(LocalDate day) {
+        DailyLog log = new DailyLog(day);
+        Task done = new Task("tpl-1",
+                new Info.Builder("Write report").description("Q3").category("Work").build(),
+                new BeginAndDueDates(day, day.plusDays(2)), true).withPriority(Task.Priority.HIGH);
+        Task open = new Task("tpl-2", new Info.Builder("Gym").build(),
+                new BeginAndDueDates(day, null), false);
+        log.addTask(done);
+        log.addTask(open);
+        log.getDailyTaskSummary().markTaskCompleted(done);
+
+        log.getDailyEventLog().addEntry(new Event.Builder(
+                new Info.Builder("Team sync").category("Work").build())
+                .beginAndDueDates(new BeginAndDueDates(day, day))
+                .oneTime(true)
+                .build());
+
+        log.getDailyWellnessLog().addEntry(new WellnessLogEntry.Builder()
+                .id("w-1")
+                .time(day.atTime(9, 30))
+                .stressLevel(Levels.SEVEN)
+                .energyLevel(Levels.FOUR)
+                .fatigueLevel(Levels.TWO)
+                .moodLabel(new MoodLabel.Builder("Calm").type(Type.Positive).build())
+                .userNote("slept well")
+                .build());
+        return log;
+    }
+
+    @Test
+    void roundTrip_preservesTasksEventsAndWellnessEntries() {
+        DailyLog original = fullLog(DAY);
+        JSONObject json = DailyLogJsonCodec.toJson(original);
+
+        assertEquals(2, json.getInt("tasks_scheduled_count"));
+        assertEquals(1, json.getInt("tasks_completed_count"));
+        assertEquals(1, json.getInt("events_count"));
+        assertEquals(1, json.getInt("wellness_entries_count"));
+
+        DailyLog restored = DailyLogJsonCodec.fromJson(new JSONObject(json.toString()));
+        assertEquals(DAY, restored.getDate());
+
+        List<Task> scheduled = restored.getDailyTaskSummary().getScheduledTasks();
+        assertEquals(2, scheduled.size());
+        Task first = scheduled.get(0);
+        assertEquals(original.getDailyTaskSummary().getScheduledTasks().get(0).getId(), first.getId());
+        assertEquals("tpl-1", first.getTemplateTaskId());
+        assertEquals("Write report", first.getInfo().getName());
+        assertEquals("Q3", first.getInfo().getDescription());
+        assertEquals("Work", first.getInfo().getCategory());
+        assertEquals(Task.Priority.HIGH, first.getPriority());
+        assertEquals(DAY.plusDays(2), first.getDates().getDueDate());
+        assertTrue(first.isOneTime());
+        assertNull(scheduled.get(1).getDates().getDueDate());
+
+        assertEquals(1, restored.getDailyTaskSummary().getCompletedTasks().size());
+        assertEquals(0.5, restored.getDailyTaskSummary().getCompletionRate(), 1e-9);
+        assertEquals(1, restored.getDailyTaskSummary().getCategoryBreakdown().get("Work"));
+
+        EventInterf event = restored.getDailyEventLog().getActualEvents().get(0);
+        assertEquals("Team sync", event.getInfo().getName());
+        assertEquals(DAY, event.getBeginAndDueDates().getDueDate());
+        assertTrue(((Event) event).isOneTime());
+
+        WellnessLogEntryInterf entry = restored.getDailyWellnessLog().getEntries().get(0);
+        assertEquals("w-1", entry.getId());
+        assertEquals(DAY.atTime(9, 30), entry.getTime());
+        assertEquals(Levels.SEVEN, entry.getStressLevel());
+        assertEquals("Calm", entry.getMoodLabel().getName());
+        assertEquals(Type.Positive, entry.getMoodLabel().getType());
+        assertEquals("slept well", entry.getUserNote());
+    }
+
+    @Test
+    void countOnlyRecord_rehydratesAsEmptyLog() {
+        JSONObject legacy = new JSONObject().put("date", DAY.toString()).put("tasks_scheduled_count", 3);
+
+        DailyLog restored = DailyLogJsonCodec.fromJson(legacy);
+        assertEquals(DAY, restored.getDate());
+        assertTrue(restored.getDailyTaskSummary().getScheduledTasks().isEmpty());
+        assertTrue(restored.getDailyEventLog().getActualEvents().isEmpty());
+        assertTrue(restored.getDailyWellnessLog().getEntries().isEmpty());
+    }
+}
@@ -124,4 +124,22 @@ class FileDailyLogRepositoryTest {
 
         assertNull(repo.findByDate(LocalDate.of(2025, 8, 20)), "Date not present should return null");
     }
+
+    @Test
+    void findByDate_andLoadBetween_rehydrateOnlyRequestedDays() {
+        LocalDate d1 = LocalDate.of(2025, 8, 18);
+        LocalDate d2 = LocalDate.of(2025, 8, 19);
+        repo.save(DailyLogJsonCodecTest.fullLog(d1));
+        repo.save(new DailyLog(d2));
+
+        DailyLog loaded = repo.findByDate(d1);
+        assertEquals(2, loaded.getDailyTaskSummary().getScheduledTasks().size());
+        assertEquals(1, loaded.getDailyTaskSummary().getCompletedTasks().size());
+        assertEquals(1, loaded.getDailyEventLog().getActualEvents().size());
+        assertEquals("Calm", loaded.getDailyWellnessLog().getEntries().get(0).getMoodLabel().getName());
+
+        List<DailyLog> between = repo.loadBetween(d2, d2);
+        assertEquals(1, between.size());
+        assertTrue(between.get(0).getDailyTaskSummary().getScheduledTasks().isEmpty());
+    }
 }
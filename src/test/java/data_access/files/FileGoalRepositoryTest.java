@@ -0,0 +1,75 @@
+package data_access.files;
+
+import entity.BeginAndDueDates.BeginAndDueDates;
+import entity.Sophia.Goal;
+import entity.Sophia.GoalFactory;
+import entity.Sophia.GoalInfo;
+import entity.Sophia.GoalInterface;
+import entity.info.Info;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileGoalRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    private File currentFile;
+    private FileGoalRepository repo;
+
+    @BeforeEach
+    void setUp() {
+        currentFile = dir.resolve("current_goals.txt").toFile();
+        repo = new FileGoalRepository(dir.resolve("goals.txt").toFile(), currentFile,
+                dir.resolve("today_goal.txt").toFile(), new GoalFactory(), Duration.ofMinutes(1));
+    }
+
+    private static Goal goal(String name) {
+        LocalDate today = LocalDate.now();
+        return new Goal(new GoalInfo(new Info.Builder(name).build(), new Info.Builder("Run").build()),
+                new BeginAndDueDates(today, today.plusDays(6)), GoalInterface.TimePeriod.WEEK, 3);
+    }
+
+    @Test
+    void changesAreNotWrittenOnTheCallersThread() {
+        repo.addToCurrentGoals(goal("Exercise"));
+        repo.addToCurrentGoals(goal("Read"));
+
+        assertFalse(currentFile.exists(), "Writes wait for the debounce or an explicit flush");
+    }
+
+    @Test
+    void flush_writesTheLatestStateOfEveryDirtyFile() throws Exception {
+        repo.addToCurrentGoals(goal("Exercise"));
+        repo.addToCurrentGoals(goal("Read"));
+        repo.addToCurrentGoals(goal("Sleep"));
+        repo.removeFromCurrentGoals(goal("Read"));
+
+        repo.flush();
+
+        assertEquals(List.of("Exercise", "Sleep"), Files.readAllLines(currentFile.toPath()));
+    }
+
+    @Test
+    void debouncedFlush_runsInTheBackground() throws Exception {
+        FileGoalRepository fast = new FileGoalRepository(dir.resolve("goals.txt").toFile(), currentFile,
+                dir.resolve("today_goal.txt").toFile(), new GoalFactory(), Duration.ofMillis(50));
+        fast.addToCurrentGoals(goal("Exercise"));
+
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!currentFile.exists() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of("Exercise"), Files.readAllLines(currentFile.toPath()));
+    }
+}
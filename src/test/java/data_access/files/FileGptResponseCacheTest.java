@@ -0,0 +1,134 @@
+package data_access.files;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileGptResponseCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private Path file;
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        file = dir.resolve("gpt_response_cache.json");
+        clock = new MutableClock(Instant.parse("2025-08-18T00:00:00Z"));
+    }
+
+    @Test
+    void get_countsHitsAndMisses() {
+        FileGptResponseCache cache = new FileGptResponseCache(file, 10, Duration.ofHours(1), clock);
+
+        assertNull(cache.get("a"));
+        cache.put("a", "answer");
+        assertEquals("answer", cache.get("a"));
+        assertEquals("answer", cache.get("a"));
+
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void put_evictsLeastRecentlyUsedBeyondBound() {
+        FileGptResponseCache cache = new FileGptResponseCache(file, 2, Duration.ofHours(1), clock);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.get("a"); // b is now least recently used
+        cache.put("c", "C");
+
+        assertEquals(2, cache.size());
+        assertEquals("A", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("C", cache.get("c"));
+    }
+
+    @Test
+    void entriesExpireAfterTtl() {
+        FileGptResponseCache cache = new FileGptResponseCache(file, 10, Duration.ofHours(1), clock);
+        cache.put("a", "A");
+
+        clock.advance(Duration.ofMinutes(59));
+        assertEquals("A", cache.get("a"));
+        clock.advance(Duration.ofMinutes(1));
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void entriesAndRecencySurviveRestart() {
+        FileGptResponseCache cache = new FileGptResponseCache(file, 2, Duration.ofHours(1), clock);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.get("a");
+        cache.flush();
+
+        FileGptResponseCache reloaded = new FileGptResponseCache(file, 2, Duration.ofHours(1), clock);
+        reloaded.put("c", "C"); // evicts b, which was least recently used before the restart
+        assertEquals("A", reloaded.get("a"));
+        assertNull(reloaded.get("b"));
+
+        clock.advance(Duration.ofHours(2));
+        assertEquals(0, new FileGptResponseCache(file, 2, Duration.ofHours(1), clock).size());
+    }
+
+    @Test
+    void hits_areWrittenOnFlush_notOnTheCallersThread() throws Exception {
+        FileGptResponseCache cache = new FileGptResponseCache(file, 2, Duration.ofHours(1), clock);
+        cache.put("a", "A");
+        cache.put("b", "B");
+        String beforeHit = Files.readString(file);
+
+        cache.get("a");
+
+        assertEquals(beforeHit, Files.readString(file), "A hit does not touch the file");
+        cache.flush();
+        String afterFlush = Files.readString(file);
+        assertTrue(afterFlush.indexOf("\"a\"") > afterFlush.indexOf("\"b\""), "a is now the most recently used");
+    }
+
+    @Test
+    void rejectsNonPositiveBound() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new FileGptResponseCache(file, 0, Duration.ofHours(1), clock));
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package data_access.files;
+
+import entity.Angela.DailyLog;
+import org.json.JSONObject;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournaledDailyLogRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    private Path journal;
+    private Path legacy;
+    private JournaledDailyLogRepository repo;
+
+    @BeforeEach
+    void setUp() {
+        journal = dir.resolve("daily_logs.journal");
+        legacy = dir.resolve("daily_logs.json");
+        repo = new JournaledDailyLogRepository(journal, legacy);
+    }
+
+    @Test
+    void save_appendsOneRecordPerCall_withoutRewritingEarlierRecords() throws Exception {
+        LocalDate d1 = LocalDate.of(2025, 8, 20);
+        LocalDate d2 = LocalDate.of(2025, 8, 21);
+
+        repo.save(new DailyLog(d1));
+        String afterFirst = Files.readString(journal, StandardCharsets.UTF_8);
+        repo.save(new DailyLog(d2));
+        String afterSecond = Files.readString(journal, StandardCharsets.UTF_8);
+
+        assertTrue(afterSecond.startsWith(afterFirst), "Earlier records must stay untouched");
+        List<String> lines = Files.readAllLines(journal, StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        JSONObject first = new JSONObject(lines.get(0));
+        assertEquals(d1.toString(), first.getString("date"));
+        assertEquals(0, first.getInt("tasks_scheduled_count"));
+    }
+
+    @Test
+    void findByDate_andLoadBetween_seeLatestRecordPerDay() {
+        LocalDate d1 = LocalDate.of(2025, 8, 18);
+        LocalDate d2 = LocalDate.of(2025, 8, 19);
+        LocalDate d3 = LocalDate.of(2025, 8, 20);
+
+        assertNull(repo.findByDate(d1));
+        repo.save(new DailyLog(d3));
+        repo.save(new DailyLog(d1));
+        repo.save(new DailyLog(d2));
+        repo.save(new DailyLog(d2));
+
+        assertEquals(d2, repo.findByDate(d2).getDate());
+        List<DailyLog> between = repo.loadBetween(d1, d2);
+        assertEquals(2, between.size());
+        assertEquals(d1, between.get(0).getDate());
+        assertEquals(d2, between.get(1).getDate());
+        assertTrue(repo.loadBetween(d3, d1).isEmpty());
+    }
+
+    @Test
+    void reopening_replaysJournal() {
+        LocalDate d1 = LocalDate.of(2025, 8, 18);
+        repo.save(new DailyLog(d1));
+
+        JournaledDailyLogRepository reopened = new JournaledDailyLogRepository(journal, legacy);
+        assertNotNull(reopened.findByDate(d1));
+    }
+
+    @Test
+    void tornTrailingRecord_isTruncatedOnOpen() throws Exception {
+        LocalDate d1 = LocalDate.of(2025, 8, 18);
+        repo.save(new DailyLog(d1));
+        long goodSize = Files.size(journal);
+        Files.writeString(journal, "{\"date\":\"2025-08-19\",\"tasks_sch", StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+
+        JournaledDailyLogRepository reopened = new JournaledDailyLogRepository(journal, legacy);
+        assertNotNull(reopened.findByDate(d1));
+        assertNull(reopened.findByDate(LocalDate.of(2025, 8, 19)));
+        assertEquals(goodSize, Files.size(journal));
+
+        reopened.save(new DailyLog(LocalDate.of(2025, 8, 19)));
+        assertEquals(2, Files.readAllLines(journal, StandardCharsets.UTF_8).size());
+    }
+
+    @Test
+    void corruptRecordMidJournal_isSkipped_andLaterDaysKept() throws Exception {
+        LocalDate d1 = LocalDate.of(2025, 8, 18);
+        LocalDate d2 = LocalDate.of(2025, 8, 19);
+        LocalDate d3 = LocalDate.of(2025, 8, 20);
+        repo.save(new DailyLog(d1));
+        repo.save(new DailyLog(d2));
+        repo.save(new DailyLog(d3));
+        List<String> lines = Files.readAllLines(journal, StandardCharsets.UTF_8);
+        // Damage the middle record without changing its length, so the index still matches it
+        String damaged = "#".repeat(lines.get(1).length());
+        Files.writeString(journal, lines.get(0) + "\n" + damaged + "\n" + lines.get(2) + "\n", StandardCharsets.UTF_8);
+        long size = Files.size(journal);
+
+        JournaledDailyLogRepository reopened = new JournaledDailyLogRepository(journal, legacy);
+        List<DailyLog> logs = reopened.loadBetween(d1, d3);
+
+        assertEquals(List.of(d1, d3), logs.stream().map(DailyLog::getDate).toList());
+        assertEquals(size, Files.size(journal), "Nothing after the damaged record is truncated");
+        assertNotNull(new JournaledDailyLogRepository(journal, legacy).findByDate(d3));
+    }
+
+    @Test
+    void compaction_keepsOneRecordPerDayInDateOrder() throws Exception {
+        LocalDate d1 = LocalDate.of(2025, 8, 18);
+        LocalDate d2 = LocalDate.of(2025, 8, 19);
+        for (int i = 0; i < 100; i++) {
+            repo.save(new DailyLog(d2));
+            repo.save(new DailyLog(d1));
+        }
+        repo.compact();
+
+        List<String> lines = Files.readAllLines(journal, StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertEquals(d1.toString(), new JSONObject(lines.get(0)).getString("date"));
+        assertEquals(d2.toString(), new JSONObject(lines.get(1)).getString("date"));
+        assertFalse(Files.exists(dir.resolve("daily_logs.journal.compact")));
+        assertEquals(2, repo.loadBetween(d1, d2).size());
+    }
+
+    @Test
+    void legacyJsonFile_isImportedOnFirstOpen() throws Exception {
+        JSONObject root = new JSONObject();
+        root.put("2025-08-19", new JSONObject().put("date", "2025-08-19").put("events_count", 2));
+        root.put("2025-08-18", new JSONObject().put("date", "2025-08-18").put("events_count", 1));
+        Files.writeString(legacy, root.toString(2), StandardCharsets.UTF_8);
+
+        List<DailyLog> all = repo.loadBetween(LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 31));
+        assertEquals(2, all.size());
+        assertEquals(LocalDate.of(2025, 8, 18), all.get(0).getDate());
+        assertTrue(Files.exists(journal));
+    }
+
+    @Test
+    void legacyImport_cutShortByACrash_isRunAgainInFull() throws Exception {
+        JSONObject root = new JSONObject();
+        root.put("2025-08-18", new JSONObject().put("date", "2025-08-18").put("events_count", 1));
+        root.put("2025-08-19", new JSONObject().put("date", "2025-08-19").put("events_count", 2));
+        Files.writeString(legacy, root.toString(2), StandardCharsets.UTF_8);
+        // What a crash halfway through the import leaves behind: half a temporary file, no journal
+        Files.writeString(dir.resolve("daily_logs.journal.import"), "{\"date\":\"2025-08-18\"", StandardCharsets.UTF_8);
+
+        List<DailyLog> all = repo.loadBetween(LocalDate.of(2025, 8, 1), LocalDate.of(2025, 8, 31));
+
+        assertEquals(2, all.size());
+        assertFalse(Files.exists(dir.resolve("daily_logs.journal.import")));
+        assertEquals(2, Files.readAllLines(journal).size());
+    }
+
+    @Test
+    void sidecarIndex_isWrittenPerSave_andRebuiltWhenMissing() throws Exception {
+        Path index = dir.resolve("daily_logs.journal.idx");
+        LocalDate d1 = LocalDate.of(2025, 8, 18);
+        LocalDate d2 = LocalDate.of(2025, 8, 19);
+        repo.save(new DailyLog(d1));
+        repo.save(new DailyLog(d2));
+        assertEquals(32, Files.size(index), "One 16-byte entry per record");
+
+        Files.delete(index);
+        JournaledDailyLogRepository reopened = new JournaledDailyLogRepository(journal, legacy);
+        assertEquals(2, reopened.loadBetween(d1, d2).size());
+        assertEquals(32, Files.size(index));
+    }
+
+    @Test
+    void shortIndex_onlyScansUncoveredJournalTail() throws Exception {
+        Path index = dir.resolve("daily_logs.journal.idx");
+        LocalDate d1 = LocalDate.of(2025, 8, 18);
+        LocalDate d2 = LocalDate.of(2025, 8, 19);
+        repo.save(new DailyLog(d1));
+        repo.save(new DailyLog(d2));
+        // Simulate a crash after the journal append but before the index append
+        try (FileChannel channel = FileChannel.open(index, StandardOpenOption.WRITE)) {
+            channel.truncate(20);
+        }
+
+        JournaledDailyLogRepository reopened = new JournaledDailyLogRepository(journal, legacy);
+        assertNotNull(reopened.findByDate(d2));
+        assertEquals(32, Files.size(index));
+    }
+
+    @Test
+    void rangeRead_withACompleteIndex_parsesOnlyTheRecordsInRange() throws Exception {
+        LocalDate first = LocalDate.of(2000, 1, 1);
+        for (int i = 0; i < 1_000; i++) {
+            repo.save(new DailyLog(first.plusDays(i)));
+        }
+        // Move the oldest record to another day behind the index's back, keeping its length
+        LocalDate moved = first.minusDays(1);
+        String content = Files.readString(journal, StandardCharsets.UTF_8);
+        Files.writeString(journal, content.replaceFirst(first.toString(), moved.toString()), StandardCharsets.UTF_8);
+
+        JournaledDailyLogRepository reopened = new JournaledDailyLogRepository(journal, legacy);
+        LocalDate last = first.plusDays(999);
+
+        assertEquals(7, reopened.loadBetween(last.minusDays(6), last).size());
+        assertTrue(reopened.loadBetween(moved, moved).isEmpty(),
+                "Neither opening nor the weekly read should have parsed the oldest record");
+        // Reading the oldest day finds the mismatch and rebuilds the index from the journal
+        assertNull(reopened.findByDate(first));
+        assertEquals(1, reopened.loadBetween(moved, moved).size());
+    }
+
+    @Test
+    void inconsistentIndex_isRebuiltFromJournal() throws Exception {
+        Path index = dir.resolve("daily_logs.journal.idx");
+        LocalDate d1 = LocalDate.of(2025, 8, 18);
+        LocalDate d2 = LocalDate.of(2025, 8, 19);
+        repo.save(new DailyLog(d1));
+        repo.save(new DailyLog(d2));
+        byte[] bytes = Files.readAllBytes(index);
+        // Swap the two entries' dates so each points at the other day's record
+        for (int i = 0; i < 4; i++) {
+            byte tmp = bytes[i];
+            bytes[i] = bytes[16 + i];
+            bytes[16 + i] = tmp;
+        }
+        Files.write(index, bytes);
+
+        JournaledDailyLogRepository reopened = new JournaledDailyLogRepository(journal, legacy);
+        List<DailyLog> logs = reopened.loadBetween(d1, d2);
+        assertEquals(2, logs.size());
+        assertEquals(d1, logs.get(0).getDate());
+        assertEquals(d2, logs.get(1).getDate());
+    }
+
+    @Test
+    void loadBetween_rehydratesFullGraph() {
+        LocalDate d1 = LocalDate.of(2025, 8, 18);
+        repo.save(DailyLogJsonCodecTest.fullLog(d1));
+
+        DailyLog loaded = new JournaledDailyLogRepository(journal, legacy).loadBetween(d1, d1).get(0);
+        assertEquals(2, loaded.getDailyTaskSummary().getScheduledTasks().size());
+        assertEquals(1, loaded.getDailyTaskSummary().getCompletedTasks().size());
+        assertEquals(1, loaded.getDailyEventLog().getActualEvents().size());
+        assertEquals(1, loaded.getDailyWellnessLog().getEntries().size());
+    }
+}
@@ -0,0 +1,263 @@
+package data_access.files;
+
+import data_access.DomainEventBus;
+import entity.BeginAndDueDates.BeginAndDueDates;
+import entity.Sophia.Goal;
+import entity.Sophia.GoalInfo;
+import entity.Sophia.GoalInterface;
+import entity.info.Info;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournaledGoalRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    private Path journal;
+    private File legacyGoals;
+    private File legacyCurrent;
+    private File legacyToday;
+    private JournaledGoalRepository repo;
+
+    @BeforeEach
+    void setUp() {
+        journal = dir.resolve("goals.journal");
+        legacyGoals = dir.resolve("goals.txt").toFile();
+        legacyCurrent = dir.resolve("current_goals.txt").toFile();
+        legacyToday = dir.resolve("today_goal.txt").toFile();
+        repo = reopen();
+    }
+
+    private JournaledGoalRepository reopen() {
+        return new JournaledGoalRepository(journal, legacyGoals, legacyCurrent, legacyToday);
+    }
+
+    private static Goal goal(String name, int frequency) {
+        LocalDate today = LocalDate.now();
+        return new Goal(new GoalInfo(new Info.Builder(name).description("desc").category("Health").build(),
+                new Info.Builder("Run").build()),
+                new BeginAndDueDates(today.minusDays(1), today.plusDays(6)),
+                GoalInterface.TimePeriod.WEEK, frequency);
+    }
+
+    @Test
+    void eachChange_appendsOneVersionedRecord() throws Exception {
+        repo.save(goal("Exercise", 3));
+        repo.flush();
+        String afterFirst = Files.readString(journal, StandardCharsets.UTF_8);
+        repo.save(goal("Read", 5));
+        repo.addToCurrentGoals(goal("Exercise", 3));
+        repo.flush();
+
+        String content = Files.readString(journal, StandardCharsets.UTF_8);
+        assertTrue(content.startsWith(afterFirst), "Earlier records must stay untouched");
+        List<String> lines = Files.readAllLines(journal, StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        JSONObject last = new JSONObject(lines.get(2));
+        assertEquals(JournaledGoalRepository.FORMAT_VERSION, last.getInt("v"));
+        assertEquals("current_add", last.getString("op"));
+        assertEquals("Exercise", last.getString("name"));
+    }
+
+    @Test
+    void changes_arePublishedByGoalName() {
+        List<Runnable> frames = new ArrayList<>();
+        DomainEventBus bus = new DomainEventBus(frames::add);
+        List<GoalChangeEvent> events = new ArrayList<>();
+        bus.subscribe(GoalChangeEvent.class, events::addAll);
+        repo.setEventBus(bus);
+
+        Goal exercise = goal("Exercise", 3);
+        repo.save(exercise);
+        repo.addGoalToToday("Exercise");
+        repo.save(exercise);
+        repo.deleteByName("Exercise");
+        frames.forEach(Runnable::run);
+
+        assertEquals(1, frames.size());
+        assertEquals(3, events.size(), "Saving an unchanged goal publishes nothing");
+        assertEquals(Set.of("Exercise"), events.get(0).getAdded());
+        assertEquals(Set.of("Exercise"), events.get(1).getUpdated());
+        assertEquals(Set.of("Exercise"), events.get(2).getRemoved());
+    }
+
+    @Test
+    void stateSurvivesRestart() {
+        Goal exercise = goal("Exercise", 3);
+        exercise.setCurrentProgress(2);
+        exercise.setCompletedDateTime(LocalDateTime.of(2025, 8, 20, 9, 0));
+        repo.save(exercise);
+        repo.save(goal("Read", 5));
+        repo.save(goal("Sleep", 7));
+        repo.addToCurrentGoals(exercise);
+        repo.addGoalToToday("Read");
+        repo.addGoalToToday("Exercise");
+        repo.removeGoalFromToday("Read");
+        repo.deleteByName("Sleep");
+        repo.flush();
+
+        JournaledGoalRepository restored = reopen();
+        assertEquals(2, restored.getAllGoals().size());
+        assertFalse(restored.existsByName("Sleep"));
+        Goal loaded = restored.getGoalByName("Exercise");
+        assertEquals(2, loaded.getCurrentProgress());
+        assertEquals(3, loaded.getFrequency());
+        assertEquals("desc", loaded.getGoalInfo().getInfo().getDescription());
+        assertEquals("Run", loaded.getGoalInfo().getTargetTaskInfo().getName());
+        assertEquals(LocalDateTime.of(2025, 8, 20, 9, 0), loaded.getCompletedDateTime());
+        assertEquals(List.of("Exercise"), restored.getCurrentGoals().stream()
+                .map(g -> g.getGoalInfo().getInfo().getName()).toList());
+        assertEquals("Exercise", restored.getTodayGoal().getGoalInfo().getInfo().getName());
+    }
+
+    @Test
+    void goalAndTargetIds_surviveRestart() {
+        Goal exercise = goal("Exercise", 3);
+        repo.save(exercise);
+        repo.flush();
+
+        Goal loaded = reopen().getGoalByName("Exercise");
+        assertEquals(exercise.getGoalInfo().getInfo().getId(), loaded.getGoalInfo().getInfo().getId());
+        assertEquals(exercise.getGoalInfo().getTargetTaskInfo().getId(),
+                loaded.getGoalInfo().getTargetTaskInfo().getId(),
+                "Deleting a task checks for goals by its target ID");
+    }
+
+    @Test
+    void saveGoals_writesOnlyGoalsChangedInPlace() throws Exception {
+        Goal exercise = goal("Exercise", 3);
+        repo.save(exercise);
+        repo.save(goal("Read", 5));
+        repo.flush();
+        long before = Files.readAllLines(journal).size();
+
+        repo.saveGoals();
+        repo.flush();
+        assertEquals(before, Files.readAllLines(journal).size(), "Nothing changed");
+
+        exercise.recordCompletion();
+        repo.saveGoals();
+        repo.flush();
+        assertEquals(before + 1, Files.readAllLines(journal).size());
+        assertEquals(1, reopen().getGoalByName("Exercise").getCurrentProgress());
+    }
+
+    @Test
+    void tornTrailingRecord_isTruncated() throws Exception {
+        repo.save(goal("Exercise", 3));
+        repo.flush();
+        Files.writeString(journal, "{\"v\":1,\"op\":\"put\",\"goal\":{\"na", StandardOpenOption.APPEND);
+
+        JournaledGoalRepository restored = reopen();
+        assertEquals(1, restored.getAllGoals().size());
+        restored.save(goal("Read", 5));
+        restored.flush();
+        assertEquals(2, reopen().getAllGoals().size());
+    }
+
+    @Test
+    void validTrailingRecordWithoutNewline_isTreatedAsTorn() throws Exception {
+        repo.save(goal("Exercise", 3));
+        repo.flush();
+        String record = Files.readAllLines(journal).get(0).replace("Exercise", "Sleep");
+        Files.writeString(journal, record, StandardOpenOption.APPEND);
+
+        JournaledGoalRepository restored = reopen();
+        assertFalse(restored.existsByName("Sleep"), "A record is only written once its newline is");
+        restored.save(goal("Read", 5));
+        restored.flush();
+
+        JournaledGoalRepository reopened = assertDoesNotThrow(this::reopen);
+        assertTrue(reopened.existsByName("Exercise"));
+        assertTrue(reopened.existsByName("Read"));
+        assertEquals(2, reopened.getAllGoals().size());
+    }
+
+    @Test
+    void newerFormatVersion_isRefused() throws Exception {
+        Files.writeString(journal, "{\"v\":99,\"op\":\"put\",\"goal\":{}}\n");
+
+        assertThrows(IllegalStateException.class, this::reopen);
+    }
+
+    @Test
+    void manyUpdates_areCompactedIntoASnapshot() throws Exception {
+        Goal exercise = goal("Exercise", 100);
+        repo.save(exercise);
+        for (int i = 1; i <= 200; i++) {
+            exercise.setCurrentProgress(i);
+            repo.save(exercise);
+            repo.flush();
+        }
+
+        assertTrue(Files.readAllLines(journal).size() < 64, "Journal should have been compacted");
+        assertEquals(200, reopen().getGoalByName("Exercise").getCurrentProgress());
+    }
+
+    @Test
+    void legacyLists_areImportedOnce_andLegacyFilesKept() throws Exception {
+        Files.writeString(legacyCurrent.toPath(), "Exercise\nRead\n");
+        Files.writeString(legacyToday.toPath(), "Read\n");
+        Files.delete(journal);
+
+        JournaledGoalRepository migrated = reopen();
+        migrated.save(goal("Exercise", 3));
+        migrated.save(goal("Read", 5));
+        migrated.flush();
+
+        JournaledGoalRepository restored = reopen();
+        assertEquals(2, restored.getCurrentGoals().size());
+        assertEquals("Read", restored.getTodayGoal().getGoalInfo().getInfo().getName());
+        assertTrue(legacyCurrent.exists());
+
+        Files.writeString(legacyToday.toPath(), "Exercise\n");
+        assertEquals("Read", reopen().getTodayGoal().getGoalInfo().getInfo().getName(),
+                "Legacy files are only read when no journal exists");
+    }
+
+    @Test
+    void unreadableLegacyGoals_failTheLoad_andCreateNoJournal() throws Exception {
+        Files.writeString(legacyGoals.toPath(), "not a serialized map");
+        Files.delete(journal);
+
+        RuntimeException failure = assertThrows(RuntimeException.class, this::reopen);
+        assertTrue(failure.getCause().getMessage().contains(legacyGoals.toString()));
+        assertFalse(Files.exists(journal), "The import must be retried on the next start");
+        assertTrue(legacyGoals.exists());
+    }
+
+    @Test
+    void burstOfChanges_isAppendedInOneBackgroundWrite() throws Exception {
+        JournaledGoalRepository fast = new JournaledGoalRepository(journal, null, null, null, Duration.ofMillis(50));
+        long before = Files.size(journal);
+        for (int i = 0; i < 10; i++) {
+            fast.save(goal("Goal " + i, i));
+            fast.addToCurrentGoals(goal("Goal " + i, i));
+        }
+        assertEquals(before, Files.size(journal), "Nothing is written on the caller's thread");
+
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (Files.readAllLines(journal).size() < 20 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(20, Files.readAllLines(journal).size());
+        assertEquals(10, reopen().getCurrentGoals().size());
+    }
+}
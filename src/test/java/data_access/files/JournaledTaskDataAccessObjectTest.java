@@ -0,0 +1,172 @@
+package data_access.files;
+
+import entity.Angela.Task.Task;
+import entity.Angela.Task.TaskAvailable;
+import entity.Angela.Task.TaskInterf;
+import entity.info.Info;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournaledTaskDataAccessObjectTest {
+
+    @TempDir
+    Path dir;
+
+    private Path journal;
+    private JournaledTaskDataAccessObject tasks;
+
+    @BeforeEach
+    void setUp() {
+        journal = dir.resolve("tasks.journal");
+        tasks = reopen();
+    }
+
+    private JournaledTaskDataAccessObject reopen() {
+        return new JournaledTaskDataAccessObject(journal);
+    }
+
+    private TaskAvailable template(String name, String category) {
+        TaskAvailable template = new TaskAvailable(new Info.Builder(name).description("desc").category(category).build());
+        tasks.saveTaskAvailable(template);
+        return template;
+    }
+
+    @Test
+    void eachChange_appendsOneVersionedRecord() throws Exception {
+        TaskAvailable read = template("Read", "cat1");
+        tasks.flush();
+        String afterFirst = Files.readString(journal, StandardCharsets.UTF_8);
+        TaskInterf task = tasks.addTaskToToday(read, Task.Priority.HIGH, LocalDate.now().plusDays(1));
+        tasks.removeFromTodaysList(task.getId());
+        tasks.flush();
+
+        String content = Files.readString(journal, StandardCharsets.UTF_8);
+        assertTrue(content.startsWith(afterFirst), "Earlier records must stay untouched");
+        List<String> lines = Files.readAllLines(journal, StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        JSONObject last = new JSONObject(lines.get(2));
+        assertEquals(JournaledTaskDataAccessObject.FORMAT_VERSION, last.getInt("v"));
+        assertEquals("delete", last.getString("op"));
+        assertEquals("today", last.getString("store"));
+        assertEquals(task.getId(), last.getString("id"));
+    }
+
+    @Test
+    void stateSurvivesRestart() {
+        LocalDate due = LocalDate.now().plusDays(2);
+        TaskAvailable read = template("Read", "cat1");
+        TaskAvailable run = template("Run", "cat2");
+        TaskAvailable gone = template("Gone", "cat2");
+        TaskInterf reading = tasks.addTaskToToday(read, Task.Priority.HIGH, due);
+        TaskInterf running = tasks.addTaskToToday(run, null, null);
+        tasks.updateTaskCompletionStatus(reading.getId(), true);
+        tasks.updateAvailableTask(run.getId(), "Jog", "easy", "cat1", true);
+        tasks.deleteTaskCompletely(gone.getId());
+        tasks.flush();
+
+        JournaledTaskDataAccessObject restarted = reopen();
+
+        assertEquals(2, restarted.getAvailableTaskCount());
+        TaskAvailable jog = (TaskAvailable) restarted.getTaskAvailableById(run.getId());
+        assertEquals("Jog", jog.getInfo().getName());
+        assertEquals("easy", jog.getInfo().getDescription());
+        assertTrue(jog.isOneTime());
+        assertNull(restarted.getTaskAvailableById(gone.getId()));
+
+        Task restoredReading = (Task) restarted.getTodaysTaskById(reading.getId());
+        assertEquals(read.getId(), restoredReading.getTemplateTaskId());
+        assertEquals(Task.Priority.HIGH, restoredReading.getPriority());
+        assertEquals(due, restoredReading.getDates().getDueDate());
+        assertTrue(restoredReading.isCompleted());
+        assertEquals(((Task) reading).getCompletedDateTime(), restoredReading.getCompletedDateTime());
+        assertNull(((Task) restarted.getTodaysTaskById(running.getId())).getPriority());
+
+        // Restored tasks are indexed like saved ones
+        assertEquals(List.of(restoredReading), restarted.getTodaysTasksByTemplate(read.getId()));
+        assertEquals(2, restarted.findAvailableTasksByCategory("cat1").size());
+    }
+
+    @Test
+    void infoIds_surviveRestart() {
+        TaskAvailable read = template("Read", "cat1");
+        TaskInterf reading = tasks.addTaskToToday(read, null, null);
+        tasks.flush();
+
+        JournaledTaskDataAccessObject restarted = reopen();
+
+        TaskAvailable restoredRead = (TaskAvailable) restarted.getTaskAvailableById(read.getId());
+        assertEquals(read.getId(), restoredRead.getInfo().getId());
+        assertEquals(reading.getInfo().getId(), restarted.getTodaysTaskById(reading.getId()).getInfo().getId());
+    }
+
+    @Test
+    void recordsWithoutInfoIds_getTheTemplateId() throws Exception {
+        Files.writeString(journal,
+                "{\"v\":1,\"op\":\"put\",\"store\":\"available\","
+                        + "\"task\":{\"id\":\"t1\",\"name\":\"Read\"}}\n",
+                StandardCharsets.UTF_8);
+
+        TaskAvailable restored = (TaskAvailable) reopen().getTaskAvailableById("t1");
+
+        assertEquals("t1", restored.getInfo().getId());
+    }
+
+    @Test
+    void changesThatLeaveATaskAsItWas_writeNothing() throws Exception {
+        TaskAvailable read = template("Read", "cat1");
+        TaskInterf task = tasks.addTaskToToday(read, Task.Priority.LOW, null);
+        tasks.flush();
+        long size = Files.size(journal);
+
+        tasks.updateTodayTaskPriorityAndDueDate(task.getId(), Task.Priority.LOW, null);
+        tasks.flush();
+
+        assertEquals(size, Files.size(journal));
+    }
+
+    @Test
+    void tornTrailingRecord_isTruncated() throws Exception {
+        template("Read", "cat1");
+        tasks.flush();
+        long intact = Files.size(journal);
+        Files.writeString(journal, "{\"v\":1,\"op\":\"put\",\"sto", StandardOpenOption.APPEND);
+
+        JournaledTaskDataAccessObject restarted = reopen();
+
+        assertEquals(1, restarted.getAvailableTaskCount());
+        assertEquals(intact, Files.size(journal));
+    }
+
+    @Test
+    void newerFormatVersion_isRefused() throws Exception {
+        Files.writeString(journal, "{\"v\":99,\"op\":\"put\",\"store\":\"today\",\"task\":{}}\n");
+
+        assertThrows(IllegalStateException.class, this::reopen);
+    }
+
+    @Test
+    void manyUpdates_areCompactedIntoASnapshot() throws Exception {
+        TaskAvailable read = template("Read", "cat1");
+        TaskInterf task = tasks.addTaskToToday(read, Task.Priority.LOW, null);
+        for (int i = 0; i < 100; i++) {
+            tasks.updateTaskCompletionStatus(task.getId(), i % 2 == 0);
+            tasks.flush();
+        }
+
+        assertTrue(Files.readAllLines(journal, StandardCharsets.UTF_8).size() < 64,
+                "Superseded records should have been compacted away");
+        Task restored = (Task) reopen().getTodaysTaskById(task.getId());
+        assertFalse(restored.isCompleted());
+    }
+}
@@ -0,0 +1,222 @@
+package data_access.files;
+
+import entity.Angela.HistoryRollup;
+import entity.Angela.Task.Task;
+import entity.Angela.TodaySoFarSnapshot;
+import entity.BeginAndDueDates.BeginAndDueDates;
+import entity.info.Info;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import use_case.Angela.view_history.HistoryAnalytics;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentedHistoryDataAccessTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+    private static final Clock CLOCK = Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC);
+
+    @TempDir
+    Path dir;
+
+    private SegmentedHistoryDataAccess history;
+
+    @BeforeEach
+    void setUp() {
+        history = reopen();
+    }
+
+    private SegmentedHistoryDataAccess reopen() {
+        return new SegmentedHistoryDataAccess(dir, CLOCK);
+    }
+
+    private static TodaySoFarSnapshot snapshot(LocalDate date) {
+        Task done = new Task("template-1", new Info.Builder("Read").description("Chapter 3").category("Study").build(),
+                new BeginAndDueDates(date, date.plusDays(1)), true);
+        done.setPriority(Task.Priority.HIGH);
+        done.markComplete(date.atTime(9, 30));
+        Task open = new Task("template-2", new Info.Builder("Run").build(), new BeginAndDueDates(date, null), false);
+        Task late = new Task("template-3", new Info.Builder("Taxes").category("Admin").build(),
+                new BeginAndDueDates(date.minusDays(5), date.minusDays(1)), false);
+        return new TodaySoFarSnapshot(date,
+                List.of(done, open, late),
+                List.of(done),
+                33,
+                List.of(late),
+                List.of(new Info.Builder("Standup").category("Work").build()),
+                List.of(new TodaySoFarSnapshot.GoalProgress("goal-1", "Exercise", "Weekly", 2, 5)),
+                List.of());
+    }
+
+    @Test
+    void savedSnapshot_isReadBackAfterRestart() {
+        TodaySoFarSnapshot saved = snapshot(TODAY);
+        assertTrue(history.saveSnapshot(saved));
+
+        TodaySoFarSnapshot read = reopen().getSnapshot(TODAY);
+
+        assertEquals(saved.getId(), read.getId());
+        assertEquals(saved.getCreatedAt(), read.getCreatedAt());
+        assertEquals(33, read.getTaskCompletionRate());
+        assertEquals(3, read.getTodaysTasks().size());
+        Task done = read.getCompletedTasks().get(0);
+        Task original = saved.getCompletedTasks().get(0);
+        assertEquals(original.getId(), done.getId());
+        assertEquals("template-1", done.getTemplateTaskId());
+        assertEquals("Read", done.getInfo().getName());
+        assertEquals("Chapter 3", done.getInfo().getDescription());
+        assertEquals("Study", done.getInfo().getCategory());
+        assertEquals(Task.Priority.HIGH, done.getPriority());
+        assertEquals(TODAY.plusDays(1), done.getDates().getDueDate());
+        assertEquals(TODAY.atTime(9, 30), done.getCompletedDateTime());
+        Task open = read.getTodaysTasks().get(1);
+        assertNull(open.getInfo().getCategory());
+        assertNull(open.getPriority());
+        assertNull(open.getDates().getDueDate());
+        assertFalse(open.isCompleted());
+        assertEquals("Taxes", read.getOverdueTasks().get(0).getInfo().getName());
+        assertEquals("Standup", read.getTodaysEvents().get(0).getName());
+        assertEquals("2/5", read.getGoalProgress().get(0).getProgressString());
+    }
+
+    @Test
+    void datesComeFromTheIndex_withoutReadingAnySegment() throws Exception {
+        history.saveSnapshot(snapshot(TODAY.minusDays(2)));
+        history.saveSnapshot(snapshot(TODAY));
+        history.saveSnapshot(snapshot(TODAY.minusDays(1)));
+        try (var segments = Files.newDirectoryStream(dir)) {
+            for (Path segment : segments) {
+                Files.writeString(segment, "not a snapshot");
+            }
+        }
+
+        SegmentedHistoryDataAccess restarted = reopen();
+
+        assertEquals(List.of(TODAY, TODAY.minusDays(1), TODAY.minusDays(2)), restarted.getAvailableDates());
+        assertTrue(restarted.hasSnapshot(TODAY.minusDays(1)));
+        assertFalse(restarted.hasSnapshot(TODAY.minusDays(3)));
+        assertNull(restarted.getSnapshot(TODAY), "An unreadable segment is reported as missing");
+    }
+
+    @Test
+    void savingTheSameDayAgain_replacesItsSegment() {
+        history.saveSnapshot(snapshot(TODAY));
+        TodaySoFarSnapshot later = snapshot(TODAY);
+        history.saveSnapshot(later);
+
+        SegmentedHistoryDataAccess restarted = reopen();
+
+        assertEquals(1, restarted.size());
+        assertEquals(later.getId(), restarted.getSnapshot(TODAY).getId());
+    }
+
+    @Test
+    void cleanup_deletesSegmentsOlderThanTheCutoff() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            history.saveSnapshot(snapshot(TODAY.minusDays(i)));
+        }
+
+        assertEquals(2, history.cleanupOldSnapshots(2));
+
+        assertEquals(List.of(TODAY, TODAY.minusDays(1), TODAY.minusDays(2)), history.getAvailableDates());
+        assertNull(history.getSnapshot(TODAY.minusDays(3)));
+        try (var files = Files.list(dir)) {
+            assertEquals(3, files.filter(file -> file.toString().endsWith(".snapshot.gz")).count());
+        }
+    }
+
+    @Test
+    void leftoverTempFiles_andUnrelatedFiles_areNotIndexed() throws Exception {
+        Files.writeString(dir.resolve("2025-03-09.snapshot.gz.tmp"), "half written");
+        Files.writeString(dir.resolve("notes.snapshot.gz"), "");
+
+        SegmentedHistoryDataAccess restarted = reopen();
+
+        assertTrue(restarted.getAvailableDates().isEmpty());
+        assertFalse(Files.exists(dir.resolve("2025-03-09.snapshot.gz.tmp")));
+    }
+
+    @Test
+    void nullSnapshot_isRejected() {
+        assertFalse(history.saveSnapshot(null));
+        assertNull(history.getSnapshot(null));
+    }
+
+    @Test
+    void rollups_surviveRestart_andDeletingASnapshotDropsItsSegment() throws Exception {
+        history.saveSnapshot(snapshot(TODAY.minusDays(1)));
+        history.saveSnapshot(snapshot(TODAY));
+        HistoryRollup week = HistoryRollup.of(HistoryRollup.Granularity.WEEK, List.of(history.getSnapshot(TODAY)));
+        HistoryRollup month = HistoryRollup.of(HistoryRollup.Granularity.MONTH,
+                List.of(history.getSnapshot(TODAY.minusDays(1)), history.getSnapshot(TODAY)));
+        assertTrue(history.saveRollup(week));
+        assertTrue(history.saveRollup(month));
+        assertTrue(history.deleteSnapshot(TODAY.minusDays(1)));
+
+        SegmentedHistoryDataAccess restarted = reopen();
+
+        assertEquals(List.of(TODAY), restarted.getAvailableDates());
+        HistoryRollup restoredMonth = restarted.getRollup(HistoryRollup.Granularity.MONTH, TODAY.withDayOfMonth(1));
+        assertEquals(2, restoredMonth.getDays());
+        assertEquals(TODAY, restoredMonth.getLastDay());
+        assertEquals(month.getCoveredDays(), restoredMonth.getCoveredDays());
+        assertEquals(6, restoredMonth.getTasks());
+        assertEquals(Map.of("Study", 2), restoredMonth.getCompletedByCategory());
+        assertEquals("Exercise", restoredMonth.getGoalProgress().get(0).getGoalName());
+        assertEquals(List.of(week.getStart()), restarted.getRollups(HistoryRollup.Granularity.WEEK).stream()
+                .map(HistoryRollup::getStart).toList());
+
+        assertEquals(1, restarted.deleteRollupsBefore(HistoryRollup.Granularity.WEEK, TODAY.plusDays(7)));
+        assertTrue(reopen().getRollups(HistoryRollup.Granularity.WEEK).isEmpty());
+    }
+
+    @Test
+    void analytics_surviveRestart_andOutliveRolledUpSnapshots() throws Exception {
+        history.saveSnapshot(snapshot(TODAY.minusDays(1)));
+        history.saveSnapshot(snapshot(TODAY));
+        history.deleteSnapshot(TODAY.minusDays(1));
+        Files.writeString(dir.resolve("metrics.ndjson"), "{\"date\":\"2025-", StandardOpenOption.APPEND);
+
+        HistoryAnalytics analytics = reopen().getAnalytics();
+
+        assertArrayEquals(new int[] {33, 33}, analytics.completionRates(TODAY.minusDays(1), TODAY));
+        assertArrayEquals(new int[] {3, 3}, analytics.taskCounts(TODAY.minusDays(1), TODAY));
+        assertEquals(Map.of("Study", 2), analytics.completedByCategory(TODAY.minusDays(1), TODAY));
+        assertArrayEquals(new int[] {2, 2}, analytics.goalProgress("goal-1", TODAY.minusDays(1), TODAY));
+        assertTrue(Files.readString(dir.resolve("metrics.ndjson")).endsWith("\n"), "The torn line is cut off");
+    }
+
+    @Test
+    void metricsOfDaysSavedOverAndOver_areCompactedOnOpen() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            history.saveSnapshot(snapshot(TODAY.minusDays(1)));
+            history.saveSnapshot(snapshot(TODAY));
+        }
+        assertEquals(10, Files.readAllLines(dir.resolve("metrics.ndjson")).size());
+
+        HistoryAnalytics analytics = reopen().getAnalytics();
+
+        assertEquals(2, Files.readAllLines(dir.resolve("metrics.ndjson")).size());
+        assertArrayEquals(new int[] {3, 3}, analytics.taskCounts(TODAY.minusDays(1), TODAY));
+        assertArrayEquals(new int[] {3, 3}, reopen().getAnalytics().taskCounts(TODAY.minusDays(1), TODAY));
+        assertFalse(Files.exists(dir.resolve("metrics.ndjson.tmp")));
+    }
+
+    @Test
+    void savedSegment_leavesNoTemporaryFile() {
+        assertTrue(history.saveSnapshot(snapshot(TODAY)));
+
+        assertFalse(Files.exists(dir.resolve(TODAY + ".snapshot.gz.tmp")));
+        assertEquals(TODAY, reopen().getSnapshot(TODAY).getDate());
+    }
+}
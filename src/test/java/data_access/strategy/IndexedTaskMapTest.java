@@ -0,0 +1,192 @@
+package data_access.strategy;
+
+import entity.Angela.Task.Task;
+import entity.BeginAndDueDates.BeginAndDueDates;
+import entity.info.Info;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that IndexedTaskMap's indexes agree with its contents through puts, removes and
+ * in-place edits.
+ */
+class IndexedTaskMapTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    private IndexedTaskMap<Task> tasks;
+
+    @BeforeEach
+    void setUp() {
+        tasks = new IndexedTaskMap<>(
+                Task::getTemplateTaskId,
+                task -> task.getInfo().getCategory(),
+                task -> task.getDates().getDueDate());
+    }
+
+    private Task add(String templateId, String category, LocalDate dueDate) {
+        Info info = new Info.Builder("Task").category(category).build();
+        Task task = new Task(templateId, info, new BeginAndDueDates(DAY.minusDays(30), dueDate), false);
+        tasks.put(task.getId(), task);
+        return task;
+    }
+
+    @Test
+    @DisplayName("Should look tasks up by template, category and due date")
+    void testLookups() {
+        Task a = add("t1", "cat1", DAY);
+        Task b = add("t1", "cat2", DAY.plusDays(2));
+        Task c = add("t2", "cat1", null);
+
+        assertEquals(Set.of(a, b), Set.copyOf(tasks.withTemplate("t1")));
+        assertTrue(tasks.hasTemplate("t2"));
+        assertFalse(tasks.hasTemplate("t3"));
+        assertEquals(Set.of(a, c), Set.copyOf(tasks.inCategory("cat1")));
+        assertEquals(List.of(a), tasks.dueBetween(DAY, DAY.plusDays(2)));
+        assertEquals(List.of(a, b), tasks.dueBetween(null, DAY.plusDays(3)));
+        assertTrue(tasks.withTemplate("t3").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should treat null and blank categories as no category")
+    void testEmptyCategory() {
+        Task a = add("t1", null, DAY);
+        Task b = add("t1", "  ", DAY);
+        add("t1", "cat1", DAY);
+
+        assertEquals(Set.of(a, b), Set.copyOf(tasks.inCategory("")));
+        assertEquals(Set.of(a, b), Set.copyOf(tasks.inCategory(null)));
+    }
+
+    @Test
+    @DisplayName("Should move a task between index entries when reindexed after an edit")
+    void testReindex() {
+        Task task = add("t1", "cat1", DAY);
+
+        task.getInfo().setCategory("cat2");
+        task.getDates().setDueDate(DAY.plusDays(5));
+        tasks.reindex(task.getId());
+
+        assertTrue(tasks.inCategory("cat1").isEmpty());
+        assertEquals(List.of(task), tasks.inCategory("cat2"));
+        assertTrue(tasks.dueBetween(DAY, DAY.plusDays(1)).isEmpty());
+        assertEquals(List.of(task), tasks.dueBetween(DAY.plusDays(5), DAY.plusDays(6)));
+    }
+
+    @Test
+    @DisplayName("Should reindex a batch of in-place edits in one call")
+    void testUpdateAll() {
+        Task a = add("t1", "cat1", DAY);
+        Task b = add("t2", "cat1", DAY);
+        Task c = add("t3", "cat2", DAY);
+
+        int changed = tasks.updateAll(List.of(a.getId(), b.getId(), "missing"),
+                task -> task.getInfo().setCategory(""));
+
+        assertEquals(2, changed);
+        assertTrue(tasks.inCategory("cat1").isEmpty());
+        assertEquals(Set.of(a, b), Set.copyOf(tasks.inCategory("")));
+        assertEquals(List.of(c), tasks.inCategory("cat2"));
+        assertEquals(Set.of(a, b, c), Set.copyOf(tasks.dueBetween(DAY, DAY.plusDays(1))),
+                "Buckets the batch did not move a task between keep all their tasks");
+        assertEquals(List.of(a), tasks.withTemplate("t1"));
+    }
+
+    @Test
+    @DisplayName("Should index a batch stored with putAll as if each task were put")
+    void testPutAll() {
+        Task existing = add("t1", "cat1", DAY);
+        Task a = new Task("t1", new Info.Builder("A").category("cat1").build(), new BeginAndDueDates(DAY, DAY), false);
+        Task b = new Task("t2", new Info.Builder("B").build(), new BeginAndDueDates(DAY, null), false);
+
+        tasks.putAll(Map.of(a.getId(), a, b.getId(), b));
+
+        assertEquals(3, tasks.size());
+        assertEquals(Set.of(existing, a), Set.copyOf(tasks.withTemplate("t1")));
+        assertEquals(Set.of(existing, a), Set.copyOf(tasks.inCategory("cat1")));
+        assertEquals(List.of(b), tasks.inCategory(""));
+        assertEquals(Set.of(existing, a), Set.copyOf(tasks.dueBetween(DAY, DAY.plusDays(1))));
+    }
+
+    @Test
+    @DisplayName("Should drop removed tasks from every index, however they are removed")
+    void testRemove() {
+        Task a = add("t1", "cat1", DAY);
+        Task b = add("t1", "cat1", DAY);
+        Task c = add("t2", "cat1", DAY);
+
+        tasks.remove(a.getId());
+        tasks.values().removeIf(task -> task == b);
+
+        assertFalse(tasks.hasTemplate("t1"));
+        assertEquals(List.of(c), tasks.inCategory("cat1"));
+        assertEquals(List.of(c), tasks.dueBetween(DAY, DAY.plusDays(1)));
+
+        tasks.clear();
+        assertTrue(tasks.isEmpty());
+        assertFalse(tasks.hasTemplate("t2"));
+    }
+
+    @Test
+    @DisplayName("Should replace the index entries of a task stored again under the same ID")
+    void testReplace() {
+        Task task = add("t1", "cat1", DAY);
+        Task replacement = new Task(task.getId(), "t2", new Info.Builder("Task").category("cat2").build(),
+                null, new BeginAndDueDates(DAY, null), false, null, false);
+
+        tasks.put(task.getId(), replacement);
+
+        assertEquals(1, tasks.size());
+        assertFalse(tasks.hasTemplate("t1"));
+        assertEquals(List.of(replacement), tasks.withTemplate("t2"));
+        assertTrue(tasks.inCategory("cat1").isEmpty());
+        assertTrue(tasks.dueBetween(null, null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should keep tasks in case-insensitive name order through adds, renames and removes")
+    void testSortedByName() {
+        IndexedTaskMap<Task> named = new IndexedTaskMap<>(
+                Task::getTemplateTaskId,
+                task -> task.getInfo().getCategory(),
+                task -> task.getDates().getDueDate(),
+                task -> task.getInfo().getName());
+        Task banana = named("banana");
+        Task apple = named("Apple");
+        Task cherry = named("cherry");
+        for (Task task : List.of(banana, apple, cherry)) {
+            named.put(task.getId(), task);
+        }
+
+        List<Task> sorted = named.sortedByName();
+        assertEquals(List.of(apple, banana, cherry), sorted);
+        assertSame(sorted, named.sortedByName(), "Unchanged map should reuse the cached list");
+        assertThrows(UnsupportedOperationException.class, () -> sorted.add(apple));
+
+        apple.getInfo().setName("zucchini");
+        named.reindex(apple.getId());
+        assertEquals(List.of(banana, cherry, apple), named.sortedByName());
+
+        named.remove(banana.getId());
+        assertEquals(List.of(cherry, apple), named.sortedByName());
+        assertEquals(List.of(apple, banana, cherry), sorted, "Earlier snapshots are not affected");
+    }
+
+    @Test
+    @DisplayName("Should refuse a name order it was not asked to keep")
+    void testSortedByNameWithoutNameFunction() {
+        assertThrows(IllegalStateException.class, () -> tasks.sortedByName());
+    }
+
+    private static Task named(String name) {
+        return new Task("t1", new Info.Builder(name).build(), new BeginAndDueDates(DAY, null), false);
+    }
+}
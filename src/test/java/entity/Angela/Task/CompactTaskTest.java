@@ -0,0 +1,107 @@
+package entity.Angela.Task;
+
+import entity.BeginAndDueDates.BeginAndDueDates;
+import entity.info.Info;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that a CompactTask unpacks to the task it was packed from, and that it keeps no
+ * per-task objects that would cost it the space it is meant to save.
+ */
+class CompactTaskTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    @Test
+    void toTask_keepsEveryField() {
+        Info info = new Info.Builder("Read").description("Chapter 3").category("cat-1").build();
+        Task task = new Task(new TaskAvailable(info).getId(), info, new BeginAndDueDates(DAY, DAY.plusDays(2)), true);
+        task.setPriority(Task.Priority.HIGH);
+        task.markComplete(LocalDateTime.of(2025, 3, 11, 8, 30, 15, 123_456_789));
+
+        Task copy = CompactTask.of(task).toTask();
+
+        assertEquals(task.getId(), copy.getId());
+        assertEquals(task.getTemplateTaskId(), copy.getTemplateTaskId());
+        assertEquals("Read", copy.getInfo().getName());
+        assertEquals("Chapter 3", copy.getInfo().getDescription());
+        assertEquals("cat-1", copy.getInfo().getCategory());
+        assertEquals(Task.Priority.HIGH, copy.getPriority());
+        assertEquals(DAY, copy.getDates().getBeginDate());
+        assertEquals(DAY.plusDays(2), copy.getDates().getDueDate());
+        assertTrue(copy.isCompleted());
+        assertEquals(task.getCompletedDateTime(), copy.getCompletedDateTime());
+        assertTrue(copy.isOneTime());
+    }
+
+    @Test
+    void toTask_keepsIdsThatAreNotUuids() {
+        Task task = new Task("task-1", "template1", new Info.Builder("Run").build(),
+                null, new BeginAndDueDates(DAY, null), false, null, false);
+
+        CompactTask compact = CompactTask.of(task);
+        Task copy = compact.toTask();
+
+        assertEquals("task-1", compact.getId());
+        assertEquals("template1", copy.getTemplateTaskId());
+        assertNull(copy.getPriority());
+        assertNull(copy.getDates().getDueDate());
+        assertNull(copy.getInfo().getCategory());
+        assertFalse(copy.isCompleted());
+        assertNull(copy.getCompletedDateTime());
+    }
+
+    @Test
+    void laterChangesToTheTask_doNotReachTheCopy() {
+        Info info = new Info.Builder("Read").category("cat-1").build();
+        Task task = new Task("template1", info, new BeginAndDueDates(DAY, DAY), false);
+        CompactTask compact = CompactTask.of(task);
+
+        info.setCategory("cat-2");
+        task.getDates().setDueDate(DAY.plusDays(9));
+
+        assertEquals("cat-1", compact.getCategory());
+        assertEquals(DAY, compact.toTask().getDates().getDueDate());
+    }
+
+    @Test
+    void copies_shareOneNameAndCategory() {
+        Task a = new Task("template1", new Info.Builder(new String("Read")).category(new String("cat-1")).build(),
+                new BeginAndDueDates(DAY, null), false);
+        Task b = new Task("template1", new Info.Builder(new String("Read")).category(new String("cat-1")).build(),
+                new BeginAndDueDates(DAY, null), false);
+
+        assertSame(CompactTask.of(a).getName(), CompactTask.of(b).getName());
+        assertSame(CompactTask.of(a).getCategory(), CompactTask.of(b).getCategory());
+    }
+
+    @Test
+    void copy_holdsNoObjectsBesidesSharedStrings() {
+        for (Field field : CompactTask.class.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                assertTrue(field.getType().isPrimitive() || field.getType() == String.class,
+                        field.getName() + " would give every copy an object of its own");
+            }
+        }
+    }
+
+    @Test
+    void uuidIds_areUnpackedFromBits_notKept() {
+        Info info = new Info.Builder("Read").build();
+        Task task = new Task(new TaskAvailable(info).getId(), info, new BeginAndDueDates(DAY, null), false);
+
+        CompactTask compact = CompactTask.of(task);
+
+        assertEquals(task.getId(), compact.getId());
+        assertNotSame(task.getId(), compact.getId());
+        assertEquals(task.getTemplateTaskId(), compact.getTemplateTaskId());
+        assertNotSame(task.getTemplateTaskId(), compact.getTemplateTaskId());
+    }
+}
@@ -2,6 +2,7 @@ package interface_adapter.Angela.view_history;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import use_case.Angela.view_history.HistoryExportFormat;
 import use_case.Angela.view_history.ViewHistoryInputBoundary;
 
 import java.time.LocalDate;
@@ -156,6 +157,20 @@ class ViewHistoryControllerTest {
         ));
     }
 
+    @Test
+    void testExportHistoryRange_passesRangeAndFormat() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 12, 31);
+
+        controller.exportHistoryRange(from, to, HistoryExportFormat.NDJSON);
+
+        verify(mockInteractor).exportHistoryRange(argThat(inputData ->
+                inputData.getFrom().equals(from)
+                        && inputData.getTo().equals(to)
+                        && inputData.getFormat() == HistoryExportFormat.NDJSON
+        ));
+    }
+
     @Test
     void testExportHistory_futureDate_callsInteractor() {
         LocalDate date = LocalDate.now().plusWeeks(3);
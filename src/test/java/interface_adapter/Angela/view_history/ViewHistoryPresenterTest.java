@@ -1,15 +1,19 @@
 package interface_adapter.Angela.view_history;
 
+import entity.Angela.HistoryRollup;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import test_utils.TestDataResetUtil;
 import use_case.Angela.view_history.ViewHistoryOutputData;
 
+import javax.swing.SwingUtilities;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class ViewHistoryPresenterTest {
@@ -169,7 +173,7 @@ class ViewHistoryPresenterTest {
 
         presenter.presentExportSuccess(filePath);
 
-        verify(mockViewModel).setState(any(ViewHistoryState.class));
+        verify(mockViewModel, timeout(1000)).setState(any(ViewHistoryState.class));
     }
 
     @Test
@@ -178,7 +182,7 @@ class ViewHistoryPresenterTest {
 
         presenter.presentExportSuccess(filePath);
 
-        verify(mockViewModel).setState(any(ViewHistoryState.class));
+        verify(mockViewModel, timeout(1000)).setState(any(ViewHistoryState.class));
     }
 
     @Test
@@ -187,7 +191,7 @@ class ViewHistoryPresenterTest {
 
         presenter.presentExportSuccess(filePath);
 
-        verify(mockViewModel).setState(any(ViewHistoryState.class));
+        verify(mockViewModel, timeout(1000)).setState(any(ViewHistoryState.class));
     }
 
     @Test
@@ -196,7 +200,7 @@ class ViewHistoryPresenterTest {
 
         presenter.presentExportFailure(error);
 
-        verify(mockViewModel).setState(any(ViewHistoryState.class));
+        verify(mockViewModel, timeout(1000)).setState(any(ViewHistoryState.class));
     }
 
     @Test
@@ -205,7 +209,7 @@ class ViewHistoryPresenterTest {
 
         presenter.presentExportFailure(error);
 
-        verify(mockViewModel).setState(any(ViewHistoryState.class));
+        verify(mockViewModel, timeout(1000)).setState(any(ViewHistoryState.class));
     }
 
     @Test
@@ -214,7 +218,7 @@ class ViewHistoryPresenterTest {
 
         presenter.presentExportFailure(error);
 
-        verify(mockViewModel).setState(any(ViewHistoryState.class));
+        verify(mockViewModel, timeout(1000)).setState(any(ViewHistoryState.class));
     }
 
     @Test
@@ -223,7 +227,65 @@ class ViewHistoryPresenterTest {
 
         presenter.presentExportFailure(error);
 
-        verify(mockViewModel).setState(any(ViewHistoryState.class));
+        verify(mockViewModel, timeout(1000)).setState(any(ViewHistoryState.class));
+    }
+
+    @Test
+    void testPresentExportProgress_setsPercentAndClearsLastMessage() throws Exception {
+        ViewHistoryViewModel viewModel = new ViewHistoryViewModel();
+        ViewHistoryPresenter realPresenter = new ViewHistoryPresenter(viewModel);
+        realPresenter.presentExportSuccess("/earlier/export.csv");
+
+        realPresenter.presentExportProgress(30, 120);
+        SwingUtilities.invokeAndWait(() -> { });
+
+        assertEquals(25, viewModel.getState().getExportProgress());
+        assertNull(viewModel.getState().getExportMessage());
+
+        realPresenter.presentExportSuccess("/test/path");
+        SwingUtilities.invokeAndWait(() -> { });
+
+        assertEquals(-1, viewModel.getState().getExportProgress());
+        assertNotNull(viewModel.getState().getExportMessage());
+    }
+
+    @Test
+    void testExportUpdatesFromAnotherThread_areAppliedOnTheSwingThread() throws Exception {
+        ViewHistoryViewModel viewModel = new ViewHistoryViewModel();
+        ViewHistoryPresenter realPresenter = new ViewHistoryPresenter(viewModel);
+        List<Boolean> onSwingThread = new ArrayList<>();
+        viewModel.addPropertyChangeListener(event -> onSwingThread.add(SwingUtilities.isEventDispatchThread()));
+
+        Thread export = new Thread(() -> {
+            realPresenter.presentExportProgress(1, 2);
+            realPresenter.presentExportFailure("disk full");
+        });
+        export.start();
+        export.join();
+        // The dates presented meanwhile on the Swing thread must survive the export updates
+        SwingUtilities.invokeAndWait(() -> realPresenter.presentAvailableDates(List.of(LocalDate.of(2025, 3, 1))));
+        SwingUtilities.invokeAndWait(() -> { });
+
+        assertEquals(List.of(true, true, true), onSwingThread);
+        assertEquals(List.of(LocalDate.of(2025, 3, 1)), viewModel.getState().getAvailableDates());
+        assertEquals("Export failed: disk full", viewModel.getState().getExportMessage());
+        assertEquals(-1, viewModel.getState().getExportProgress());
+    }
+
+    @Test
+    void testPresentRollups_summarizesWeeksThenMonths() {
+        ViewHistoryViewModel viewModel = new ViewHistoryViewModel();
+        HistoryRollup week = new HistoryRollup(HistoryRollup.Granularity.WEEK, LocalDate.of(2025, 2, 24),
+                LocalDate.of(2025, 3, 2), HistoryRollup.coverageThrough(LocalDate.of(2025, 2, 24), LocalDate.of(2025, 3, 2)),
+                7, 350, 14, 7, Map.of(), List.of(), 0, 0, 0, 0);
+        HistoryRollup month = new HistoryRollup(HistoryRollup.Granularity.MONTH, LocalDate.of(2025, 2, 1),
+                LocalDate.of(2025, 2, 1), 1, 1, 100, 2, 2, Map.of(), List.of(), 0, 0, 0, 0);
+
+        new ViewHistoryPresenter(viewModel).presentRollups(List.of(week), List.of(month));
+
+        assertEquals(List.of("Week of Feb 24, 2025: 7 days, 7/14 tasks done, 50% average completion",
+                "February 2025: 1 day, 2/2 tasks done, 100% average completion"),
+                viewModel.getState().getRollupSummaries());
     }
 
     @Test
@@ -233,6 +295,6 @@ class ViewHistoryPresenterTest {
         presenter.prepareFailView("Test error");
         presenter.presentExportSuccess("/test/path");
 
-        verify(mockViewModel, times(3)).setState(any(ViewHistoryState.class));
+        verify(mockViewModel, timeout(1000).times(3)).setState(any(ViewHistoryState.class));
     }
 }
\ No newline at end of file
@@ -0,0 +1,144 @@
+package interface_adapter.generate_feedback;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import use_case.generate_feedback.GptResponseCache;
+import use_case.generate_feedback.GptService;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingGptServiceTest {
+
+    private GptService delegate;
+    private MapCache cache;
+    private CachingGptService service;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(GptService.class);
+        cache = new MapCache();
+        service = new CachingGptService(delegate, cache, "gpt-4o-mini", 0.5);
+    }
+
+    @Test
+    void identicalPrompt_isServedFromCache() throws IOException {
+        when(delegate.callGeneralAnalysis("week")).thenReturn("{\"analysis\":\"ok\"}");
+
+        assertEquals("{\"analysis\":\"ok\"}", service.callGeneralAnalysis("week"));
+        assertEquals("{\"analysis\":\"ok\"}", service.callGeneralAnalysis("week"));
+
+        verify(delegate, times(1)).callGeneralAnalysis("week");
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void asyncCalls_shareTheSameCache() throws Exception {
+        when(delegate.callCorrelationBayes("corr")).thenReturn("{}");
+
+        assertEquals("{}", service.callCorrelationBayesAsync("corr").get());
+        assertEquals("{}", service.callCorrelationBayes("corr"));
+        assertTrue(service.callCorrelationBayesAsync("corr").isDone());
+
+        verify(delegate, times(1)).callCorrelationBayes("corr");
+    }
+
+    @Test
+    void failures_areNotCached() throws IOException {
+        when(delegate.callRecommendation("rec")).thenThrow(new IOException("down")).thenReturn("Sleep.");
+
+        assertThrows(IOException.class, () -> service.callRecommendation("rec"));
+        assertEquals("Sleep.", service.callRecommendation("rec"));
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    void unparseableReplies_areReturnedButNotCached() throws Exception {
+        when(delegate.callGeneralAnalysis("week")).thenReturn("Sorry, I cannot help.").thenReturn("{\"analysis\":\"ok\"}");
+        when(delegate.callRecommendation("rec")).thenReturn(" ").thenReturn("Sleep.");
+
+        assertEquals("Sorry, I cannot help.", service.callGeneralAnalysisAsync("week").get());
+        assertEquals("{\"analysis\":\"ok\"}", service.callGeneralAnalysis("week"));
+        assertEquals(" ", service.callRecommendation("rec"));
+        assertEquals("Sleep.", service.callRecommendation("rec"));
+
+        verify(delegate, times(2)).callGeneralAnalysis("week");
+        verify(delegate, times(2)).callRecommendation("rec");
+        assertEquals("{\"analysis\":\"ok\"}", service.callGeneralAnalysis("week"));
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void unparseableReplyAlreadyCached_isAskedForAgain() throws IOException {
+        cache.put(service.keyFor("corr"), "not json");
+        when(delegate.callCorrelationBayes("corr")).thenReturn("{}");
+
+        assertEquals("{}", service.callCorrelationBayes("corr"));
+        assertEquals("{}", service.callCorrelationBayes("corr"));
+
+        verify(delegate, times(1)).callCorrelationBayes("corr");
+    }
+
+    @Test
+    void streamedRecommendation_isCachedAndReplayedAsOneDelta() throws Exception {
+        when(delegate.callRecommendation("rec")).thenReturn("Sleep more.");
+        List<String> deltas = new ArrayList<>();
+
+        assertEquals("Sleep more.", service.streamRecommendation("rec", deltas::add).get());
+        assertEquals("Sleep more.", service.streamRecommendation("rec", deltas::add).get());
+
+        assertEquals(List.of("Sleep more.", "Sleep more."), deltas);
+        verify(delegate, times(1)).callRecommendation("rec");
+        assertEquals(1, cache.getHitCount());
+    }
+
+    @Test
+    void key_dependsOnModelTemperatureAndPrompt() {
+        String key = service.keyFor("p");
+        assertEquals(64, key.length());
+        assertEquals(key, new CachingGptService(delegate, cache, "gpt-4o-mini", 0.5).keyFor("p"));
+        assertNotEquals(key, service.keyFor("q"));
+        assertNotEquals(key, new CachingGptService(delegate, cache, "gpt-4o", 0.5).keyFor("p"));
+        assertNotEquals(key, new CachingGptService(delegate, cache, "gpt-4o-mini", 0.7).keyFor("p"));
+    }
+
+    private static final class MapCache implements GptResponseCache {
+        private final Map<String, String> map = new HashMap<>();
+        private long hits;
+        private long misses;
+
+        @Override
+        public String get(String key) {
+            String value = map.get(key);
+            if (value == null) {
+                misses++;
+            }
+            else {
+                hits++;
+            }
+            return value;
+        }
+
+        @Override
+        public void put(String key, String response) {
+            map.put(key, response);
+        }
+
+        @Override
+        public long getHitCount() {
+            return hits;
+        }
+
+        @Override
+        public long getMissCount() {
+            return misses;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package interface_adapter.generate_feedback;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerInterceptorTest {
+
+    private MockWebServer server;
+    private MutableClock clock;
+    private CircuitBreakerInterceptor breaker;
+    private OkHttpClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        clock = new MutableClock(Instant.parse("2025-08-20T12:00:00Z"));
+        breaker = new CircuitBreakerInterceptor(2, Duration.ofSeconds(30), clock);
+        client = new OkHttpClient.Builder().addInterceptor(breaker).build();
+    }
+
+    @AfterEach
+    void shutdownServer() throws IOException {
+        server.shutdown();
+    }
+
+    private int post() throws IOException {
+        try (Response response = client.newCall(new Request.Builder()
+                .url(server.url("/v1/chat/completions"))
+                .post(RequestBody.create("{}", MediaType.get("application/json")))
+                .build()).execute()) {
+            return response.code();
+        }
+    }
+
+    @Test
+    void opensAfterThresholdAndFailsFast() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.enqueue(new MockResponse().setResponseCode(503));
+
+        assertEquals(500, post());
+        assertEquals(CircuitBreakerInterceptor.State.CLOSED, breaker.getState());
+        assertEquals(503, post());
+        assertEquals(CircuitBreakerInterceptor.State.OPEN, breaker.getState());
+
+        IOException ex = assertThrows(IOException.class, this::post);
+        assertTrue(ex.getMessage().contains("circuit breaker is open"));
+        assertEquals(2, server.getRequestCount(), "Open circuit must not reach the server");
+    }
+
+    @Test
+    void successResetsTheFailureCount() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.enqueue(new MockResponse().setResponseCode(200));
+        server.enqueue(new MockResponse().setResponseCode(500));
+
+        post();
+        post();
+        post();
+        assertEquals(CircuitBreakerInterceptor.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void halfOpenTrialClosesOrReopens() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(429));
+        server.enqueue(new MockResponse().setResponseCode(429));
+        post();
+        post();
+
+        clock.advance(Duration.ofSeconds(30));
+        assertEquals(CircuitBreakerInterceptor.State.HALF_OPEN, breaker.getState());
+        server.enqueue(new MockResponse().setResponseCode(500));
+        assertEquals(500, post());
+        assertEquals(CircuitBreakerInterceptor.State.OPEN, breaker.getState(), "Failed trial reopens");
+
+        clock.advance(Duration.ofSeconds(30));
+        server.enqueue(new MockResponse().setResponseCode(200));
+        assertEquals(200, post());
+        assertEquals(CircuitBreakerInterceptor.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void defaultClientFailsFastOnceRetriesKeepFailing() throws IOException {
+        HttpClientConfig config = new HttpClientConfig.Builder()
+                .maxRetries(1)
+                .backoff(Duration.ZERO, Duration.ZERO)
+                .circuitBreaker(1, Duration.ofMinutes(1))
+                .build();
+        OpenAiApiAdapter adapter = new OpenAiApiAdapter("test-key", server.url("/v1/chat/completions").toString(),
+                config);
+        server.enqueue(new MockResponse().setResponseCode(500));
+        server.enqueue(new MockResponse().setResponseCode(500));
+
+        IOException first = assertThrows(IOException.class, () -> adapter.callGeneralAnalysis("week"));
+        assertTrue(first.getMessage().contains("500"));
+        assertEquals(2, server.getRequestCount(), "One call and one retry");
+
+        IOException second = assertThrows(IOException.class, () -> adapter.callGeneralAnalysis("week"));
+        assertTrue(second.getMessage().contains("circuit breaker is open"));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant start) {
+            this.now = start;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
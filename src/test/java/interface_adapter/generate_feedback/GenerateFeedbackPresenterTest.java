@@ -10,6 +10,7 @@ import use_case.generate_feedback.GenerateFeedbackOutputData;
 
 import javax.swing.*;
 import java.lang.reflect.InvocationTargetException;
+import java.time.LocalDate;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -55,4 +56,62 @@ class GenerateFeedbackPresenterTest {
         assertEquals(1, captured.size(), "setEntries should receive a singleton list");
         assertSame(entry, captured.get(0), "The list should contain exactly the provided entry");
     }
+
+    @Test
+    void presentPartial_setsLatestDraft_andPresentClearsIt() {
+        FeedbackHistoryViewModel historyVm = new FeedbackHistoryViewModel();
+        GenerateFeedbackPresenter presenter = new GenerateFeedbackPresenter(historyVm);
+
+        presenter.presentPartial("Rest");
+        presenter.presentPartial("Rest more.");
+        flushEdt();
+        assertEquals("Rest more.", historyVm.getDraftRecommendation());
+
+        GenerateFeedbackOutputData out = mock(GenerateFeedbackOutputData.class, withSettings().lenient());
+        when(out.getFeedbackEntry()).thenReturn(mock(FeedbackEntryInterf.class));
+        presenter.present(out);
+        flushEdt();
+        assertEquals("", historyVm.getDraftRecommendation());
+        assertEquals(1, historyVm.getEntries().size());
+    }
+
+    @Test
+    void presentFailure_clearsDraft_andShowsError_untilNextEntry() {
+        FeedbackHistoryViewModel historyVm = new FeedbackHistoryViewModel();
+        GenerateFeedbackPresenter presenter = new GenerateFeedbackPresenter(historyVm);
+        presenter.presentPartial("Rest");
+        flushEdt();
+
+        presenter.presentFailure("Feedback generation failed: stream ended");
+        flushEdt();
+        assertEquals("", historyVm.getDraftRecommendation());
+        assertEquals("Feedback generation failed: stream ended", historyVm.getErrorMessage());
+        assertTrue(historyVm.getEntries().isEmpty());
+
+        GenerateFeedbackOutputData out = mock(GenerateFeedbackOutputData.class, withSettings().lenient());
+        when(out.getFeedbackEntry()).thenReturn(mock(FeedbackEntryInterf.class));
+        presenter.present(out);
+        flushEdt();
+        assertEquals("", historyVm.getErrorMessage());
+    }
+
+    @Test
+    void present_putsNewEntryFirst_keepingTheOthersAlreadyShown() {
+        FeedbackHistoryViewModel historyVm = new FeedbackHistoryViewModel();
+        FeedbackEntryInterf older = mock(FeedbackEntryInterf.class);
+        when(older.getDate()).thenReturn(LocalDate.of(2025, 1, 6));
+        FeedbackEntryInterf replaced = mock(FeedbackEntryInterf.class);
+        when(replaced.getDate()).thenReturn(LocalDate.of(2025, 1, 13));
+        historyVm.setEntries(List.of(replaced, older));
+
+        FeedbackEntryInterf newest = mock(FeedbackEntryInterf.class);
+        when(newest.getDate()).thenReturn(LocalDate.of(2025, 1, 13));
+        GenerateFeedbackOutputData out = mock(GenerateFeedbackOutputData.class);
+        when(out.getFeedbackEntry()).thenReturn(newest);
+
+        new GenerateFeedbackPresenter(historyVm).present(out);
+        flushEdt();
+
+        assertEquals(List.of(newest, older), historyVm.getEntries());
+    }
 }
@@ -0,0 +1,193 @@
+package interface_adapter.generate_feedback;
+
+import entity.Angela.DailyLog;
+import entity.Angela.Task.Task;
+import entity.BeginAndDueDates.BeginAndDueDates;
+import entity.alex.Event.Event;
+import entity.alex.MoodLabel.MoodLabel;
+import entity.alex.MoodLabel.Type;
+import entity.alex.WellnessLogEntry.Levels;
+import entity.alex.WellnessLogEntry.WellnessLogEntry;
+import entity.info.Info;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GptPromptPortAdapterTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2025, 8, 18);
+
+    private final List<String> reports = new ArrayList<>();
+
+    private GptPromptPortAdapter adapter(int budget) {
+        return new GptPromptPortAdapter(budget, (kind, tokens, limit) -> reports.add(kind + ":" + tokens + "/" + limit));
+    }
+
+    private static DailyLog busyDay(LocalDate day, int tasks, int entries) {
+        DailyLog log = new DailyLog(day);
+        for (int i = 0; i < tasks; i++) {
+            Task task = new Task("tpl-" + i,
+                    new Info.Builder("Task number " + i + " with a fairly long descriptive name").category("Work").build(),
+                    new BeginAndDueDates(day, null), false);
+            log.addTask(task);
+            if (i % 2 == 0) {
+                log.getDailyTaskSummary().markTaskCompleted(task);
+            }
+        }
+        log.getDailyEventLog().addEntry(new Event.Builder(new Info.Builder("Team sync").build())
+                .beginAndDueDates(new BeginAndDueDates(day, day)).build());
+        for (int i = 0; i < entries; i++) {
+            log.getDailyWellnessLog().addEntry(new WellnessLogEntry.Builder()
+                    .time(day.atTime(8 + i % 12, 0))
+                    .stressLevel(Levels.SEVEN)
+                    .energyLevel(Levels.FOUR)
+                    .fatigueLevel(Levels.TWO)
+                    .moodLabel(new MoodLabel.Builder("Calm").type(Type.Positive).build())
+                    .userNote("A rather long note about how the day went, entry " + i)
+                    .build());
+        }
+        return log;
+    }
+
+    private static List<DailyLog> week(int tasks, int entries) {
+        List<DailyLog> logs = new ArrayList<>();
+        for (int d = 0; d < 7; d++) {
+            logs.add(busyDay(MONDAY.plusDays(d), tasks, entries));
+        }
+        return logs;
+    }
+
+    @Test
+    void smallWeek_keepsFullDetailInOneRowPerDay() {
+        String prompt = adapter(GptPromptPortAdapter.DEFAULT_TOKEN_BUDGET).buildAnalysis(week(2, 1));
+
+        assertTrue(prompt.contains("2025-08-18|1/2|0.50|Work=1|Task number 0"), prompt);
+        assertTrue(prompt.contains("Calm=1"));
+        assertTrue(prompt.contains("A rather long note"));
+        assertEquals(1, prompt.split("analyze how this mood", -1).length, "Instructions are not repeated per entry");
+        assertEquals(List.of("analysis:" + TokenEstimator.estimate(prompt) + "/"
+                + GptPromptPortAdapter.DEFAULT_TOKEN_BUDGET), reports);
+    }
+
+    @Test
+    void analysisNeverExceedsBudget_andDropsDetailToFit() {
+        List<DailyLog> heavy = week(30, 20);
+        int budget = 900;
+
+        String prompt = adapter(budget).buildAnalysis(heavy);
+
+        assertTrue(TokenEstimator.estimate(prompt) <= budget, "~" + TokenEstimator.estimate(prompt) + " tokens");
+        assertFalse(prompt.contains("A rather long note"), "Notes go first");
+        assertTrue(prompt.contains("2025-08-24|15/30|0.50"), "Every day is still present");
+        assertTrue(prompt.contains("7.0|4.0|2.0"), "Daily wellness averages survive");
+    }
+
+    @Test
+    void tightBudget_mergesNeighbouringDays() {
+        List<DailyLog> month = new ArrayList<>();
+        for (int d = 0; d < 28; d++) {
+            month.add(busyDay(MONDAY.plusDays(d), 4, 2));
+        }
+        int budget = 700;
+
+        String prompt = adapter(budget).buildAnalysis(month);
+
+        assertTrue(TokenEstimator.estimate(prompt) <= budget, "~" + TokenEstimator.estimate(prompt) + " tokens");
+        assertTrue(prompt.contains("2025-08-18..2025-08-"), prompt);
+        assertTrue(prompt.contains("2025-08-18..2025-08-19|4/8|0.50|"), "Counts are summed over merged days");
+    }
+
+    @Test
+    void correlation_isFittedAndReported() {
+        List<DailyLog> month = new ArrayList<>();
+        for (int d = 0; d < 60; d++) {
+            month.add(busyDay(MONDAY.plusDays(d), 2, 1));
+        }
+        String prompt = adapter(600).buildCorrelation(month);
+
+        assertTrue(prompt.contains("Bayesian regression"));
+        assertTrue(TokenEstimator.estimate(prompt) <= 600);
+        assertTrue(prompt.contains("\"completion_rate\":0.500,\"Stress\":7.00"));
+        assertEquals(1, reports.size());
+        assertTrue(reports.get(0).startsWith("correlation:"));
+        assertFalse(prompt.contains("each of the last"), "Merged rows are not described as days");
+        assertTrue(prompt.contains("For each period you get:"));
+    }
+
+    @Test
+    void correlation_unmergedWeek_describesDays() {
+        String prompt = adapter(GptPromptPortAdapter.DEFAULT_TOKEN_BUDGET).buildCorrelation(week(2, 1));
+
+        assertTrue(prompt.contains("For each of the last 7 days you get:"));
+    }
+
+    @Test
+    void emptyDay_isMarkedMissing() {
+        String prompt = adapter(GptPromptPortAdapter.DEFAULT_TOKEN_BUDGET).buildAnalysis(List.of(new DailyLog(MONDAY)));
+
+        assertTrue(prompt.contains("2025-08-18|-|-|-|-|-|-|-|-|-|-|-"), prompt);
+    }
+
+    @Test
+    void recommendation_isReported() {
+        String prompt = adapter(500).buildRecommendation("{\"analysis\":\"Busy week\",\"extra_notes\":\"\"}");
+
+        assertTrue(prompt.contains("productivity & wellness coach"));
+        assertTrue(prompt.contains("Busy week"));
+        assertTrue(reports.get(0).startsWith("recommendation:"));
+    }
+
+    @Test
+    void budgetSmallerThanInstructions_isReportedAsOverrun() {
+        List<String> overruns = new ArrayList<>();
+        GptPromptPortAdapter tiny = new GptPromptPortAdapter(50, new PromptTokenReporter() {
+            @Override
+            public void report(String promptKind, int tokens, int budget) {
+                reports.add(promptKind);
+            }
+
+            @Override
+            public void reportOverBudget(String promptKind, int tokens, int budget) {
+                overruns.add(promptKind + ":" + tokens + "/" + budget);
+            }
+        });
+
+        String prompt = tiny.buildAnalysis(week(2, 1));
+
+        assertTrue(prompt.contains("2025-08-18..2025-08-24"), "Every day was merged before giving up");
+        assertEquals(List.of("analysis"), reports);
+        assertEquals(List.of("analysis:" + TokenEstimator.estimate(prompt) + "/50"), overruns);
+    }
+
+    @Test
+    void promptWithinBudget_isNotReportedAsOverrun() {
+        List<String> overruns = new ArrayList<>();
+        GptPromptPortAdapter roomy = new GptPromptPortAdapter(GptPromptPortAdapter.DEFAULT_TOKEN_BUDGET,
+                new PromptTokenReporter() {
+                    @Override
+                    public void report(String promptKind, int tokens, int budget) {
+                    }
+
+                    @Override
+                    public void reportOverBudget(String promptKind, int tokens, int budget) {
+                        overruns.add(promptKind);
+                    }
+                });
+
+        roomy.buildAnalysis(week(2, 1));
+        roomy.buildCorrelation(week(2, 1));
+
+        assertTrue(overruns.isEmpty());
+    }
+
+    @Test
+    void tokenEstimate_countsWordsAndSymbols() {
+        assertEquals(0, TokenEstimator.estimate(""));
+        assertEquals(4, TokenEstimator.estimate("a|b|"));
+        assertEquals(25, TokenEstimator.estimate("x".repeat(100)));
+    }
+}
@@ -0,0 +1,107 @@
+package interface_adapter.generate_feedback;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenAiApiAdapterStreamingTest {
+
+    private MockWebServer server;
+    private OpenAiApiAdapter adapter;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        adapter = new OpenAiApiAdapter("test-key", server.url("/v1/chat/completions").toString(),
+                new HttpClientConfig.Builder().maxRetries(0).build());
+    }
+
+    @AfterEach
+    void shutdownServer() throws IOException {
+        server.shutdown();
+    }
+
+    static String sse(String... deltas) {
+        StringBuilder body = new StringBuilder();
+        body.append("data: ").append(chunk(new JSONObject().put("role", "assistant"))).append("\n\n");
+        for (String delta : deltas) {
+            body.append("data: ").append(chunk(new JSONObject().put("content", delta))).append("\n\n");
+        }
+        body.append("data: [DONE]\n\n");
+        return body.toString();
+    }
+
+    private static String chunk(JSONObject delta) {
+        return new JSONObject().put("choices", new JSONArray()
+                .put(new JSONObject().put("index", 0).put("delta", delta))).toString();
+    }
+
+    @Test
+    void deltasArriveInOrderAndCompleteTheFuture() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(200)
+                .addHeader("Content-Type", "text/event-stream")
+                .setChunkedBody(sse("Rest", " more", ".\n"), 16));
+
+        List<String> deltas = new CopyOnWriteArrayList<>();
+        String full = adapter.streamRecommendation("week", deltas::add).get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("Rest", " more", ".\n"), deltas);
+        assertEquals("Rest more.", full);
+
+        RecordedRequest request = server.takeRequest();
+        JSONObject body = new JSONObject(request.getBody().readUtf8());
+        assertTrue(body.getBoolean("stream"));
+        assertEquals("week", body.getJSONArray("messages").getJSONObject(0).getString("content"));
+    }
+
+    @Test
+    void blockingCallsDoNotAskForAStream() throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(200).setBody(new JSONObject()
+                .put("choices", new JSONArray().put(new JSONObject()
+                        .put("message", new JSONObject().put("content", "ok")))).toString()));
+
+        assertEquals("ok", adapter.callRecommendation("week"));
+        assertFalse(new JSONObject(server.takeRequest().getBody().readUtf8()).has("stream"));
+    }
+
+    @Test
+    void httpErrorFailsTheFutureWithoutDeltas() {
+        server.enqueue(new MockResponse().setResponseCode(401).setBody("{\"error\":\"bad key\"}"));
+
+        List<String> deltas = new CopyOnWriteArrayList<>();
+        ExecutionException ex = assertThrows(ExecutionException.class,
+                () -> adapter.streamRecommendation("week", deltas::add).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, ex.getCause());
+        assertTrue(ex.getCause().getMessage().contains("401"));
+        assertTrue(deltas.isEmpty());
+    }
+
+    @Test
+    void streamEndingWithoutDoneFailsTheFuture() {
+        String truncated = sse("Rest", " more").replace("data: [DONE]\n\n", "");
+        server.enqueue(new MockResponse().setResponseCode(200)
+                .addHeader("Content-Type", "text/event-stream")
+                .setBody(truncated));
+
+        List<String> deltas = new CopyOnWriteArrayList<>();
+        ExecutionException ex = assertThrows(ExecutionException.class,
+                () -> adapter.streamRecommendation("week", deltas::add).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IOException.class, ex.getCause());
+        assertTrue(ex.getCause().getMessage().contains("[DONE]"));
+        assertEquals(List.of("Rest", " more"), deltas);
+    }
+}
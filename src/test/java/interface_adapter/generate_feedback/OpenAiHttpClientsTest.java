@@ -0,0 +1,43 @@
+package interface_adapter.generate_feedback;
+
+import okhttp3.OkHttpClient;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenAiHttpClientsTest {
+
+    @Test
+    void timeouts_comeFromTheConfig() {
+        HttpClientConfig config = new HttpClientConfig.Builder()
+                .connectTimeout(Duration.ofSeconds(3))
+                .readTimeout(Duration.ofSeconds(40))
+                .writeTimeout(Duration.ofSeconds(7))
+                .callTimeout(Duration.ofSeconds(90))
+                .build();
+
+        OkHttpClient client = OpenAiHttpClients.create(config);
+
+        assertEquals(3_000, client.connectTimeoutMillis());
+        assertEquals(40_000, client.readTimeoutMillis());
+        assertEquals(7_000, client.writeTimeoutMillis());
+        assertEquals(90_000, client.callTimeoutMillis());
+    }
+
+    @Test
+    void defaultWriteTimeout_isShorterThanTheReadTimeout() {
+        OkHttpClient client = OpenAiHttpClients.create();
+
+        assertEquals(10_000, client.writeTimeoutMillis());
+        assertEquals(30_000, client.readTimeoutMillis());
+    }
+
+    @Test
+    void defaultPoolSettings_shareOnePool() {
+        assertSame(OpenAiHttpClients.create().connectionPool(),
+                OpenAiHttpClients.create(new HttpClientConfig.Builder().writeTimeout(Duration.ofSeconds(1)).build())
+                        .connectionPool());
+    }
+}
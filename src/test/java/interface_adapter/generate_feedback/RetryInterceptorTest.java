@@ -0,0 +1,154 @@
+package interface_adapter.generate_feedback;
+
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryInterceptorTest {
+
+    private static final Instant NOW = Instant.parse("2025-08-20T12:00:00Z");
+
+    private MockWebServer server;
+    private final List<Long> sleeps = new ArrayList<>();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @AfterEach
+    void shutdownServer() throws IOException {
+        server.shutdown();
+    }
+
+    private OkHttpClient client(int maxRetries) {
+        HttpClientConfig config = new HttpClientConfig.Builder()
+                .maxRetries(maxRetries)
+                .backoff(Duration.ofMillis(100), Duration.ofMillis(400))
+                .build();
+        return new OkHttpClient.Builder()
+                .retryOnConnectionFailure(false)
+                .addInterceptor(new RetryInterceptor(config, sleeps::add, Clock.fixed(NOW, ZoneOffset.UTC)))
+                .build();
+    }
+
+    private Response post(OkHttpClient client) throws IOException {
+        return client.newCall(new Request.Builder()
+                .url(server.url("/v1/chat/completions"))
+                .post(RequestBody.create("{}", MediaType.get("application/json")))
+                .build()).execute();
+    }
+
+    @Test
+    void serverErrorsAreRetriedUntilSuccess() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(503));
+        server.enqueue(new MockResponse().setResponseCode(502));
+        server.enqueue(new MockResponse().setResponseCode(200).setBody("ok"));
+
+        try (Response response = post(client(3))) {
+            assertEquals(200, response.code());
+            assertEquals("ok", response.body().string());
+        }
+        assertEquals(3, server.getRequestCount());
+        assertEquals(2, sleeps.size());
+        assertTrue(sleeps.get(0) <= 100, "first backoff " + sleeps.get(0));
+        assertTrue(sleeps.get(1) <= 200, "second backoff " + sleeps.get(1));
+    }
+
+    @Test
+    void retryAfterSecondsIsHonoured() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(429).addHeader("Retry-After", "2"));
+        server.enqueue(new MockResponse().setResponseCode(200));
+
+        try (Response response = post(client(3))) {
+            assertEquals(200, response.code());
+        }
+        assertEquals(List.of(2000L), sleeps);
+    }
+
+    @Test
+    void retryAfterHttpDateIsHonoured() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(429)
+                .addHeader("Retry-After", "Wed, 20 Aug 2025 12:00:05 GMT"));
+        server.enqueue(new MockResponse().setResponseCode(200));
+
+        try (Response response = post(client(3))) {
+            assertEquals(200, response.code());
+        }
+        assertEquals(List.of(5000L), sleeps);
+    }
+
+    @Test
+    void retryAfterBeyondLimit_returnsResponseWithoutWaiting() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(429).addHeader("Retry-After", "3600"));
+
+        try (Response response = post(client(3))) {
+            assertEquals(429, response.code());
+        }
+        assertEquals(1, server.getRequestCount());
+        assertTrue(sleeps.isEmpty());
+    }
+
+    @Test
+    void clientErrorsAreNotRetried() throws IOException {
+        server.enqueue(new MockResponse().setResponseCode(400));
+
+        try (Response response = post(client(3))) {
+            assertEquals(400, response.code());
+        }
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void exhaustedRetries_returnLastResponse() throws IOException {
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse().setResponseCode(500));
+        }
+
+        try (Response response = post(client(2))) {
+            assertEquals(500, response.code());
+        }
+        assertEquals(3, server.getRequestCount());
+        assertEquals(2, sleeps.size());
+    }
+
+    @Test
+    void connectionFailuresAreRetried() throws IOException {
+        server.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        server.enqueue(new MockResponse().setResponseCode(200));
+
+        try (Response response = post(client(1))) {
+            assertEquals(200, response.code());
+        }
+        assertEquals(1, sleeps.size());
+    }
+
+    @Test
+    void backoffIsCapped() {
+        RetryInterceptor interceptor = new RetryInterceptor(new HttpClientConfig.Builder()
+                .backoff(Duration.ofMillis(100), Duration.ofMillis(400)).build());
+        for (int attempt = 0; attempt < 70; attempt++) {
+            long delay = interceptor.backoffMillis(attempt);
+            assertTrue(delay >= 0 && delay <= 400, "attempt " + attempt + " -> " + delay);
+        }
+    }
+}
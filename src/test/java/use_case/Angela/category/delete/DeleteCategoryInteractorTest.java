@@ -2,16 +2,21 @@ package use_case.Angela.category.delete;
 
 import data_access.InMemoryCategoryDataAccessObject;
 import data_access.InMemoryTaskDataAccessObject;
+import entity.Angela.Task.Task;
 import entity.Angela.Task.TaskAvailable;
 import entity.Category;
 import entity.info.Info;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
 
 /**
  * Test class for DeleteCategoryInteractor following Clean Architecture principles.
@@ -295,6 +300,57 @@ class DeleteCategoryInteractorTest {
         assertTrue(taskWithCategory2.getCategory() == null || taskWithCategory2.getCategory().isEmpty());
     }
 
+    @Test
+    void testLargeDelete_readsEachListOnceAndClearsCategoryInOneBatch() {
+        InMemoryTaskDataAccessObject tasks = spy(new InMemoryTaskDataAccessObject());
+        DeleteCategoryInteractor spiedInteractor = new DeleteCategoryInteractor(categoryGateway, tasks, null, testPresenter);
+        categoryGateway.save(new Category("doomed", "Doomed", "#FF0000"));
+        LocalDate due = LocalDate.now().plusDays(1);
+        for (int i = 0; i < 500; i++) {
+            addTemplateAndTodayTask(tasks, new Info.Builder("Task " + i).category("doomed").build(), due);
+            addTemplateAndTodayTask(tasks, new Info.Builder("Free " + i).build(), due);
+        }
+
+        spiedInteractor.execute(new DeleteCategoryInputData("doomed"));
+
+        assertEquals("Category deleted successfully. Updated 500 available tasks and "
+                + "500 today's tasks to have empty category.", testPresenter.lastOutputData.getMessage());
+        assertEquals(1_000, tasks.findTodaysTasksByCategory("").size());
+        // Each list is read once and the tasks are moved as one batch, not one update per task
+        verify(tasks, times(1)).findAvailableTasksByCategory("doomed");
+        verify(tasks, times(1)).findTodaysTasksByCategory("doomed");
+        verify(tasks, times(1)).findAvailableTasksWithEmptyCategory();
+        verify(tasks, times(1)).findTodaysTasksWithEmptyCategory();
+        verify(tasks, times(1)).updateTasksCategoryToNull("doomed");
+        verify(tasks, never()).updateAvailableTaskCategory(anyString(), any());
+        verify(tasks, never()).updateTodaysTaskCategory(anyString(), any());
+    }
+
+    @Test
+    void testNameConflicts_areCountedIgnoringCase() {
+        categoryGateway.save(new Category("doomed", "Doomed", "#FF0000"));
+        LocalDate due = LocalDate.now().plusDays(1);
+        for (int i = 0; i < 300; i++) {
+            addTemplateAndTodayTask(taskGateway, new Info.Builder("Task " + i).category("doomed").build(), due);
+            if (i % 3 == 0) {
+                addTemplateAndTodayTask(taskGateway, new Info.Builder("TASK " + i).build(), due);
+            }
+        }
+
+        interactor.execute(new DeleteCategoryInputData("doomed"));
+
+        assertEquals("Warning: Deleting this category will create 200 duplicate task(s) "
+                + "with the same names that already exist with empty categories. Continue?", testPresenter.lastError);
+        assertNotNull(categoryGateway.getCategoryById("doomed"));
+        assertEquals(300, taskGateway.findTodaysTasksByCategory("doomed").size());
+    }
+
+    private static void addTemplateAndTodayTask(InMemoryTaskDataAccessObject tasks, Info info, LocalDate due) {
+        TaskAvailable template = new TaskAvailable(info);
+        tasks.saveTaskAvailable(template);
+        tasks.addTaskToToday(template, Task.Priority.LOW, due);
+    }
+
     /**
      * Test presenter implementation that captures output for verification.
      */
@@ -0,0 +1,108 @@
+package use_case.Angela.today_so_far;
+
+import entity.Angela.Task.Task;
+import entity.BeginAndDueDates.BeginAndDueDates;
+import entity.alex.Event.Event;
+import entity.info.Info;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the TodaySoFar aggregate keeps its rows and counts right as single items change.
+ */
+class TodaySoFarTest {
+
+    private TodaySoFar todaySoFar;
+    private List<String> categoryLookups;
+
+    @BeforeEach
+    void setUp() {
+        todaySoFar = new TodaySoFar();
+        categoryLookups = new ArrayList<>();
+    }
+
+    private TodaySoFarOutputData render() {
+        return todaySoFar.toOutputData(id -> {
+            categoryLookups.add(id);
+            return id == null ? "-" : "Name of " + id;
+        });
+    }
+
+    private static Task task(String name, String category, LocalDate dueDate) {
+        Info info = new Info.Builder(name).category(category).build();
+        return new Task("template", info, new BeginAndDueDates(LocalDate.now().minusDays(30), dueDate), false);
+    }
+
+    private static List<String> names(TodaySoFarOutputData data) {
+        return data.getCompletedItems().stream()
+                .map(item -> item.getType() + ":" + item.getName())
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    @DisplayName("Should track completion as tasks are added, completed, uncompleted and removed")
+    void testTaskCompletion() {
+        Task read = task("Read", "cat1", null);
+        Task write = task("Write", "cat1", null);
+        todaySoFar.taskChanged(read.getId(), read);
+        todaySoFar.taskChanged(write.getId(), write);
+        assertEquals(0, todaySoFar.getCompletionRate());
+
+        read.markComplete();
+        todaySoFar.taskChanged(read.getId(), read);
+        assertEquals(50, todaySoFar.getCompletionRate());
+        assertEquals(List.of("Task:Read"), names(render()));
+
+        read.unmarkComplete();
+        todaySoFar.taskChanged(read.getId(), read);
+        assertEquals(0, todaySoFar.getCompletionRate());
+        assertTrue(render().getCompletedItems().isEmpty());
+
+        todaySoFar.taskChanged(write.getId(), null);
+        todaySoFar.taskChanged(read.getId(), null);
+        assertEquals(0, todaySoFar.getCompletionRate());
+    }
+
+    @Test
+    @DisplayName("Should leave overdue tasks out of the counts")
+    void testOverdueTasks() {
+        Task overdue = task("Late", null, LocalDate.now().minusDays(1));
+        Task done = task("Done", null, null);
+        done.markComplete();
+        todaySoFar.taskChanged(overdue.getId(), overdue);
+        todaySoFar.taskChanged(done.getId(), done);
+
+        assertEquals(100, todaySoFar.getCompletionRate());
+    }
+
+    @Test
+    @DisplayName("Should list tasks before events and name each category once per render")
+    void testRender() {
+        Task first = task("First", "cat1", null);
+        Task second = task("Second", "cat1", null);
+        first.markComplete();
+        second.markComplete();
+        Event meeting = new Event.Builder(new Info.Builder("Meeting").category("cat2").build())
+                .beginAndDueDates(new BeginAndDueDates(LocalDate.now(), null)).build();
+
+        todaySoFar.eventChanged(meeting.getInfo().getId(), meeting);
+        todaySoFar.taskChanged(first.getId(), first);
+        todaySoFar.taskChanged(second.getId(), second);
+
+        TodaySoFarOutputData data = render();
+        assertEquals(List.of("Task:First", "Task:Second", "Event:Meeting"), names(data));
+        assertEquals("Name of cat1", data.getCompletedItems().get(1).getCategory());
+        assertEquals(List.of("cat1", "cat2"), categoryLookups);
+
+        todaySoFar.eventChanged(meeting.getInfo().getId(), null);
+        assertEquals(List.of("Task:First", "Task:Second"), names(render()));
+    }
+}
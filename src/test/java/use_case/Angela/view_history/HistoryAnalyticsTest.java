@@ -0,0 +1,133 @@
+package use_case.Angela.view_history;
+
+import data_access.InMemoryHistoryDataAccess;
+import entity.Angela.Task.Task;
+import entity.Angela.TodaySoFarSnapshot;
+import entity.BeginAndDueDates.BeginAndDueDates;
+import entity.info.Info;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static use_case.Angela.view_history.HistoryAnalytics.NO_DATA;
+
+class HistoryAnalyticsTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    private HistoryAnalytics analytics;
+
+    @BeforeEach
+    void setUp() {
+        analytics = new HistoryAnalytics();
+    }
+
+    /** A day with {@code done} of four tasks completed, all in one category, and a goal at {@code goal}. */
+    private static TodaySoFarSnapshot day(LocalDate date, int done, String category, int goal) {
+        List<Task> tasks = new ArrayList<>();
+        List<Task> completed = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Task task = new Task("template-" + i, new Info.Builder("Task " + i).category(category).build(),
+                    new BeginAndDueDates(date, null), false);
+            if (i < done) {
+                task.markComplete(date.atTime(12, 0));
+                completed.add(task);
+            }
+            tasks.add(task);
+        }
+        return new TodaySoFarSnapshot(date, tasks, completed, done * 25, List.of(), List.of(),
+                List.of(new TodaySoFarSnapshot.GoalProgress("goal-1", "Exercise", "Weekly", goal, 5)), List.of());
+    }
+
+    @Test
+    void series_haveADayPerSlot_withGapsMarked() {
+        analytics.record(day(DAY, 1, "Work", 1));
+        analytics.record(day(DAY.plusDays(2), 3, "Work", 2));
+
+        assertArrayEquals(new int[] {NO_DATA, 25, NO_DATA, 75, NO_DATA},
+                analytics.completionRates(DAY.minusDays(1), DAY.plusDays(3)));
+        assertArrayEquals(new int[] {4, 0, 4}, analytics.taskCounts(DAY, DAY.plusDays(2)));
+        assertArrayEquals(new int[] {1, 0, 3}, analytics.completedCounts(DAY, DAY.plusDays(2)));
+        assertArrayEquals(new int[] {1, NO_DATA, 2}, analytics.goalProgress("goal-1", DAY, DAY.plusDays(2)));
+        assertArrayEquals(new int[] {NO_DATA, NO_DATA}, analytics.goalProgress("goal-2", DAY, DAY.plusDays(1)));
+    }
+
+    @Test
+    void daysRecordedOutOfOrder_andFarApart_landInTheirSlots() {
+        analytics.record(day(DAY, 2, "Work", 1));
+        analytics.record(day(DAY.minusDays(400), 4, "Home", 3));
+        analytics.record(day(DAY.plusDays(200), 1, "Work", 4));
+
+        assertArrayEquals(new int[] {100}, analytics.completionRates(DAY.minusDays(400), DAY.minusDays(400)));
+        assertArrayEquals(new int[] {50}, analytics.completionRates(DAY, DAY));
+        assertArrayEquals(new int[] {4}, analytics.goalProgress("goal-1", DAY.plusDays(200), DAY.plusDays(200)));
+        assertEquals(Map.of("Home", 4, "Work", 3), analytics.completedByCategory(DAY.minusDays(500), DAY.plusDays(500)));
+        assertEquals(Map.of("Work", 2), analytics.completedByCategory(DAY.minusDays(399), DAY));
+    }
+
+    @Test
+    void recordingADayAgain_replacesIt() {
+        analytics.record(day(DAY, 1, "Work", 1));
+        analytics.record(day(DAY, 2, "Home", 2));
+
+        assertArrayEquals(new int[] {50}, analytics.completionRates(DAY, DAY));
+        assertEquals(Map.of("Home", 2), analytics.completedByCategory(DAY, DAY));
+        assertArrayEquals(new int[] {2}, analytics.goalProgress("goal-1", DAY, DAY));
+    }
+
+    @Test
+    void rollingAverage_skipsDaysWithoutData() {
+        // Rates 25, 50, (none), 100 on four consecutive days
+        analytics.record(day(DAY, 1, "Work", 0));
+        analytics.record(day(DAY.plusDays(1), 2, "Work", 0));
+        analytics.record(day(DAY.plusDays(3), 4, "Work", 0));
+
+        double[] averages = analytics.rollingAverageCompletionRate(DAY.minusDays(1), DAY.plusDays(6), 3);
+
+        assertTrue(Double.isNaN(averages[0]));
+        assertArrayEquals(new double[] {25, 37.5, 37.5, 75, 100, 100}, Arrays.copyOfRange(averages, 1, 7), 1e-9);
+        assertTrue(Double.isNaN(averages[7]), "Three days after the last snapshot the window is empty");
+    }
+
+    @Test
+    void inMemoryStore_keepsItsAnalyticsUpToDate() {
+        InMemoryHistoryDataAccess history = new InMemoryHistoryDataAccess();
+        HistoryAnalytics storeAnalytics = HistoryAnalytics.of(history);
+
+        history.saveSnapshot(day(DAY, 3, "Work", 1));
+
+        assertArrayEquals(new int[] {75}, storeAnalytics.completionRates(DAY, DAY));
+    }
+
+    @Test
+    void otherStores_areReadOnce() {
+        InMemoryHistoryDataAccess backing = new InMemoryHistoryDataAccess();
+        backing.saveSnapshot(day(DAY, 2, "Work", 1));
+        backing.saveSnapshot(day(DAY.plusDays(1), 4, "Work", 2));
+        ViewHistoryDataAccessInterface plain = new ViewHistoryDataAccessInterface() {
+            public boolean saveSnapshot(TodaySoFarSnapshot snapshot) { return backing.saveSnapshot(snapshot); }
+            public TodaySoFarSnapshot getSnapshot(LocalDate date) { return backing.getSnapshot(date); }
+            public List<LocalDate> getAvailableDates() { return backing.getAvailableDates(); }
+            public boolean hasSnapshot(LocalDate date) { return backing.hasSnapshot(date); }
+            public int cleanupOldSnapshots(int daysToKeep) { return backing.cleanupOldSnapshots(daysToKeep); }
+        };
+
+        HistoryAnalytics built = HistoryAnalytics.of(plain);
+
+        assertArrayEquals(new int[] {50, 100}, built.completionRates(DAY, DAY.plusDays(1)));
+        assertEquals(Map.of("Work", 6), built.completedByCategory(DAY, DAY.plusDays(1)));
+    }
+
+    @Test
+    void invalidRanges_areRejected() {
+        assertThrows(IllegalArgumentException.class, () -> analytics.completionRates(DAY, DAY.minusDays(1)));
+        assertThrows(IllegalArgumentException.class, () -> analytics.rollingAverageCompletionRate(DAY, DAY, 0));
+        assertArrayEquals(new int[] {NO_DATA}, analytics.completionRates(DAY, DAY), "Empty analytics have no data");
+    }
+}
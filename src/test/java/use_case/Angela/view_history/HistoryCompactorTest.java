@@ -0,0 +1,218 @@
+package use_case.Angela.view_history;
+
+import data_access.InMemoryHistoryDataAccess;
+import entity.Angela.HistoryRollup;
+import entity.Angela.Task.Task;
+import entity.Angela.TodaySoFarSnapshot;
+import entity.BeginAndDueDates.BeginAndDueDates;
+import entity.alex.MoodLabel.MoodLabel;
+import entity.alex.MoodLabel.Type;
+import entity.alex.WellnessLogEntry.Levels;
+import entity.alex.WellnessLogEntry.WellnessLogEntry;
+import entity.info.Info;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class HistoryCompactorTest {
+
+    /** A Wednesday. */
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 12);
+
+    private InMemoryHistoryDataAccess history;
+    private HistoryCompactor compactor;
+
+    @BeforeEach
+    void setUp() {
+        history = new InMemoryHistoryDataAccess();
+        compactor = new HistoryCompactor(history, history, new HistoryRetentionPolicy(7, 4, 3));
+    }
+
+    /** A day with two tasks, one of them done in "Study", one goal and one wellness entry. */
+    private static TodaySoFarSnapshot day(LocalDate date, int goalCurrent) {
+        Task done = new Task("template-1", new Info.Builder("Read").category("Study").build(),
+                new BeginAndDueDates(date, null), false);
+        done.markComplete(date.atTime(10, 0));
+        Task open = new Task("template-2", new Info.Builder("Run").build(), new BeginAndDueDates(date, null), false);
+        WellnessLogEntry entry = new WellnessLogEntry.Builder()
+                .time(date.atTime(9, 0))
+                .stressLevel(Levels.SIX)
+                .energyLevel(Levels.FOUR)
+                .fatigueLevel(Levels.TWO)
+                .moodLabel(new MoodLabel.Builder("Calm").type(Type.Positive).build())
+                .build();
+        return new TodaySoFarSnapshot(date, List.of(done, open), List.of(done), 50, List.of(), List.of(),
+                List.of(new TodaySoFarSnapshot.GoalProgress("goal-1", "Exercise", "Weekly", goalCurrent, 5)),
+                List.of(entry));
+    }
+
+    private void saveDays(LocalDate from, LocalDate to) {
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            history.saveSnapshot(day(date, date.getDayOfMonth()));
+        }
+    }
+
+    @Test
+    void agedOutWeeks_areRolledUpAndDeleted() {
+        // Monday 2025-02-24 to today
+        saveDays(LocalDate.of(2025, 2, 24), TODAY);
+
+        int rolledUp = compactor.compact(TODAY);
+
+        // The daily tier ends on 2025-03-05, inside the week of 03-03, so only the week of 02-24 goes
+        assertEquals(7, rolledUp);
+        assertEquals(LocalDate.of(2025, 3, 3), history.getAvailableDates().get(history.getAvailableDates().size() - 1));
+        HistoryRollup week = history.getRollup(HistoryRollup.Granularity.WEEK, LocalDate.of(2025, 2, 24));
+        assertEquals(7, week.getDays());
+        assertEquals(14, week.getTasks());
+        assertEquals(7, week.getCompletedTasks());
+        assertEquals(50.0, week.getAverageCompletionRate());
+        assertEquals(Map.of("Study", 7), week.getCompletedByCategory());
+        assertEquals(2, week.getGoalProgress().get(0).getCurrent(), "Goal progress is taken from the last day, 03-02");
+        assertEquals(6.0, week.getAverageStress());
+        assertEquals(4.0, week.getAverageEnergy());
+        assertEquals(2.0, week.getAverageFatigue());
+
+        // The week straddles February and March, so its days land in both months
+        assertEquals(5, history.getRollup(HistoryRollup.Granularity.MONTH, LocalDate.of(2025, 2, 1)).getDays());
+        assertEquals(2, history.getRollup(HistoryRollup.Granularity.MONTH, LocalDate.of(2025, 3, 1)).getDays());
+    }
+
+    @Test
+    void laterRuns_addToTheMonthAlreadyRolledUp() {
+        saveDays(LocalDate.of(2025, 2, 24), TODAY);
+        compactor.compact(TODAY);
+        saveDays(TODAY.plusDays(1), TODAY.plusDays(7));
+
+        assertEquals(7, compactor.compact(TODAY.plusDays(7)));
+
+        HistoryRollup march = history.getRollup(HistoryRollup.Granularity.MONTH, LocalDate.of(2025, 3, 1));
+        assertEquals(9, march.getDays());
+        assertEquals(LocalDate.of(2025, 3, 9), march.getLastDay());
+        assertEquals(9, march.getGoalProgress().get(0).getCurrent());
+        assertNotNull(history.getRollup(HistoryRollup.Granularity.WEEK, LocalDate.of(2025, 3, 3)));
+    }
+
+    @Test
+    void runningAgain_changesNothing() {
+        saveDays(LocalDate.of(2025, 2, 24), TODAY);
+        compactor.compact(TODAY);
+
+        assertEquals(0, compactor.compact(TODAY));
+        assertEquals(7, history.getRollup(HistoryRollup.Granularity.WEEK, LocalDate.of(2025, 2, 24)).getDays());
+    }
+
+    @Test
+    void failedDeletes_areRetried_withoutCountingTheDaysTwice() {
+        List<LocalDate> failedDeletes = new ArrayList<>();
+        InMemoryHistoryDataAccess failingDeletes = new InMemoryHistoryDataAccess() {
+            @Override
+            public boolean deleteSnapshot(LocalDate date) {
+                if (failedDeletes.isEmpty()) {
+                    failedDeletes.add(date);
+                    return false;
+                }
+                return super.deleteSnapshot(date);
+            }
+        };
+        for (LocalDate date = LocalDate.of(2025, 2, 24); !date.isAfter(TODAY); date = date.plusDays(1)) {
+            failingDeletes.saveSnapshot(day(date, date.getDayOfMonth()));
+        }
+        HistoryCompactor compactor = new HistoryCompactor(failingDeletes, failingDeletes,
+                new HistoryRetentionPolicy(7, 4, 3));
+
+        compactor.compact(TODAY);
+        LocalDate leftOver = failedDeletes.get(0);
+        assertTrue(failingDeletes.getAvailableDates().contains(leftOver), "The day whose delete failed is still there");
+        compactor.compact(TODAY);
+
+        assertFalse(failingDeletes.getAvailableDates().contains(leftOver));
+        assertEquals(7, failingDeletes.getRollup(HistoryRollup.Granularity.WEEK, LocalDate.of(2025, 2, 24)).getDays());
+        assertEquals(5, failingDeletes.getRollup(HistoryRollup.Granularity.MONTH, LocalDate.of(2025, 2, 1)).getDays());
+        assertEquals(14, failingDeletes.getRollup(HistoryRollup.Granularity.WEEK, LocalDate.of(2025, 2, 24)).getTasks());
+    }
+
+    @Test
+    void failedMonthSave_isRetried_withoutRefoldingTheWeek() {
+        InMemoryHistoryDataAccess failingMonth = new InMemoryHistoryDataAccess() {
+            private boolean failing = true;
+
+            @Override
+            public boolean saveRollup(HistoryRollup rollup) {
+                if (failing && rollup.getGranularity() == HistoryRollup.Granularity.MONTH) {
+                    failing = false;
+                    return false;
+                }
+                return super.saveRollup(rollup);
+            }
+        };
+        for (LocalDate date = LocalDate.of(2025, 2, 24); !date.isAfter(TODAY); date = date.plusDays(1)) {
+            failingMonth.saveSnapshot(day(date, date.getDayOfMonth()));
+        }
+        HistoryCompactor compactor = new HistoryCompactor(failingMonth, failingMonth,
+                new HistoryRetentionPolicy(7, 4, 3));
+
+        assertEquals(0, compactor.compact(TODAY), "Nothing is deleted while a rollup is missing");
+        assertEquals(7, compactor.compact(TODAY));
+
+        assertEquals(7, failingMonth.getRollup(HistoryRollup.Granularity.WEEK, LocalDate.of(2025, 2, 24)).getDays());
+        assertEquals(5, failingMonth.getRollup(HistoryRollup.Granularity.MONTH, LocalDate.of(2025, 2, 1)).getDays());
+        assertEquals(2, failingMonth.getRollup(HistoryRollup.Granularity.MONTH, LocalDate.of(2025, 3, 1)).getDays());
+    }
+
+    @Test
+    void rollupsOfTheSameDays_cannotBeCombined() {
+        HistoryRollup monday = HistoryRollup.of(HistoryRollup.Granularity.WEEK, List.of(day(LocalDate.of(2025, 3, 3), 1)));
+
+        assertTrue(monday.covers(LocalDate.of(2025, 3, 3)));
+        assertFalse(monday.covers(LocalDate.of(2025, 3, 4)));
+        assertThrows(IllegalArgumentException.class, () -> monday.combine(monday));
+    }
+
+    @Test
+    void rolledUpDays_arePresentedWithTheAvailableDates() {
+        saveDays(LocalDate.of(2025, 2, 24), TODAY);
+        compactor.compact(TODAY);
+        ViewHistoryOutputBoundary presenter = mock(ViewHistoryOutputBoundary.class);
+
+        new ViewHistoryInteractor(history, presenter).loadAvailableDates();
+
+        verify(presenter).presentAvailableDates(history.getAvailableDates());
+        verify(presenter).presentRollups(history.getRollups(HistoryRollup.Granularity.WEEK),
+                history.getRollups(HistoryRollup.Granularity.MONTH));
+    }
+
+    @Test
+    void rollupsOlderThanTheirTiers_areDeleted() {
+        saveDays(LocalDate.of(2024, 10, 1), TODAY);
+
+        compactor.compact(TODAY);
+
+        List<HistoryRollup> weeks = history.getRollups(HistoryRollup.Granularity.WEEK);
+        assertEquals(LocalDate.of(2025, 2, 24), weeks.get(0).getStart());
+        assertEquals(LocalDate.of(2025, 2, 10), weeks.get(weeks.size() - 1).getStart(),
+                "Four weeks back from the week of today is 02-10");
+        List<HistoryRollup> months = history.getRollups(HistoryRollup.Granularity.MONTH);
+        assertEquals(List.of(LocalDate.of(2025, 3, 1), LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1),
+                LocalDate.of(2024, 12, 1)), months.stream().map(HistoryRollup::getStart).toList());
+        assertTrue(history.size() <= 7 + 6 + 1, "Only the daily tier and the current week stay in full");
+    }
+
+    @Test
+    void rollupsOfDifferentPeriods_cannotBeCombined() {
+        HistoryRollup february = HistoryRollup.of(HistoryRollup.Granularity.MONTH, List.of(day(LocalDate.of(2025, 2, 3), 1)));
+        HistoryRollup march = HistoryRollup.of(HistoryRollup.Granularity.MONTH, List.of(day(LocalDate.of(2025, 3, 3), 1)));
+
+        assertThrows(IllegalArgumentException.class, () -> february.combine(march));
+        assertThrows(IllegalArgumentException.class, () -> HistoryRollup.of(HistoryRollup.Granularity.WEEK,
+                List.of(day(LocalDate.of(2025, 3, 2), 1), day(LocalDate.of(2025, 3, 3), 1))));
+    }
+}
@@ -0,0 +1,189 @@
+package use_case.Angela.view_history;
+
+import data_access.InMemoryHistoryDataAccess;
+import entity.Angela.Task.Task;
+import entity.Angela.TodaySoFarSnapshot;
+import entity.BeginAndDueDates.BeginAndDueDates;
+import entity.Category;
+import entity.info.Info;
+import org.json.JSONObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import use_case.Angela.today_so_far.CategoryReadDataAccessInterface;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoryRangeExportTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+    @TempDir
+    Path exportDirectory;
+
+    private InMemoryHistoryDataAccess history;
+    private RecordingPresenter presenter;
+    private ViewHistoryInteractor interactor;
+
+    @BeforeEach
+    void setUp() {
+        history = new InMemoryHistoryDataAccess();
+        presenter = new RecordingPresenter();
+        // Run exports on the calling thread so that the test sees them finish
+        interactor = new ViewHistoryInteractor(history, presenter, exportDirectory, Runnable::run);
+    }
+
+    /** A day with one completed task named {@code name} and one open task. */
+    private static TodaySoFarSnapshot day(LocalDate date, String name) {
+        Task done = new Task("template-1", new Info.Builder(name).category("Work").build(),
+                new BeginAndDueDates(date, date.plusDays(1)), false);
+        done.markComplete(date.atTime(9, 30));
+        Task open = new Task("template-2", new Info.Builder("Run").build(), new BeginAndDueDates(date, null), false);
+        return new TodaySoFarSnapshot(date, List.of(done, open), List.of(done), 50, List.of(open), List.of(),
+                List.of(new TodaySoFarSnapshot.GoalProgress("goal-1", "Exercise", "Weekly", 2, 5)), List.of());
+    }
+
+    @Test
+    void csv_hasAHeaderAndARowPerTask_oldestFirst_forDaysInRange() throws IOException {
+        history.saveSnapshot(day(DAY.plusDays(1), "Write \"report\", part 2"));
+        history.saveSnapshot(day(DAY, "Read"));
+        history.saveSnapshot(day(DAY.plusDays(5), "Outside the range"));
+
+        interactor.exportHistoryRange(new HistoryExportInputData(DAY, DAY.plusDays(2), HistoryExportFormat.CSV));
+
+        Path file = exportDirectory.resolve("history_2025-03-10_2025-03-12.csv");
+        assertEquals(file.toString(), presenter.successPath);
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(HistoryExportWriter.CSV_HEADER, lines.get(0));
+        assertEquals(5, lines.size());
+        assertTrue(lines.get(1).matches("2025-03-10,50,[^,]+,Read,Work,,2025-03-11,true,2025-03-10T09:30,false"),
+                lines.get(1));
+        assertTrue(lines.get(2).matches("2025-03-10,50,[^,]+,Run,,,,false,,true"), lines.get(2));
+        assertTrue(lines.get(3).contains(",\"Write \"\"report\"\", part 2\",Work,"), lines.get(3));
+        assertFalse(String.join("\n", lines).contains("Outside"));
+    }
+
+    @Test
+    void ndjson_hasAWholeDayPerLine() throws IOException {
+        history.saveSnapshot(day(DAY, "Read"));
+        history.saveSnapshot(new TodaySoFarSnapshot(DAY.plusDays(1), List.of(), List.of(), 0,
+                List.of(), List.of(), List.of(), List.of()));
+
+        interactor.exportHistoryRange(new HistoryExportInputData(DAY, DAY.plusDays(1), HistoryExportFormat.NDJSON));
+
+        List<String> lines = Files.readAllLines(Path.of(presenter.successPath));
+        assertEquals(2, lines.size());
+        JSONObject first = new JSONObject(lines.get(0));
+        assertEquals("2025-03-10", first.getString("date"));
+        assertEquals(2, first.getJSONArray("tasks").length());
+        assertTrue(first.getJSONArray("tasks").getJSONObject(1).getBoolean("overdue"));
+        assertEquals(2, first.getJSONArray("goals").getJSONObject(0).getInt("current"));
+        assertEquals(0, new JSONObject(lines.get(1)).getJSONArray("tasks").length());
+    }
+
+    @Test
+    void categories_areExportedByName_whenTheReaderKnowsThem() throws IOException {
+        CategoryReadDataAccessInterface categories = id -> "cat-1".equals(id) ? new Category("cat-1", "Study", "#fff") : null;
+        ViewHistoryInteractor naming = new ViewHistoryInteractor(history, presenter, exportDirectory, Runnable::run,
+                categories);
+        Task known = new Task("template-3", new Info.Builder("Read").category("cat-1").build(),
+                new BeginAndDueDates(DAY, null), false);
+        Task unknown = new Task("template-4", new Info.Builder("Run").category("Work").build(),
+                new BeginAndDueDates(DAY, null), false);
+        history.saveSnapshot(new TodaySoFarSnapshot(DAY, List.of(known, unknown), List.of(), 0, List.of(),
+                List.of(new Info.Builder("Lecture").category("cat-1").build()), List.of(), List.of()));
+
+        naming.exportHistoryRange(new HistoryExportInputData(DAY, DAY, HistoryExportFormat.CSV));
+        List<String> csv = Files.readAllLines(Path.of(presenter.successPath));
+        naming.exportHistoryRange(new HistoryExportInputData(DAY, DAY, HistoryExportFormat.NDJSON));
+        JSONObject json = new JSONObject(Files.readAllLines(Path.of(presenter.successPath)).get(0));
+
+        assertTrue(csv.get(1).contains(",Read,Study,"), csv.get(1));
+        assertTrue(csv.get(2).contains(",Run,Work,"), "Unknown categories are written as stored");
+        assertEquals("Study", json.getJSONArray("tasks").getJSONObject(0).getString("category"));
+        assertEquals("Work", json.getJSONArray("tasks").getJSONObject(1).getString("category"));
+        assertEquals("Study", json.getJSONArray("events").getJSONObject(0).getString("category"));
+    }
+
+    @Test
+    void progress_isReportedInWholePercentSteps_endingAtTheTotal() {
+        for (int i = 0; i < 250; i++) {
+            history.saveSnapshot(day(DAY.plusDays(i), "Task"));
+        }
+
+        interactor.exportHistoryRange(new HistoryExportInputData(DAY, DAY.plusDays(249), HistoryExportFormat.CSV));
+
+        assertEquals(101, presenter.progress.size(), "0% and then each whole percent");
+        assertArrayEquals(new int[] {0, 250}, presenter.progress.get(0));
+        assertArrayEquals(new int[] {250, 250}, presenter.progress.get(presenter.progress.size() - 1));
+        assertNotNull(presenter.successPath);
+        try (var files = Files.list(exportDirectory)) {
+            assertEquals(1, files.count(), "The temporary file is moved into place");
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    @Test
+    void rangeWithoutSnapshots_fails_withoutWritingAFile() throws IOException {
+        history.saveSnapshot(day(DAY, "Read"));
+
+        interactor.exportHistoryRange(new HistoryExportInputData(DAY.plusDays(1), DAY.plusDays(9), HistoryExportFormat.CSV));
+
+        assertNotNull(presenter.failure);
+        assertNull(presenter.successPath);
+        try (var files = Files.list(exportDirectory)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void backwardsRange_isRejected_beforeAnyWorkIsScheduled() {
+        ViewHistoryInteractor noBackgroundWork = new ViewHistoryInteractor(history, presenter, exportDirectory,
+                task -> fail("Nothing should be scheduled"));
+
+        noBackgroundWork.exportHistoryRange(new HistoryExportInputData(DAY, DAY.minusDays(1), HistoryExportFormat.CSV));
+
+        assertNotNull(presenter.failure);
+    }
+
+    private static class RecordingPresenter implements ViewHistoryOutputBoundary {
+        final List<int[]> progress = new ArrayList<>();
+        String successPath;
+        String failure;
+
+        @Override
+        public void prepareSuccessView(ViewHistoryOutputData outputData) {
+        }
+
+        @Override
+        public void prepareFailView(String error) {
+        }
+
+        @Override
+        public void presentAvailableDates(List<LocalDate> availableDates) {
+        }
+
+        @Override
+        public void presentExportSuccess(String filePath) {
+            successPath = filePath;
+        }
+
+        @Override
+        public void presentExportFailure(String error) {
+            failure = error;
+        }
+
+        @Override
+        public void presentExportProgress(int exportedDays, int totalDays) {
+            progress.add(new int[] {exportedDays, totalDays});
+        }
+    }
+}
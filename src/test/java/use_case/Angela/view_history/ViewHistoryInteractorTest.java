@@ -436,5 +436,9 @@ public class ViewHistoryInteractorTest {
             this.exportFailureCalled = true;
             this.exportError = error;
         }
+        
+        @Override
+        public void presentExportProgress(int exportedDays, int totalDays) {
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,211 @@
+package use_case.generate_feedback;
+
+import entity.feedback_entry.FeedbackEntryInterf;
+import interface_adapter.generate_feedback.HttpClientConfig;
+import interface_adapter.generate_feedback.OpenAiApiAdapter;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import use_case.repository.DailyLogRepository;
+import use_case.repository.FeedbackRepository;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs GenerateFeedbackInteractor against OpenAiApiAdapter and a MockWebServer that takes
+ * {@link #LATENCY_MS} to answer each call, to show analysis and correlation run in parallel.
+ */
+class GenerateFeedbackInteractorConcurrencyTest {
+
+    private static final long LATENCY_MS = 400;
+
+    private MockWebServer server;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(LATENCY_MS);
+                    String body = request.getBody().readUtf8();
+                    if (new JSONObject(body).optBoolean("stream")) {
+                        return streamResponse(contentFor(body));
+                    }
+                    return chatResponse(contentFor(body));
+                }
+                finally {
+                    inFlight.decrementAndGet();
+                }
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void shutdownServer() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void analysisAndCorrelationOverlap_recommendationWaitsForAnalysis() {
+        DailyLogRepository dailyRepo = mock(DailyLogRepository.class);
+        FeedbackRepository feedbackRepo = mock(FeedbackRepository.class);
+        GenerateFeedbackOutputBoundary output = mock(GenerateFeedbackOutputBoundary.class);
+        when(dailyRepo.loadBetween(any(LocalDate.class), any(LocalDate.class))).thenReturn(List.of());
+
+        OpenAiApiAdapter adapter = new OpenAiApiAdapter("test-key", server.url("/v1/chat/completions").toString());
+        GenerateFeedbackInteractor interactor = new GenerateFeedbackInteractor(dailyRepo, feedbackRepo, adapter,
+                output);
+
+        long start = System.nanoTime();
+        interactor.execute();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(3, server.getRequestCount());
+        assertEquals(2, maxInFlight.get(), "Analysis and correlation should be in flight together");
+        // Two round trips on the critical path instead of three
+        assertTrue(elapsedMs < 3 * LATENCY_MS, "Took " + elapsedMs + "ms");
+
+        ArgumentCaptor<FeedbackEntryInterf> saved = ArgumentCaptor.forClass(FeedbackEntryInterf.class);
+        verify(feedbackRepo).save(saved.capture());
+        assertEquals("Weekly overview", saved.getValue().getAiAnalysis());
+        assertEquals("{\"effect_summary\":[]}", saved.getValue().getCorrelationData());
+        assertEquals("Rest more.", saved.getValue().getRecommendations());
+    }
+
+    @Test
+    void recommendationIsStreamedToPresenterBeforeFinalEntry() {
+        DailyLogRepository dailyRepo = mock(DailyLogRepository.class);
+        FeedbackRepository feedbackRepo = mock(FeedbackRepository.class);
+        GenerateFeedbackOutputBoundary output = mock(GenerateFeedbackOutputBoundary.class);
+        when(dailyRepo.loadBetween(any(LocalDate.class), any(LocalDate.class))).thenReturn(List.of());
+
+        OpenAiApiAdapter adapter = new OpenAiApiAdapter("test-key", server.url("/v1/chat/completions").toString());
+        new GenerateFeedbackInteractor(dailyRepo, feedbackRepo, adapter, output).execute();
+
+        InOrder order = inOrder(output);
+        order.verify(output).presentPartial("Rest");
+        order.verify(output).presentPartial("Rest more.");
+        order.verify(output).present(any(GenerateFeedbackOutputData.class));
+
+        ArgumentCaptor<FeedbackEntryInterf> saved = ArgumentCaptor.forClass(FeedbackEntryInterf.class);
+        verify(feedbackRepo).save(saved.capture());
+        assertEquals("Rest more.", saved.getValue().getRecommendations());
+    }
+
+    @Test
+    void failedCall_surfacesAsRuntimeExceptionWithIoCause() {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse().setResponseCode(500).setBody("{\"error\":\"boom\"}");
+            }
+        });
+        DailyLogRepository dailyRepo = mock(DailyLogRepository.class);
+        FeedbackRepository feedbackRepo = mock(FeedbackRepository.class);
+        when(dailyRepo.loadBetween(any(LocalDate.class), any(LocalDate.class))).thenReturn(List.of());
+
+        OpenAiApiAdapter adapter = new OpenAiApiAdapter("test-key", server.url("/v1/chat/completions").toString(),
+                new HttpClientConfig.Builder().maxRetries(0).build());
+        GenerateFeedbackInteractor interactor = new GenerateFeedbackInteractor(dailyRepo, feedbackRepo, adapter,
+                mock(GenerateFeedbackOutputBoundary.class));
+
+        RuntimeException ex = assertThrows(RuntimeException.class, interactor::execute);
+        assertInstanceOf(IOException.class, ex.getCause());
+        verify(feedbackRepo, never()).save(any());
+    }
+
+    @Test
+    void streamCutOff_presentsFailureAfterPartialText() {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String body = request.getBody().readUtf8();
+                if (new JSONObject(body).optBoolean("stream")) {
+                    // The connection closes after the first delta, before [DONE]
+                    String streamed = streamResponse("Rest more.").getBody().readUtf8();
+                    return new MockResponse().setResponseCode(200)
+                            .addHeader("Content-Type", "text/event-stream")
+                            .setBody(streamed.substring(0, streamed.indexOf("\n\n") + 2));
+                }
+                return chatResponse(contentFor(body));
+            }
+        });
+        DailyLogRepository dailyRepo = mock(DailyLogRepository.class);
+        FeedbackRepository feedbackRepo = mock(FeedbackRepository.class);
+        GenerateFeedbackOutputBoundary output = mock(GenerateFeedbackOutputBoundary.class);
+        when(dailyRepo.loadBetween(any(LocalDate.class), any(LocalDate.class))).thenReturn(List.of());
+
+        OpenAiApiAdapter adapter = new OpenAiApiAdapter("test-key", server.url("/v1/chat/completions").toString(),
+                new HttpClientConfig.Builder().maxRetries(0).build());
+        GenerateFeedbackInteractor interactor = new GenerateFeedbackInteractor(dailyRepo, feedbackRepo, adapter,
+                output);
+
+        assertThrows(RuntimeException.class, interactor::execute);
+
+        InOrder order = inOrder(output);
+        order.verify(output).presentPartial("Rest");
+        order.verify(output).presentFailure(contains("ended before [DONE]"));
+        verify(output, never()).present(any());
+        verify(feedbackRepo, never()).save(any());
+    }
+
+    private static String contentFor(String requestBody) {
+        String prompt = new JSONObject(requestBody).getJSONArray("messages").getJSONObject(0).getString("content");
+        if (prompt.contains("Bayesian regression")) {
+            return "{\"effect_summary\":[]}";
+        }
+        if (prompt.contains("productivity & wellness coach")) {
+            return "Rest more.";
+        }
+        return "{\"analysis\":\"Weekly overview\",\"extra_notes\":\"\"}";
+    }
+
+    /**
+     * Splits the content after its first word into two server-sent deltas.
+     */
+    private static MockResponse streamResponse(String content) {
+        int split = content.indexOf(' ');
+        if (split < 0) {
+            split = content.length();
+        }
+        StringBuilder body = new StringBuilder();
+        for (String delta : new String[] {content.substring(0, split), content.substring(split)}) {
+            JSONObject chunk = new JSONObject().put("choices", new JSONArray()
+                    .put(new JSONObject().put("delta", new JSONObject().put("content", delta))));
+            body.append("data: ").append(chunk).append("\n\n");
+        }
+        body.append("data: [DONE]\n\n");
+        return new MockResponse().setResponseCode(200)
+                .addHeader("Content-Type", "text/event-stream")
+                .setBody(body.toString());
+    }
+
+    private static MockResponse chatResponse(String content) {
+        JSONObject body = new JSONObject().put("choices", new JSONArray()
+                .put(new JSONObject().put("message", new JSONObject().put("content", content))));
+        return new MockResponse().setResponseCode(200)
+                .addHeader("Content-Type", "application/json")
+                .setBody(body.toString());
+    }
+}
@@ -37,6 +37,25 @@ class GenerateFeedbackInteractorTest {
         interactor = new GenerateFeedbackInteractor(dailyRepo, feedbackRepo, gpt, output);
     }
 
+    @Test
+    void execute_buildsPromptsWithTheGivenPort() throws IOException {
+        GptPromptPort prompts = mock(GptPromptPort.class);
+        when(prompts.buildAnalysis(anyList())).thenReturn("analysis prompt");
+        when(prompts.buildCorrelation(anyList())).thenReturn("correlation prompt");
+        when(prompts.buildRecommendation(anyString())).thenReturn("recommendation prompt");
+        when(feedbackRepo.loadByDate(any(LocalDate.class))).thenReturn(null);
+        when(dailyRepo.loadBetween(any(LocalDate.class), any(LocalDate.class))).thenReturn(List.of());
+        when(gpt.callGeneralAnalysis("analysis prompt")).thenReturn("{\"analysis\":\"Weekly overview\"}");
+        when(gpt.callCorrelationBayes("correlation prompt")).thenReturn("{}");
+        when(gpt.callRecommendation("recommendation prompt")).thenReturn("Rest.");
+
+        new GenerateFeedbackInteractor(dailyRepo, feedbackRepo, gpt, prompts, output).execute();
+
+        verify(prompts).buildRecommendation("{\"analysis\":\"Weekly overview\"}");
+        verify(output).present(outCaptor.capture());
+        assertEquals("Rest.", outCaptor.getValue().getFeedbackEntry().getRecommendations());
+    }
+
     @Test
     void execute_createsEntry_whenNotCached() throws IOException {
         // Arrange
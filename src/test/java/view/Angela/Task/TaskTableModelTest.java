@@ -0,0 +1,115 @@
+package view.Angela.Task;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.event.TableModelEvent;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that TaskTableModel fires row-level events for the rows that actually changed.
+ */
+class TaskTableModelTest {
+
+    private TaskTableModel model;
+    private List<String> events;
+
+    @BeforeEach
+    void setUp() {
+        model = new TaskTableModel("Name", "Done");
+        events = new ArrayList<>();
+        model.addTableModelListener(e -> events.add(describe(e)));
+    }
+
+    private static String describe(TableModelEvent e) {
+        if (e.getFirstRow() == TableModelEvent.HEADER_ROW || e.getLastRow() == Integer.MAX_VALUE) {
+            return "changed";
+        }
+        String type = e.getType() == TableModelEvent.INSERT ? "insert"
+                : e.getType() == TableModelEvent.DELETE ? "delete" : "update";
+        return type + " " + e.getFirstRow();
+    }
+
+    private static TaskTableModel.Row row(String id, String name, boolean done) {
+        return new TaskTableModel.Row(id, name, done);
+    }
+
+    @Test
+    @DisplayName("Should fire nothing when a reload changes nothing")
+    void testUnchangedReload() {
+        model.setRows(List.of(row("a", "A", false), row("b", "B", false)));
+        events.clear();
+
+        model.setRows(List.of(row("a", "A", false), row("b", "B", false)));
+
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should fire one row update when one task changes")
+    void testSingleUpdate() {
+        model.setRows(List.of(row("a", "A", false), row("b", "B", false), row("c", "C", false)));
+        events.clear();
+
+        model.setRows(List.of(row("a", "A", false), row("b", "B", true), row("c", "C", false)));
+
+        assertEquals(List.of("update 1"), events);
+        assertEquals(true, model.getValueAt(1, 1));
+    }
+
+    @Test
+    @DisplayName("Should fire inserts and deletes for added and removed tasks")
+    void testInsertAndDelete() {
+        model.setRows(List.of(row("a", "A", false), row("b", "B", false), row("c", "C", false)));
+        events.clear();
+
+        model.setRows(List.of(row("a", "A", false), row("x", "X", false), row("c", "C", false)));
+
+        assertEquals(List.of("delete 1", "insert 1"), events);
+        assertEquals("x", model.getTaskIdAt(1));
+        assertEquals(2, model.indexOf("c"));
+    }
+
+    @Test
+    @DisplayName("Should fall back to a full change when existing rows are reordered")
+    void testReorder() {
+        model.setRows(List.of(row("a", "A", false), row("b", "B", false)));
+        events.clear();
+
+        model.setRows(List.of(row("b", "B", false), row("a", "A", false)));
+
+        assertEquals(List.of("changed"), events);
+        assertEquals("b", model.getTaskIdAt(0));
+    }
+
+    @Test
+    @DisplayName("Should keep the chosen column order through upserts and reloads")
+    void testOrderedUpsert() {
+        model.setRows(List.of(row("a", "Apple", false), row("c", "Cherry", false)));
+        model.setOrder(Comparator.comparing(values -> (String) values[0]));
+        events.clear();
+
+        model.upsertRow(row("b", "Banana", false));
+        assertEquals(List.of("insert 1"), events);
+
+        events.clear();
+        model.upsertRow(row("a", "Zucchini", false));
+        assertEquals(List.of("delete 0", "insert 2"), events);
+
+        events.clear();
+        model.upsertRow(row("b", "Banana", true));
+        assertEquals(List.of("update 0"), events);
+
+        events.clear();
+        model.setRows(List.of(row("c", "Cherry", false), row("b", "Banana", true), row("a", "Zucchini", false)));
+        assertTrue(events.isEmpty(), "Reload in a different source order keeps the column order");
+
+        model.removeRow("c");
+        assertEquals(List.of("b", "a"), List.of(model.getTaskIdAt(0), model.getTaskIdAt(1)));
+    }
+}